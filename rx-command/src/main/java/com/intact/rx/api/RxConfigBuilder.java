@@ -5,6 +5,7 @@ import java.time.Duration;
 import static java.util.Objects.requireNonNull;
 
 import com.intact.rx.api.cache.CachePolicy;
+import com.intact.rx.api.cache.Weigher;
 import com.intact.rx.api.command.VoidStrategy0;
 import com.intact.rx.core.cache.data.id.DomainCacheId;
 import com.intact.rx.core.cache.factory.DataCachePolicyBuilder;
@@ -205,6 +206,36 @@ public abstract class RxConfigBuilder<Builder> {
         return state().builder;
     }
 
+    public Builder withCacheConcurrency(Concurrency concurrency) {
+        state().dataCachePolicyBuilder.withConcurrency(concurrency);
+        return state().builder;
+    }
+
+    public Builder withCacheAdmission(Admission admission) {
+        state().dataCachePolicyBuilder.withAdmission(admission);
+        return state().builder;
+    }
+
+    public Builder withCacheWeigher(Weigher<?, ?> weigher) {
+        state().dataCachePolicyBuilder.withWeigher(weigher);
+        return state().builder;
+    }
+
+    public Builder withCacheOffHeap(OffHeap offHeap) {
+        state().dataCachePolicyBuilder.withOffHeap(offHeap);
+        return state().builder;
+    }
+
+    public Builder withCacheDurability(Durability durability) {
+        state().dataCachePolicyBuilder.withDurability(durability);
+        return state().builder;
+    }
+
+    public Builder withCacheDispatch(Dispatch dispatch) {
+        state().dataCachePolicyBuilder.withDispatch(dispatch);
+        return state().builder;
+    }
+
     public Builder withCachedObjectLifetime(Lifetime lifetime) {
         state().dataCachePolicyBuilder.withObjectLifetime(lifetime);
         return state().builder;
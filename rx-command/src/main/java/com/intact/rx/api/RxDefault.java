@@ -23,6 +23,8 @@ import com.intact.rx.core.rxcircuit.rate.RateLimiterId;
 import com.intact.rx.core.rxcircuit.rate.RateLimiterPolicy;
 import com.intact.rx.core.rxrepo.RepositoryConfig;
 import com.intact.rx.policy.*;
+import com.intact.rx.templates.SystemTicker;
+import com.intact.rx.templates.api.Ticker;
 
 /**
  * Main HUB for default configurations in rx. They are used throughout rx when no user-defined input.
@@ -34,6 +36,12 @@ public final class RxDefault {
     // Default policy and configuration instances
     // -------------------------------------------------------
 
+    /**
+     * Clock used for access, execution and circuit timing. Declared first since other defaults may read time during
+     * initialization. Replace at startup only, timestamps from different tickers are not comparable.
+     */
+    private static final AtomicReference<Ticker> ticker = new AtomicReference<>(SystemTicker.instance());
+
     private static final AtomicReference<CachePolicy> defaultCachePolicy = new AtomicReference<>(CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.ofHours(2), MementoPolicy.none)));
 
     private static final AtomicReference<ActPolicy> defaultActPolicy = new AtomicReference<>(ActPolicy.noReload(defaultCachePolicy.get()));
@@ -91,6 +99,12 @@ public final class RxDefault {
     private static final AtomicReference<RxThreadPoolConfig> monitorPoolPolicy =
             new AtomicReference<>(RxThreadPoolConfig.create(MaxLimit.withLimit(5), RxThreadFactory.daemonWithName("rx-monitor "), RxThreadPoolId.create("rx-monitor")));
 
+    /**
+     * Default thread pool policy/config used to dispatch cache changes, see {@link Dispatch}
+     */
+    private static final AtomicReference<RxThreadPoolConfig> cacheDispatchPoolPolicy =
+            new AtomicReference<>(RxThreadPoolConfig.create(MaxLimit.withLimit(4), RxThreadFactory.daemonWithName("rx-cache-dispatch "), RxThreadPoolId.create("rx-cache-dispatch")));
+
     /**
      * Default domain cache id
      */
@@ -112,6 +126,10 @@ public final class RxDefault {
     // Get default policies.
     // -------------------------------------------------------
 
+    public static Ticker getTicker() {
+        return ticker.get();
+    }
+
     public static CachePolicy getDefaultCachePolicy() {
         return defaultCachePolicy.get();
     }
@@ -172,6 +190,10 @@ public final class RxDefault {
         return monitorPoolPolicy.get();
     }
 
+    public static RxThreadPoolConfig getCacheDispatchPoolPolicy() {
+        return cacheDispatchPoolPolicy.get();
+    }
+
     public static DomainCacheId getDefaultDomainCacheId() {
         return defaultDomainCacheId.get();
     }
@@ -196,6 +218,10 @@ public final class RxDefault {
     // Setters update default policies.
     // -------------------------------------------------------
 
+    public static void setTicker(Ticker ticker) {
+        RxDefault.ticker.set(requireNonNull(ticker));
+    }
+
     public static void setDefaultWriteCommandPolicy(CommandPolicy defaultWriteCommandPolicy) {
         RxDefault.defaultWriteCommandPolicy.set(requireNonNull(defaultWriteCommandPolicy));
     }
@@ -244,6 +270,10 @@ public final class RxDefault {
         RxDefault.monitorPoolPolicy.set(requireNonNull(monitorPoolPolicy));
     }
 
+    public static void setCacheDispatchPoolPolicy(RxThreadPoolConfig cacheDispatchPoolPolicy) {
+        RxDefault.cacheDispatchPoolPolicy.set(requireNonNull(cacheDispatchPoolPolicy));
+    }
+
     public static void setDefaultDomainCacheId(DomainCacheId defaultDomainCacheId) {
         RxDefault.defaultDomainCacheId.set(requireNonNull(defaultDomainCacheId));
     }
@@ -0,0 +1,96 @@
+package com.intact.rx.api.cache;
+
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Filter on the attribute of an {@link RxIndex}, either equal to a value or in a range. Selections with an AttributeFilter
+ * are routed: a write only evaluates the selections whose attribute value or range contains the written value. The
+ * index also provides the initial members, so creating the selection does not scan the cache.
+ * <p>
+ * Like other filters a member stays in the selection when its attribute changes, until it is removed from the cache.
+ *
+ * @param <A> attribute type
+ */
+public final class AttributeFilter<V, A> implements Filter<V> {
+    private final RxIndex<?, V, A> index;
+    private final A value;
+    private final A from;
+    private final A to;
+
+    private AttributeFilter(RxIndex<?, V, A> index, A value, A from, A to) {
+        this.index = requireNonNull(index);
+        this.value = value;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static <V, A> AttributeFilter<V, A> equalTo(RxIndex<?, V, A> index, A value) {
+        return new AttributeFilter<>(index, requireNonNull(value), null, null);
+    }
+
+    /**
+     * @param from lowest attribute, inclusive
+     * @param to   highest attribute, exclusive
+     */
+    public static <V, A extends Comparable<? super A>> AttributeFilter<V, A> inRange(RxIndex<?, V, A> index, A from, A to) {
+        if (!index.isSorted()) {
+            throw new IllegalArgumentException("Range filter requires a sorted index: " + index.getId());
+        }
+        return new AttributeFilter<>(index, null, requireNonNull(from), requireNonNull(to));
+    }
+
+    public RxIndex<?, V, A> getIndex() {
+        return index;
+    }
+
+    public boolean isRange() {
+        return value == null;
+    }
+
+    public A getValue() {
+        return value;
+    }
+
+    public A getFrom() {
+        return from;
+    }
+
+    public A getTo() {
+        return to;
+    }
+
+    /**
+     * @return keys in the index matching this filter
+     */
+    public Set<?> findKeys() {
+        return isRange() ? index.findKeysInRange(from, to) : index.findKeys(value);
+    }
+
+    @Override
+    public boolean apply(V newValue, boolean alreadyMember) {
+        return matches(index.attributeOf(newValue));
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean matches(A attribute) {
+        if (attribute == null) {
+            return false;
+        }
+        if (!isRange()) {
+            return Objects.equals(value, attribute);
+        }
+        Comparable<? super A> comparable = (Comparable<? super A>) attribute;
+        return comparable.compareTo(from) >= 0 && comparable.compareTo(to) < 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeFilter{" +
+                "indexId=" + index.getId() +
+                (isRange() ? ", from=" + from + ", to=" + to : ", value=" + value) +
+                '}';
+    }
+}
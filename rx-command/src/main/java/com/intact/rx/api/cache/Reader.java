@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * RxCache reader API for rx.
@@ -62,6 +63,20 @@ public interface Reader<K, V> {
      */
     List<V> readAsList();
 
+    /**
+     * @return (key, value) pairs in cache, not expired
+     */
+    default Stream<Map.Entry<K, V>> stream() {
+        return readAll().entrySet().stream();
+    }
+
+    /**
+     * @return (key, value) pairs in cache, not expired, as a parallel stream
+     */
+    default Stream<Map.Entry<K, V>> parallelStream() {
+        return stream().parallel();
+    }
+
     /**
      * @return size of cache
      */
@@ -0,0 +1,67 @@
+package com.intact.rx.api.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import com.intact.rx.api.command.Strategy1;
+
+/**
+ * Non-blocking view of an RxCache, see {@link RxCache#async()}.
+ * <p>
+ * Cache hits complete immediately. Misses are loaded by a loader whose value is written to the cache. A load is shared:
+ * callers of the same key while it is in flight get its result instead of starting another, and it completes on the
+ * thread of the loader.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public interface RxAsyncCache<K, V> {
+
+    CacheHandle getCacheHandle();
+
+    /**
+     * @return blocking view of the same cache
+     */
+    RxCache<K, V> synchronous();
+
+    /**
+     * @param key to lookup in cache
+     * @return cached value, or the result of a load in flight for key
+     */
+    CompletableFuture<Optional<V>> get(K key);
+
+    /**
+     * @param keys to lookup in cache
+     * @return cached values and results of loads in flight for keys, keys whose load fails are left out
+     */
+    CompletableFuture<Map<K, V>> getAll(Iterable<? extends K> keys);
+
+    /**
+     * Load a missing value with a Streamer, executed as an Act on the Streamer thread pool like RxRepository requests.
+     * The Act writes the loaded value to the cache, also if a value was written while loading.
+     *
+     * @param key    to lookup in cache
+     * @param loader blocking getter
+     * @return cached or loaded value
+     */
+    CompletableFuture<Optional<V>> computeIfAbsent(K key, Strategy1<V, K> loader);
+
+    /**
+     * @param key    to lookup in cache
+     * @param loader asynchronous getter, its value is written to the cache unless a value was written while loading
+     * @return cached or loaded value
+     */
+    CompletableFuture<Optional<V>> computeIfAbsentAsync(K key, Function<? super K, ? extends CompletionStage<? extends V>> loader);
+
+    /**
+     * Write on the thread pool of the view, i.e., the caller does not wait for the stripe lock or a computation of key.
+     *
+     * @param key   to write
+     * @param value to write
+     * @return previous value
+     */
+    CompletableFuture<Optional<V>> put(K key, V value);
+}
@@ -1,5 +1,6 @@
 package com.intact.rx.api.cache;
 
+import java.time.Duration;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.Function;
@@ -88,6 +89,50 @@ public interface RxCache<K, V> extends ReaderWriter<K, V>, MementoCache<K, V> {
      */
     Optional<RxSelection<K, V>> detachSelection(Object selectionId);
 
+    /**
+     * @return immutable view of the cache, iterated without locking the cache
+     */
+    RxSnapshot<K, V> snapshot();
+
+    /**
+     * @return non-blocking view of the cache with shared loads of missing values
+     */
+    RxAsyncCache<K, V> async();
+
+    /**
+     * @param key to lookup in cache
+     * @return time since the lifetime of the cached value started, i.e., since created or last renewed
+     */
+    Optional<Duration> readAge(K key);
+
+    /**
+     * @param indexId     key to identify index
+     * @param attributeOf attribute of value to index, values with null attribute are not indexed
+     * @param <A>         attribute type
+     * @return index for lookup of keys and values by attribute
+     */
+    <A> RxIndex<K, V, A> computeIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf);
+
+    /**
+     * @param indexId     key to identify index
+     * @param attributeOf attribute of value to index, values with null attribute are not indexed
+     * @param <A>         attribute type
+     * @return index ordered on attribute, supports range queries
+     */
+    <A extends Comparable<? super A>> RxIndex<K, V, A> computeSortedIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf);
+
+    /**
+     * @param indexId key to identify index
+     * @return index if it exists
+     */
+    <A> Optional<RxIndex<K, V, A>> readIndex(Object indexId);
+
+    /**
+     * @param indexId key to identify index
+     * @return true if index was removed
+     */
+    boolean detachIndex(Object indexId);
+
     /**
      * @param key        to lookup in cache
      * @param loanPolicy policy on loan
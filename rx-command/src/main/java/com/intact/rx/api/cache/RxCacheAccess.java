@@ -1,5 +1,6 @@
 package com.intact.rx.api.cache;
 
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -79,6 +80,18 @@ public final class RxCacheAccess {
                 );
     }
 
+    public static <V> RxLongCache<V> longCache(CacheHandle cacheHandle, CachePolicy cachePolicy) {
+        requireNonNull(cacheHandle);
+        requireNonNull(cachePolicy);
+
+        return computeIfAbsent(cacheHandle.getDomainCacheId())
+                .computeLongCacheIfAbsent(
+                        cacheHandle.getMasterCacheId(),
+                        cacheHandle.getDataCacheId(),
+                        cachePolicy
+                );
+    }
+
     public static <T> RxSet<T> set(CacheHandle cacheHandle, CachePolicy cachePolicy) {
         requireNonNull(cacheHandle);
         requireNonNull(cachePolicy);
@@ -110,6 +123,30 @@ public final class RxCacheAccess {
         find(cacheHandle.getDomainCacheId()).ifPresent(cacheFactory -> cacheFactory.expire(cacheHandle.getDataCacheId()));
     }
 
+    /**
+     * Write a snapshot of the master cache to file, e.g., before shutdown, see CacheFactory.snapshot.
+     *
+     * @return number of entries written
+     */
+    public static long snapshot(DomainCacheId domainCacheId, MasterCacheId masterCacheId, Path file) {
+        requireNonNull(domainCacheId);
+        requireNonNull(masterCacheId);
+
+        return find(domainCacheId).map(cacheFactory -> cacheFactory.snapshot(masterCacheId, file)).orElse(0L);
+    }
+
+    /**
+     * Warm the master cache from a snapshot file, e.g., at startup, see CacheFactory.restore.
+     *
+     * @return number of entries restored
+     */
+    public static long restore(DomainCacheId domainCacheId, MasterCacheId masterCacheId, Path file, CachePolicy cachePolicy) {
+        requireNonNull(domainCacheId);
+        requireNonNull(masterCacheId);
+
+        return computeIfAbsent(domainCacheId).restore(masterCacheId, file, cachePolicy);
+    }
+
     public static CacheFactory defaultCacheFactory() {
         return computeIfAbsent(getDefaultDomainCacheId());
     }
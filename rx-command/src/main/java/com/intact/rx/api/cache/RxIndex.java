@@ -0,0 +1,58 @@
+package com.intact.rx.api.cache;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Secondary index of a cache, maps an attribute of the cached values to the keys having that attribute. The index is
+ * maintained with every change of the cache, queries do not scan the cache. Values with a null attribute are not indexed.
+ *
+ * @param <A> attribute type
+ */
+public interface RxIndex<K, V, A> {
+
+    Object getId();
+
+    CacheHandle getCacheId();
+
+    /**
+     * @return true if the index is ordered on attribute and supports range queries
+     */
+    boolean isSorted();
+
+    /**
+     * @return attribute of value as indexed, null if value is not indexed
+     */
+    A attributeOf(V value);
+
+    /**
+     * @return keys of values with attribute
+     */
+    Set<K> findKeys(A attribute);
+
+    /**
+     * @return values with attribute
+     */
+    List<V> findBy(A attribute);
+
+    /**
+     * @param from lowest attribute, inclusive
+     * @param to   highest attribute, exclusive
+     * @return keys of values with attribute in range, requires a sorted index
+     */
+    Set<K> findKeysInRange(A from, A to);
+
+    /**
+     * @param from lowest attribute, inclusive
+     * @param to   highest attribute, exclusive
+     * @return values with attribute in range, requires a sorted index
+     */
+    List<V> findInRange(A from, A to);
+
+    /**
+     * @return number of distinct attributes in the index
+     */
+    int size();
+
+    boolean isAttached();
+}
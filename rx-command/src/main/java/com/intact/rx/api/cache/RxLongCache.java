@@ -0,0 +1,45 @@
+package com.intact.rx.api.cache;
+
+import java.util.Optional;
+
+/**
+ * RxCache keyed by primitive long. Keys are kept in an open addressing table of primitive longs, and lookups by long
+ * key neither box the key nor, with readOrNull, allocate on hits. Write and take by long key reuse the key held by an
+ * existing entry, i.e., the key is only boxed when a write creates an entry. Observers, selections and eviction are the
+ * same as for any RxCache.
+ *
+ * @param <V> type of values
+ */
+public interface RxLongCache<V> extends RxCache<Long, V> {
+
+    /**
+     * @param key to lookup in cache
+     * @return true if value found
+     */
+    boolean containsKey(long key);
+
+    /**
+     * @param key to lookup in cache
+     * @return optional value
+     */
+    Optional<V> read(long key);
+
+    /**
+     * @param key to lookup in cache
+     * @return value or null if not found
+     */
+    V readOrNull(long key);
+
+    /**
+     * @param key   to find value
+     * @param value to be written to cache
+     * @return optional overwritten value
+     */
+    Optional<V> write(long key, V value);
+
+    /**
+     * @param key to find value
+     * @return value taken out of cache
+     */
+    Optional<V> take(long key);
+}
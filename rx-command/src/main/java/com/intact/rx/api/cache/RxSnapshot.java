@@ -0,0 +1,29 @@
+package com.intact.rx.api.cache;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of the (key, value) pairs of a cache at one point in time. Iterating the snapshot holds no lock of the
+ * cache and is unaffected by later writes. Entries whose root expired after the snapshot was taken are skipped.
+ */
+public interface RxSnapshot<K, V> extends Iterable<Map.Entry<K, V>> {
+
+    /**
+     * @return number of entries in snapshot, including entries that expired after it was taken
+     */
+    int size();
+
+    boolean isEmpty();
+
+    /**
+     * @return value of key as of the snapshot
+     */
+    Optional<V> read(K key);
+
+    boolean containsKey(K key);
+
+    Iterable<K> keys();
+
+    Iterable<V> values();
+}
@@ -0,0 +1,47 @@
+package com.intact.rx.api.cache;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes cached values to bytes and back, used to store values outside the Java heap, see
+ * {@link com.intact.rx.policy.OffHeap}. Decoding must return a value equal to the encoded one.
+ */
+public interface ValueCodec<V> {
+    byte[] encode(V value);
+
+    /**
+     * @param bytes read-only view of exactly the encoded bytes, positioned at the first byte
+     */
+    V decode(ByteBuffer bytes);
+
+    /**
+     * @return codec based on java.io serialization, values must be Serializable
+     */
+    static <V> ValueCodec<V> javaSerialization() {
+        return new ValueCodec<V>() {
+            @Override
+            public byte[] encode(V value) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(value);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Failed to serialize " + value, e);
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            public V decode(ByteBuffer bytes) {
+                byte[] array = new byte[bytes.remaining()];
+                bytes.get(array);
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(array))) {
+                    //noinspection unchecked
+                    return (V) in.readObject();
+                } catch (IOException | ClassNotFoundException e) {
+                    throw new IllegalStateException("Failed to deserialize cached value", e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.intact.rx.api.cache;
+
+/**
+ * Difference between two versions of a value, used to keep the undo/redo history of large values as deltas, see
+ * {@link com.intact.rx.policy.MementoPolicy}. apply(base, diff(base, target)) must return a value equal to target.
+ *
+ * @param <D> delta type
+ */
+public interface ValueDelta<V, D> {
+    D diff(V base, V target);
+
+    V apply(V base, D delta);
+}
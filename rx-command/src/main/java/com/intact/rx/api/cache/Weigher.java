@@ -0,0 +1,14 @@
+package com.intact.rx.api.cache;
+
+/**
+ * Computes the weight of a cached (key, value), e.g., its approximate size in bytes. Used with a maxWeight resource limit.
+ * Must be non-negative and return the same weight for the same (key, value).
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+    int weigh(K key, V value);
+
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+}
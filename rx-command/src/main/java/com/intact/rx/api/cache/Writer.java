@@ -1,5 +1,6 @@
 package com.intact.rx.api.cache;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -44,6 +45,19 @@ public interface Writer<K, V> {
      */
     V computeIfAbsent(K key, Function<? super K, ? extends V> factory);
 
+    /**
+     * Bulk computeIfAbsent, see computeIfAbsent(key, factory).
+     *
+     * @param keys    to find values
+     * @param factory supplies the value of each absent key
+     * @return existing or created value per key
+     */
+    default Map<K, V> computeIfAbsent(Iterable<? extends K> keys, Function<? super K, ? extends V> factory) {
+        Map<K, V> values = new HashMap<>();
+        keys.forEach(key -> values.put(key, computeIfAbsent(key, factory)));
+        return values;
+    }
+
     /**
      * If the value for the specified key is present and non-null, attempts to
      * compute a new mapping given the key and its current mapped value.
@@ -1,5 +1,7 @@
 package com.intact.rx.api.cache.observer;
 
+import java.util.Map;
+
 /**
  * Attach to DataCache (the home for type T)
  */
@@ -10,4 +12,13 @@ public interface ObjectObserver<K, V> {
     void onObjectRemoved(K key, V value);
 
     void onObjectModified(K key, V value);
+
+    /**
+     * Changes of one bulk operation delivered as one event, by default as individual events.
+     */
+    default void onObjectsChanged(Map<K, V> created, Map<K, V> modified, Map<K, V> removed) {
+        created.forEach(this::onObjectCreated);
+        modified.forEach(this::onObjectModified);
+        removed.forEach(this::onObjectRemoved);
+    }
 }
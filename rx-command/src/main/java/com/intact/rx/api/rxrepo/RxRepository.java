@@ -2,6 +2,7 @@ package com.intact.rx.api.rxrepo;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.intact.rx.api.RxConfig;
 import com.intact.rx.api.RxContext;
@@ -115,6 +116,16 @@ public interface RxRepository<K, V> extends RxRepositoryAccessor<K, V> {
 
     RxRepositoryReaderCollection<K, V> requestAllFor(MasterCacheId masterCacheId, Iterable<K> keys, Strategy1<V, K> valueComputer);
 
+    /**
+     * Create requests of keys loaded in batches, see {@link #requestBatchedValueFor(Object, Strategy1)}. Requests of
+     * keys without cached value are started at once, so they are loaded together.
+     *
+     * @param keys       used as request keys
+     * @param bulkLoader loads values of a batch of keys
+     * @return reader collection
+     */
+    RxRepositoryReaderCollection<K, V> requestAllBatchedFor(Iterable<K> keys, Strategy1<Map<K, V>, Set<K>> bulkLoader);
+
     /**
      * Create a keyed request with a Streamer that will be reused until it its lifetime expires, where lifetime
      * is defined by requestCachePolicy.
@@ -189,6 +200,16 @@ public interface RxRepository<K, V> extends RxRepositoryAccessor<K, V> {
      */
     RxValueReader<V> requestValueFor(MasterCacheId masterCacheId, RxContext rxContext, K key, Strategy1<V, K> actor);
 
+    /**
+     * Retrieve value with a bulk loader shared by concurrent requests. Misses of the cache within the window of
+     * RepositoryConfig.getBatching are collected and loaded by a single call of the bulk loader of the first miss.
+     *
+     * @param key        used as input to bulk loader, also used as request key
+     * @param bulkLoader loads values of a batch of keys, keys absent from the result are not found
+     * @return value reader
+     */
+    RxValueReader<V> requestBatchedValueFor(K key, Strategy1<Map<K, V>, Set<K>> bulkLoader);
+
     /**
      * Retrieve value with actor using key
      *
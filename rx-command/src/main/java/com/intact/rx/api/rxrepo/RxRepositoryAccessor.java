@@ -2,6 +2,7 @@ package com.intact.rx.api.rxrepo;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.intact.rx.api.command.Strategy1;
 import com.intact.rx.api.command.Strategy2;
@@ -59,6 +60,16 @@ public interface RxRepositoryAccessor<K, V> {
      */
     Map<K, V> computeIfAbsent(Iterable<K> keys, Strategy1<V, K> getter);
 
+    /**
+     * Get multiple values, absent values are loaded in batches by the bulk getter, see RxRepository.requestBatchedValueFor.
+     * Should throw an exception on retrieval failure or timeouts.
+     *
+     * @param keys       Keys
+     * @param bulkGetter getter function of a batch of keys
+     * @return values
+     */
+    Map<K, V> computeIfAbsentBatched(Iterable<K> keys, Strategy1<Map<K, V>, Set<K>> bulkGetter);
+
     /**
      * Get the value with a supplier that does the getter.  Should throw an exception on retrieval failure or timeouts.
      *
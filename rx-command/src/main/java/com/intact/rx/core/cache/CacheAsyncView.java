@@ -0,0 +1,148 @@
+package com.intact.rx.core.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.api.cache.CacheHandle;
+import com.intact.rx.api.cache.RxAsyncCache;
+import com.intact.rx.api.cache.RxCache;
+import com.intact.rx.api.command.Strategy1;
+import com.intact.rx.core.cache.data.DataCache;
+import com.intact.rx.core.machine.factory.RxThreadPoolFactory;
+import com.intact.rx.core.rxcache.Streamer;
+
+/**
+ * RxAsyncCache on an RxCache. Loads in flight are registered in the DataCache, so all views of a cache share them.
+ * Writes run on the executor of the view, by default the command thread pool that also executes the Streamer loads.
+ */
+public class CacheAsyncView<K, V> implements RxAsyncCache<K, V> {
+    private final RxCache<K, V> cache;
+    private final Supplier<DataCache<K, V>> dataCache;
+    private final Executor executor;
+
+    public CacheAsyncView(RxCache<K, V> cache, Supplier<DataCache<K, V>> dataCache) {
+        this(cache, dataCache, RxThreadPoolFactory.defaultCommandPool());
+    }
+
+    public CacheAsyncView(RxCache<K, V> cache, Supplier<DataCache<K, V>> dataCache, Executor executor) {
+        this.cache = requireNonNull(cache);
+        this.dataCache = requireNonNull(dataCache);
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public CacheHandle getCacheHandle() {
+        return cache.getCacheHandle();
+    }
+
+    @Override
+    public RxCache<K, V> synchronous() {
+        return cache;
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> get(K key) {
+        Optional<V> cached = cache.read(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return dataCache.get().findLoad(key)
+                .map(CompletableFuture::copy)
+                .orElseGet(() -> CompletableFuture.completedFuture(cache.read(key)));
+    }
+
+    @Override
+    public CompletableFuture<Map<K, V>> getAll(Iterable<? extends K> keys) {
+        final Map<K, V> found = cache.read(keys);
+        final Map<K, CompletableFuture<Optional<V>>> loading = new HashMap<>();
+        for (K key : keys) {
+            if (!found.containsKey(key)) {
+                dataCache.get().findLoad(key).ifPresent(load -> loading.put(key, load.exceptionally(e -> Optional.empty())));
+            }
+        }
+        if (loading.isEmpty()) {
+            return CompletableFuture.completedFuture(found);
+        }
+
+        return CompletableFuture
+                .allOf(loading.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignore -> {
+                    Map<K, V> values = new HashMap<>(found);
+                    loading.forEach((key, load) -> load.join().ifPresent(value -> values.put(key, value)));
+                    return values;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> computeIfAbsent(K key, Strategy1<V, K> loader) {
+        requireNonNull(loader);
+        return computeIfAbsent(key, () -> loadWithStreamer(key, loader));
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> computeIfAbsentAsync(K key, Function<? super K, ? extends CompletionStage<? extends V>> loader) {
+        requireNonNull(loader);
+        return computeIfAbsent(key, () -> loader.apply(key)
+                .toCompletableFuture()
+                .thenApply(value -> value != null
+                        ? Optional.of(cache.computeIfAbsent(key, k -> value))
+                        : Optional.<V>empty()));
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> put(K key, V value) {
+        requireNonNull(key);
+        return CompletableFuture.supplyAsync(() -> cache.write(key, value), executor);
+    }
+
+    // -----------------------------------------------------------
+    // Private functions
+    // -----------------------------------------------------------
+
+    private CompletableFuture<Optional<V>> computeIfAbsent(K key, Supplier<CompletableFuture<Optional<V>>> load) {
+        requireNonNull(key);
+
+        Optional<V> cached = cache.read(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return dataCache.get()
+                .shareLoad(key, () -> {
+                    // Note: a load sharing the key may have completed after the read above
+                    Optional<V> loaded = cache.read(key);
+                    return loaded.isPresent() ? CompletableFuture.completedFuture(loaded) : load.get();
+                })
+                .copy();
+    }
+
+    private CompletableFuture<Optional<V>> loadWithStreamer(K key, Strategy1<V, K> loader) {
+        final CacheHandle cacheHandle = cache.getCacheHandle();
+        final CompletableFuture<Optional<V>> loaded = new CompletableFuture<>();
+
+        Streamer.forCache(cacheHandle.getMasterCacheId())
+                .withDomainCacheId(cacheHandle.getDomainCacheId())
+                .build()
+                .onCompleteDo(() -> loaded.complete(cache.read(key)))
+                .onErrorDo(loaded::completeExceptionally)
+                .sequential()
+                .get(cacheHandle, () -> Optional.ofNullable(loader.perform(key)).map(value -> Map.of(key, value)).orElse(null))
+                .done()
+                .subscribe();
+        return loaded;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheAsyncView{" +
+                "cacheHandle=" + cache.getCacheHandle() +
+                '}';
+    }
+}
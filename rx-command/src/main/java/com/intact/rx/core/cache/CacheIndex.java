@@ -0,0 +1,92 @@
+package com.intact.rx.core.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.api.cache.CacheHandle;
+import com.intact.rx.api.cache.RxIndex;
+import com.intact.rx.core.cache.data.DataCache;
+import com.intact.rx.core.cache.data.context.AttributeIndex;
+
+/**
+ * Query access to an AttributeIndex of a DataCache. Keys are looked up in the index, values are read from the cache
+ * with one lock acquisition per stripe.
+ */
+public class CacheIndex<K, V, A> implements RxIndex<K, V, A> {
+    private final AttributeIndex<K, V, A> index;
+    private final DataCache<K, V> attachedToCache;
+
+    public CacheIndex(AttributeIndex<K, V, A> index, DataCache<K, V> attachedToCache) {
+        this.index = requireNonNull(index);
+        this.attachedToCache = requireNonNull(attachedToCache);
+    }
+
+    // ----------------------------------------
+    // Interface RxIndex
+    // ----------------------------------------
+
+    @Override
+    public Object getId() {
+        return index.getId();
+    }
+
+    @Override
+    public CacheHandle getCacheId() {
+        return attachedToCache.getCacheId();
+    }
+
+    @Override
+    public boolean isSorted() {
+        return index.isSorted();
+    }
+
+    @Override
+    public A attributeOf(V value) {
+        return index.attributeOf(value);
+    }
+
+    @Override
+    public Set<K> findKeys(A attribute) {
+        return index.findKeys(attribute);
+    }
+
+    @Override
+    public List<V> findBy(A attribute) {
+        return readValues(index.findKeys(attribute));
+    }
+
+    @Override
+    public Set<K> findKeysInRange(A from, A to) {
+        return index.findKeysInRange(from, to);
+    }
+
+    @Override
+    public List<V> findInRange(A from, A to) {
+        return readValues(index.findKeysInRange(from, to));
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isAttached() {
+        return attachedToCache.isIndexAttached(index.getId());
+    }
+
+    private List<V> readValues(Set<K> keys) {
+        return keys.isEmpty() ? new ArrayList<>() : new ArrayList<>(attachedToCache.read(keys).values());
+    }
+
+    @Override
+    public String toString() {
+        return "CacheIndex{" +
+                "index=" + index +
+                ", cacheId=" + attachedToCache.getCacheId() +
+                '}';
+    }
+}
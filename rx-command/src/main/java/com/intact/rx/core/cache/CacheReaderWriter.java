@@ -1,10 +1,12 @@
 package com.intact.rx.core.cache;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -15,6 +17,7 @@ import com.intact.rx.api.cache.observer.ObjectObserver;
 import com.intact.rx.api.cache.observer.ObjectTypeObserver;
 import com.intact.rx.api.command.VoidStrategy1;
 import com.intact.rx.api.command.VoidStrategy2;
+import com.intact.rx.core.cache.data.CacheSnapshot;
 import com.intact.rx.core.cache.data.DataCache;
 import com.intact.rx.core.cache.data.DataCacheNoAccess;
 import com.intact.rx.core.cache.nullobjects.*;
@@ -106,6 +109,49 @@ public class CacheReaderWriter<K, V> implements RxCache<K, V> {
         return cache().takeSelection(selectionId);
     }
 
+    @Override
+    public RxSnapshot<K, V> snapshot() {
+        return cache().isExpired()
+                ? CacheSnapshot.empty()
+                : cache().snapshot();
+    }
+
+    @Override
+    public RxAsyncCache<K, V> async() {
+        //noinspection unchecked
+        return cache().isExpired()
+                ? AsyncCacheNoOp.instance
+                : new CacheAsyncView<>(this, this::cache);
+    }
+
+    @Override
+    public <A> RxIndex<K, V, A> computeIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf) {
+        //noinspection unchecked
+        return cache().isExpired()
+                ? IndexNoOp.instance
+                : cache().computeIndexIfAbsent(indexId, attributeOf, false);
+    }
+
+    @Override
+    public <A extends Comparable<? super A>> RxIndex<K, V, A> computeSortedIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf) {
+        //noinspection unchecked
+        return cache().isExpired()
+                ? IndexNoOp.instance
+                : cache().computeIndexIfAbsent(indexId, attributeOf, true);
+    }
+
+    @Override
+    public <A> Optional<RxIndex<K, V, A>> readIndex(Object indexId) {
+        return cache().isExpired()
+                ? Optional.empty()
+                : cache().readIndex(indexId);
+    }
+
+    @Override
+    public boolean detachIndex(Object indexId) {
+        return cache().takeIndex(indexId);
+    }
+
     @Override
     public Loaned<V> loan(K key, LoanPolicy loanPolicy) {
         return cache().isExpired()
@@ -217,6 +263,11 @@ public class CacheReaderWriter<K, V> implements RxCache<K, V> {
         return cache().read(key);
     }
 
+    @Override
+    public Optional<Duration> readAge(K key) {
+        return cache().readAge(key);
+    }
+
     @Override
     public Map<K, V> read(Iterable<? extends K> keys) {
         return cache().read(keys);
@@ -247,6 +298,16 @@ public class CacheReaderWriter<K, V> implements RxCache<K, V> {
         return cache().readAsList();
     }
 
+    @Override
+    public Stream<Map.Entry<K, V>> stream() {
+        return cache().stream();
+    }
+
+    @Override
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return cache().parallelStream();
+    }
+
     @Override
     public CacheHandle getCacheHandle() {
         return cache().getCacheId();
@@ -326,6 +387,11 @@ public class CacheReaderWriter<K, V> implements RxCache<K, V> {
         return cache().computeIfAbsent(key, factory);
     }
 
+    @Override
+    public Map<K, V> computeIfAbsent(Iterable<? extends K> keys, Function<? super K, ? extends V> factory) {
+        return cache().computeIfAbsent(keys, factory);
+    }
+
     @Override
     public Optional<V> computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
         return cache().computeIfPresent(key, remappingFunction);
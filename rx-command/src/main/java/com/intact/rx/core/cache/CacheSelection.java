@@ -49,6 +49,10 @@ public class CacheSelection<K, V> implements RxSelection<K, V>, RxFilter<K, V> {
         return selectionSubject;
     }
 
+    public Filter<V> getFilter() {
+        return filter;
+    }
+
     // ----------------------------------------
     // Interface RxSelection
     // ----------------------------------------
@@ -0,0 +1,43 @@
+package com.intact.rx.core.cache;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.intact.rx.api.cache.RxLongCache;
+import com.intact.rx.core.cache.data.DataCache;
+
+public class LongCacheReaderWriter<V> extends CacheReaderWriter<Long, V> implements RxLongCache<V> {
+
+    public LongCacheReaderWriter(Supplier<DataCache<Long, V>> cacheSupplier) {
+        super(cacheSupplier);
+    }
+
+    // -----------------------------------------------------------
+    // Interface RxLongCache
+    // -----------------------------------------------------------
+
+    @Override
+    public boolean containsKey(long key) {
+        return cache().containsLongKey(key);
+    }
+
+    @Override
+    public Optional<V> read(long key) {
+        return Optional.ofNullable(cache().readLongOrNull(key));
+    }
+
+    @Override
+    public V readOrNull(long key) {
+        return cache().readLongOrNull(key);
+    }
+
+    @Override
+    public Optional<V> write(long key, V value) {
+        return cache().writeLong(key, value);
+    }
+
+    @Override
+    public Optional<V> take(long key) {
+        return cache().takeLong(key);
+    }
+}
@@ -0,0 +1,301 @@
+package com.intact.rx.core.cache.data;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.intact.rx.core.cache.status.AccessStatus.AccessState;
+import com.intact.rx.core.machine.RxThreadPool;
+import com.intact.rx.core.machine.factory.RxThreadPoolFactory;
+import com.intact.rx.policy.Dispatch;
+
+/**
+ * Asynchronous delivery of the changes of one DataCache, see {@link Dispatch}.
+ * <p>
+ * Writers append changes to a ring buffer. At most one drain task per cache runs on the cache dispatch pool, so batches
+ * are delivered in publish order. A MODIFIED change of a key with a pending WRITE or MODIFIED change updates the pending
+ * change in place. With Overflow.COALESCE changes beyond capacity are kept as the latest change per key and moved into
+ * the ring buffer as it drains.
+ */
+final class CacheEventDispatcher<K, V> {
+    private static final Logger log = LoggerFactory.getLogger(CacheEventDispatcher.class);
+
+    static final class Event<K, V> {
+        private final K key;
+        private V value;
+        private AccessState state;
+
+        private Event(K key, V value, AccessState state) {
+            this.key = key;
+            this.value = value;
+            this.state = state;
+        }
+
+        K getKey() {
+            return key;
+        }
+
+        V getValue() {
+            return value;
+        }
+
+        AccessState getState() {
+            return state;
+        }
+    }
+
+    private final Dispatch dispatch;
+    private final Consumer<List<Event<K, V>>> deliver;
+    private final Event<K, V>[] ring;
+    private final Map<K, Event<K, V>> pendingByKey = new HashMap<>();
+    private final Map<K, Event<K, V>> overflow = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+
+    private int head;
+    private int size;
+    private long numDropped;
+    private volatile Thread drainingThread;
+
+    CacheEventDispatcher(Dispatch dispatch, Consumer<List<Event<K, V>>> deliver) {
+        this.dispatch = requireNonNull(dispatch);
+        this.deliver = requireNonNull(deliver);
+        //noinspection unchecked
+        this.ring = (Event<K, V>[]) new Event[dispatch.getCapacity()];
+    }
+
+    void publish(K key, V value, AccessState state) {
+        requireNonNull(key);
+        requireNonNull(state);
+
+        lock.lock();
+        try {
+            if (state == AccessState.MODIFIED) {
+                Event<K, V> pending = pendingByKey.get(key);
+                if (pending != null) {
+                    pending.value = value;
+                    return;
+                }
+            }
+
+            Event<K, V> event = new Event<>(key, value, state);
+            if (!overflow.isEmpty() || size == ring.length) {
+                Dispatch.Overflow policy = Thread.currentThread() == drainingThread ? Dispatch.Overflow.COALESCE : dispatch.getOverflow();
+                switch (policy) {
+                    case BLOCK:
+                        awaitNotFull();
+                        break;
+                    case DROP_OLDEST:
+                        forget(poll());
+                        ++numDropped;
+                        break;
+                    case COALESCE:
+                        coalesce(event);
+                        return;
+                }
+            }
+            offer(event);
+        } finally {
+            lock.unlock();
+            schedule();
+        }
+    }
+
+    /**
+     * Wait until all changes published so far are delivered.
+     *
+     * @return true if drained within timeout
+     */
+    boolean awaitDrained(Duration timeout) {
+        long deadlineNs = System.nanoTime() + timeout.toNanos();
+        lock.lock();
+        try {
+            while (size > 0 || !overflow.isEmpty() || isScheduled.get()) {
+                long remainingNs = deadlineNs - System.nanoTime();
+                if (remainingNs <= 0) {
+                    return false;
+                }
+                // Note: isScheduled is cleared without the lock, so poll rather than rely on the signal alone
+                drained.awaitNanos(Math.min(remainingNs, TimeUnit.MILLISECONDS.toNanos(10)));
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of changes discarded by Overflow.DROP_OLDEST
+     */
+    long getNumDropped() {
+        lock.lock();
+        try {
+            return numDropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ----------------------------------------------
+    // Drain, at most one at a time
+    // ----------------------------------------------
+
+    private void schedule() {
+        if (!isScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        RxThreadPool pool = RxThreadPoolFactory.cacheDispatchPool();
+        if (pool.isShutdown()) {
+            drain();
+        } else {
+            pool.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainingThread = Thread.currentThread();
+        try {
+            while (true) {
+                List<Event<K, V>> batch = pollBatch();
+                if (batch.isEmpty()) {
+                    isScheduled.set(false);
+                    signalDrained();
+                    // Note: a publish between pollBatch and isScheduled.set(false) did not schedule a drain
+                    if (isEmpty() || !isScheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                try {
+                    deliver.accept(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Exception caught when delivering {} changes", batch.size(), e);
+                }
+            }
+        } finally {
+            drainingThread = null;
+        }
+    }
+
+    private List<Event<K, V>> pollBatch() {
+        lock.lock();
+        try {
+            int n = Math.min(size, dispatch.getMaxBatchSize());
+            List<Event<K, V>> batch = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Event<K, V> event = poll();
+                forget(event);
+                batch.add(event);
+            }
+
+            Iterator<Event<K, V>> coalesced = overflow.values().iterator();
+            while (size < ring.length && coalesced.hasNext()) {
+                offer(coalesced.next());
+                coalesced.remove();
+            }
+
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ----------------------------------------------
+    // Ring buffer, requires lock
+    // ----------------------------------------------
+
+    private void offer(Event<K, V> event) {
+        ring[(head + size) % ring.length] = event;
+        ++size;
+        track(event);
+    }
+
+    private Event<K, V> poll() {
+        Event<K, V> event = ring[head];
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+        --size;
+        return event;
+    }
+
+    private void coalesce(Event<K, V> event) {
+        Event<K, V> previous = overflow.remove(event.key);
+        if (previous != null && previous.state == AccessState.WRITE && event.state == AccessState.MODIFIED) {
+            event.state = AccessState.WRITE;
+        }
+        overflow.put(event.key, event);
+        track(event);
+    }
+
+    private void track(Event<K, V> event) {
+        if (event.state == AccessState.EXPIRED) {
+            pendingByKey.remove(event.key);
+        } else {
+            pendingByKey.put(event.key, event);
+        }
+    }
+
+    private void forget(Event<K, V> event) {
+        pendingByKey.remove(event.key, event);
+    }
+
+    private void awaitNotFull() {
+        boolean isInterrupted = false;
+        while (size == ring.length) {
+            schedule();
+            try {
+                notFull.await(10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isEmpty() {
+        lock.lock();
+        try {
+            return size == 0 && overflow.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalDrained() {
+        lock.lock();
+        try {
+            drained.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CacheEventDispatcher{" +
+                "dispatch=" + dispatch +
+                ", size=" + size +
+                ", numDropped=" + numDropped +
+                '}';
+    }
+}
@@ -1,7 +1,9 @@
 package com.intact.rx.core.cache.data;
 
+import java.nio.file.Path;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -9,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.intact.rx.api.cache.CacheHandle;
+import com.intact.rx.api.cache.ValueCodec;
 import com.intact.rx.api.command.Strategy0;
 import com.intact.rx.core.cache.data.context.CacheMasterPolicy;
 import com.intact.rx.core.cache.data.context.CacheMasterState;
@@ -87,7 +90,7 @@ public class CacheMaster
             dataCache = findCachePrivate(dataCacheId);
             if (dataCache == null) {
                 if (!state().getObjectCaches().containsKey(dataCacheId)) {
-                    state().addObjectCache(new ObjectCache<>(dataCacheId, dataCachePolicy));
+                    state().addObjectCache(new ObjectCache<>(state().getDomainCacheId(), dataCacheId, dataCachePolicy));
                 }
 
                 dataCache = new DataCache<>(this, CacheHandle.create(state().getDomainCacheId(), dataCacheId), dataCachePolicy);
@@ -110,20 +113,37 @@ public class CacheMaster
     }
 
     /**
-     * Note: if CacheMaster is expired then return expired ObjectCache. The ObjectCache itself will prevent access to expired data.
+     * @return epoch of the object caches, see getOrCreateObjectCache. Read without locking.
+     */
+    long getObjectCacheEpoch() {
+        return state().getObjectCacheEpoch();
+    }
+
+    /**
+     * Note: if CacheMaster is expired then return empty, the caller uses its expired ObjectCache. The ObjectCache itself will prevent access to expired data.
+     * <p>
+     * The returned ObjectCache may be bound by the caller until getObjectCacheEpoch changes.
      */
     @SuppressWarnings("SynchronizedMethod")
-    synchronized <K, V> ObjectCache<K, V> getOrCreateObjectCache(CacheHandle cacheHandle, DataCachePolicy policy) {
+    synchronized <K, V> Optional<ObjectCache<K, V>> getOrCreateObjectCache(CacheHandle cacheHandle, DataCachePolicy policy) {
         if (state().getAccessStatus().isExpired()) {
             //noinspection AccessToStaticFieldLockedOnInstance
-            log.debug("Creating expired object cache. Handling quietly");
-            return new ObjectCacheNoAccess<>(cacheHandle.getDataCacheId(), policy);
+            log.debug("Object cache requested from expired master. Handling quietly");
+            return Optional.empty();
         }
         if (!state().getObjectCaches().containsKey(cacheHandle.getDataCacheId())) {
-            state().addObjectCache(new ObjectCache<>(cacheHandle.getDataCacheId(), policy));
+            state().addObjectCache(new ObjectCache<>(state().getDomainCacheId(), cacheHandle.getDataCacheId(), policy));
         }
         //noinspection unchecked
-        return (ObjectCache<K, V>) state().getObjectCaches().get(cacheHandle.getDataCacheId());
+        return Optional.of((ObjectCache<K, V>) state().getObjectCaches().get(cacheHandle.getDataCacheId()));
+    }
+
+    /**
+     * @return object cache of dataCacheId if present, never creates one
+     */
+    <K, V> Optional<ObjectCache<K, V>> findObjectCache(DataCacheId dataCacheId) {
+        //noinspection unchecked
+        return Optional.ofNullable((ObjectCache<K, V>) state().getObjectCaches().get(dataCacheId));
     }
 
     public <K, V> boolean removeIf(DataCache<K, V> dataCache, Strategy0<Boolean> condition) {
@@ -138,14 +158,21 @@ public class CacheMaster
 
         @SuppressWarnings("rawtypes") Pair<DataCache, ObjectCache> tuple = removeIfPrivate(dataCacheId, () -> true);
 
-        tuple.second().ifPresent(ObjectCache::clear);
+        // Note: expire while the removed object cache is still bound, expiry never creates an object cache
+        boolean isExpired = tuple.first().map(DataCache::setExpired).orElse(false);
+
+        // Note: close before clear, removing the cache does not remove its durable contents
+        tuple.second().ifPresent(objectCache -> {
+            objectCache.close();
+            objectCache.clear();
+        });
 
         if (tuple.first().isPresent()) {
             state().getAccessStatus().modified();
         } else {
             state().getAccessStatus().notModified();
         }
-        return tuple.first().map(DataCache::setExpired).orElse(false);
+        return isExpired;
     }
 
     public void clearAll() {
@@ -162,6 +189,7 @@ public class CacheMaster
                 return false;
             }
             state().getAccessStatus().expired();
+            state().invalidateObjectCaches();
         }
 
         for (Entry<DataCacheId, DataCache<?, ?>> entry : state().getDataCacheMap().entrySet()) {
@@ -179,6 +207,28 @@ public class CacheMaster
         return true;
     }
 
+    // -----------------------------------------------------
+    // Snapshot and restore
+    // -----------------------------------------------------
+
+    /**
+     * Write the entries of all data caches to file, see CacheMasterSnapshot.
+     *
+     * @return number of entries written
+     */
+    public long snapshot(Path file, ValueCodec<Object> codec) {
+        return CacheMasterSnapshot.write(this, file, codec);
+    }
+
+    /**
+     * Restore entries from a snapshot file, keeping their access times. Data caches not present are created with dataCachePolicy.
+     *
+     * @return number of entries restored
+     */
+    public long restore(Path file, ValueCodec<Object> codec, DataCachePolicy dataCachePolicy) {
+        return CacheMasterSnapshot.restore(this, file, codec, dataCachePolicy);
+    }
+
     public boolean isExceededLifetime() {
         return !CachePolicyChecker.isInLifetime(state().getAccessStatus(), config().getLifetime());
     }
@@ -207,9 +257,15 @@ public class CacheMaster
 
     @SuppressWarnings({"SynchronizedMethod", "rawtypes"})
     private synchronized Pair<DataCache, ObjectCache> removeIfPrivate(DataCacheId dataCacheId, Strategy0<Boolean> condition) {
-        return condition.perform()
-                ? Pair.create(state().getDataCacheMap().remove(dataCacheId), state().getObjectCaches().remove(dataCacheId))
-                : Pair.empty();
+        if (!condition.perform()) {
+            return Pair.empty();
+        }
+
+        Pair<DataCache, ObjectCache> removed = Pair.create(state().getDataCacheMap().remove(dataCacheId), state().getObjectCaches().remove(dataCacheId));
+        if (removed.second().isPresent()) {
+            state().invalidateObjectCaches();
+        }
+        return removed;
     }
 
 
@@ -0,0 +1,277 @@
+package com.intact.rx.core.cache.data;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.intact.rx.api.RxDefault;
+import com.intact.rx.api.cache.ValueCodec;
+import com.intact.rx.core.cache.data.context.DataCachePolicy;
+import com.intact.rx.core.cache.data.id.DataCacheId;
+import com.intact.rx.core.cache.data.id.Typename;
+import com.intact.rx.core.cache.status.AccessTime;
+
+/**
+ * Binary snapshot of the DataCaches of a CacheMaster, used for warm restarts.
+ * <p>
+ * Layout: header (magic, version, snapshot ticker and wall clock time, number of sections, index offset), the sections,
+ * then an index of (offset, length) per section. A section holds up to SECTION_ENTRIES entries of one cache: name
+ * followed by entries of (created, started, modified, read) ticker times and length prefixed key and value bytes.
+ * Sections are streamed to the file and the header is patched last. On restore the sections are memory-mapped and
+ * restored in parallel, so a single large cache is restored in parallel as well.
+ * <p>
+ * Access times are restored relative to the restoring ticker and include the time the snapshot was at rest, so Lifetime
+ * keeps counting across the restart.
+ */
+final class CacheMasterSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(CacheMasterSnapshot.class);
+
+    private static final int MAGIC = 0x52585331;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 8;
+    private static final int INDEX_ENTRY_BYTES = 8 + 8;
+    private static final int SECTION_ENTRIES = 4096;
+
+    private CacheMasterSnapshot() {
+    }
+
+    /**
+     * @return number of entries written
+     */
+    static long write(CacheMaster cacheMaster, Path file, ValueCodec<Object> codec) {
+        requireNonNull(cacheMaster);
+        requireNonNull(file);
+        requireNonNull(codec);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long numEntries = 0;
+        List<long[]> index = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            SectionWriter sections = new SectionWriter(out, index, HEADER_BYTES);
+            for (Map.Entry<DataCacheId, DataCache<?, ?>> entry : cacheMaster.state().getDataCacheMap().entrySet()) {
+                if (entry.getValue().isExpired()) {
+                    continue;
+                }
+                numEntries += writeSections(entry.getKey().getId(), entry.getValue(), codec, sections);
+            }
+
+            long indexOffset = sections.offset;
+            for (long[] section : index) {
+                out.writeLong(section[0]);
+                out.writeLong(section[1]);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(RxDefault.getTicker().millis())
+                    .putLong(System.currentTimeMillis())
+                    .putInt(index.size())
+                    .putLong(indexOffset);
+            header.flip();
+            writeFully(channel, header, 0);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cache snapshot " + file, e);
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to move cache snapshot to " + file, e);
+        }
+
+        log.info("Wrote snapshot of {} with {} entries in {} sections to {}", cacheMaster.getMasterCacheId(), numEntries, index.size(), file);
+        return numEntries;
+    }
+
+    /**
+     * Restore entries into the DataCaches of cacheMaster. Caches not present are created with dataCachePolicy, keys
+     * already present are left untouched.
+     *
+     * @return number of entries restored
+     */
+    static long restore(CacheMaster cacheMaster, Path file, ValueCodec<Object> codec, DataCachePolicy dataCachePolicy) {
+        requireNonNull(cacheMaster);
+        requireNonNull(file);
+        requireNonNull(codec);
+        requireNonNull(dataCachePolicy);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not a cache snapshot: " + file);
+            }
+
+            long snapshotTickerMs = header.getLong();
+            long snapshotWallMs = header.getLong();
+            int numSections = header.getInt();
+            long indexOffset = header.getLong();
+
+            long atRestMs = Math.max(0L, System.currentTimeMillis() - snapshotWallMs);
+            long shiftMs = RxDefault.getTicker().millis() - snapshotTickerMs - atRestMs;
+
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) INDEX_ENTRY_BYTES * numSections);
+            List<ByteBuffer> sections = new ArrayList<>(numSections);
+            for (int i = 0; i < numSections; i++) {
+                sections.add(channel.map(FileChannel.MapMode.READ_ONLY, index.getLong(), index.getLong()));
+            }
+
+            long numRestored = sections.parallelStream()
+                    .mapToLong(section -> restoreSection(cacheMaster, section, codec, dataCachePolicy, shiftMs))
+                    .sum();
+
+            log.info("Restored {} entries in {} sections of {} from {}", numRestored, numSections, cacheMaster.getMasterCacheId(), file);
+            return numRestored;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read cache snapshot " + file, e);
+        }
+    }
+
+    // -----------------------------------------------------------
+    // Private functions
+    // -----------------------------------------------------------
+
+    /**
+     * Write the entries of dataCache in sections of up to SECTION_ENTRIES entries. An empty cache gets one empty section,
+     * so it is created on restore.
+     */
+    private static long writeSections(Typename typename, DataCache<?, ?> dataCache, ValueCodec<Object> codec, SectionWriter sections) throws IOException {
+        byte[] name = typename.getName().getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(entries);
+        long numEntries = 0;
+        int numInSection = 0;
+        boolean isAnyWritten = false;
+
+        for (ObjectRoot<?, ?> root : dataCache.getRoots()) {
+            Object value = root.getValueNoStatusUpdate();
+            if (value == null || root.isExpired()) {
+                continue;
+            }
+
+            byte[] key;
+            byte[] encoded;
+            try {
+                key = codec.encode(root.getKey());
+                encoded = codec.encode(value);
+            } catch (RuntimeException e) {
+                log.debug("Skipping {} in snapshot of {}", root.getKey(), typename, e);
+                continue;
+            }
+
+            AccessTime time = root.getStatus().getTime();
+            out.writeLong(time.getCreatedTime());
+            out.writeLong(time.getStartTime());
+            out.writeLong(time.getModifiedTime());
+            out.writeLong(time.getReadTime());
+            out.writeInt(key.length);
+            out.write(key);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+            ++numEntries;
+
+            if (++numInSection == SECTION_ENTRIES) {
+                sections.write(name, numInSection, entries);
+                numInSection = 0;
+                isAnyWritten = true;
+            }
+        }
+
+        if (numInSection > 0 || !isAnyWritten) {
+            sections.write(name, numInSection, entries);
+        }
+        return numEntries;
+    }
+
+    private static long restoreSection(CacheMaster cacheMaster, ByteBuffer section, ValueCodec<Object> codec, DataCachePolicy dataCachePolicy, long shiftMs) {
+        byte[] name = new byte[section.getInt()];
+        section.get(name);
+        Typename typename = Typename.create(new String(name, StandardCharsets.UTF_8));
+
+        DataCache<Object, Object> dataCache = cacheMaster.findCacheByName(typename);
+        if (dataCache == null) {
+            dataCache = cacheMaster.getOrCreateDataCache(DataCacheId.create(typename, cacheMaster.getMasterCacheId()), dataCachePolicy);
+        }
+
+        int numEntries = section.getInt();
+        long numRestored = 0;
+        for (int i = 0; i < numEntries; i++) {
+            AccessTime time = new AccessTime(
+                    section.getLong() + shiftMs,
+                    section.getLong() + shiftMs,
+                    section.getLong() + shiftMs,
+                    section.getLong() + shiftMs);
+
+            Object key = codec.decode(slice(section, section.getInt()));
+            Object value = codec.decode(slice(section, section.getInt()));
+
+            if (dataCache.restore(key, value, time)) {
+                ++numRestored;
+            }
+        }
+        return numRestored;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice.asReadOnlyBuffer();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Streams sections to the snapshot file and records their (offset, length) in the index.
+     */
+    private static final class SectionWriter {
+        private final DataOutputStream out;
+        private final List<long[]> index;
+        private long offset;
+
+        private SectionWriter(DataOutputStream out, List<long[]> index, long offset) {
+            this.out = out;
+            this.index = index;
+            this.offset = offset;
+        }
+
+        private void write(byte[] name, int numEntries, ByteArrayOutputStream entries) throws IOException {
+            long length = 4L + name.length + 4L + entries.size();
+            out.writeInt(name.length);
+            out.write(name);
+            out.writeInt(numEntries);
+            entries.writeTo(out);
+            entries.reset();
+
+            index.add(new long[]{offset, length});
+            offset += length;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.intact.rx.core.cache.data;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.api.cache.RxSnapshot;
+import com.intact.rx.core.cache.data.context.ObjectCacheState;
+import com.intact.rx.core.cache.data.context.PersistentRootMap;
+
+/**
+ * Snapshot of an ObjectCache as one PersistentRootMap per stripe, indexed like the stripes of the cache.
+ */
+public final class CacheSnapshot<K, V> implements RxSnapshot<K, V> {
+    @SuppressWarnings("rawtypes")
+    private static final CacheSnapshot empty = new CacheSnapshot<>(new PersistentRootMap[]{PersistentRootMap.empty()});
+
+    private final PersistentRootMap<K, V>[] parts;
+    private final int size;
+
+    CacheSnapshot(PersistentRootMap<K, V>[] parts) {
+        this.parts = requireNonNull(parts);
+
+        int total = 0;
+        for (PersistentRootMap<K, V> part : parts) {
+            total += part.size();
+        }
+        this.size = total;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> CacheSnapshot<K, V> empty() {
+        return empty;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Optional<V> read(K key) {
+        PersistentRootMap.Leaf<K, V> leaf = find(key);
+        return leaf == null ? Optional.empty() : Optional.ofNullable(leaf.getValue());
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new LeafIterator<>(parts, leaf -> leaf, true);
+    }
+
+    @Override
+    public Iterable<K> keys() {
+        return () -> new LeafIterator<>(parts, PersistentRootMap.Leaf::getKey, true);
+    }
+
+    @Override
+    public Iterable<V> values() {
+        return () -> new LeafIterator<>(parts, PersistentRootMap.Leaf::getValue, true);
+    }
+
+    /**
+     * @return (key, value, root) of all entries including expired, for the cache to build copies without locking
+     */
+    Iterable<PersistentRootMap.Leaf<K, V>> leaves() {
+        return () -> new LeafIterator<>(parts, leaf -> leaf, false);
+    }
+
+    PersistentRootMap<K, V>[] parts() {
+        return parts;
+    }
+
+    private PersistentRootMap.Leaf<K, V> find(K key) {
+        if (key == null) {
+            return null;
+        }
+        PersistentRootMap.Leaf<K, V> leaf = parts[ObjectCacheState.stripeIndexOf(key.hashCode(), parts.length)].get(key);
+        return leaf == null || leaf.getRoot().isExpired() ? null : leaf;
+    }
+
+    /**
+     * Walks the stripes in order, optionally skipping entries whose root has expired
+     */
+    private static final class LeafIterator<K, V, T> implements Iterator<T> {
+        private final PersistentRootMap<K, V>[] parts;
+        private final Function<PersistentRootMap.Leaf<K, V>, T> mapper;
+        private final boolean isSkipExpired;
+        private Iterator<PersistentRootMap.Leaf<K, V>> current = Collections.emptyIterator();
+        private int nextPart;
+        private PersistentRootMap.Leaf<K, V> pending;
+
+        private LeafIterator(PersistentRootMap<K, V>[] parts, Function<PersistentRootMap.Leaf<K, V>, T> mapper, boolean isSkipExpired) {
+            this.parts = parts;
+            this.mapper = mapper;
+            this.isSkipExpired = isSkipExpired;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public T next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            T next = mapper.apply(pending);
+            advance();
+            return next;
+        }
+
+        private void advance() {
+            pending = null;
+            while (true) {
+                while (current.hasNext()) {
+                    PersistentRootMap.Leaf<K, V> leaf = current.next();
+                    if (!isSkipExpired || !leaf.getRoot().isExpired()) {
+                        pending = leaf;
+                        return;
+                    }
+                }
+                if (nextPart >= parts.length) {
+                    return;
+                }
+                current = parts[nextPart++].iterator();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CacheSnapshot{" +
+                "stripes=" + parts.length +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,163 @@
+package com.intact.rx.core.cache.data;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.core.cache.data.context.ObjectCacheStripe;
+import com.intact.rx.core.cache.data.context.PersistentRootMap;
+
+/**
+ * Spliterator of the live (key, value) pairs of an ObjectCache, split on stripes and then within a stripe. Expired roots
+ * and null values are skipped.
+ * <p>
+ * Over a snapshot the stripe tries are traversed without locking or copying, and the spliterator is IMMUTABLE. It is
+ * also SIZED if roots cannot expire. Without snapshot iteration each stripe is copied under its read lock when the
+ * traversal reaches it, so at most one stripe per thread is held in memory, and the spliterator is CONCURRENT.
+ */
+final class CacheSpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+    private final List<ObjectCacheStripe<K, V>> stripes;
+    private final PersistentRootMap<K, V>[] parts;
+    private final long estimatePerStripe;
+
+    private boolean isSized;
+
+    private int index;
+    private int fence;
+    private Spliterator<? extends Map.Entry<K, V>> current;
+    private Map.Entry<K, V> pending;
+
+    private CacheSpliterator(List<ObjectCacheStripe<K, V>> stripes, PersistentRootMap<K, V>[] parts, boolean isSized, long estimatePerStripe, int index, int fence) {
+        this.stripes = stripes;
+        this.parts = parts;
+        this.isSized = isSized;
+        this.estimatePerStripe = estimatePerStripe;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * @param canExpire true if roots of the cache may expire, i.e., the size of the snapshot is not exact
+     */
+    static <K, V> CacheSpliterator<K, V> overSnapshot(CacheSnapshot<K, V> snapshot, boolean canExpire) {
+        PersistentRootMap<K, V>[] parts = snapshot.parts();
+        return new CacheSpliterator<>(null, parts, !canExpire, 0, 0, parts.length);
+    }
+
+    /**
+     * @param size current number of roots, used for the size estimate
+     */
+    static <K, V> CacheSpliterator<K, V> overStripes(List<ObjectCacheStripe<K, V>> stripes, int size) {
+        return new CacheSpliterator<>(requireNonNull(stripes), null, false, Math.max(1, size / stripes.size()), 0, stripes.size());
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+        while (true) {
+            if (current == null) {
+                if (index >= fence) {
+                    return false;
+                }
+                current = open(index++);
+            }
+            pending = null;
+            if (!current.tryAdvance(this::accept)) {
+                current = null;
+                continue;
+            }
+            if (pending != null) {
+                Map.Entry<K, V> next = pending;
+                pending = null;
+                action.accept(next);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> trySplit() {
+        if (current == null && fence - index >= 2) {
+            int mid = (index + fence) >>> 1;
+            CacheSpliterator<K, V> prefix = new CacheSpliterator<>(stripes, parts, isSized, estimatePerStripe, index, mid);
+            index = mid;
+            return prefix;
+        }
+        if (current == null && fence - index == 1) {
+            current = open(index++);
+        }
+        if (current == null) {
+            return null;
+        }
+        Spliterator<? extends Map.Entry<K, V>> split = current.trySplit();
+        if (split == null) {
+            return null;
+        }
+        CacheSpliterator<K, V> prefix = new CacheSpliterator<>(stripes, parts, false, estimatePerStripe, 0, 0);
+        prefix.current = split;
+        isSized = false;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        long estimate = current != null ? current.estimateSize() : 0L;
+        if (parts == null) {
+            return estimate + estimatePerStripe * (fence - index);
+        }
+        for (int i = index; i < fence; i++) {
+            estimate += parts[i].size();
+        }
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        if (parts == null) {
+            return DISTINCT | NONNULL | CONCURRENT;
+        }
+        return isSized ? DISTINCT | NONNULL | IMMUTABLE | SIZED : DISTINCT | NONNULL | IMMUTABLE;
+    }
+
+    // -----------------------------------------------------------
+    // Private functions
+    // -----------------------------------------------------------
+
+    private void accept(Map.Entry<K, V> entry) {
+        if (parts != null) {
+            PersistentRootMap.Leaf<K, V> leaf = (PersistentRootMap.Leaf<K, V>) entry;
+            if (leaf.getValue() == null || leaf.getRoot().isExpired()) {
+                return;
+            }
+        }
+        pending = entry;
+    }
+
+    private Spliterator<? extends Map.Entry<K, V>> open(int part) {
+        if (parts != null) {
+            return parts[part].spliterator();
+        }
+
+        ObjectCacheStripe<K, V> stripe = stripes.get(part);
+        if (!stripe.acquireReadLock()) {
+            return Spliterators.emptySpliterator();
+        }
+        try {
+            List<Map.Entry<K, V>> entries = new ArrayList<>();
+            for (ObjectRoot<K, V> root : stripe.values()) {
+                V value = root.getValueNoStatusUpdate();
+                if (value != null && !root.isExpired()) {
+                    entries.add(new SimpleImmutableEntry<>(root.getKey(), value));
+                }
+            }
+            return entries.spliterator();
+        } finally {
+            stripe.releaseReadLock();
+        }
+    }
+}
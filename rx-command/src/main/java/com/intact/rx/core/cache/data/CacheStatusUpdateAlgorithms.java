@@ -20,6 +20,17 @@ final class CacheStatusUpdateAlgorithms {
         }
     }
 
+    /**
+     * A write of an equal value is still a write, so it renews the lifetime, e.g., of a value reloaded by refresh-ahead.
+     */
+    static void processOnNotModified(AccessStatus accessStatus, Extension extension) {
+        accessStatus.notModified();
+
+        if (extension.isRenewOnWrite() || extension.isRenewOnAccess()) {
+            accessStatus.renewLoan();
+        }
+    }
+
     private CacheStatusUpdateAlgorithms() {
     }
 }
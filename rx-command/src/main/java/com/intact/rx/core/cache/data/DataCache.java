@@ -1,12 +1,16 @@
 package com.intact.rx.core.cache.data;
 
+import java.time.Duration;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Objects.requireNonNull;
 
@@ -17,18 +21,23 @@ import com.intact.rx.api.cache.*;
 import com.intact.rx.api.cache.observer.*;
 import com.intact.rx.api.command.VoidStrategy1;
 import com.intact.rx.api.command.VoidStrategy2;
+import com.intact.rx.core.cache.CacheIndex;
 import com.intact.rx.core.cache.CacheSelection;
 import com.intact.rx.core.cache.TransformationSelection;
 import com.intact.rx.core.cache.data.api.KeyValueCache;
+import com.intact.rx.core.cache.data.context.AttributeIndex;
 import com.intact.rx.core.cache.data.context.DataCachePolicy;
 import com.intact.rx.core.cache.data.context.DataCacheState;
+import com.intact.rx.core.cache.data.context.SelectionRouter;
 import com.intact.rx.core.cache.status.AccessStatus;
 import com.intact.rx.core.cache.status.AccessStatus.AccessState;
+import com.intact.rx.core.cache.status.AccessTime;
 import com.intact.rx.core.cache.strategy.CachePolicyChecker;
 import com.intact.rx.policy.LoanPolicy;
 import com.intact.rx.policy.LoanReturnPolicy;
 import com.intact.rx.templates.ContextObject;
 import com.intact.rx.templates.Pair;
+import com.intact.rx.templates.Tuple2;
 import com.intact.rx.templates.Tuple3;
 
 import static com.intact.rx.core.cache.data.CacheStatusUpdateAlgorithms.processOnModified;
@@ -37,20 +46,24 @@ import static com.intact.rx.core.cache.data.CacheStatusUpdateAlgorithms.processO
 /**
  * Access to object values in ObjectCache using simple (key,value) interface.
  * <p>
- * The DataCache notifies all observers attached regarding ObjectRoot status changes and DataCache status changes.
+ * The DataCache notifies all observers attached regarding ObjectRoot status changes and DataCache status changes, on the
+ * writing thread or through a {@link CacheEventDispatcher}, see {@link com.intact.rx.policy.Dispatch}.
  */
 @SuppressWarnings({"PublicMethodNotExposedInInterface", "SynchronizeOnThis"})
 public class DataCache<K, V> implements KeyValueCache<K, V> {
     private static final Logger log = LoggerFactory.getLogger(DataCache.class);
 
     private final ContextObject<DataCachePolicy, DataCacheState<K, V>> context;
+    private final CacheEventDispatcher<K, V> dispatcher;
 
     public DataCache(final CacheMaster cacheMaster, final CacheHandle cacheHandle, final DataCachePolicy dataCachePolicy) {
         this.context = new ContextObject<>(dataCachePolicy, new DataCacheState<>(cacheMaster, cacheHandle));
+        this.dispatcher = dataCachePolicy.getDispatch().isAsynchronous() ? new CacheEventDispatcher<>(dataCachePolicy.getDispatch(), this::deliver) : null;
     }
 
     DataCache(DataCache<K, V> dataCache) {
         this.context = new ContextObject<>(dataCache.config(), new DataCacheState<>(dataCache.state().getCacheMaster(), dataCache.getCacheId()));
+        this.dispatcher = null;
     }
 
     // ---------------------------------------
@@ -208,10 +221,16 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
                         selectionId,
                         o -> {
                             RxFilter<K, V> newFilter = new CacheSelection<>(selectionId, filter, this);
-                            cache().getRoots().forEach(objectRoot -> newFilter.filter(objectRoot.getKey(), objectRoot.getValueNoStatusUpdate(), objectRoot.isExpired()));
+                            if (filter instanceof AttributeFilter) {
+                                //noinspection unchecked
+                                cache().read((Set<K>) ((AttributeFilter<V, ?>) filter).findKeys()).forEach((key, value) -> newFilter.filter(key, value, false));
+                            } else {
+                                cache().getRoots().forEach(objectRoot -> newFilter.filter(objectRoot.getKey(), objectRoot.getValueNoStatusUpdate(), objectRoot.isExpired()));
+                            }
                             return newFilter;
                         }
                 );
+        state().getSelectionRouter().rebuild(state().getSelections());
         processCacheRead();
 
         //noinspection unchecked
@@ -222,12 +241,13 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
     }
 
     public Optional<RxSelection<K, V>> readSelection(Object selectionId) {
-        return Optional.ofNullable((RxSelection<K, V>) state().getTransformations().get(selectionId));
+        return Optional.ofNullable((RxSelection<K, V>) state().getSelections().get(selectionId));
     }
 
     public Optional<RxSelection<K, V>> takeSelection(Object selectionId) {
         requireNonNull(selectionId);
         RxFilter<K, V> removedFilter = state().getSelections().remove(selectionId);
+        state().getSelectionRouter().rebuild(state().getSelections());
 
         if (removedFilter instanceof CacheSelection) {
             ((CacheSelection) removedFilter).getSubject().onDetach();
@@ -241,6 +261,20 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return state().getSelections().containsKey(id);
     }
 
+    /**
+     * @return number of cache updates routed to selections, with getNumSelectionsEvaluated gives selections evaluated per update
+     */
+    public long getNumSelectionUpdates() {
+        return state().getSelectionRouter().getNumUpdates();
+    }
+
+    /**
+     * @return number of selection filters evaluated, see {@link SelectionRouter}
+     */
+    public long getNumSelectionsEvaluated() {
+        return state().getSelectionRouter().getNumEvaluated();
+    }
+
     // ---------------------------------------
     // RxSelection functions
     // ---------------------------------------
@@ -284,18 +318,98 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return state().getTransformations().containsKey(transformationId);
     }
 
+    // ---------------------------------------
+    // RxSnapshot functions
+    // ---------------------------------------
+
+    public RxSnapshot<K, V> snapshot() {
+        processCacheRead();
+        return cache().snapshot();
+    }
+
+    // ---------------------------------------
+    // RxAsyncCache functions
+    // ---------------------------------------
+
+    /**
+     * Share the load of a missing value. The first caller starts the load, others get the load in flight. The load is
+     * unregistered before it completes, so readers of the cache see the loaded value when no load is found.
+     *
+     * @param key  to load
+     * @param load started by the first caller
+     * @return load in flight for key
+     */
+    public CompletableFuture<Optional<V>> shareLoad(K key, Supplier<CompletableFuture<Optional<V>>> load) {
+        requireNonNull(key);
+        requireNonNull(load);
+
+        CompletableFuture<Optional<V>> shared = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> inFlight = state().getLoads().putIfAbsent(key, shared);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        CompletableFuture<Optional<V>> started;
+        try {
+            started = requireNonNull(load.get());
+        } catch (RuntimeException e) {
+            state().getLoads().remove(key, shared);
+            shared.completeExceptionally(e);
+            return shared;
+        }
+
+        started.whenComplete((value, throwable) -> {
+            state().getLoads().remove(key, shared);
+            if (throwable != null) {
+                shared.completeExceptionally(throwable);
+            } else {
+                shared.complete(value);
+            }
+        });
+        return shared;
+    }
+
+    public Optional<CompletableFuture<Optional<V>>> findLoad(K key) {
+        return Optional.ofNullable(state().getLoads().get(key));
+    }
+
+    // ---------------------------------------
+    // RxIndex functions
+    // ---------------------------------------
+
+    public <A> RxIndex<K, V, A> computeIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf, boolean isSorted) {
+        AttributeIndex<K, V, A> index = cache().computeIndexIfAbsent(indexId, attributeOf, isSorted);
+        processCacheRead();
+        return new CacheIndex<>(index, this);
+    }
+
+    public <A> Optional<RxIndex<K, V, A>> readIndex(Object indexId) {
+        return cache().<A>readIndex(indexId).map(index -> new CacheIndex<>(index, this));
+    }
+
+    public boolean takeIndex(Object indexId) {
+        requireNonNull(indexId);
+        return cache().removeIndex(indexId);
+    }
+
+    public boolean isIndexAttached(Object indexId) {
+        return cache().readIndex(indexId).isPresent();
+    }
+
     // ---------------------------------------
     // KeyValueCache interface
     // ---------------------------------------
 
     @Override
     public Optional<V> write(K key, V value) {
-        Pair<V, ObjectRoot<K, V>> previous = cache().write(key, value);
-
-        previous.first().ifPresent(this::notifyRemovedFromCacheObserver);
-        previous.second().ifPresent(root -> processCacheUpdate(root.getKey(), root.getValueNoStatusUpdate(), previous.first().isPresent() ? AccessStatus.AccessState.MODIFIED : AccessStatus.AccessState.WRITE));
+        return processWritten(cache().write(key, value));
+    }
 
-        return previous.first();
+    /**
+     * Same as write(Long.valueOf(key), value), the key is only boxed to create a new entry, see {@link com.intact.rx.policy.KeyType}
+     */
+    public Optional<V> writeLong(long key, V value) {
+        return processWritten(cache().writeLong(key, value));
     }
 
     @Override
@@ -309,8 +423,29 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
 
     @Override
     public Map<? extends K, ? extends V> writeAll(Map<? extends K, ? extends V> values) {
-        Map<K, V> previousValues = new HashMap<>();
-        values.forEach((k, v) -> write(k, v).ifPresent(previous -> previousValues.put(k, previous)));
+        final Map<K, Pair<V, ObjectRoot<K, V>>> written = new HashMap<>();
+        final Map<K, V> previousValues = new HashMap<>();
+        final Map<K, V> created = new HashMap<>();
+        final Map<K, V> modified = new HashMap<>();
+
+        try {
+            cache().writeAll(values, written);
+        } finally {
+            written.forEach((key, pair) -> {
+                V value = pair.second().map(ObjectRoot::getValueNoStatusUpdate).orElse(null);
+                if (value == null) {
+                    return;
+                }
+                if (pair.first().isPresent()) {
+                    previousValues.put(key, pair.first().get());
+                    modified.put(key, value);
+                } else {
+                    created.put(key, value);
+                }
+            });
+            previousValues.values().forEach(this::notifyRemovedFromCacheObserver);
+            processCacheUpdates(created, modified, Collections.emptyMap());
+        }
         return previousValues;
     }
 
@@ -325,6 +460,28 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return tuple.third.getValueNoStatusUpdate();
     }
 
+    @Override
+    public Map<K, V> computeIfAbsent(Iterable<? extends K> keys, Function<? super K, ? extends V> factory) {
+        final Map<K, Tuple3<AccessState, V, ObjectRoot<K, V>>> computed = new HashMap<>();
+        final Map<K, V> values = new HashMap<>();
+        final Map<K, V> created = new HashMap<>();
+
+        try {
+            cache().computeIfAbsent(keys, factory, computed);
+        } finally {
+            computed.forEach((key, tuple) -> {
+                V value = tuple.third.getValueNoStatusUpdate();
+                values.put(key, value);
+                if (tuple.first == AccessStatus.AccessState.WRITE) {
+                    notifyRemovedFromCacheObserver(tuple.second);
+                    created.put(key, value);
+                }
+            });
+            processCacheUpdates(created, Collections.emptyMap(), Collections.emptyMap());
+        }
+        return values;
+    }
+
     @Override
     public Optional<V> computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
         return cache()
@@ -435,20 +592,27 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
 
     @Override
     public Optional<V> take(K key) {
-        return cache()
-                .take(key)
-                .map(root -> {
-                    processCacheUpdate(root.getKey(), root.getValueNoStatusUpdate(), AccessStatus.AccessState.EXPIRED);
-                    return Optional.of(root.getValueNoStatusUpdate());
-                })
-                .orElse(Optional.empty());
+        return processTaken(cache().take(key));
+    }
+
+    /**
+     * Same as take(Long.valueOf(key)), without boxing the key
+     */
+    public Optional<V> takeLong(long key) {
+        return processTaken(cache().takeLong(key));
     }
 
     @Override
     public Map<K, V> take(Iterable<? extends K> keys) {
-        return cache().take(keys).entrySet().stream()
-                .peek(entry -> processCacheUpdate(entry.getKey(), entry.getValue().getValueNoStatusUpdate(), AccessStatus.AccessState.EXPIRED))
-                .collect(Collectors.toMap(Entry::getKey, entry -> entry.getValue().getValueNoStatusUpdate()));
+        final Map<K, V> removed = new HashMap<>();
+        cache().take(keys).forEach((key, root) -> {
+            V value = root.getValueNoStatusUpdate();
+            if (value != null) {
+                removed.put(key, value);
+            }
+        });
+        processCacheUpdates(Collections.emptyMap(), Collections.emptyMap(), removed);
+        return removed;
     }
 
     @Override
@@ -458,12 +622,34 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
                 .collect(Collectors.toMap(Entry::getKey, entry -> entry.getValue().getValueNoStatusUpdate()));
     }
 
+    /**
+     * Evict up to numToEvict least recently used objects, see ObjectCache.evict.
+     */
+    public Map<K, V> evict(long numToEvict) {
+        return cache().evict(numToEvict).entrySet().stream()
+                .peek(entry -> processCacheUpdate(entry.getKey(), entry.getValue().getValueNoStatusUpdate(), AccessStatus.AccessState.EXPIRED))
+                .collect(Collectors.toMap(Entry::getKey, entry -> entry.getValue().getValueNoStatusUpdate()));
+    }
+
+    /**
+     * Insert (key, value) with the given access time unless key is present, see ObjectCache.restore. Observers are
+     * notified as for a write.
+     *
+     * @return true if restored
+     */
+    public boolean restore(K key, V value, AccessTime accessTime) {
+        return cache().restore(key, value, accessTime)
+                .map(root -> {
+                    processCacheUpdate(root.getKey(), root.getValueNoStatusUpdate(), AccessStatus.AccessState.WRITE);
+                    return true;
+                })
+                .orElse(false);
+    }
+
     @Override
     public Map<K, V> takeExpired() {
-        return cache().getRoots().stream()
-                .filter(ObjectRoot::isExpired)
-                .peek(root -> cache().take(root.getKey()))
-                .collect(Collectors.toMap(ObjectRoot::getKey, ObjectRoot::getValueNoStatusUpdate));
+        return cache().takeExpired().entrySet().stream()
+                .collect(Collectors.toMap(Entry::getKey, entry -> entry.getValue().getValueNoStatusUpdate()));
     }
 
     @Override
@@ -492,6 +678,26 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return cache().read(key).map(ObjectRoot::getValueNoStatusUpdate);
     }
 
+    public Optional<Duration> readAge(K key) {
+        return cache().readAgeMillis(key).map(Duration::ofMillis);
+    }
+
+    /**
+     * Same as read(Long.valueOf(key)) without allocation on hits if the cache has long keys, see
+     * {@link com.intact.rx.policy.KeyType}.
+     *
+     * @return value or null if absent or expired
+     */
+    public V readLongOrNull(long key) {
+        processCacheRead();
+        ObjectRoot<K, V> root = cache().readLong(key);
+        return root != null ? root.getValueNoStatusUpdate() : null;
+    }
+
+    public boolean containsLongKey(long key) {
+        return cache().containsLongKey(key);
+    }
+
     @Override
     public Optional<V> loan(K key, LoanPolicy loanPolicy) {
         processCacheRead();
@@ -545,6 +751,15 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return cache().keySet();
     }
 
+    /**
+     * @return (key, value) of all entries not expired, same membership as keySet, without updating the access status of
+     * the entries
+     */
+    public Set<Entry<K, V>> entrySet() {
+        processCacheRead();
+        return cache().entrySet();
+    }
+
     @Override
     public Set<K> keySetExpired() {
         return cache().getRoots().stream()
@@ -560,6 +775,47 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return cache().readAsList();
     }
 
+    /**
+     * @return (key, value) pairs streamed from the cache storage without copying the cache
+     */
+    @Override
+    public Stream<Entry<K, V>> stream() {
+        processCacheRead();
+        return StreamSupport.stream(cache().spliterator(), false);
+    }
+
+    @Override
+    public Stream<Entry<K, V>> parallelStream() {
+        processCacheRead();
+        return StreamSupport.stream(cache().spliterator(), true);
+    }
+
+    /**
+     * @return total weight of cached values by the policy Weigher, or number of values when no Weigher is configured
+     */
+    public long weight() {
+        if (state().isExpired()) {
+            return 0;
+        }
+        return cache().weight();
+    }
+
+    /**
+     * Wait until changes are delivered to selections and observers, returns immediately with synchronous dispatch.
+     *
+     * @return true if all changes published so far were delivered within timeout
+     */
+    public boolean awaitDispatched(Duration timeout) {
+        return dispatcher == null || dispatcher.awaitDrained(timeout);
+    }
+
+    /**
+     * @return bytes of encoded values stored off heap, see {@link com.intact.rx.policy.OffHeap}
+     */
+    public long offHeapBytes() {
+        return cache().offHeapBytes();
+    }
+
     @Override
     public int size() {
         if (state().isExpired()) {
@@ -580,7 +836,7 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         Map<K, ObjectRoot<K, V>> removed = cache().clear();
 
         removed.values().stream()
-                .filter(root -> root != null && root.getValueNoStatusUpdate() != null)
+                .filter(root -> root != null && root.hasValue())
                 .forEach(root -> processCacheUpdate(root.getKey(), root.getValueNoStatusUpdate(), AccessStatus.AccessState.EXPIRED));
 
         Optional.ofNullable(state().getCacheMaster())
@@ -596,12 +852,12 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
 
     @Override
     public boolean isExpired(K key) {
-        return !CachePolicyChecker.isInLifetime(state().getAccessStatus(), config().getLifetime()) || cache().isExpired(key);
+        return isExpired() || cache().isExpired(key);
     }
 
     @Override
     public boolean isExpired() {
-        return !CachePolicyChecker.isInLifetime(state().getAccessStatus(), config().getLifetime());
+        return state().isExpired() || !CachePolicyChecker.isInLifetime(state().getAccessStatus(), config().getLifetime());
     }
 
     // ---------------------------------------
@@ -695,6 +951,15 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return cache().getRoots();
     }
 
+    /**
+     * Expire root before its Lifetime deadline, it is removed by the next takeExpired.
+     *
+     * @return false if root was already expired
+     */
+    public boolean setExpired(ObjectRoot<K, V> root) {
+        return cache().setExpired(root);
+    }
+
     public boolean setExpired() {
         if (!state().isExpired()) {
             boolean expired = false;
@@ -705,8 +970,9 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
                 }
             }
             if (expired) {
-                cache().getRoots().forEach(root -> {
-                    root.setExpired();
+                final ObjectCache<K, V> bound = boundCache();
+                bound.getRoots().forEach(root -> {
+                    bound.setExpired(root);
                     processCacheUpdate(root.getKey(), root.getValueNoStatusUpdate(), AccessStatus.AccessState.EXPIRED);
                 });
 
@@ -740,12 +1006,33 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         processOnRead(state().getAccessStatus(), config().getExtension());
     }
 
+    private Optional<V> processWritten(Pair<V, ObjectRoot<K, V>> previous) {
+        previous.first().ifPresent(this::notifyRemovedFromCacheObserver);
+        previous.second().ifPresent(root -> processCacheUpdate(root.getKey(), root.getValueNoStatusUpdate(), previous.first().isPresent() ? AccessStatus.AccessState.MODIFIED : AccessStatus.AccessState.WRITE));
+
+        return previous.first();
+    }
+
+    private Optional<V> processTaken(Optional<ObjectRoot<K, V>> taken) {
+        return taken
+                .map(root -> {
+                    processCacheUpdate(root.getKey(), root.getValueNoStatusUpdate(), AccessStatus.AccessState.EXPIRED);
+                    return Optional.of(root.getValueNoStatusUpdate());
+                })
+                .orElse(Optional.empty());
+    }
+
     private boolean processCacheUpdate(K key, V value, AccessStatus.AccessState state) {
         requireNonNull(key);
         requireNonNull(value);
         requireNonNull(state);
 
-        state().getSelections().forEach((id, selection) -> selection.filter(key, value, state == AccessStatus.AccessState.EXPIRED));
+        if (dispatcher != null && state != AccessStatus.AccessState.READ && state != AccessStatus.AccessState.NOT_MODIFIED) {
+            dispatcher.publish(key, value, state);
+            return true;
+        }
+
+        state().getSelectionRouter().filter(key, value, state == AccessStatus.AccessState.EXPIRED);
         state().getTransformations().forEach((id, selection) -> selection.filter(key, value, state == AccessStatus.AccessState.EXPIRED));
 
         switch (state) {
@@ -792,6 +1079,88 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         return true;
     }
 
+    private void processCacheUpdates(Map<K, V> created, Map<K, V> modified, Map<K, V> removed) {
+        if (dispatcher != null) {
+            created.forEach((key, value) -> dispatcher.publish(key, value, AccessStatus.AccessState.WRITE));
+            modified.forEach((key, value) -> dispatcher.publish(key, value, AccessStatus.AccessState.MODIFIED));
+            removed.forEach((key, value) -> dispatcher.publish(key, value, AccessStatus.AccessState.EXPIRED));
+            return;
+        }
+        notifyCacheUpdates(created, modified, removed);
+    }
+
+    /**
+     * Deliver a batch from the dispatcher in publish order, as consecutive bulk notifications without repeated keys.
+     */
+    private void deliver(List<CacheEventDispatcher.Event<K, V>> batch) {
+        Map<K, V> created = new LinkedHashMap<>();
+        Map<K, V> modified = new LinkedHashMap<>();
+        Map<K, V> removed = new LinkedHashMap<>();
+
+        for (CacheEventDispatcher.Event<K, V> event : batch) {
+            K key = event.getKey();
+            if (created.containsKey(key) || modified.containsKey(key) || removed.containsKey(key)) {
+                notifyCacheUpdates(created, modified, removed);
+                created = new LinkedHashMap<>();
+                modified = new LinkedHashMap<>();
+                removed = new LinkedHashMap<>();
+            }
+
+            switch (event.getState()) {
+                case WRITE:
+                    created.put(key, event.getValue());
+                    break;
+                case MODIFIED:
+                    modified.put(key, event.getValue());
+                    break;
+                case EXPIRED:
+                    removed.put(key, event.getValue());
+                    break;
+                default:
+                    break;
+            }
+        }
+        notifyCacheUpdates(created, modified, removed);
+    }
+
+    /**
+     * Bulk counterpart of processCacheUpdate: one pass over selections and transformations, one batched event to object
+     * observers and one modified cache event.
+     */
+    private void notifyCacheUpdates(Map<K, V> created, Map<K, V> modified, Map<K, V> removed) {
+        if (created.isEmpty() && modified.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        SelectionRouter<K, V> selectionRouter = state().getSelectionRouter();
+        if (!selectionRouter.isEmpty()) {
+            created.forEach((key, value) -> selectionRouter.filter(key, value, false));
+            modified.forEach((key, value) -> selectionRouter.filter(key, value, false));
+            removed.forEach((key, value) -> selectionRouter.filter(key, value, true));
+        }
+        state().getTransformations().forEach((id, selection) -> {
+            created.forEach((key, value) -> selection.filter(key, value, false));
+            modified.forEach((key, value) -> selection.filter(key, value, false));
+            removed.forEach((key, value) -> selection.filter(key, value, true));
+        });
+
+        state().getObjectSubject().onObjectsChanged(created, modified, removed);
+        state().getObjectLambdaSubject().onObjectsChanged(created, modified, removed);
+        created.values().forEach(state().getObjectTypeSubject()::onObjectCreated);
+        modified.values().forEach(state().getObjectTypeSubject()::onObjectModified);
+        removed.values().forEach(state().getObjectTypeSubject()::onObjectRemoved);
+
+        Optional.ofNullable(state().getCacheMaster())
+                .ifPresent(master -> master.onModifiedCache(state().getCacheHandle()));
+
+        if (!created.isEmpty() || !modified.isEmpty()) {
+            processOnModified(state().getAccessStatus(), config().getExtension());
+        }
+
+        created.values().forEach(this::notifyAddedToCacheObserver);
+        removed.values().forEach(this::notifyRemovedFromCacheObserver);
+    }
+
     private boolean notifyRemovedFromCacheObserver(V value) {
         try {
             if (value instanceof RemovedFromCacheObserver) {
@@ -816,12 +1185,49 @@ public class DataCache<K, V> implements KeyValueCache<K, V> {
         }
     }
 
+    /**
+     * Fast path returns the bound ObjectCache if the master epoch is unchanged, i.e., no object cache removed and master
+     * not expired since binding. Otherwise resolve through the (synchronized) cache master and rebind. An expired or
+     * released master, or an expired DataCache, resolves to the one ObjectCacheNoAccess of this DataCache, so a removed
+     * DataCache never creates its object cache anew.
+     */
     private ObjectCache<K, V> cache() {
-        return Optional.ofNullable(state().getCacheMaster())
-                .<ObjectCache<K, V>>map(cacheMaster -> cacheMaster.getOrCreateObjectCache(state().getCacheHandle(), config()))
-                .orElseGet(() -> {
-                    log.warn("CacheMaster was expired. Handling is quiet.");
-                    return new ObjectCacheNoAccess<>(state().getCacheHandle().getDataCacheId(), config());
-                });
+        CacheMaster cacheMaster = state().getCacheMaster();
+        if (cacheMaster == null) {
+            log.warn("CacheMaster was expired. Handling is quiet.");
+            return noAccessCache();
+        }
+
+        long masterEpoch = cacheMaster.getObjectCacheEpoch();
+        Tuple2<Long, ObjectCache<K, V>> bound = state().getBoundObjectCache();
+        if (bound != null && bound.first == masterEpoch) {
+            return bound.second;
+        }
+
+        ObjectCache<K, V> objectCache = state().isExpired()
+                ? noAccessCache()
+                : cacheMaster.<K, V>getOrCreateObjectCache(state().getCacheHandle(), config()).orElseGet(this::noAccessCache);
+        state().bindObjectCache(masterEpoch, objectCache);
+        return objectCache;
+    }
+
+    /**
+     * ObjectCache of this DataCache without creating one, used on expiry when it may already be removed from the master:
+     * the bound ObjectCache, else the one held by the master, else the no-access cache.
+     */
+    private ObjectCache<K, V> boundCache() {
+        Tuple2<Long, ObjectCache<K, V>> bound = state().getBoundObjectCache();
+        if (bound != null) {
+            return bound.second;
+        }
+
+        CacheMaster cacheMaster = state().getCacheMaster();
+        return Optional.ofNullable(cacheMaster)
+                .flatMap(master -> master.<K, V>findObjectCache(state().getCacheHandle().getDataCacheId()))
+                .orElseGet(this::noAccessCache);
+    }
+
+    private ObjectCache<K, V> noAccessCache() {
+        return state().getNoAccessCache(() -> new ObjectCacheNoAccess<>(state().getCacheHandle().getDataCacheId(), config()));
     }
 }
@@ -1,9 +1,12 @@
 package com.intact.rx.core.cache.data;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.intact.rx.api.cache.*;
 import com.intact.rx.api.cache.observer.DataCacheObserver;
@@ -12,6 +15,7 @@ import com.intact.rx.api.cache.observer.ObjectObserver;
 import com.intact.rx.api.cache.observer.ObjectTypeObserver;
 import com.intact.rx.api.command.VoidStrategy1;
 import com.intact.rx.api.command.VoidStrategy2;
+import com.intact.rx.core.cache.nullobjects.IndexNoOp;
 import com.intact.rx.core.cache.nullobjects.SelectionNoOp;
 import com.intact.rx.core.cache.status.AccessStatus;
 import com.intact.rx.policy.LoanPolicy;
@@ -167,6 +171,42 @@ public class DataCacheNoAccess<K, V> extends DataCache<K, V> {
         return false;
     }
 
+    @Override
+    public RxSnapshot<K, V> snapshot() {
+        return CacheSnapshot.empty();
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> shareLoad(K key, Supplier<CompletableFuture<Optional<V>>> load) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @Override
+    public Optional<CompletableFuture<Optional<V>>> findLoad(K key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public <A> RxIndex<K, V, A> computeIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf, boolean isSorted) {
+        //noinspection unchecked
+        return IndexNoOp.instance;
+    }
+
+    @Override
+    public <A> Optional<RxIndex<K, V, A>> readIndex(Object indexId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean takeIndex(Object indexId) {
+        return false;
+    }
+
+    @Override
+    public boolean isIndexAttached(Object indexId) {
+        return false;
+    }
+
     @Override
     public Optional<V> write(K key, V value) {
         return Optional.empty();
@@ -187,6 +227,13 @@ public class DataCacheNoAccess<K, V> extends DataCache<K, V> {
         return factory.apply(key);
     }
 
+    @Override
+    public Map<K, V> computeIfAbsent(Iterable<? extends K> keys, Function<? super K, ? extends V> factory) {
+        Map<K, V> values = new HashMap<>();
+        keys.forEach(key -> values.put(key, factory.apply(key)));
+        return values;
+    }
+
     @Override
     public Optional<V> computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
         return Optional.empty();
@@ -257,6 +304,21 @@ public class DataCacheNoAccess<K, V> extends DataCache<K, V> {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<Duration> readAge(K key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public V readLongOrNull(long key) {
+        return null;
+    }
+
+    @Override
+    public boolean containsLongKey(long key) {
+        return false;
+    }
+
     @Override
     public Optional<V> loan(K key, LoanPolicy loanPolicy) {
         return Optional.empty();
@@ -292,6 +354,16 @@ public class DataCacheNoAccess<K, V> extends DataCache<K, V> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Stream<Map.Entry<K, V>> stream() {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return Stream.empty();
+    }
+
     @Override
     public int size() {
         return 0;
@@ -342,6 +414,11 @@ public class DataCacheNoAccess<K, V> extends DataCache<K, V> {
         return Collections.emptyList();
     }
 
+    @Override
+    public boolean setExpired(ObjectRoot<K, V> root) {
+        return false;
+    }
+
     @Override
     public boolean setExpired() {
         return false;
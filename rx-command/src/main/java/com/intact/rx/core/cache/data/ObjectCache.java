@@ -3,53 +3,96 @@ package com.intact.rx.core.cache.data;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.intact.rx.api.RxDefault;
+import com.intact.rx.api.cache.Weigher;
+import com.intact.rx.core.cache.data.context.AttributeIndex;
 import com.intact.rx.core.cache.data.context.DataCachePolicy;
+import com.intact.rx.core.cache.data.context.KeyLocks;
 import com.intact.rx.core.cache.data.context.ObjectCachePolicy;
 import com.intact.rx.core.cache.data.context.ObjectCacheState;
+import com.intact.rx.core.cache.data.context.ObjectCacheStripe;
+import com.intact.rx.core.cache.data.context.ObjectRootPolicy;
+import com.intact.rx.core.cache.data.context.OffHeapValueStore;
+import com.intact.rx.core.cache.data.context.PersistentRootMap;
+import com.intact.rx.core.cache.data.context.WriteAheadLog;
 import com.intact.rx.core.cache.data.id.DataCacheId;
+import com.intact.rx.core.cache.data.id.DomainCacheId;
 import com.intact.rx.core.cache.status.AccessStatus;
 import com.intact.rx.core.cache.status.AccessStatus.AccessState;
+import com.intact.rx.core.cache.status.AccessTime;
 import com.intact.rx.core.cache.strategy.CachePolicyChecker;
+import com.intact.rx.policy.Concurrency;
+import com.intact.rx.policy.Durability;
+import com.intact.rx.policy.Lifetime;
 import com.intact.rx.policy.LoanPolicy;
 import com.intact.rx.policy.LoanReturnPolicy;
+import com.intact.rx.policy.MementoPolicy;
+import com.intact.rx.policy.ResourceLimits;
 import com.intact.rx.templates.*;
 import com.intact.rx.templates.api.Context;
 import com.intact.rx.templates.api.Memento;
 
 /**
  * Thread-safe access to all ObjectRoots. Simple mapping (key,value) interface.
+ * <p>
+ * The roots are partitioned on key hash into lock stripes, see {@link com.intact.rx.policy.Concurrency}. Single key
+ * operations lock one stripe, whole-cache operations lock all stripes in fixed order.
  */
 public class ObjectCache<K, V> {
-    private static final long ACQUIRE_LOCK_TIMEOUT_IN_MS = 10000L;
     private static final Logger log = LoggerFactory.getLogger(ObjectCache.class);
 
     private final Context<ObjectCachePolicy, ObjectCacheState<K, V>> context;
-    private final ReadWriteLock lock;
+    private final Weigher<K, V> weigher;
 
-    ObjectCache(DataCacheId dataCacheId, DataCachePolicy policy) {
+    ObjectCache(DomainCacheId domainCacheId, DataCacheId dataCacheId, DataCachePolicy policy) {
+        this(domainCacheId, dataCacheId, policy, policy.getDurability());
+    }
+
+    ObjectCache(DomainCacheId domainCacheId, DataCacheId dataCacheId, DataCachePolicy policy, Durability durability) {
+        ObjectCachePolicy objectCachePolicy = new ObjectCachePolicy(policy.getObjectRootPolicy(), policy.getResourceLimits(), policy.getMementoPolicy(), policy.getConcurrency(), policy.getAdmission(), policy.getWeigher().orElse(null), policy.getOffHeap(), durability, policy.getKeyType());
+        //noinspection unchecked
+        this.weigher = (Weigher<K, V>) objectCachePolicy.getWeigher().orElse(null);
         this.context = new ContextObject<>(
-                new ObjectCachePolicy(policy.getObjectRootPolicy(), policy.getResourceLimits(), policy.getMementoPolicy()),
+                objectCachePolicy,
                 new ObjectCacheState<K, V>(
+                        domainCacheId,
                         dataCacheId,
                         policy.isMemento()
-                                ? new MementoReference<>(policy.getMementoPolicy().getUndoDepth(), policy.getMementoPolicy().getRedoDepth())
-                                : MementoReferenceNoOp.instance
+                                ? new RingBufferMemento<>(policy.getMementoPolicy().getUndoDepth(), policy.getMementoPolicy().getRedoDepth())
+                                : MementoReferenceNoOp.instance,
+                        objectCachePolicy.getConcurrency(),
+                        objectCachePolicy.getAdmission(),
+                        objectCachePolicy.getResourceLimits(),
+                        objectCachePolicy.getRootPolicy().getLifetime(),
+                        weigher,
+                        objectCachePolicy.getOffHeap(),
+                        objectCachePolicy.getDurability(),
+                        objectCachePolicy.getKeyType()
                 )
         );
-        this.lock = new ReentrantReadWriteLock(true);
+
+        state().getWriteAheadLog().ifPresent(writeAheadLog -> writeAheadLog.recover((key, value) -> restore(key, value, new AccessTime()), this::currentContents));
+    }
+
+    /**
+     * Minimal cache holding no roots, see ObjectCacheNoAccess: one stripe, no memento, admission, weigher, off-heap
+     * store, write-ahead log or expiry wheel.
+     */
+    ObjectCache(DataCacheId dataCacheId, ObjectRootPolicy rootPolicy) {
+        this.weigher = null;
+        this.context = new ContextObject<>(
+                new ObjectCachePolicy(rootPolicy, ResourceLimits.unlimited(), MementoPolicy.none, Concurrency.single()),
+                new ObjectCacheState<K, V>(dataCacheId, MementoReferenceNoOp.instance, Concurrency.single())
+        );
     }
 
     // ----------------------------------------------
@@ -61,21 +104,39 @@ public class ObjectCache<K, V> {
     }
 
     public Optional<Pair<V, ObjectRoot<K, V>>> undo(K key) {
-        return this.read(key)
-                .map(root -> {
-                    Pair<V, V> pair = root.undo();
-                    return Optional.of(Pair.create(pair.first().orElse(null), root.copy()));
-                })
-                .orElse(Optional.empty());
+        return applyMemento(key, ObjectRoot::undo);
     }
 
     public Optional<Pair<V, ObjectRoot<K, V>>> redo(K key) {
-        return this.read(key)
-                .map(root -> {
-                    Pair<V, V> pair = root.redo();
-                    return Optional.of(Pair.create(pair.first().orElse(null), root.copy()));
-                })
-                .orElse(Optional.empty());
+        return applyMemento(key, ObjectRoot::redo);
+    }
+
+    /**
+     * Lookup, undo/redo and reweigh of the root under the stripe write lock, i.e., atomic to concurrent writes of key.
+     */
+    private Optional<Pair<V, ObjectRoot<K, V>>> applyMemento(K key, Function<ObjectRoot<K, V>, Pair<V, V>> operation) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!acquireWriteLockBetweenComputations(stripe, key)) {
+            return Optional.empty();
+        }
+
+        try {
+            final ObjectRoot<K, V> root = stripe.get(key);
+            if (root == null || root.isExpired()) {
+                return Optional.empty();
+            }
+
+            Pair<V, V> pair = operation.apply(root);
+            stripe.reweigh(root);
+            return Optional.of(Pair.create(pair.first().orElse(null), root.copy()));
+        } finally {
+            stripe.releaseWriteLock();
+        }
     }
 
     /**
@@ -86,7 +147,7 @@ public class ObjectCache<K, V> {
             return Optional.empty();
         }
 
-        if (!acquireWriteLock()) {
+        if (!acquireAllWriteLocks()) {
             throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to undo last write");
         }
 
@@ -107,7 +168,7 @@ public class ObjectCache<K, V> {
                         continue;
                     }
 
-                    ObjectRoot<K, V> cachedRoot = state().getObjects().get(undoWrite.getKey());
+                    ObjectRoot<K, V> cachedRoot = state().getStripe(undoWrite.getKey()).get(undoWrite.getKey());
                     if (cachedRoot != null && cachedRoot.isExpired()) {
                         // Note: If expired then undo once more
                         continue;
@@ -116,9 +177,10 @@ public class ObjectCache<K, V> {
                     if (cachedRoot != null) {
                         // Undo last write on (key, value) root
                         Pair<V, V> pair = cachedRoot.undo();
+                        state().getStripe(undoWrite.getKey()).reweigh(cachedRoot);
                         if (pair.isEmpty()) {
                             // undo on root is not performed, removal of key is "undo of last write"
-                            ObjectRoot<K, V> removed = state().getObjects().remove(undoWrite.getKey());
+                            ObjectRoot<K, V> removed = state().getStripe(undoWrite.getKey()).remove(undoWrite.getKey());
                             return Optional.of(
                                     new Tuple3<>(
                                             AccessStatus.AccessState.EXPIRED,
@@ -145,7 +207,7 @@ public class ObjectCache<K, V> {
 
             return Optional.empty();
         } finally {
-            releaseWriteLock();
+            releaseAllWriteLocks();
         }
     }
 
@@ -154,7 +216,7 @@ public class ObjectCache<K, V> {
             return Optional.empty();
         }
 
-        if (!acquireWriteLock()) {
+        if (!acquireAllWriteLocks()) {
             throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to redo last write");
         }
 
@@ -174,7 +236,7 @@ public class ObjectCache<K, V> {
                         continue;
                     }
 
-                    ObjectRoot<K, V> cachedRoot = state().getObjects().get(redoWrite.getKey());
+                    ObjectRoot<K, V> cachedRoot = state().getStripe(redoWrite.getKey()).get(redoWrite.getKey());
                     if (cachedRoot != null && cachedRoot.isExpired()) {
                         // Note: If expired then redo once more
                         continue;
@@ -183,6 +245,7 @@ public class ObjectCache<K, V> {
                     if (cachedRoot != null) {
                         // Redo on cachedRoot. Redo stack should be available at this point
                         Pair<V, V> pair = cachedRoot.redo();
+                        state().getStripe(redoWrite.getKey()).reweigh(cachedRoot);
                         if (!pair.isEmpty()) {
                             return Optional.of(new Tuple3<>(AccessStatus.AccessState.MODIFIED, pair.first().orElse(null), cachedRoot.copy()));  // redo is performed; Redo on (key, value) is "redo of last write"
                         }
@@ -193,7 +256,7 @@ public class ObjectCache<K, V> {
                     }
                     else {
                         // Redo last write (key, value), no previous value
-                        state().getObjects().put(redoWrite.getKey(), redoWrite);
+                        state().getStripe(redoWrite.getKey()).put(redoWrite.getKey(), redoWrite);
                         return Optional.of(new Tuple3<>(AccessStatus.AccessState.WRITE, null, redoWrite.copy()));
                     }
                 }
@@ -201,7 +264,7 @@ public class ObjectCache<K, V> {
             }
             return Optional.empty();
         } finally {
-            releaseWriteLock();
+            releaseAllWriteLocks();
         }
     }
 
@@ -216,217 +279,343 @@ public class ObjectCache<K, V> {
             return Pair.empty();
         }
 
-        if (!acquireWriteLock()) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+        state().recordAccess(key);
+
+        if (!acquireWriteLockBetweenComputations(stripe, key)) {
             throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
         }
 
         try {
-            final ObjectRoot<K, V> current = state().getObjects().get(key);
-            if (current != null && !current.isExpired()) {
-                CachePolicyChecker.assertOverwritePossible(current);
+            return writePrivate(stripe, key, value);
+        } finally {
+            stripe.releaseWriteLock();
+        }
+    }
 
-                if (config().isMemento()) {
-                    state().getMemento().set(current.copy());
-                }
+    /**
+     * Same as write(Long.valueOf(key), value). The key of an existing root is reused, i.e., the key is only boxed when a
+     * new root is created to hold it.
+     */
+    public Pair<V, ObjectRoot<K, V>> writeLong(final long key, final V value) {
+        if (value == null) {
+            // Note: Ignore null values, and handle quietly
+            return Pair.empty();
+        }
 
-                V oldValue = current.getValueNoStatusUpdate();
-                current.write(value);
-                return Pair.create(oldValue, current.copy());
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+        state().recordAccess(key);
+
+        if (!acquireWriteLockBetweenComputations(stripe, key)) {
+            throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
+        }
+
+        try {
+            final ObjectRoot<K, V> current = stripe.getLong(key);
+            @SuppressWarnings("unchecked") final K boxed = current != null ? current.getKey() : (K) Long.valueOf(key);
+            return writePrivate(stripe, boxed, value);
+        } finally {
+            stripe.releaseWriteLock();
+        }
+    }
+
+    /**
+     * Requires stripe write lock. The caller records the access of key.
+     */
+    private Pair<V, ObjectRoot<K, V>> writePrivate(final ObjectCacheStripe<K, V> stripe, final K key, final V value) {
+        final ObjectRoot<K, V> current = stripe.get(key);
+        if (current != null && !current.isExpired()) {
+            CachePolicyChecker.assertOverwritePossible(current);
+            assertWeightPossible(key, value, current);
+
+            if (config().isMemento()) {
+                state().getMemento().set(current.copy());
             }
-            else {
-                CachePolicyChecker.assertWritingPossible(state().getObjects().size(), 1, config().getResourceLimits());
 
-                ObjectRoot<K, V> newRoot = ObjectRoot.create(value, key, config().getRootPolicy());
-                ObjectRoot<K, V> previous = state().getObjects().put(key, newRoot); // Note: previous == current
+            V oldValue = current.getValueNoStatusUpdate();
+            current.write(value);
+            stripe.reweigh(current);
+            return Pair.create(oldValue, current.copy());
+        }
+        else {
+            assertWeightPossible(key, value, null);
 
-                if (config().isMemento()) {
-                    state().getMemento().set(newRoot.copy());
-                }
+            ObjectRoot<K, V> newRoot = createRoot(value, key);
+            ObjectRoot<K, V> previous = putNewRoot(stripe, key, newRoot, current); // Note: previous == current
 
-                return previous == null
-                        ? Pair.create(null, newRoot.copy())
-                        : Pair.create(previous.getValueNoStatusUpdate(), newRoot.copy());
+            if (config().isMemento()) {
+                state().getMemento().set(newRoot.copy());
             }
-        } finally {
-            releaseWriteLock();
+
+            return previous == null
+                    ? Pair.create(null, newRoot.copy())
+                    : Pair.create(previous.getValueNoStatusUpdate(), newRoot.copy());
         }
     }
 
+    // ----------------------------------------------
+    // Compute, user functions run outside the stripe lock
+    // ----------------------------------------------
+
     public Optional<Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
-        if (!acquireWriteLock()) {
-            throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
-        }
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        return computeOutsideLock(key, (current, currentValue) -> {
+            if (current == null) {
+                return () -> {
+                    Pair<V, ObjectRoot<K, V>> pair = value != null ? writePrivate(stripe, key, value) : Pair.empty();
+                    return Optional.of(new Tuple3<>(AccessStatus.AccessState.WRITE, pair.first().orElse(null), pair.second().orElseThrow(() -> new IllegalStateException("Expected new root"))));
+                };
+            }
 
-        try {
-            return read(key)
-                    .map(existingRoot -> {
-                        V newValue = remappingFunction.apply(existingRoot.getValueNoStatusUpdate(), value);
-                        if (newValue == null) {
-                            return take(key)
-                                    .map(removedRoot -> Optional.of(new Tuple3<>(AccessStatus.AccessState.EXPIRED, removedRoot.getValueNoStatusUpdate(), removedRoot)))
-                                    .orElseThrow(() -> new IllegalStateException("Expected removal of root"));
-                        }
-                        Pair<V, ObjectRoot<K, V>> pair = write(key, newValue);
-                        return Optional.of(new Tuple3<>(AccessStatus.AccessState.MODIFIED, pair.first().orElseThrow(() -> new IllegalStateException("Expected existing value")), pair.second().orElseThrow(() -> new IllegalStateException("Expected root"))));
-                    })
-                    .orElseGet(() -> {
-                        Pair<V, ObjectRoot<K, V>> pair = write(key, value);
-                        return Optional.of(new Tuple3<>(AccessStatus.AccessState.WRITE, pair.first().orElse(null), pair.second().orElseThrow(() -> new IllegalStateException("Expected new root"))));
-                    });
-        } finally {
-            releaseWriteLock();
-        }
+            V newValue = remappingFunction.apply(currentValue, value);
+            if (newValue == null) {
+                return () -> Optional.ofNullable(takePrivate(stripe, key))
+                        .map(removedRoot -> new Tuple3<>(AccessStatus.AccessState.EXPIRED, removedRoot.getValueNoStatusUpdate(), removedRoot));
+            }
+            return () -> {
+                // Note: the root may have been evicted or expired meanwhile, then the value is written anew
+                Pair<V, ObjectRoot<K, V>> pair = writePrivate(stripe, key, newValue);
+                return Optional.of(new Tuple3<>(pair.first().isPresent() ? AccessStatus.AccessState.MODIFIED : AccessStatus.AccessState.WRITE, pair.first().orElse(null), pair.second().orElseThrow(() -> new IllegalStateException("Expected root"))));
+            };
+        });
     }
 
+    /**
+     * @return (state, previous value, root) where state is WRITE or MODIFIED if a value was written, and EXPIRED with a
+     * null root if the value was removed
+     */
     public Optional<Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> compute(K key, BiFunction<? super K, Optional<? super V>, Optional<? extends V>> remappingFunction) {
-        if (!acquireWriteLock()) {
-            throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
-        }
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
 
-        try {
-            return read(key)
-                    .map((ObjectRoot<K, V> existing) ->
-                            remappingFunction
-                                    .apply(key, Optional.of(existing.getValueNoStatusUpdate()))
-                                    .map(remappedValue ->
-                                            Optional.of(write(key, remappedValue))
-                                                    .map((Pair<V, ObjectRoot<K, V>> vObjectRootPair) -> new Tuple3<>(AccessStatus.AccessState.MODIFIED, existing.getValueNoStatusUpdate(), vObjectRootPair.second().orElseThrow(() -> new IllegalStateException("Expected new root")))))
-                                    .orElseGet(() -> take(key).map(removedRoot -> new Tuple3<>(AccessStatus.AccessState.EXPIRED, removedRoot.getValueNoStatusUpdate(), null))))
-                    .orElseGet(() ->
-                            remappingFunction
-                                    .apply(key, Optional.empty())
-                                    .<Optional<Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>>>map(
-                                            remappedValue ->
-                                                    Optional.of(write(key, remappedValue))
-                                                            .map((Pair<V, ObjectRoot<K, V>> vObjectRootPair) -> new Tuple3<>(AccessStatus.AccessState.WRITE, null, vObjectRootPair.second().orElseThrow(() -> new IllegalStateException("Expected new root"))))
-                                    )
-                                    .orElseGet(() -> take(key).map(removedRoot -> new Tuple3<>(AccessStatus.AccessState.EXPIRED, removedRoot.getValueNoStatusUpdate(), null))));
-        } finally {
-            releaseWriteLock();
-        }
+        return computeOutsideLock(key, (current, currentValue) -> {
+            Optional<? extends V> remapped = remappingFunction.apply(key, Optional.ofNullable(currentValue));
+            if (!remapped.isPresent()) {
+                return () -> Optional.ofNullable(takePrivate(stripe, key)).map(removedRoot -> new Tuple3<>(AccessStatus.AccessState.EXPIRED, removedRoot.getValueNoStatusUpdate(), null));
+            }
+
+            V newValue = remapped.get();
+            return () -> writePrivate(stripe, key, newValue)
+                    .second()
+                    .map(newRoot -> current == null
+                            ? new Tuple3<>(AccessStatus.AccessState.WRITE, null, newRoot)
+                            : new Tuple3<>(AccessStatus.AccessState.MODIFIED, currentValue, newRoot));
+        });
     }
 
     public Optional<Pair<V, ObjectRoot<K, V>>> compareAndWrite(K key, Function<V, V> expect, Supplier<V> update) {
-        if (!acquireWriteLock()) {
-            throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
-        }
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        return computeOutsideLock(key, (current, currentValue) -> {
+            V expectedValue = expect.apply(currentValue);
+            boolean isExpected = current != null
+                    ? expectedValue != null && expectedValue.equals(currentValue)
+                    : expectedValue == null;
+            if (!isExpected) {
+                return Optional::empty;
+            }
 
-        try {
-            return read(key)
-                    .<Optional<Pair<V, ObjectRoot<K, V>>>>map(
-                            r -> {
-                                V expectedValue = expect.apply(r.getValueNoStatusUpdate());
-                                if (expectedValue != null && expectedValue.equals(r.getValueNoStatusUpdate())) {
-                                    return Optional.of(write(key, update.get()));
-                                }
-                                return Optional.empty();
-                            })
-                    .orElseGet(
-                            () -> {
-                                V expectedValue = expect.apply(null);
-                                return expectedValue == null
-                                        ? Optional.of(write(key, update.get()))
-                                        : Optional.empty();
-                            }
-                    );
-        } finally {
-            releaseWriteLock();
-        }
+            V newValue = update.get();
+            // Note: null values are ignored as by write
+            return () -> Optional.of(newValue != null ? writePrivate(stripe, key, newValue) : Pair.empty());
+        });
     }
 
-
     public Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>> computeIfAbsent(final K key, final Function<? super K, ? extends V> factory) {
-        requireNonNull(key, "Null key is not allowed. RxCache id: " + state().getDataCacheId());
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
 
-        if (!acquireWriteLock()) {
-            throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
-        }
+        return computeOutsideLock(key, (current, currentValue) -> {
+            if (current != null) {
+                return () -> new Tuple3<>(AccessStatus.AccessState.READ, currentValue, current.copy());
+            }
 
-        try {
-            return computeIfAbsentPrivate(key, factory);
-        } finally {
-            releaseWriteLock();
-        }
+            // Note: fail fast before running the factory, the size slot is reserved when publishing
+            CachePolicyChecker.assertWritingPossible(state().size(), 1, config().getResourceLimits());
+            V newValue = factory.apply(key);
+            return () -> computeIfAbsentPrivate(stripe, key, k -> newValue);
+        });
     }
 
     public Optional<Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> factory) {
-        requireNonNull(key, "Null key is not allowed. RxCache id: " + state().getDataCacheId());
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
 
-        if (!acquireWriteLock()) {
-            throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
-        }
+        return computeOutsideLock(key, (current, currentValue) -> {
+            if (current == null) {
+                return Optional::empty;
+            }
 
-        try {
-            final ObjectRoot<K, V> currentRoot = state().getObjects().get(key);
+            V newValue = factory.apply(key, currentValue);
+            if (newValue == null) {
+                return () -> Optional.ofNullable(takePrivate(stripe, key))
+                        .map(removedRoot -> new Tuple3<>(AccessStatus.AccessState.EXPIRED, removedRoot.getValueNoStatusUpdate(), removedRoot));
+            }
+            return () -> {
+                Pair<V, ObjectRoot<K, V>> previous = writePrivate(stripe, key, newValue);
+                return Optional.of(
+                        new Tuple3<>(
+                                AccessStatus.AccessState.MODIFIED,
+                                previous.first().orElse(null),
+                                previous.second().orElseThrow(() -> new IllegalStateException("Expected non null current root " + key))
+                        )
+                );
+            };
+        });
+    }
 
-            boolean currentRootIsNull = currentRoot == null;
-            boolean currentRootHasNullValue = currentRoot != null && currentRoot.getValueNoStatusUpdate() == null;
-            boolean currentValueIsExpired = currentRoot != null && currentRoot.isExpired();
+    public Optional<Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> computeIfAbsentAndLoan(final K key, final Function<? super K, ? extends V> factory, final LoanPolicy loanPolicy) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
 
-            if (currentRootIsNull || currentRootHasNullValue || currentValueIsExpired) {
-                return Optional.empty();
+        return computeOutsideLock(key, (current, currentValue) -> {
+            if (current != null && current.getLoanStatus().isLoanedOut()) {
+                return Optional::empty;
             }
-            else {
 
-                V newValue = factory.apply(key, currentRoot.getValueNoStatusUpdate());
-                if (newValue == null) {
-                    return take(key)
-                            .map(removedRoot -> new Tuple3<>(AccessStatus.AccessState.EXPIRED, removedRoot.getValueNoStatusUpdate(), removedRoot));
-                }
-                else {
-                    Pair<V, ObjectRoot<K, V>> previous = write(key, newValue);
-                    return Optional.of(
-                            new Tuple3<>(
-                                    AccessStatus.AccessState.MODIFIED,
-                                    previous.first().orElse(null),
-                                    previous.second().orElseThrow(() -> new IllegalStateException("Expected non null current root " + key))
-                            )
-                    );
-                }
+            final V newValue;
+            if (current == null) {
+                // Note: fail fast before running the factory, the size slot is reserved when publishing
+                CachePolicyChecker.assertWritingPossible(state().size(), 1, config().getResourceLimits());
+                newValue = factory.apply(key);
+            } else {
+                newValue = currentValue;
             }
-        } finally {
-            releaseWriteLock();
-        }
+
+            return () -> {
+                CachePolicyChecker.assertLoanReservationPossible(stripe.get(key), loanPolicy.getReservation());
+
+                Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>> pair = computeIfAbsentPrivate(stripe, key, k -> newValue);
+                stripe.get(key).loan(loanPolicy);
+                return Optional.of(pair);
+            };
+        });
     }
 
-    public Optional<Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> computeIfAbsentAndLoan(final K key, final Function<? super K, ? extends V> factory, final LoanPolicy loanPolicy) {
+    /**
+     * Run a compute operation on key with its user function outside the stripe lock. Computations of the key are
+     * serialized by the {@link KeyLocks} of the cache, and plain writes and takes of the key wait for them, see
+     * acquireWriteLockBetweenComputations. The current value is read under the stripe read lock, the user function runs
+     * once and unlocked, and its publish step runs under the stripe write lock. Expiry, eviction and clear do not wait
+     * for computations, a root they remove meanwhile is replaced by the published value.
+     * <p>
+     * Note: As with ConcurrentHashMap.compute, a user function must not write keys computed by other threads.
+     */
+    private <R> R computeOutsideLock(final K key, final KeyComputation<K, V, R> computation) {
         requireNonNull(key, "Null key is not allowed. RxCache id: " + state().getDataCacheId());
 
-        if (!acquireWriteLock()) {
-            throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
-        }
-
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+        final KeyLocks.KeyLock keyLock = state().getKeyLocks().lock(key);
         try {
-            ObjectRoot<K, V> root = state().getObjects().get(key);
-            if (root != null && !root.isExpired() && root.getLoanStatus().isLoanedOut()) {
-                return Optional.empty();
+            state().recordAccess(key);
+
+            if (!stripe.acquireReadLock()) {
+                throw new RuntimeException("Could not acquire read lock for cache: " + state().getDataCacheId() + " to compute key : " + key);
+            }
+
+            final ObjectRoot<K, V> current;
+            final V currentValue;
+            try {
+                final ObjectRoot<K, V> root = stripe.get(key);
+                current = isValid(root) ? root : null;
+                currentValue = current != null ? current.getValueNoStatusUpdate() : null;
+            } finally {
+                stripe.releaseReadLock();
             }
 
-            CachePolicyChecker.assertLoanReservationPossible(root, loanPolicy.getReservation());
+            final Supplier<R> publish = computation.compute(current, currentValue);
 
-            Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>> pair = computeIfAbsentPrivate(key, factory);
-            state().getObjects().get(key).loan(loanPolicy);
-            return Optional.of(pair);
+            if (!stripe.acquireWriteLock()) {
+                throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write key : " + key);
+            }
+            try {
+                return publish.get();
+            } finally {
+                stripe.releaseWriteLock();
+            }
         } finally {
-            releaseWriteLock();
+            state().getKeyLocks().unlock(keyLock);
+        }
+    }
+
+    /**
+     * Acquire the stripe write lock of key once no other thread computes key, so a plain write or take never lands
+     * between the read and the publish step of a computation.
+     *
+     * @return false if the write lock could not be acquired
+     */
+    private boolean acquireWriteLockBetweenComputations(final ObjectCacheStripe<K, V> stripe, final K key) {
+        while (stripe.acquireWriteLock()) {
+            if (!state().getKeyLocks().isLockedByOtherThread(key)) {
+                return true;
+            }
+            stripe.releaseWriteLock();
+            state().getKeyLocks().awaitUnlocked(key);
+        }
+        return false;
+    }
+
+    /**
+     * Same as acquireWriteLockBetweenComputations(stripe, Long.valueOf(key)), boxing the key only while computations run.
+     */
+    private boolean acquireWriteLockBetweenComputations(final ObjectCacheStripe<K, V> stripe, final long key) {
+        while (stripe.acquireWriteLock()) {
+            if (state().getKeyLocks().isEmpty() || !state().getKeyLocks().isLockedByOtherThread(key)) {
+                return true;
+            }
+            stripe.releaseWriteLock();
+            state().getKeyLocks().awaitUnlocked(key);
         }
+        return false;
     }
 
-    private Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>> computeIfAbsentPrivate(final K key, final Function<? super K, ? extends V> factory) {
-        final ObjectRoot<K, V> currentRoot = state().getObjects().get(key);
+    /**
+     * Same as acquireWriteLockBetweenComputations(stripe, key) for all keys of a batch in stripe.
+     */
+    private <T> boolean acquireWriteLockBetweenComputations(final ObjectCacheStripe<K, V> stripe, final List<T> batch, final Function<? super T, ? extends K> keyOf) {
+        while (stripe.acquireWriteLock()) {
+            final Optional<? extends K> computing = batch.stream().map(keyOf).filter(state().getKeyLocks()::isLockedByOtherThread).findFirst();
+            if (!computing.isPresent()) {
+                return true;
+            }
+            stripe.releaseWriteLock();
+            state().getKeyLocks().awaitUnlocked(computing.get());
+        }
+        return false;
+    }
+
+    /**
+     * The user function part of a compute operation.
+     */
+    @FunctionalInterface
+    private interface KeyComputation<K, V, R> {
+        /**
+         * @param current valid root of key, null if absent or expired
+         * @param value   value of current as read
+         * @return publish step, run under the stripe write lock
+         */
+        Supplier<R> compute(ObjectRoot<K, V> current, V value);
+    }
+
+    /**
+     * Requires stripe write lock. The caller records the access of key.
+     */
+    private Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>> computeIfAbsentPrivate(final ObjectCacheStripe<K, V> stripe, final K key, final Function<? super K, ? extends V> factory) {
+        final ObjectRoot<K, V> currentRoot = stripe.get(key);
 
         boolean currentRootIsNull = currentRoot == null;
-        boolean currentRootHasNullValue = currentRoot != null && currentRoot.getValueNoStatusUpdate() == null;
+        boolean currentRootHasNullValue = currentRoot != null && !currentRoot.hasValue();
         boolean currentValueIsExpired = currentRoot != null && currentRoot.isExpired();
 
         if (currentRootIsNull || currentRootHasNullValue || currentValueIsExpired) {
-            CachePolicyChecker.assertWritingPossible(state().getObjects().size(), 1, config().getResourceLimits());
+            if (currentRootIsNull) {
+                // Note: fail fast before running the factory, the size slot is reserved when publishing
+                CachePolicyChecker.assertWritingPossible(state().size(), 1, config().getResourceLimits());
+            }
 
             V newValue = factory.apply(key);
             requireNonNull(newValue, "Factory function cannot return null value!");
+            assertWeightPossible(key, newValue, null);
 
-            ObjectRoot<K, V> newRoot = ObjectRoot.create(newValue, key, config().getRootPolicy());
-            state().getObjects().put(key, newRoot);
+            ObjectRoot<K, V> newRoot = createRoot(newValue, key);
+            putNewRoot(stripe, key, newRoot, currentRoot);
 
             if (config().isMemento()) {
                 state().getMemento().set(newRoot.copy());
@@ -443,23 +632,114 @@ public class ObjectCache<K, V> {
             return Optional.empty();
         }
 
-        if (!acquireWriteLock()) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!acquireWriteLockBetweenComputations(stripe, key)) {
             return Optional.empty();
         }
 
         try {
-            ObjectRoot<K, V> root = state().getObjects().get(key);
-            if (root != null) {
-                CachePolicyChecker.assertRemovalPossible(root);
+            return Optional.ofNullable(takePrivate(stripe, key));
+        } finally {
+            stripe.releaseWriteLock();
+        }
+    }
 
-                if (config().isMemento() && !state().getMemento().isAllEmpty()) {
-                    state().getMemento().clearAll();
+    /**
+     * Same as take(Long.valueOf(key)), without boxing the key.
+     */
+    public Optional<ObjectRoot<K, V>> takeLong(final long key) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!acquireWriteLockBetweenComputations(stripe, key)) {
+            return Optional.empty();
+        }
+
+        try {
+            final ObjectRoot<K, V> current = stripe.getLong(key);
+            return current != null ? Optional.ofNullable(takePrivate(stripe, current.getKey())) : Optional.empty();
+        } finally {
+            stripe.releaseWriteLock();
+        }
+    }
+
+    private ObjectRoot<K, V> takePrivate(final ObjectCacheStripe<K, V> stripe, final K key) {
+        ObjectRoot<K, V> root = stripe.get(key);
+        if (root != null) {
+            CachePolicyChecker.assertRemovalPossible(root);
+
+            if (config().isMemento() && !state().getMemento().isAllEmpty()) {
+                state().getMemento().clearAll();
+            }
+            stripe.remove(key);
+        }
+        return root;
+    }
+
+    // ----------------------------------------------
+    // Bulk access, one lock acquisition per stripe
+    // ----------------------------------------------
+
+    /**
+     * Write all (key, value) pairs, null values are ignored.
+     *
+     * @param written receives (previous value, root) per key written, including the keys written before a write fails
+     */
+    public void writeAll(final Map<? extends K, ? extends V> values, final Map<K, Pair<V, ObjectRoot<K, V>>> written) {
+        for (Map.Entry<ObjectCacheStripe<K, V>, List<Map.Entry<? extends K, ? extends V>>> batch : this.<Map.Entry<? extends K, ? extends V>>groupByStripe(values.entrySet(), Map.Entry::getKey).entrySet()) {
+            final ObjectCacheStripe<K, V> stripe = batch.getKey();
+
+            if (!acquireWriteLockBetweenComputations(stripe, batch.getValue(), Map.Entry::getKey)) {
+                throw new RuntimeException("Could not acquire write lock for cache: " + state().getDataCacheId() + " to write " + batch.getValue().size() + " keys");
+            }
+
+            try {
+                for (Map.Entry<? extends K, ? extends V> entry : batch.getValue()) {
+                    if (entry.getValue() != null) {
+                        state().recordAccess(entry.getKey());
+                        written.put(entry.getKey(), writePrivate(stripe, entry.getKey(), entry.getValue()));
+                    }
                 }
-                state().getObjects().remove(key);
+            } finally {
+                stripe.releaseWriteLock();
             }
-            return Optional.ofNullable(root);
-        } finally {
-            releaseWriteLock();
+        }
+    }
+
+    /**
+     * Present keys are read under one read lock acquisition per stripe, absent keys are created one by one as by
+     * computeIfAbsent(key, factory), i.e., the factory runs outside the stripe lock.
+     *
+     * @param computed receives (state, previous value, root) per key, state is WRITE if the value was created
+     */
+    public void computeIfAbsent(final Iterable<? extends K> keys, final Function<? super K, ? extends V> factory, final Map<K, Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> computed) {
+        final List<K> absent = new ArrayList<>();
+
+        for (Map.Entry<ObjectCacheStripe<K, V>, List<K>> batch : this.<K>groupByStripe(keys, Function.identity()).entrySet()) {
+            final ObjectCacheStripe<K, V> stripe = batch.getKey();
+
+            if (!stripe.acquireReadLock()) {
+                throw new RuntimeException("Could not acquire read lock for cache: " + state().getDataCacheId() + " to read " + batch.getValue().size() + " keys");
+            }
+
+            try {
+                for (K key : batch.getValue()) {
+                    final ObjectRoot<K, V> current = stripe.get(key);
+                    if (isValid(current)) {
+                        state().recordAccess(key);
+                        computed.put(key, new Tuple3<>(AccessStatus.AccessState.READ, current.getValueNoStatusUpdate(), current.copy()));
+                    }
+                    else {
+                        absent.add(key);
+                    }
+                }
+            } finally {
+                stripe.releaseReadLock();
+            }
+        }
+
+        for (K key : absent) {
+            computed.put(key, computeIfAbsent(key, factory));
         }
     }
 
@@ -469,32 +749,119 @@ public class ObjectCache<K, V> {
         }
         final Map<K, ObjectRoot<K, V>> objects = new HashMap<>();
 
-        keys.forEach(key -> take(key).ifPresent(root -> objects.put(key, root)));
+        for (Map.Entry<ObjectCacheStripe<K, V>, List<K>> batch : this.<K>groupByStripe(keys, Function.identity()).entrySet()) {
+            final ObjectCacheStripe<K, V> stripe = batch.getKey();
+
+            if (!acquireWriteLockBetweenComputations(stripe, batch.getValue(), Function.identity())) {
+                return objects;
+            }
+
+            try {
+                for (K key : batch.getValue()) {
+                    ObjectRoot<K, V> root = takePrivate(stripe, key);
+                    if (root != null) {
+                        objects.put(key, root);
+                    }
+                }
+            } finally {
+                stripe.releaseWriteLock();
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * Evict up to numToEvict least recently used roots. Each stripe gives up its share in proportion to its size, under
+     * one write lock acquisition per stripe.
+     */
+    public Map<K, ObjectRoot<K, V>> evict(long numToEvict) {
+        final Map<K, ObjectRoot<K, V>> objects = new HashMap<>();
+        final int totalSize = state().size();
+
+        if (numToEvict <= 0 || totalSize <= 0) {
+            return objects;
+        }
+
+        for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+            long remaining = numToEvict - objects.size();
+            if (remaining <= 0) {
+                break;
+            }
+
+            if (!stripe.acquireWriteLock()) {
+                continue;
+            }
+
+            try {
+                long share = Math.min(remaining, (numToEvict * stripe.size() + totalSize - 1) / totalSize);
+                objects.putAll(stripe.evict(share));
+            } finally {
+                stripe.releaseWriteLock();
+            }
+        }
+
+        if (!objects.isEmpty() && config().isMemento() && !state().getMemento().isAllEmpty()) {
+            state().getMemento().clearAll();
+        }
         return objects;
     }
 
+    /**
+     * Remove expired roots. With a finite root Lifetime only the due buckets of each stripe's expiry wheel are visited,
+     * otherwise all roots are scanned for explicitly expired ones.
+     */
+    public Map<K, ObjectRoot<K, V>> takeExpired() {
+        final Map<K, ObjectRoot<K, V>> objects = new HashMap<>();
+
+        if (!state().isExpiryScheduled()) {
+            getRoots().stream()
+                    .filter(ObjectRoot::isExpired)
+                    .forEach(root -> take(root.getKey()).ifPresent(taken -> objects.put(taken.getKey(), taken)));
+            return objects;
+        }
+
+        final long nowMs = RxDefault.getTicker().millis();
+        for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+            if (!stripe.acquireWriteLock()) {
+                continue;
+            }
+
+            try {
+                objects.putAll(stripe.expire(nowMs));
+            } finally {
+                stripe.releaseWriteLock();
+            }
+        }
+
+        if (!objects.isEmpty() && config().isMemento() && !state().getMemento().isAllEmpty()) {
+            state().getMemento().clearAll();
+        }
+        return objects;
+    }
 
     public Map<K, ObjectRoot<K, V>> takeAll() {
         final Map<K, ObjectRoot<K, V>> objects = new HashMap<>();
 
-        if (!acquireWriteLock()) {
+        if (!acquireAllWriteLocks()) {
             return objects;
         }
 
         try {
-            if (!state().getObjects().isEmpty()) {
+            if (state().size() > 0) {
 
                 if (config().isMemento() && !state().getMemento().isAllEmpty()) {
                     state().getMemento().clearAll();
                 }
 
-                objects.putAll(state().getObjects());
-                state().getObjects().clear();
+                for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+                    stripe.entrySet().forEach(entry -> objects.put(entry.getKey(), entry.getValue()));
+                    stripe.clear();
+                }
             }
 
             return objects;
         } finally {
-            releaseWriteLock();
+            releaseAllWriteLocks();
         }
     }
 
@@ -503,15 +870,86 @@ public class ObjectCache<K, V> {
             return false;
         }
 
-        if (!acquireReadLock()) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!stripe.acquireReadLock()) {
             return false;
         }
 
         try {
-            final ObjectRoot<K, V> objectRoot = state().getObjects().get(key);
+            final ObjectRoot<K, V> objectRoot = stripe.get(key);
             return objectRoot != null && !objectRoot.isExpired();
         } finally {
-            releaseReadLock();
+            stripe.releaseReadLock();
+        }
+    }
+
+    /**
+     * @return milliseconds since the lifetime of the root of key started, without updating its access status
+     */
+    public Optional<Long> readAgeMillis(final K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!stripe.acquireReadLock()) {
+            return Optional.empty();
+        }
+
+        try {
+            final ObjectRoot<K, V> objectRoot = stripe.get(key);
+            return objectRoot != null && !objectRoot.isExpired()
+                    ? Optional.of(objectRoot.getStatus().getTime().getTimeSinceStarted())
+                    : Optional.empty();
+        } finally {
+            stripe.releaseReadLock();
+        }
+    }
+
+    /**
+     * Same as containsKey(Long.valueOf(key)), without boxing the key if the cache has long keys.
+     */
+    public boolean containsLongKey(final long key) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!stripe.acquireReadLock()) {
+            return false;
+        }
+
+        try {
+            final ObjectRoot<K, V> objectRoot = stripe.getLong(key);
+            return objectRoot != null && !objectRoot.isExpired();
+        } finally {
+            stripe.releaseReadLock();
+        }
+    }
+
+    /**
+     * Same as read(Long.valueOf(key)), without boxing the key if the cache has long keys and without allocation on hits.
+     *
+     * @return root or null if absent or expired
+     */
+    public ObjectRoot<K, V> readLong(final long key) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+        state().recordAccess(key);
+
+        if (!stripe.acquireReadLock()) {
+            return null;
+        }
+
+        try {
+            final ObjectRoot<K, V> objectRoot = stripe.getLong(key);
+
+            if (objectRoot == null || objectRoot.isExpired()) {
+                return null;
+            }
+
+            objectRoot.read();
+            return objectRoot;
+        } finally {
+            stripe.releaseReadLock();
         }
     }
 
@@ -520,12 +958,15 @@ public class ObjectCache<K, V> {
             return Optional.empty();
         }
 
-        if (!acquireReadLock()) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+        state().recordAccess(key);
+
+        if (!stripe.acquireReadLock()) {
             return Optional.empty();
         }
 
         try {
-            final ObjectRoot<K, V> objectRoot = state().getObjects().get(key);
+            final ObjectRoot<K, V> objectRoot = stripe.get(key);
 
             if (objectRoot == null) {
                 return Optional.empty();
@@ -537,7 +978,7 @@ public class ObjectCache<K, V> {
             objectRoot.read();
             return Optional.of(objectRoot);
         } finally {
-            releaseReadLock();
+            stripe.releaseReadLock();
         }
     }
 
@@ -546,12 +987,14 @@ public class ObjectCache<K, V> {
             return Optional.empty();
         }
 
-        if (!acquireReadLock()) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!stripe.acquireReadLock()) {
             return Optional.empty();
         }
 
         try {
-            final ObjectRoot<K, V> objectRoot = state().getObjects().get(key);
+            final ObjectRoot<K, V> objectRoot = stripe.get(key);
 
             if (objectRoot == null) {
                 return Optional.empty();
@@ -568,18 +1011,20 @@ public class ObjectCache<K, V> {
             objectRoot.loan(loanPolicy);
             return Optional.of(objectRoot.copy());
         } finally {
-            releaseReadLock();
+            stripe.releaseReadLock();
         }
     }
 
     public Optional<ObjectRoot<K, V>> returnLoan(K key, LoanReturnPolicy unused) {
         requireNonNull(key);
-        if (!acquireWriteLock()) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!stripe.acquireWriteLock()) {
             return Optional.empty();
         }
 
         try {
-            ObjectRoot<K, V> objectRoot = state().getObjects().get(key);
+            ObjectRoot<K, V> objectRoot = stripe.get(key);
             if (objectRoot != null &&
                     objectRoot.isLoaned() &&
                     objectRoot.returnLoan() <= 0 &&
@@ -589,25 +1034,27 @@ public class ObjectCache<K, V> {
                     state().getMemento().clearAll();
                 }
 
-                return Optional.of(state().getObjects().remove(key));
+                return Optional.of(stripe.remove(key));
             }
             return Optional.empty();
         } finally {
-            releaseWriteLock();
+            stripe.releaseWriteLock();
         }
     }
 
     public boolean isLoaned(final K key) {
         requireNonNull(key);
-        if (!acquireReadLock()) {
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!stripe.acquireReadLock()) {
             return false;
         }
 
         try {
-            ObjectRoot<K, V> objectRoot = state().getObjects().get(key);
+            ObjectRoot<K, V> objectRoot = stripe.get(key);
             return objectRoot != null && objectRoot.isLoaned();
         } finally {
-            releaseReadLock();
+            stripe.releaseReadLock();
         }
     }
 
@@ -616,8 +1063,28 @@ public class ObjectCache<K, V> {
             return Collections.emptyMap();
         }
 
-        Map<K, V> objects = new HashMap<>();
-        keys.forEach(k -> read(k).map(ObjectRoot::getValueNoStatusUpdate).ifPresent(v -> objects.put(k, v)));
+        final Map<K, V> objects = new HashMap<>();
+
+        for (Map.Entry<ObjectCacheStripe<K, V>, List<K>> batch : this.<K>groupByStripe(keys, Function.identity()).entrySet()) {
+            final ObjectCacheStripe<K, V> stripe = batch.getKey();
+
+            if (!stripe.acquireReadLock()) {
+                return objects;
+            }
+
+            try {
+                for (K key : batch.getValue()) {
+                    state().recordAccess(key);
+                    final ObjectRoot<K, V> objectRoot = stripe.get(key);
+                    if (objectRoot != null && !objectRoot.isExpired()) {
+                        objectRoot.read();
+                        objects.put(key, objectRoot.getValueNoStatusUpdate());
+                    }
+                }
+            } finally {
+                stripe.releaseReadLock();
+            }
+        }
         return objects;
     }
 
@@ -627,22 +1094,32 @@ public class ObjectCache<K, V> {
     public Map<K, V> readAll() {
         final Map<K, V> entries = new HashMap<>();
 
-        if (!acquireReadLock()) {
+        if (state().isSnapshotIteration()) {
+            for (PersistentRootMap.Leaf<K, V> leaf : snapshot().leaves()) {
+                if (leaf.getValue() != null && !leaf.getRoot().isExpired()) {
+                    leaf.getRoot().markRead();
+                    entries.put(leaf.getKey(), leaf.getValue());
+                }
+            }
             return entries;
         }
 
-        try {
-            for (Entry<K, ObjectRoot<K, V>> entry : state().getObjects().entrySet()) {
-                final ObjectRoot<K, V> objectRoot = entry.getValue();
+        for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+            if (!stripe.acquireReadLock()) {
+                return entries;
+            }
 
-                if (isValid(objectRoot)) {
-                    entries.put(objectRoot.getKey(), objectRoot.read());
+            try {
+                for (ObjectRoot<K, V> objectRoot : stripe.values()) {
+                    if (isValid(objectRoot)) {
+                        entries.put(objectRoot.getKey(), objectRoot.read());
+                    }
                 }
+            } finally {
+                stripe.releaseReadLock();
             }
-            return entries;
-        } finally {
-            releaseReadLock();
         }
+        return entries;
     }
 
     /**
@@ -651,22 +1128,32 @@ public class ObjectCache<K, V> {
     public List<V> readAsList() {
         final List<V> values = new ArrayList<>();
 
-        if (!acquireReadLock()) {
+        if (state().isSnapshotIteration()) {
+            for (PersistentRootMap.Leaf<K, V> leaf : snapshot().leaves()) {
+                if (leaf.getValue() != null && !leaf.getRoot().isExpired()) {
+                    leaf.getRoot().markRead();
+                    values.add(leaf.getValue());
+                }
+            }
             return values;
         }
 
-        try {
-            for (Entry<K, ObjectRoot<K, V>> entry : state().getObjects().entrySet()) {
-                final ObjectRoot<K, V> objectRoot = entry.getValue();
+        for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+            if (!stripe.acquireReadLock()) {
+                return values;
+            }
 
-                if (isValid(objectRoot)) {
-                    values.add(objectRoot.read());
+            try {
+                for (ObjectRoot<K, V> objectRoot : stripe.values()) {
+                    if (isValid(objectRoot)) {
+                        values.add(objectRoot.read());
+                    }
                 }
+            } finally {
+                stripe.releaseReadLock();
             }
-            return values;
-        } finally {
-            releaseReadLock();
         }
+        return values;
     }
 
     public DataCacheId getCacheId() {
@@ -674,77 +1161,139 @@ public class ObjectCache<K, V> {
     }
 
     public int size() {
-        if (!acquireReadLock()) {
-            return -1;
-        }
-
-        try {
-            return state().getObjects().size();
-        } finally {
-            releaseReadLock();
-        }
+        return state().size();
     }
 
     public boolean isEmpty() {
-        if (!acquireReadLock()) {
-            return false;
+        return state().size() == 0;
+    }
+
+    /**
+     * @return total weight of the cached values by the configured Weigher, or the number of values without a Weigher
+     */
+    public long weight() {
+        return weigher != null ? state().weight() : state().size();
+    }
+
+    /**
+     * Insert (key, value) with the given access time unless key is present, e.g., to warm the cache from a snapshot.
+     * Roots already beyond their Lifetime and roots exceeding a hard sample or weight limit are not inserted.
+     *
+     * @return restored root, or empty if not inserted
+     */
+    public Optional<ObjectRoot<K, V>> restore(K key, V value, AccessTime accessTime) {
+        requireNonNull(key);
+        requireNonNull(value);
+
+        ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+        if (!stripe.acquireWriteLock()) {
+            log.warn("Failed to acquire write lock, restore of {} ignored", key);
+            return Optional.empty();
         }
 
         try {
-            return state().getObjects().isEmpty();
+            if (stripe.containsKey(key)) {
+                return Optional.empty();
+            }
+
+            if (weigher != null && !CachePolicyChecker.isWeightWritingPossible(state().weight(), weigher.weigh(key, value), config().getResourceLimits())) {
+                return Optional.empty();
+            }
+
+            ObjectRoot<K, V> root = createRoot(value, key, new AccessStatus(accessTime));
+            if (root.isExpired() || !state().tryReserveSlot(config().getResourceLimits())) {
+                root.releaseValue();
+                return Optional.empty();
+            }
+            stripe.putReserved(key, root);
+            return Optional.of(root.copy());
         } finally {
-            releaseReadLock();
+            stripe.releaseWriteLock();
         }
     }
 
+    /**
+     * Commit and close the write-ahead log, if any. Called when the cache is removed from its CacheMaster.
+     */
+    public void close() {
+        state().getWriteAheadLog().ifPresent(WriteAheadLog::close);
+    }
+
+    /**
+     * @return bytes of encoded values stored off heap, 0 when values are kept on heap
+     */
+    public long offHeapBytes() {
+        return state().getValueStore().map(OffHeapValueStore::liveBytes).orElse(0L);
+    }
+
     public Map<K, ObjectRoot<K, V>> clear() {
         Map<K, ObjectRoot<K, V>> objects = new HashMap<>();
 
-        if (!acquireWriteLock()) {
+        if (!acquireAllWriteLocks()) {
             return objects;
         }
 
         try {
-            for (Entry<K, ObjectRoot<K, V>> entry : state().getObjects().entrySet()) {
-                objects.put(entry.getKey(), entry.getValue());
+            for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+                for (Entry<K, ObjectRoot<K, V>> entry : stripe.entrySet()) {
+                    objects.put(entry.getKey(), entry.getValue());
+                }
+                stripe.clear();
             }
 
             if (config().isMemento() && !state().getMemento().isAllEmpty()) {
                 state().getMemento().clearAll();
             }
 
-            state().getObjects().clear();
             return objects;
         } finally {
-            releaseWriteLock();
+            releaseAllWriteLocks();
+        }
+    }
+
+    /**
+     * Expire root before its Lifetime deadline, it is removed by the next takeExpired.
+     *
+     * @return false if root was already expired
+     */
+    public boolean setExpired(final ObjectRoot<K, V> root) {
+        if (!root.setExpired()) {
+            return false;
+        }
+
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(root.getKey());
+
+        if (stripe.acquireWriteLock()) {
+            try {
+                stripe.expireNow(root.getKey());
+            } finally {
+                stripe.releaseWriteLock();
+            }
         }
+        return true;
     }
 
     public boolean isExpired(K key) {
         if (key == null) {
             return false;
         }
-        if (!acquireReadLock()) {
+
+        final ObjectCacheStripe<K, V> stripe = state().getStripe(key);
+
+        if (!stripe.acquireReadLock()) {
             return false;
         }
 
         try {
-            return !state().getObjects().containsKey(key) || state().getObjects().get(key).isExpired();
+            final ObjectRoot<K, V> objectRoot = stripe.get(key);
+            return objectRoot == null || objectRoot.isExpired();
         } finally {
-            releaseReadLock();
+            stripe.releaseReadLock();
         }
     }
 
     public boolean isExpired() {
-        if (!acquireReadLock()) {
-            return false;
-        }
-
-        try {
-            return !CachePolicyChecker.isInLifetime(state().getAccessStatus(), config().getRootPolicy().getLifetime());
-        } finally {
-            releaseReadLock();
-        }
+        return !CachePolicyChecker.isInLifetime(state().getAccessStatus(), config().getRootPolicy().getLifetime());
     }
 
     // -----------------------------------------------------------
@@ -752,65 +1301,202 @@ public class ObjectCache<K, V> {
     // -----------------------------------------------------------
 
     public Set<K> keySet() {
-        if (!acquireReadLock()) {
-            return Collections.emptySet();
+        Set<K> keys = new HashSet<>();
+
+        if (state().isSnapshotIteration()) {
+            snapshot().keys().forEach(keys::add);
+            return keys;
         }
 
-        try {
-            Set<K> keys = new HashSet<>();
+        for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+            if (!stripe.acquireReadLock()) {
+                return Collections.emptySet();
+            }
 
-            for (Entry<K, ObjectRoot<K, V>> entry : state().getObjects().entrySet()) {
-                final ObjectRoot<K, V> objectRoot = entry.getValue();
+            try {
+                for (Entry<K, ObjectRoot<K, V>> entry : stripe.entrySet()) {
+                    final ObjectRoot<K, V> objectRoot = entry.getValue();
 
-                if (objectRoot == null) {
-                    log.warn("Null root in cache: {}", entry);
-                    continue;
-                }
-                if (objectRoot.isExpired()) {
-                    continue;
-                }
+                    if (objectRoot == null) {
+                        log.warn("Null root in cache: {}", entry);
+                        continue;
+                    }
+                    if (objectRoot.isExpired()) {
+                        continue;
+                    }
 
-                keys.add(entry.getKey());
+                    keys.add(entry.getKey());
+                }
+            } finally {
+                stripe.releaseReadLock();
             }
-
-            return keys;
-        } finally {
-            releaseReadLock();
         }
+        return keys;
     }
 
+    /**
+     * @return (key, value) of the roots not expired, the same membership as keySet
+     */
     public Set<Entry<K, V>> entrySet() {
-        if (!acquireReadLock()) {
-            return Collections.emptySet();
+        Set<Entry<K, V>> entries = new HashSet<>();
+
+        if (state().isSnapshotIteration()) {
+            for (Entry<K, V> entry : snapshot()) {
+                entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            }
+            return entries;
         }
 
-        try {
-            return state()
-                    .getObjects()
-                    .entrySet()
-                    .stream()
-                    .map(entry -> new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().getValueNoStatusUpdate()))
-                    .collect(Collectors.toSet());
-        } finally {
-            releaseReadLock();
+        for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+            if (!stripe.acquireReadLock()) {
+                return Collections.emptySet();
+            }
+
+            try {
+                for (Entry<K, ObjectRoot<K, V>> entry : stripe.entrySet()) {
+                    if (!entry.getValue().isExpired()) {
+                        entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().getValueNoStatusUpdate()));
+                    }
+                }
+            } finally {
+                stripe.releaseReadLock();
+            }
         }
+        return entries;
     }
 
     /**
      * @return a mutable list of references to object roots stored in the cache (not copied)
      */
     public List<ObjectRoot<K, V>> getRoots() {
-        if (!acquireReadLock()) {
-            return Collections.emptyList();
+        List<ObjectRoot<K, V>> roots = new ArrayList<>(Math.max(0, state().size()));
+
+        if (state().isSnapshotIteration()) {
+            snapshot().leaves().forEach(leaf -> roots.add(leaf.getRoot()));
+            return roots;
+        }
+
+        for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+            if (!stripe.acquireReadLock()) {
+                return Collections.emptyList();
+            }
+
+            try {
+                roots.addAll(stripe.values());
+            } finally {
+                stripe.releaseReadLock();
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * With snapshot iteration the stripe snapshots are taken under all read locks, O(stripes), giving a view consistent
+     * across stripes. Otherwise the contents are copied stripe by stripe under its read lock.
+     *
+     * @return immutable view of the cache, iterated without locking
+     */
+    public CacheSnapshot<K, V> snapshot() {
+        final List<ObjectCacheStripe<K, V>> stripes = state().getStripes();
+        @SuppressWarnings("unchecked")
+        final PersistentRootMap<K, V>[] parts = new PersistentRootMap[stripes.size()];
+
+        if (state().isSnapshotIteration()) {
+            if (!acquireAllReadLocks()) {
+                return CacheSnapshot.empty();
+            }
+            try {
+                for (int i = 0; i < parts.length; i++) {
+                    parts[i] = stripes.get(i).getSnapshot();
+                }
+            } finally {
+                releaseAllReadLocks();
+            }
+            return new CacheSnapshot<>(parts);
+        }
+
+        for (int i = 0; i < parts.length; i++) {
+            ObjectCacheStripe<K, V> stripe = stripes.get(i);
+            if (!stripe.acquireReadLock()) {
+                return CacheSnapshot.empty();
+            }
+            try {
+                PersistentRootMap<K, V> part = PersistentRootMap.empty();
+                for (Entry<K, ObjectRoot<K, V>> entry : stripe.entrySet()) {
+                    part = part.put(entry.getKey(), entry.getValue().getValueSnapshot(), entry.getValue());
+                }
+                parts[i] = part;
+            } finally {
+                stripe.releaseReadLock();
+            }
+        }
+        return new CacheSnapshot<>(parts);
+    }
+
+    /**
+     * @return spliterator of the live (key, value) pairs, see {@link CacheSpliterator}
+     */
+    public Spliterator<Entry<K, V>> spliterator() {
+        if (state().isSnapshotIteration()) {
+            return CacheSpliterator.overSnapshot(snapshot(), config().getRootPolicy().getLifetime().inMillis() < Lifetime.forever().inMillis());
+        }
+        return CacheSpliterator.overStripes(state().getStripes(), state().size());
+    }
+
+    // -----------------------------------------------------------
+    // Secondary indexes
+    // -----------------------------------------------------------
+
+    /**
+     * Create index on attribute if absent. A new index is populated while holding all stripe write locks, after which
+     * the stripes maintain it with every change.
+     */
+    public <A> AttributeIndex<K, V, A> computeIndexIfAbsent(final Object indexId, final Function<? super V, ? extends A> attributeOf, final boolean isSorted) {
+        requireNonNull(indexId);
+        requireNonNull(attributeOf);
+
+        Optional<AttributeIndex<K, V, A>> existing = readIndex(indexId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        if (!acquireAllWriteLocks()) {
+            throw new RuntimeException("Could not acquire write locks for cache: " + state().getDataCacheId() + " to create index: " + indexId);
         }
 
         try {
-            return new ArrayList<>(state().getObjects().values());
+            existing = readIndex(indexId);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+
+            final AttributeIndex<K, V, A> index = isSorted
+                    ? AttributeIndex.sorted(indexId, attributeOf)
+                    : AttributeIndex.hashed(indexId, attributeOf);
+
+            for (ObjectCacheStripe<K, V> stripe : state().getStripes()) {
+                for (Entry<K, ObjectRoot<K, V>> entry : stripe.entrySet()) {
+                    if (!entry.getValue().isExpired()) {
+                        index.onPut(entry.getKey(), entry.getValue().getValueNoStatusUpdate());
+                    }
+                }
+            }
+            state().getIndexes().add(index);
+            return index;
         } finally {
-            releaseReadLock();
+            releaseAllWriteLocks();
         }
     }
 
+    public <A> Optional<AttributeIndex<K, V, A>> readIndex(final Object indexId) {
+        //noinspection unchecked
+        return state().getIndexes().get(indexId).map(index -> (AttributeIndex<K, V, A>) index);
+    }
+
+    public boolean removeIndex(final Object indexId) {
+        return state().getIndexes().remove(indexId).isPresent();
+    }
+
     // -----------------------------------------------------------
     // Private functions
     // -----------------------------------------------------------
@@ -823,37 +1509,115 @@ public class ObjectCache<K, V> {
         return context.state();
     }
 
-    private boolean isValid(ObjectRoot<K, V> objectRoot) {
-        return !(objectRoot == null || objectRoot.isExpired() || objectRoot.getValueNoStatusUpdate() == null);
+    private Map<K, V> currentContents() {
+        Map<K, V> contents = new LinkedHashMap<>();
+        for (ObjectRoot<K, V> root : getRoots()) {
+            V value = root.getValueNoStatusUpdate();
+            if (value != null && !root.isExpired()) {
+                contents.put(root.getKey(), value);
+            }
+        }
+        return contents;
+    }
+
+    private ObjectRoot<K, V> createRoot(V value, K key) {
+        return createRoot(value, key, new AccessStatus());
     }
 
-    private boolean acquireWriteLock() {
+    private ObjectRoot<K, V> createRoot(V value, K key, AccessStatus status) {
+        return state().getValueStore()
+                .map(store -> ObjectRoot.create(value, key, config().getRootPolicy(), store.newReference(), status))
+                .orElseGet(() -> ObjectRoot.create(value, key, config().getRootPolicy(), ObjectRoot.newMemento(config().getRootPolicy().getMementoPolicy()), status));
+    }
+
+    /**
+     * Put newRoot in place of current, requires stripe write lock. A new key first reserves its size slot, so the hard
+     * sample limit holds across stripes.
+     *
+     * @return previous root of key, i.e., current
+     */
+    private ObjectRoot<K, V> putNewRoot(final ObjectCacheStripe<K, V> stripe, final K key, final ObjectRoot<K, V> newRoot, final ObjectRoot<K, V> current) {
+        if (current != null) {
+            return stripe.put(key, newRoot);
+        }
+
         try {
-            return lock.writeLock().tryLock() || lock.writeLock().tryLock(ACQUIRE_LOCK_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            log.warn("{} interrupted with acquiring read lock", this, e);
-            Thread.currentThread().interrupt();
-            return false;
+            state().reserveSlot(config().getResourceLimits());
+        } catch (IllegalStateException e) {
+            newRoot.releaseValue();
+            throw e;
+        }
+        stripe.putReserved(key, newRoot);
+        return null;
+    }
+
+    private void assertWeightPossible(K key, V value, ObjectRoot<K, V> current) {
+        if (weigher == null) {
+            return;
         }
+        long weightToBeAdded = weigher.weigh(key, value) - (current != null ? current.getWeight() : 0L);
+        CachePolicyChecker.assertWritingPossible(state().size(), 0, state().weight(), weightToBeAdded, config().getResourceLimits());
     }
 
-    private void releaseWriteLock() {
-        lock.writeLock().unlock();
+    private boolean isValid(ObjectRoot<K, V> objectRoot) {
+        return !(objectRoot == null || objectRoot.isExpired() || !objectRoot.hasValue());
     }
 
-    private boolean acquireReadLock() {
-        try {
-            return lock.readLock().tryLock() || lock.readLock().tryLock(ACQUIRE_LOCK_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("{} interrupted with acquiring read lock", this, e);
-            Thread.currentThread().interrupt();
+    /**
+     * Group items by the stripe of their key, null keys are skipped. Stripes are locked one at a time by bulk operations,
+     * so the order of the groups is irrelevant for deadlock.
+     */
+    private <T> Map<ObjectCacheStripe<K, V>, List<T>> groupByStripe(final Iterable<? extends T> items, final Function<? super T, ? extends K> keyOf) {
+        final Map<ObjectCacheStripe<K, V>, List<T>> batches = new IdentityHashMap<>();
+        for (T item : items) {
+            K key = keyOf.apply(item);
+            if (key != null) {
+                batches.computeIfAbsent(state().getStripe(key), stripe -> new ArrayList<>()).add(item);
+            }
         }
-        return false;
+        return batches;
     }
 
-    private void releaseReadLock() {
-        lock.readLock().unlock();
+    /**
+     * Acquire write lock on all stripes in fixed order. On failure the locks already acquired are released.
+     */
+    private boolean acquireAllWriteLocks() {
+        List<ObjectCacheStripe<K, V>> stripes = state().getStripes();
+        for (int i = 0; i < stripes.size(); i++) {
+            if (!stripes.get(i).acquireWriteLock()) {
+                for (int j = i - 1; j >= 0; j--) {
+                    stripes.get(j).releaseWriteLock();
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void releaseAllWriteLocks() {
+        List<ObjectCacheStripe<K, V>> stripes = state().getStripes();
+        for (int i = stripes.size() - 1; i >= 0; i--) {
+            stripes.get(i).releaseWriteLock();
+        }
+    }
+
+    private boolean acquireAllReadLocks() {
+        List<ObjectCacheStripe<K, V>> stripes = state().getStripes();
+        for (int i = 0; i < stripes.size(); i++) {
+            if (!stripes.get(i).acquireReadLock()) {
+                for (int j = i - 1; j >= 0; j--) {
+                    stripes.get(j).releaseReadLock();
+                }
+                return false;
+            }
+        }
+        return true;
     }
-}
 
+    private void releaseAllReadLocks() {
+        List<ObjectCacheStripe<K, V>> stripes = state().getStripes();
+        for (int i = stripes.size() - 1; i >= 0; i--) {
+            stripes.get(i).releaseReadLock();
+        }
+    }
+}
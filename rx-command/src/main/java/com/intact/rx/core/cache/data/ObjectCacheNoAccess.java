@@ -8,6 +8,7 @@ import java.util.function.Supplier;
 import com.intact.rx.core.cache.data.context.DataCachePolicy;
 import com.intact.rx.core.cache.data.id.DataCacheId;
 import com.intact.rx.core.cache.status.AccessStatus;
+import com.intact.rx.core.cache.status.AccessTime;
 import com.intact.rx.policy.LoanPolicy;
 import com.intact.rx.policy.LoanReturnPolicy;
 import com.intact.rx.templates.MementoReferenceNoOp;
@@ -15,10 +16,13 @@ import com.intact.rx.templates.Pair;
 import com.intact.rx.templates.Tuple3;
 import com.intact.rx.templates.api.Memento;
 
+/**
+ * Expired ObjectCache used when the CacheMaster is expired or released. Holds no roots, bound once per DataCache.
+ */
 class ObjectCacheNoAccess<K, V> extends ObjectCache<K, V> {
 
     ObjectCacheNoAccess(DataCacheId dataCacheId, DataCachePolicy policy) {
-        super(dataCacheId, policy);
+        super(dataCacheId, policy.getObjectRootPolicy());
     }
 
     @Override
@@ -26,6 +30,15 @@ class ObjectCacheNoAccess<K, V> extends ObjectCache<K, V> {
         return Pair.empty();
     }
 
+    @Override
+    public Pair<V, ObjectRoot<K, V>> writeLong(long key, V value) {
+        return Pair.empty();
+    }
+
+    @Override
+    public void writeAll(Map<? extends K, ? extends V> values, Map<K, Pair<V, ObjectRoot<K, V>>> written) {
+    }
+
     @Override
     public Memento<ObjectRoot<K, V>> getMemento() {
         //noinspection unchecked
@@ -87,6 +100,11 @@ class ObjectCacheNoAccess<K, V> extends ObjectCache<K, V> {
         return new Tuple3<>(AccessStatus.AccessState.WRITE, null, ObjectRoot.create(factory.apply(key), key, config().getRootPolicy()));
     }
 
+    @Override
+    public void computeIfAbsent(Iterable<? extends K> keys, Function<? super K, ? extends V> factory, Map<K, Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> computed) {
+        keys.forEach(key -> computed.put(key, computeIfAbsent(key, factory)));
+    }
+
     @Override
     public Optional<Tuple3<AccessStatus.AccessState, V, ObjectRoot<K, V>>> computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> factory) {
         return Optional.empty();
@@ -107,21 +125,51 @@ class ObjectCacheNoAccess<K, V> extends ObjectCache<K, V> {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<ObjectRoot<K, V>> takeLong(long key) {
+        return Optional.empty();
+    }
+
     @Override
     public Map<K, ObjectRoot<K, V>> takeAll() {
         return Collections.emptyMap();
     }
 
+    @Override
+    public Map<K, ObjectRoot<K, V>> takeExpired() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<K, ObjectRoot<K, V>> evict(long numToEvict) {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Optional<ObjectRoot<K, V>> restore(K key, V value, AccessTime accessTime) {
+        return Optional.empty();
+    }
+
     @Override
     public boolean containsKey(K key) {
         return false;
     }
 
+    @Override
+    public boolean containsLongKey(long key) {
+        return false;
+    }
+
     @Override
     public Optional<ObjectRoot<K, V>> read(K key) {
         return Optional.empty();
     }
 
+    @Override
+    public ObjectRoot<K, V> readLong(long key) {
+        return null;
+    }
+
     @Override
     public Optional<ObjectRoot<K, V>> returnLoan(K key, LoanReturnPolicy loanReturn) {
         return Optional.empty();
@@ -152,6 +200,11 @@ class ObjectCacheNoAccess<K, V> extends ObjectCache<K, V> {
         return Collections.emptyMap();
     }
 
+    @Override
+    public boolean setExpired(ObjectRoot<K, V> root) {
+        return false;
+    }
+
     @Override
     public boolean isExpired(K key) {
         return true;
@@ -2,43 +2,83 @@ package com.intact.rx.core.cache.data;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
+import com.intact.rx.api.cache.ValueDelta;
+import com.intact.rx.api.cache.Weigher;
 import com.intact.rx.core.cache.data.context.ObjectRootPolicy;
 import com.intact.rx.core.cache.data.context.ObjectRootState;
 import com.intact.rx.core.cache.status.AccessStatus;
 import com.intact.rx.core.cache.strategy.CachePolicyChecker;
 import com.intact.rx.policy.LoanPolicy;
-import com.intact.rx.templates.ContextObject;
-import com.intact.rx.templates.MementoReference;
+import com.intact.rx.policy.MementoPolicy;
 import com.intact.rx.templates.Pair;
+import com.intact.rx.templates.RingBufferMemento;
 import com.intact.rx.templates.Validate;
-import com.intact.rx.templates.api.Context;
+import com.intact.rx.templates.ValueReference;
+import com.intact.rx.templates.api.Memento;
 
 import static com.intact.rx.core.cache.data.CacheStatusUpdateAlgorithms.processOnModified;
+import static com.intact.rx.core.cache.data.CacheStatusUpdateAlgorithms.processOnNotModified;
 import static com.intact.rx.core.cache.data.CacheStatusUpdateAlgorithms.processOnRead;
 
+/**
+ * One cached (key, value) entry with its access status, optional undo/redo history and loan status.
+ * <p>
+ * The layout is kept flat since a cache may hold tens of millions of roots: the root refers to its policy and state
+ * directly, the value is held by a single ValueReference unless the policy has an undo depth, and the loan status is
+ * only allocated while loaned. Estimated with compressed oops and 8 byte alignment, excluding key and value:
+ * <pre>
+ * ObjectRoot 24, ObjectRootState 40, ValueReference 16, AccessStatus 24, AccessCount 24, AccessTime 48
+ *   = 176 bytes in 6 objects per root
+ * </pre>
+ * compared with 624 bytes in 19 objects with a context object, a MementoReference (two LinkedBlockingDeques with locks
+ * and conditions) and an eagerly allocated loan supplier. With an undo depth a RingBufferMemento replaces the
+ * ValueReference, adding two arrays of the undo and redo depth. CacheTest.testObjectRootFootprint checks this layout.
+ */
 @SuppressWarnings("SynchronizedMethod")
 public class ObjectRoot<K, V> {
-    private final Context<ObjectRootPolicy, ObjectRootState<K, V>> context;
+    private final ObjectRootPolicy policy;
+    private final ObjectRootState<K, V> state;
 
-    private ObjectRoot(V value, K key, ObjectRootPolicy policy) {
-        this.context = new ContextObject<>(
-                policy,
-                new ObjectRootState<>(
-                        key,
-                        value,
-                        new MementoReference<>(policy.getMementoPolicy().getUndoDepth(), policy.getMementoPolicy().getRedoDepth()))
-        );
+    private ObjectRoot(V value, K key, ObjectRootPolicy policy, Memento<V> memento, AccessStatus status) {
+        this.policy = requireNonNull(policy);
+        this.state = new ObjectRootState<>(key, value, memento, status);
     }
 
     private ObjectRoot(ObjectRoot<K, V> root) {
-        this.context = new ContextObject<>(root.config(), root.state().copy());
+        this.policy = root.policy;
+        this.state = root.state.copy();
     }
 
     public static <K, V> ObjectRoot<K, V> create(V value, K key, ObjectRootPolicy policy) {
-        return new ObjectRoot<>(value, key, policy);
+        return new ObjectRoot<>(value, key, policy, newMemento(policy.getMementoPolicy()), new AccessStatus());
+    }
+
+    /**
+     * @return undo/redo history in ring buffers if the policy has an undo depth, otherwise a plain value reference
+     */
+    @SuppressWarnings("unchecked")
+    static <V> Memento<V> newMemento(MementoPolicy mementoPolicy) {
+        return mementoPolicy.getUndoDepth() > 0
+                ? new RingBufferMemento<>(mementoPolicy.getUndoDepth(), mementoPolicy.getRedoDepth(), (ValueDelta<V, ?>) mementoPolicy.getDelta().orElse(null))
+                : new ValueReference<>();
+    }
+
+    /**
+     * @param memento storage of the value, e.g., an OffHeapValueReference
+     */
+    public static <K, V> ObjectRoot<K, V> create(V value, K key, ObjectRootPolicy policy, Memento<V> memento) {
+        return new ObjectRoot<>(value, key, policy, requireNonNull(memento), new AccessStatus());
+    }
+
+    /**
+     * @param status access status to start from, e.g., with access times restored from a snapshot
+     */
+    public static <K, V> ObjectRoot<K, V> create(V value, K key, ObjectRootPolicy policy, Memento<V> memento, AccessStatus status) {
+        return new ObjectRoot<>(value, key, policy, requireNonNull(memento), requireNonNull(status));
     }
 
     public ObjectRoot<K, V> copy() {
@@ -48,20 +88,34 @@ public class ObjectRoot<K, V> {
     synchronized void write(V value) {
         requireNonNull(value);
 
+        state().markReferenced();
+
         if (!Objects.equals(value, state().getValue())) {
             state().setValue(value);
             processOnModified(state().getAccessStatus(), config().getExtension());
         } else {
-            state().getAccessStatus().notModified();
+            processOnNotModified(state().getAccessStatus(), config().getExtension());
         }
     }
 
-    public synchronized V read() {
-        processOnRead(state().getAccessStatus(), config().getExtension());
+    /**
+     * Lock-free read. The value reference and the access status are both safe for concurrent access, so a read does not
+     * serialize with other readers or wait for a writer.
+     */
+    public V read() {
+        markRead();
         return state().getValue();
     }
 
-    public synchronized AccessStatus getStatus() {
+    /**
+     * Update access status as read() does, for reads served from a snapshot of the value
+     */
+    void markRead() {
+        state().markReferenced();
+        processOnRead(state().getAccessStatus(), config().getExtension());
+    }
+
+    public AccessStatus getStatus() {
         return state().getAccessStatus();
     }
 
@@ -69,6 +123,20 @@ public class ObjectRoot<K, V> {
         return state().getValue();
     }
 
+    /**
+     * @return the current value for a point-in-time snapshot. Values stored off heap are decoded on get, not here.
+     */
+    public Supplier<V> getValueSnapshot() {
+        return state().getValueSnapshot();
+    }
+
+    /**
+     * @return true if the root holds a value, without decoding values stored off heap
+     */
+    public boolean hasValue() {
+        return state().hasValue();
+    }
+
     public K getKey() {
         return state().getKey();
     }
@@ -134,13 +202,13 @@ public class ObjectRoot<K, V> {
     // ----------------------------------------------
 
     public synchronized V loan(LoanPolicy loanPolicy) {
-        state().getLoanStatus().newLoan(loanPolicy);
+        state().acquireLoanStatus().newLoan(loanPolicy);
         processOnRead(state().getAccessStatus(), config().getExtension());
         return state().getValue();
     }
 
     public synchronized long returnLoan() {
-        long loanCount = state().getLoanStatus().returnLoan();
+        long loanCount = state().acquireLoanStatus().returnLoan();
         Validate.assertTrue(loanCount >= 0);
         if (loanCount <= 0) {
             state().resetLoan();
@@ -152,6 +220,41 @@ public class ObjectRoot<K, V> {
         return state().getLoanStatus();
     }
 
+    /**
+     * Recompute the weight of the current value.
+     *
+     * @return weight delta since the previous weighing
+     */
+    public synchronized long reweigh(Weigher<K, V> weigher) {
+        V value = state().getValue();
+        int weight = value == null ? 0 : weigher.weigh(state().getKey(), value);
+        Validate.assertTrue(weight >= 0);
+
+        long delta = (long) weight - state().getWeight();
+        state().setWeight(weight);
+        return delta;
+    }
+
+    public synchronized int getWeight() {
+        return state().getWeight();
+    }
+
+    /**
+     * Clear the CLOCK reference bit, see ObjectCacheStripe.evict.
+     *
+     * @return true if the root was accessed since the bit was last cleared
+     */
+    public boolean clearReferenced() {
+        return state().clearReferenced();
+    }
+
+    /**
+     * Free value storage held outside the Java heap, called when the root leaves the cache.
+     */
+    public void releaseValue() {
+        state().releaseValue();
+    }
+
     public boolean isLoaned() {
         return state().isLoaned();
     }
@@ -171,7 +274,7 @@ public class ObjectRoot<K, V> {
         return false;
     }
 
-    public synchronized boolean isExpired() {
+    public boolean isExpired() {
         return !CachePolicyChecker.isInLifetime(state().getAccessStatus(), config().getLifetime()) || state().getAccessStatus().isExpired();
     }
 
@@ -180,11 +283,11 @@ public class ObjectRoot<K, V> {
     // ---------------------------------------
 
     private ObjectRootPolicy config() {
-        return context.config();
+        return policy;
     }
 
     private ObjectRootState<K, V> state() {
-        return context.state();
+        return state;
     }
 
     // ---------------------------------------
@@ -194,7 +297,8 @@ public class ObjectRoot<K, V> {
     @Override
     public String toString() {
         return "ObjectRoot{" +
-                "context=" + context +
+                "policy=" + policy +
+                ", state=" + state +
                 '}';
     }
 
@@ -204,11 +308,12 @@ public class ObjectRoot<K, V> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ObjectRoot<?, ?> that = (ObjectRoot<?, ?>) o;
-        return Objects.equals(context, that.context);
+        return Objects.equals(policy, that.policy) &&
+                Objects.equals(state, that.state);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(context);
+        return Objects.hash(policy, state);
     }
 }
@@ -0,0 +1,146 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Secondary index of an ObjectCache, maps attribute to the keys of the values having that attribute.
+ * <p>
+ * Updated by the stripes under their write lock, so changes of one key are ordered. Changes of different keys with the
+ * same attribute come from different stripes, and are ordered by a lock striped on attribute hash. Queries do not lock.
+ * The attribute of each key is kept to remove the key from its previous attribute on in-place writes.
+ */
+public final class AttributeIndex<K, V, A> {
+    private static final int NUM_LOCKS = 64;
+
+    private final Object indexId;
+    private final Function<? super V, ? extends A> attributeOf;
+    private final ConcurrentMap<A, Set<K>> keysByAttribute;
+    private final ConcurrentMap<K, A> attributeByKey = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[NUM_LOCKS];
+
+    private AttributeIndex(Object indexId, Function<? super V, ? extends A> attributeOf, ConcurrentMap<A, Set<K>> keysByAttribute) {
+        this.indexId = requireNonNull(indexId);
+        this.attributeOf = requireNonNull(attributeOf);
+        this.keysByAttribute = requireNonNull(keysByAttribute);
+        for (int i = 0; i < NUM_LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public static <K, V, A> AttributeIndex<K, V, A> hashed(Object indexId, Function<? super V, ? extends A> attributeOf) {
+        return new AttributeIndex<>(indexId, attributeOf, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @return index ordered on the natural order of A, supports range queries
+     */
+    public static <K, V, A> AttributeIndex<K, V, A> sorted(Object indexId, Function<? super V, ? extends A> attributeOf) {
+        return new AttributeIndex<>(indexId, attributeOf, new ConcurrentSkipListMap<>());
+    }
+
+    public Object getId() {
+        return indexId;
+    }
+
+    public boolean isSorted() {
+        return keysByAttribute instanceof ConcurrentNavigableMap;
+    }
+
+    public A attributeOf(V value) {
+        return value != null ? attributeOf.apply(value) : null;
+    }
+
+    // ----------------------------------------------
+    // Maintenance, called with the stripe write lock held
+    // ----------------------------------------------
+
+    public void onPut(K key, V value) {
+        A attribute = attributeOf(value);
+        A previous = attribute != null ? attributeByKey.put(key, attribute) : attributeByKey.remove(key);
+
+        if (Objects.equals(previous, attribute)) {
+            return;
+        }
+        if (previous != null) {
+            removeKey(previous, key);
+        }
+        if (attribute != null) {
+            addKey(attribute, key);
+        }
+    }
+
+    public void onRemoved(K key) {
+        A previous = attributeByKey.remove(key);
+        if (previous != null) {
+            removeKey(previous, key);
+        }
+    }
+
+    // ----------------------------------------------
+    // Queries
+    // ----------------------------------------------
+
+    public Set<K> findKeys(A attribute) {
+        if (attribute == null) {
+            return Collections.emptySet();
+        }
+        Set<K> keys = keysByAttribute.get(attribute);
+        return keys != null ? new HashSet<>(keys) : Collections.emptySet();
+    }
+
+    public Set<K> findKeysInRange(A from, A to) {
+        requireNonNull(from);
+        requireNonNull(to);
+        if (!isSorted()) {
+            throw new IllegalStateException("Range query requires a sorted index: " + indexId);
+        }
+
+        Set<K> keys = new HashSet<>();
+        ((ConcurrentNavigableMap<A, Set<K>>) keysByAttribute).subMap(from, true, to, false).values().forEach(keys::addAll);
+        return keys;
+    }
+
+    public int size() {
+        return keysByAttribute.size();
+    }
+
+    // ----------------------------------------------
+    // Private functions
+    // ----------------------------------------------
+
+    private void addKey(A attribute, K key) {
+        synchronized (lockOf(attribute)) {
+            keysByAttribute.computeIfAbsent(attribute, a -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private void removeKey(A attribute, K key) {
+        synchronized (lockOf(attribute)) {
+            Set<K> keys = keysByAttribute.get(attribute);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByAttribute.remove(attribute);
+            }
+        }
+    }
+
+    private Object lockOf(A attribute) {
+        int h = attribute.hashCode();
+        return locks[(h ^ (h >>> 16)) & (NUM_LOCKS - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeIndex{" +
+                "indexId=" + indexId +
+                ", sorted=" + isSorted() +
+                ", size=" + size() +
+                '}';
+    }
+}
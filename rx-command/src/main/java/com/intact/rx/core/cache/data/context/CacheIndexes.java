@@ -0,0 +1,49 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The secondary indexes of one ObjectCache, shared by its stripes. Without indexes a change costs one emptiness check.
+ */
+public final class CacheIndexes<K, V> {
+    private final Map<Object, AttributeIndex<K, V, ?>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Register index, requires all stripe write locks so the index can be populated from a stable cache.
+     */
+    public void add(AttributeIndex<K, V, ?> index) {
+        indexes.put(index.getId(), requireNonNull(index));
+    }
+
+    public Optional<AttributeIndex<K, V, ?>> get(Object indexId) {
+        return Optional.ofNullable(indexes.get(indexId));
+    }
+
+    public Optional<AttributeIndex<K, V, ?>> remove(Object indexId) {
+        return Optional.ofNullable(indexes.remove(indexId));
+    }
+
+    public boolean isEmpty() {
+        return indexes.isEmpty();
+    }
+
+    // ----------------------------------------------
+    // Maintenance, called with the stripe write lock held
+    // ----------------------------------------------
+
+    public void onPut(K key, V value) {
+        for (AttributeIndex<K, V, ?> index : indexes.values()) {
+            index.onPut(key, value);
+        }
+    }
+
+    public void onRemoved(K key) {
+        for (AttributeIndex<K, V, ?> index : indexes.values()) {
+            index.onRemoved(key);
+        }
+    }
+}
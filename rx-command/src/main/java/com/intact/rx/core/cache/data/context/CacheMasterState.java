@@ -2,6 +2,7 @@ package com.intact.rx.core.cache.data.context;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Objects.requireNonNull;
 
@@ -21,6 +22,12 @@ public class CacheMasterState {
 
     private final AccessStatus accessStatus = new AccessStatus();
 
+    /**
+     * Incremented whenever an object cache is removed or the master expires. DataCaches compare it with the epoch of
+     * their bound ObjectCache to detect a stale binding without locking.
+     */
+    private final AtomicLong objectCacheEpoch = new AtomicLong(0);
+
     public CacheMasterState(DomainCacheId domainCacheId, MasterCacheId masterCacheId) {
         this.domainCacheId = requireNonNull(domainCacheId);
         this.masterCacheId = requireNonNull(masterCacheId);
@@ -49,6 +56,14 @@ public class CacheMasterState {
         dataCaches.put(dataCache.getCacheId().getDataCacheId(), dataCache);
     }
 
+    public long getObjectCacheEpoch() {
+        return objectCacheEpoch.get();
+    }
+
+    public void invalidateObjectCaches() {
+        objectCacheEpoch.incrementAndGet();
+    }
+
     public MasterCacheId getMasterCacheId() {
         return masterCacheId;
     }
@@ -1,21 +1,30 @@
 package com.intact.rx.core.cache.data.context;
 
+import java.util.Optional;
 import java.util.Set;
 
 import static java.util.Objects.requireNonNull;
 
+import com.intact.rx.api.cache.Weigher;
 import com.intact.rx.api.command.Strategy2;
 import com.intact.rx.core.cache.data.DataCache;
 import com.intact.rx.core.cache.strategy.CacheCleanupAlgorithms;
+import com.intact.rx.policy.Admission;
+import com.intact.rx.policy.Concurrency;
+import com.intact.rx.policy.Dispatch;
+import com.intact.rx.policy.Durability;
 import com.intact.rx.policy.Extension;
+import com.intact.rx.policy.KeyType;
 import com.intact.rx.policy.Lifetime;
 import com.intact.rx.policy.MementoPolicy;
+import com.intact.rx.policy.OffHeap;
 import com.intact.rx.policy.ResourceLimits;
 
 public class DataCachePolicy {
     public static final Strategy2<Boolean, DataCachePolicy, DataCache<?, ?>> DEFAULT_CACHE_CLEANUP = CacheCleanupAlgorithms::defaultCacheCleanup;
     public static final Strategy2<Set<?>, DataCache<?, ?>, Long> REMOVE_N_LEAST_RECENTLY_USED = CacheCleanupAlgorithms::removeNLeastRecentlyUsed;
     public static final Strategy2<Set<?>, DataCache<?, ?>, Long> REMOVE_N_LEAST_FREQUENTLY_USED = CacheCleanupAlgorithms::removeNLeastFrequentlyUsed;
+    public static final Strategy2<Set<?>, DataCache<?, ?>, Long> REMOVE_N_BY_FREQUENCY_ADMISSION = CacheCleanupAlgorithms::removeNByFrequencyAdmission;
 
     private final Lifetime lifetime;
     private final ResourceLimits resourceLimits;
@@ -24,6 +33,13 @@ public class DataCachePolicy {
     private final ObjectRootPolicy objectRootPolicy;
     private final Strategy2<Set<?>, DataCache<?, ?>, Long> evictionStrategy;
     private final Strategy2<Boolean, DataCachePolicy, DataCache<?, ?>> cleanupStrategy;
+    private final Concurrency concurrency;
+    private final Admission admission;
+    private final Weigher<?, ?> weigher;
+    private final OffHeap offHeap;
+    private final Durability durability;
+    private final KeyType keyType;
+    private final Dispatch dispatch;
 
     public DataCachePolicy(
             Lifetime lifetime,
@@ -32,6 +48,35 @@ public class DataCachePolicy {
             MementoPolicy mementoPolicy,
             ObjectRootPolicy objectRootPolicy,
             Strategy2<Set<?>, DataCache<?, ?>, Long> evictionStrategy) {
+        this(lifetime, resourceLimits, extension, mementoPolicy, objectRootPolicy, evictionStrategy, Concurrency.single(), Admission.none(), null, OffHeap.none(), Durability.none(), KeyType.OBJECT, Dispatch.synchronous());
+    }
+
+    /**
+     * Canonical constructor, see {@link com.intact.rx.core.cache.factory.DataCachePolicyBuilder} to set the options of
+     * an existing policy.
+     *
+     * @param concurrency lock striping of the object cache
+     * @param admission admission of new entries on eviction, Admission.none() for plain eviction
+     * @param weigher weight of each (key, value) counted against ResourceLimits maxWeight, null to not track weight
+     * @param offHeap storage of values outside the Java heap, OffHeap.none() to keep values on heap
+     * @param durability write-ahead logging of changes, Durability.none() for a cache that starts empty
+     * @param keyType KeyType.LONG to store primitive long keys, requires all keys to be of type Long
+     * @param dispatch delivery of changes to selections and observers, Dispatch.synchronous() to deliver on the writer
+     */
+    public DataCachePolicy(
+            Lifetime lifetime,
+            ResourceLimits resourceLimits,
+            Extension extension,
+            MementoPolicy mementoPolicy,
+            ObjectRootPolicy objectRootPolicy,
+            Strategy2<Set<?>, DataCache<?, ?>, Long> evictionStrategy,
+            Concurrency concurrency,
+            Admission admission,
+            Weigher<?, ?> weigher,
+            OffHeap offHeap,
+            Durability durability,
+            KeyType keyType,
+            Dispatch dispatch) {
         this.lifetime = requireNonNull(lifetime);
         this.resourceLimits = requireNonNull(resourceLimits);
         this.extension = requireNonNull(extension);
@@ -39,6 +84,13 @@ public class DataCachePolicy {
         this.objectRootPolicy = requireNonNull(objectRootPolicy);
         this.evictionStrategy = requireNonNull(evictionStrategy);
         this.cleanupStrategy = DEFAULT_CACHE_CLEANUP;
+        this.concurrency = requireNonNull(concurrency);
+        this.admission = requireNonNull(admission);
+        this.weigher = weigher;
+        this.offHeap = requireNonNull(offHeap);
+        this.durability = requireNonNull(durability);
+        this.keyType = requireNonNull(keyType);
+        this.dispatch = requireNonNull(dispatch);
     }
 
     public Lifetime getLifetime() {
@@ -73,6 +125,34 @@ public class DataCachePolicy {
         return cleanupStrategy;
     }
 
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public Optional<Weigher<?, ?>> getWeigher() {
+        return Optional.ofNullable(weigher);
+    }
+
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    public Dispatch getDispatch() {
+        return dispatch;
+    }
+
     // --------------------------------------------
     // Convenience factories
     // --------------------------------------------
@@ -101,6 +181,24 @@ public class DataCachePolicy {
         return new DataCachePolicy(lifetime, resourceLimits, Extension.noRenew(), mementoPolicy, ObjectRootPolicy.create(lifetime, Extension.noRenew()), REMOVE_N_LEAST_FREQUENTLY_USED);
     }
 
+    /**
+     * Window TinyLFU: scan resistant eviction where new entries must be estimated more frequently used than the main
+     * region's victim to be admitted, see {@link Admission}.
+     */
+    public static DataCachePolicy windowTinyLfuAnd(ResourceLimits resourceLimits, Lifetime lifetime) {
+        return new DataCachePolicy(lifetime, resourceLimits, Extension.noRenew(), MementoPolicy.none, ObjectRootPolicy.create(lifetime, Extension.noRenew()), REMOVE_N_BY_FREQUENCY_ADMISSION, Concurrency.single(), Admission.windowTinyLfu(), null, OffHeap.none(), Durability.none(), KeyType.OBJECT, Dispatch.synchronous());
+    }
+
+    /**
+     * @return copy of policy with primitive long keys, see {@link KeyType}
+     */
+    public static DataCachePolicy withLongKeys(DataCachePolicy policy) {
+        if (policy.keyType == KeyType.LONG) {
+            return policy;
+        }
+        return new DataCachePolicy(policy.lifetime, policy.resourceLimits, policy.extension, policy.mementoPolicy, policy.objectRootPolicy, policy.evictionStrategy, policy.concurrency, policy.admission, policy.weigher, policy.offHeap, policy.durability, KeyType.LONG, policy.dispatch);
+    }
+
     public static DataCachePolicy unlimitedForever() {
         return new DataCachePolicy(Lifetime.forever(), ResourceLimits.unlimited(), Extension.noRenew(), MementoPolicy.none, ObjectRootPolicy.foreverNoRenew(), REMOVE_N_LEAST_RECENTLY_USED);
     }
@@ -115,6 +213,13 @@ public class DataCachePolicy {
                 ", objectRootPolicy=" + objectRootPolicy +
                 ", evictionStrategy=" + evictionStrategy +
                 ", cleanupStrategy=" + cleanupStrategy +
+                ", concurrency=" + concurrency +
+                ", admission=" + admission +
+                ", weigher=" + weigher +
+                ", offHeap=" + offHeap +
+                ", durability=" + durability +
+                ", keyType=" + keyType +
+                ", dispatch=" + dispatch +
                 '}';
     }
 }
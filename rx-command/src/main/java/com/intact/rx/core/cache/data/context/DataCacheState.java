@@ -2,16 +2,22 @@ package com.intact.rx.core.cache.data.context;
 
 import java.lang.ref.WeakReference;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import com.intact.rx.api.cache.CacheHandle;
 import com.intact.rx.api.cache.RxFilter;
 import com.intact.rx.core.cache.data.CacheMaster;
+import com.intact.rx.core.cache.data.ObjectCache;
 import com.intact.rx.core.cache.status.AccessStatus;
 import com.intact.rx.core.cache.subject.MementoValueSubject;
 import com.intact.rx.core.cache.subject.ObjectLambdaSubject;
 import com.intact.rx.core.cache.subject.ObjectSubject;
 import com.intact.rx.core.cache.subject.ObjectTypeSubject;
+import com.intact.rx.templates.Tuple2;
 
 public class DataCacheState<K, V> {
     private final WeakReference<CacheMaster> cacheMaster;
@@ -25,6 +31,15 @@ public class DataCacheState<K, V> {
     private final AccessStatus accessStatus = new AccessStatus();
     private final Map<Object, RxFilter<K, V>> selections = new ConcurrentHashMap<>();
     private final Map<Object, RxFilter<K, V>> transformations = new ConcurrentHashMap<>();
+    private final SelectionRouter<K, V> selectionRouter = new SelectionRouter<>();
+    private final Map<K, CompletableFuture<Optional<V>>> loads = new ConcurrentHashMap<>();
+
+    // Note: (master epoch, object cache) resolved from cache master, valid as long as the master epoch is unchanged
+    private final AtomicReference<Tuple2<Long, ObjectCache<K, V>>> boundObjectCache = new AtomicReference<>(null);
+    // Note: expired object cache used once the cache master is expired or released, created at most once
+    private final AtomicReference<ObjectCache<K, V>> noAccessCache = new AtomicReference<>(null);
+    // Note: sticky, reads and writes update the access state and must not revive an expired DataCache
+    private volatile boolean expired = false;
 
     public DataCacheState(final CacheMaster cacheMaster, final CacheHandle cacheHandle) {
         this.cacheMaster = new WeakReference<>(cacheMaster);
@@ -35,11 +50,12 @@ public class DataCacheState<K, V> {
         objectSubject.disconnectAll();
         objectTypeSubject.disconnectAll();
         selections.clear();
+        selectionRouter.clear();
         transformations.clear();
+        loads.clear();
+        boundObjectCache.set(null);
         cacheMaster.clear();
-        if (!accessStatus.isExpired()) {
-            accessStatus.expired();
-        }
+        doExpire();
     }
 
     public ObjectTypeSubject<V> getObjectTypeSubject() {
@@ -70,19 +86,48 @@ public class DataCacheState<K, V> {
         return accessStatus;
     }
 
+    public Tuple2<Long, ObjectCache<K, V>> getBoundObjectCache() {
+        return boundObjectCache.get();
+    }
+
+    public void bindObjectCache(long masterEpoch, ObjectCache<K, V> objectCache) {
+        boundObjectCache.set(new Tuple2<>(masterEpoch, objectCache));
+    }
+
+    public ObjectCache<K, V> getNoAccessCache(Supplier<ObjectCache<K, V>> factory) {
+        ObjectCache<K, V> cache = noAccessCache.get();
+        if (cache != null) {
+            return cache;
+        }
+        noAccessCache.compareAndSet(null, factory.get());
+        return noAccessCache.get();
+    }
+
     public Map<Object, RxFilter<K, V>> getSelections() {
         return selections;
     }
 
+    public SelectionRouter<K, V> getSelectionRouter() {
+        return selectionRouter;
+    }
+
     public Map<Object, RxFilter<K, V>> getTransformations() {
         return transformations;
     }
 
+    /**
+     * @return loads of missing values in flight, see RxAsyncCache
+     */
+    public Map<K, CompletableFuture<Optional<V>>> getLoads() {
+        return loads;
+    }
+
     public void doExpire() {
+        expired = true;
         accessStatus.expired();
     }
 
     public boolean isExpired() {
-        return accessStatus.isExpired();
+        return expired;
     }
 }
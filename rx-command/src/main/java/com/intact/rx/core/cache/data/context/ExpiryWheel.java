@@ -0,0 +1,169 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.*;
+import java.util.function.Function;
+
+import com.intact.rx.core.cache.data.ObjectRoot;
+
+/**
+ * Hierarchical timing wheel tracking the Lifetime deadline of the roots in one ObjectCacheStripe. Requires the stripe
+ * write lock.
+ * <p>
+ * Levels have buckets of ~1s, ~65s, ~70min and ~37h with an overflow bucket above ~6 days. Advancing the wheel only
+ * visits due buckets, so the expiry cost is proportional to the number of expiring roots, not the stripe size.
+ * <p>
+ * Renewals (Extension RENEW_ON_*) are handled lazily: a due root whose deadline moved is rescheduled rather than
+ * expired. Roots expired explicitly (ObjectCache.setExpired) are queued and reclaimed by the next advance.
+ */
+class ExpiryWheel<K> {
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final int[] SHIFT = {10, 16, 22, 27, 29};
+
+    private final long lifetimeMs;
+    private final List<List<Map<K, Long>>> wheel;
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private final List<K> expiredEarly = new ArrayList<>();
+    private long currentTimeMs;
+
+    ExpiryWheel(long lifetimeMs, long currentTimeMs) {
+        this.lifetimeMs = lifetimeMs;
+        this.currentTimeMs = currentTimeMs;
+
+        List<List<Map<K, Long>>> levels = new ArrayList<>(BUCKETS.length);
+        for (int buckets : BUCKETS) {
+            List<Map<K, Long>> level = new ArrayList<>(buckets);
+            for (int i = 0; i < buckets; i++) {
+                level.add(new HashMap<>());
+            }
+            levels.add(level);
+        }
+        this.wheel = levels;
+    }
+
+    void schedule(K key, ObjectRoot<K, ?> root) {
+        schedule(key, deadlineOf(root));
+    }
+
+    /**
+     * Key was removed from the stripe, its bucket entry becomes stale and is dropped when the bucket fires.
+     */
+    void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    /**
+     * Root of key was expired before its deadline, reclaim it by the next advance.
+     */
+    void expireNow(K key) {
+        if (deadlines.containsKey(key)) {
+            expiredEarly.add(key);
+        }
+    }
+
+    void clear() {
+        expiredEarly.clear();
+        deadlines.clear();
+        wheel.forEach(level -> level.forEach(Map::clear));
+    }
+
+    int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Advance wheel to nowMs and return keys whose roots are expired. The caller removes them from the stripe.
+     */
+    <V> List<K> advance(long nowMs, Function<K, ObjectRoot<K, V>> roots) {
+        final List<K> expired = new ArrayList<>();
+        for (K key : expiredEarly) {
+            ObjectRoot<K, V> root = roots.apply(key);
+            if (deadlines.containsKey(key) && root != null && root.isExpired()) {
+                // Note: the bucket entry becomes stale and is dropped when the bucket fires
+                deadlines.remove(key);
+                expired.add(key);
+            }
+        }
+        expiredEarly.clear();
+
+        final long previousTimeMs = currentTimeMs;
+        currentTimeMs = Math.max(currentTimeMs, nowMs);
+
+        for (int level = 0; level < BUCKETS.length; level++) {
+            long previousTicks = previousTimeMs >>> SHIFT[level];
+            long delta = (currentTimeMs >>> SHIFT[level]) - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+
+            int mask = BUCKETS[level] - 1;
+            long numBuckets = Math.min(delta + 1, BUCKETS[level]);
+            for (long i = 0; i < numBuckets; i++) {
+                int index = (int) ((previousTicks + i) & mask);
+                expireBucket(level, index, roots, expired);
+            }
+        }
+        return expired;
+    }
+
+    // ---------------------------------------
+    // Private functions
+    // ---------------------------------------
+
+    private <V> void expireBucket(int level, int index, Function<K, ObjectRoot<K, V>> roots, List<K> expired) {
+        List<Map<K, Long>> buckets = wheel.get(level);
+        Map<K, Long> bucket = buckets.get(index);
+        if (bucket.isEmpty()) {
+            return;
+        }
+        buckets.set(index, new HashMap<>());
+
+        for (Map.Entry<K, Long> entry : bucket.entrySet()) {
+            K key = entry.getKey();
+            if (!Objects.equals(deadlines.get(key), entry.getValue())) {
+                // Note: stale entry, key was removed or rescheduled
+                continue;
+            }
+
+            ObjectRoot<K, V> root = roots.apply(key);
+            if (root == null) {
+                deadlines.remove(key);
+                continue;
+            }
+
+            long deadline = deadlineOf(root);
+            if (deadline <= currentTimeMs || root.isExpired()) {
+                deadlines.remove(key);
+                expired.add(key);
+            } else {
+                schedule(key, deadline);
+            }
+        }
+    }
+
+    private void schedule(K key, long deadline) {
+        deadlines.put(key, deadline);
+
+        long duration = deadline - currentTimeMs;
+        for (int level = 0; level < BUCKETS.length - 1; level++) {
+            if (duration < (1L << SHIFT[level + 1])) {
+                int index = (int) ((Math.max(deadline, currentTimeMs) >>> SHIFT[level]) & (BUCKETS[level] - 1));
+                wheel.get(level).get(index).put(key, deadline);
+                return;
+            }
+        }
+        wheel.get(BUCKETS.length - 1).get(0).put(key, deadline);
+    }
+
+    private long deadlineOf(ObjectRoot<K, ?> root) {
+        return root.getStatus().getTime().getStartTime() + lifetimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiryWheel{" +
+                "lifetimeMs=" + lifetimeMs +
+                ", scheduled=" + deadlines.size() +
+                ", currentTimeMs=" + currentTimeMs +
+                '}';
+    }
+}
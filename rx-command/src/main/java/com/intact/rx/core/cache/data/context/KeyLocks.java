@@ -0,0 +1,82 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Per-key mutual exclusion for the compute operations of an ObjectCache, so user functions can run without holding
+ * the stripe lock. Concurrent computations of one key are serialized, and a computeIfAbsent waiting behind another
+ * finds the value it created instead of running its own factory. Plain writes and takes of a key wait for its
+ * computation in flight rather than taking the lock, so they only pay a map lookup while computations run.
+ * <p>
+ * A lock exists only while held or awaited: the first caller for a key creates it and the last one removes it.
+ */
+public final class KeyLocks {
+    private final ConcurrentMap<Object, KeyLock> locks = new ConcurrentHashMap<>();
+
+    public KeyLock lock(Object key) {
+        requireNonNull(key);
+
+        KeyLock keyLock = locks.compute(key, (k, existing) -> {
+            KeyLock acquired = existing != null ? existing : new KeyLock(k);
+            ++acquired.holders;
+            return acquired;
+        });
+        keyLock.lock.lock();
+        return keyLock;
+    }
+
+    public void unlock(KeyLock keyLock) {
+        keyLock.lock.unlock();
+        locks.computeIfPresent(keyLock.key, (k, existing) -> --existing.holders == 0 ? null : existing);
+    }
+
+    /**
+     * @return true if another thread holds or awaits the lock of key, i.e., a computation of key is in flight
+     */
+    public boolean isLockedByOtherThread(Object key) {
+        if (locks.isEmpty()) {
+            return false;
+        }
+        KeyLock keyLock = locks.get(key);
+        return keyLock != null && !keyLock.lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Wait until the computations of key in flight are done, without holding its lock afterwards.
+     */
+    public void awaitUnlocked(Object key) {
+        unlock(lock(key));
+    }
+
+    public boolean isEmpty() {
+        return locks.isEmpty();
+    }
+
+    /**
+     * @return number of keys currently locked or awaited
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    public static final class KeyLock {
+        private final Object key;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int holders; // Note: guarded by the map entry of key
+
+        private KeyLock(Object key) {
+            this.key = key;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KeyLocks{" +
+                "size=" + locks.size() +
+                '}';
+    }
+}
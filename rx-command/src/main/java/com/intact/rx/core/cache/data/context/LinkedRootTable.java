@@ -0,0 +1,72 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.intact.rx.core.cache.data.ObjectRoot;
+
+/**
+ * RootTable of any key type. The map keeps insertion order, the head is the CLOCK hand and passed roots move to the tail.
+ */
+final class LinkedRootTable<K, V> implements RootTable<K, V> {
+    private final LinkedHashMap<K, ObjectRoot<K, V>> objects = new LinkedHashMap<>();
+
+    @Override
+    public ObjectRoot<K, V> get(K key) {
+        return objects.get(key);
+    }
+
+    @Override
+    public ObjectRoot<K, V> put(K key, ObjectRoot<K, V> root) {
+        return objects.put(key, root);
+    }
+
+    @Override
+    public ObjectRoot<K, V> remove(K key) {
+        return objects.remove(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public void clear() {
+        objects.clear();
+    }
+
+    @Override
+    public int size() {
+        return objects.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return objects.isEmpty();
+    }
+
+    @Override
+    public Collection<ObjectRoot<K, V>> values() {
+        return objects.values();
+    }
+
+    @Override
+    public Collection<Map.Entry<K, ObjectRoot<K, V>>> entrySet() {
+        return objects.entrySet();
+    }
+
+    @Override
+    public Map.Entry<K, ObjectRoot<K, V>> advanceHand() {
+        if (objects.isEmpty()) {
+            return null;
+        }
+        Iterator<Map.Entry<K, ObjectRoot<K, V>>> hand = objects.entrySet().iterator();
+        Map.Entry<K, ObjectRoot<K, V>> entry = hand.next();
+        hand.remove();
+        objects.put(entry.getKey(), entry.getValue());
+        return entry;
+    }
+}
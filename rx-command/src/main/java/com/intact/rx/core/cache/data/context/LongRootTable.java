@@ -0,0 +1,211 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.intact.rx.core.cache.data.ObjectRoot;
+
+/**
+ * RootTable of primitive long keys, see {@link com.intact.rx.policy.KeyType}.
+ * <p>
+ * Open addressing with linear probing over parallel key and root arrays, a slot is empty when its root is null. Removal
+ * shifts following entries of the probe sequence back, so there are no tombstones. Compared to a LinkedHashMap this
+ * saves the boxed key and the 40 byte entry per root, and lookups by long key do not allocate. The CLOCK hand sweeps the
+ * slots in index order.
+ */
+final class LongRootTable<V> implements RootTable<Long, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private ObjectRoot<Long, V>[] roots;
+    private int size;
+    private int hand;
+
+    LongRootTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public ObjectRoot<Long, V> get(Long key) {
+        return getLong(key);
+    }
+
+    @Override
+    public ObjectRoot<Long, V> getLong(long key) {
+        int slot = find(key);
+        return slot >= 0 ? roots[slot] : null;
+    }
+
+    @Override
+    public ObjectRoot<Long, V> put(Long key, ObjectRoot<Long, V> root) {
+        long k = key;
+        int mask = keys.length - 1;
+        int slot = indexOf(k, mask);
+        while (roots[slot] != null) {
+            if (keys[slot] == k) {
+                ObjectRoot<Long, V> previous = roots[slot];
+                roots[slot] = root;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = k;
+        roots[slot] = root;
+        if (++size > (keys.length >>> 1) + (keys.length >>> 2)) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    @Override
+    public ObjectRoot<Long, V> remove(Long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        ObjectRoot<Long, V> removed = roots[slot];
+        shiftBack(slot);
+        --size;
+        return removed;
+    }
+
+    @Override
+    public boolean containsKey(Long key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+        hand = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Collection<ObjectRoot<Long, V>> values() {
+        List<ObjectRoot<Long, V>> values = new ArrayList<>(size);
+        for (ObjectRoot<Long, V> root : roots) {
+            if (root != null) {
+                values.add(root);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Collection<Map.Entry<Long, ObjectRoot<Long, V>>> entrySet() {
+        List<Map.Entry<Long, ObjectRoot<Long, V>>> entries = new ArrayList<>(size);
+        for (int i = 0; i < roots.length; i++) {
+            if (roots[i] != null) {
+                entries.add(new SimpleImmutableEntry<>(keys[i], roots[i]));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public Map.Entry<Long, ObjectRoot<Long, V>> advanceHand() {
+        if (size == 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        while (roots[hand] == null) {
+            hand = (hand + 1) & mask;
+        }
+        Map.Entry<Long, ObjectRoot<Long, V>> entry = new SimpleImmutableEntry<>(keys[hand], roots[hand]);
+        hand = (hand + 1) & mask;
+        return entry;
+    }
+
+    // ----------------------------------------------
+    // Private functions
+    // ----------------------------------------------
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = indexOf(key, mask);
+        while (roots[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empty the slot and move back entries whose probe sequence passes it, keeping every key reachable from its home slot.
+     */
+    private void shiftBack(int slot) {
+        int mask = keys.length - 1;
+        int empty = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (roots[next] == null) {
+                break;
+            }
+            int home = indexOf(keys[next], mask);
+            // Note: move if home is not cyclically within (empty, next]
+            if (((next - home) & mask) >= ((next - empty) & mask)) {
+                keys[empty] = keys[next];
+                roots[empty] = roots[next];
+                empty = next;
+            }
+        }
+        roots[empty] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        ObjectRoot<Long, V>[] oldRoots = roots;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldRoots.length; i++) {
+            if (oldRoots[i] != null) {
+                int slot = indexOf(oldKeys[i], mask);
+                while (roots[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                roots[slot] = oldRoots[i];
+            }
+        }
+        hand = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        //noinspection unchecked
+        roots = (ObjectRoot<Long, V>[]) new ObjectRoot[capacity];
+    }
+
+    private static int indexOf(long key, int mask) {
+        return (int) ((key * GOLDEN_RATIO) >>> 32) & mask;
+    }
+
+    @Override
+    public String toString() {
+        return "LongRootTable{" +
+                "size=" + size +
+                ", capacity=" + keys.length +
+                '}';
+    }
+}
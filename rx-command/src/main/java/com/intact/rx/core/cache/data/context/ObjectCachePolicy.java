@@ -1,19 +1,44 @@
 package com.intact.rx.core.cache.data.context;
 
+import java.util.Optional;
+
 import static java.util.Objects.requireNonNull;
 
+import com.intact.rx.api.cache.Weigher;
+import com.intact.rx.policy.Admission;
+import com.intact.rx.policy.Concurrency;
+import com.intact.rx.policy.Durability;
+import com.intact.rx.policy.KeyType;
 import com.intact.rx.policy.MementoPolicy;
+import com.intact.rx.policy.OffHeap;
 import com.intact.rx.policy.ResourceLimits;
 
 public class ObjectCachePolicy {
     private final ObjectRootPolicy rootPolicy;
     private final ResourceLimits resourceLimits;
     private final MementoPolicy mementoPolicy;
+    private final Concurrency concurrency;
+    private final Admission admission;
+    private final Weigher<?, ?> weigher;
+    private final OffHeap offHeap;
+    private final Durability durability;
+    private final KeyType keyType;
+
+    public ObjectCachePolicy(ObjectRootPolicy policy, ResourceLimits resourceLimits, MementoPolicy mementoPolicy, Concurrency concurrency) {
+        this(policy, resourceLimits, mementoPolicy, concurrency, Admission.none(), null, OffHeap.none(), Durability.none(), KeyType.OBJECT);
+    }
 
-    public ObjectCachePolicy(ObjectRootPolicy policy, ResourceLimits resourceLimits, MementoPolicy mementoPolicy) {
+    public ObjectCachePolicy(ObjectRootPolicy policy, ResourceLimits resourceLimits, MementoPolicy mementoPolicy, Concurrency concurrency, Admission admission, Weigher<?, ?> weigher, OffHeap offHeap, Durability durability, KeyType keyType) {
         this.rootPolicy = requireNonNull(policy);
         this.resourceLimits = requireNonNull(resourceLimits);
         this.mementoPolicy = requireNonNull(mementoPolicy);
+        // Note: cache wide undo/redo relies on a total order of writes, i.e., one stripe
+        this.concurrency = mementoPolicy.isAnyDepth() ? Concurrency.single() : requireNonNull(concurrency);
+        this.admission = requireNonNull(admission);
+        this.weigher = weigher;
+        this.offHeap = requireNonNull(offHeap);
+        this.durability = requireNonNull(durability);
+        this.keyType = requireNonNull(keyType);
     }
 
     public ObjectRootPolicy getRootPolicy() {
@@ -32,11 +57,40 @@ public class ObjectCachePolicy {
         return mementoPolicy.isAnyDepth();
     }
 
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public Optional<Weigher<?, ?>> getWeigher() {
+        return Optional.ofNullable(weigher);
+    }
+
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
     @Override
     public String toString() {
         return "ObjectCachePolicy{" +
                 "rootPolicy=" + rootPolicy +
                 ", resourceLimits=" + resourceLimits +
+                ", concurrency=" + concurrency +
+                ", admission=" + admission +
+                ", offHeap=" + offHeap +
+                ", durability=" + durability +
+                ", keyType=" + keyType +
                 '}';
     }
 }
@@ -0,0 +1,197 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.core.cache.data.ObjectRoot;
+import com.intact.rx.core.cache.strategy.FrequencySketch;
+
+/**
+ * Window TinyLFU segmentation of one ObjectCacheStripe: a FIFO window in front of a segmented LRU main region
+ * (probation, protected). Requires the stripe write lock.
+ * <p>
+ * Reads only set the root reference bit, which is replayed lazily when roots reach the head of their segment, i.e., a
+ * referenced probation root is promoted to protected and a referenced protected root moves to the protected tail.
+ */
+class ObjectCacheSegments<K> {
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final int windowPercent;
+    private final FrequencySketch sketch;
+
+    private final Set<K> window = new LinkedHashSet<>();
+    private final Set<K> probation = new LinkedHashSet<>();
+    private final Set<K> protectedMain = new LinkedHashSet<>();
+
+    ObjectCacheSegments(int windowPercent, FrequencySketch sketch) {
+        this.windowPercent = windowPercent;
+        this.sketch = requireNonNull(sketch);
+    }
+
+    /**
+     * @param totalSize number of roots in all stripes, the shared sketch grows with it
+     */
+    void onAdded(K key, int totalSize) {
+        window.add(key);
+        sketch.ensureCapacity(totalSize);
+    }
+
+    void onRemoved(K key) {
+        if (!window.remove(key) && !probation.remove(key)) {
+            protectedMain.remove(key);
+        }
+    }
+
+    void onCleared() {
+        window.clear();
+        probation.clear();
+        protectedMain.clear();
+    }
+
+    /**
+     * Select up to numToEvict victims and remove them from the segments. The caller removes them from the stripe.
+     *
+     * @param roots lookup of the current root for a key
+     */
+    <V> List<K> selectVictims(long numToEvict, int size, Function<K, ObjectRoot<K, V>> roots) {
+        final List<K> victims = new ArrayList<>();
+        final long capacity = Math.max(0, size - numToEvict);
+        final long windowMax = capacity == 0 ? 0 : Math.max(1, capacity * windowPercent / 100);
+        final long protectedMax = (capacity - windowMax) * PROTECTED_PERCENT / 100;
+
+        // ----------------------------------------------
+        // Window overflow moves to probation as admission candidates
+        // ----------------------------------------------
+        final Candidates<K> candidates = new Candidates<>();
+        while (window.size() > windowMax) {
+            K key = pollFirst(window);
+            roots.apply(key).clearReferenced();
+            probation.add(key);
+            candidates.add(key);
+        }
+
+        // ----------------------------------------------
+        // Evict from probation head, newest candidate against victim by frequency, the loser is evicted
+        // ----------------------------------------------
+        long maxSteps = 2L * size + numToEvict;
+        for (long step = 0; step < maxSteps && victims.size() < numToEvict; step++) {
+            if (probation.isEmpty()) {
+                if (!protectedMain.isEmpty()) {
+                    probation.add(pollFirst(protectedMain));
+                } else if (!window.isEmpty()) {
+                    probation.add(pollFirst(window));
+                } else {
+                    break;
+                }
+                continue;
+            }
+
+            K victim = first(probation);
+            ObjectRoot<K, V> victimRoot = roots.apply(victim);
+
+            if (victimRoot.isExpired()) {
+                evict(victim, candidates, victims);
+                continue;
+            }
+
+            if (!candidates.contains(victim) && victimRoot.clearReferenced()) {
+                probation.remove(victim);
+                protectedMain.add(victim);
+                demoteProtectedOverflow(protectedMax, roots);
+                continue;
+            }
+
+            if (victimRoot.isLoaned()) {
+                moveToTail(probation, victim);
+                candidates.remove(victim);
+                continue;
+            }
+
+            K candidate = candidates.newest();
+            if (candidate == null || candidate.equals(victim) || roots.apply(candidate).isLoaned() || sketch.frequency(candidate) > sketch.frequency(victim)) {
+                evict(victim, candidates, victims);
+            } else {
+                evict(candidate, candidates, victims);
+            }
+        }
+        return victims;
+    }
+
+    // ---------------------------------------
+    // Private functions
+    // ---------------------------------------
+
+    private <V> void demoteProtectedOverflow(long protectedMax, Function<K, ObjectRoot<K, V>> roots) {
+        while (protectedMain.size() > protectedMax && !protectedMain.isEmpty()) {
+            K key = pollFirst(protectedMain);
+            if (roots.apply(key).clearReferenced()) {
+                protectedMain.add(key);
+                // Note: demote the next unreferenced root on a later call, avoid cycling the whole segment
+                break;
+            }
+            probation.add(key);
+        }
+    }
+
+    private void evict(K key, Candidates<K> candidates, List<K> victims) {
+        probation.remove(key);
+        candidates.remove(key);
+        victims.add(key);
+    }
+
+    private static <K> K first(Set<K> segment) {
+        return segment.iterator().next();
+    }
+
+    private static <K> K pollFirst(Set<K> segment) {
+        Iterator<K> iterator = segment.iterator();
+        K key = iterator.next();
+        iterator.remove();
+        return key;
+    }
+
+    private static <K> void moveToTail(Set<K> segment, K key) {
+        segment.remove(key);
+        segment.add(key);
+    }
+
+    /**
+     * Admission candidates in the order they left the window. Removal is lazy, stale keys are skipped when polled.
+     */
+    private static class Candidates<K> {
+        private final Deque<K> order = new ArrayDeque<>();
+        private final Set<K> members = new HashSet<>();
+
+        void add(K key) {
+            if (members.add(key)) {
+                order.addLast(key);
+            }
+        }
+
+        boolean contains(K key) {
+            return members.contains(key);
+        }
+
+        void remove(K key) {
+            members.remove(key);
+        }
+
+        K newest() {
+            while (!order.isEmpty() && !members.contains(order.peekLast())) {
+                order.pollLast();
+            }
+            return order.peekLast();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectCacheSegments{" +
+                "window=" + window.size() +
+                ", probation=" + probation.size() +
+                ", protected=" + protectedMain.size() +
+                '}';
+    }
+}
@@ -1,36 +1,263 @@
 package com.intact.rx.core.cache.data.context;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Objects.requireNonNull;
 
 import com.intact.rx.core.cache.data.ObjectRoot;
 import com.intact.rx.core.cache.data.id.DataCacheId;
+import com.intact.rx.core.cache.data.id.DomainCacheId;
 import com.intact.rx.core.cache.status.AccessStatus;
+import com.intact.rx.core.cache.strategy.CachePolicyChecker;
+import com.intact.rx.core.cache.strategy.FrequencySketch;
+import com.intact.rx.policy.Admission;
+import com.intact.rx.api.RxDefault;
+import com.intact.rx.api.cache.ValueCodec;
+import com.intact.rx.api.cache.Weigher;
+import com.intact.rx.policy.Concurrency;
+import com.intact.rx.policy.Durability;
+import com.intact.rx.policy.KeyType;
+import com.intact.rx.policy.Lifetime;
+import com.intact.rx.policy.OffHeap;
+import com.intact.rx.policy.ResourceLimits;
 import com.intact.rx.templates.api.Memento;
 
 public class ObjectCacheState<K, V> {
+    // Note: the frequency sketch starts at this size and grows with the number of roots, up to maxSamples
+    private static final int INITIAL_SKETCH_CAPACITY = 1024;
 
-    private final Map<K, ObjectRoot<K, V>> objects = new HashMap<>();
+    private final List<ObjectCacheStripe<K, V>> stripes;
+    private final int stripeMask;
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final AtomicLong weight = new AtomicLong(0);
     private final Memento<ObjectRoot<K, V>> mementoReference;
     private final DataCacheId dataCacheId;
+    private final FrequencySketch sketch;
+    private final OffHeapValueStore<V> valueStore;
+    private final WriteAheadLog<K, V> writeAheadLog;
+    private final CacheIndexes<K, V> indexes = new CacheIndexes<>();
+    private final KeyLocks keyLocks = new KeyLocks();
 
     private final AccessStatus accessStatus = new AccessStatus();
 
-    public ObjectCacheState(DataCacheId dataCacheId, Memento<ObjectRoot<K, V>> mementoReference) {
+    public ObjectCacheState(DataCacheId dataCacheId, Memento<ObjectRoot<K, V>> mementoReference, Concurrency concurrency) {
+        this(DomainCacheId.empty(), dataCacheId, mementoReference, concurrency, Admission.none(), ResourceLimits.unlimited(), Lifetime.forever(), null, OffHeap.none(), Durability.none(), KeyType.OBJECT);
+    }
+
+    public ObjectCacheState(DomainCacheId domainCacheId, DataCacheId dataCacheId, Memento<ObjectRoot<K, V>> mementoReference, Concurrency concurrency, Admission admission, ResourceLimits resourceLimits, Lifetime rootLifetime, Weigher<K, V> weigher, OffHeap offHeap, Durability durability, KeyType keyType) {
         this.dataCacheId = requireNonNull(dataCacheId);
         this.mementoReference = requireNonNull(mementoReference);
+        this.sketch = admission.isWindowTinyLfu() ? FrequencySketch.withCapacity(INITIAL_SKETCH_CAPACITY, resourceLimits.getMaxSamples()) : null;
+        //noinspection unchecked
+        this.valueStore = offHeap.getCodec().map(codec -> new OffHeapValueStore<>((ValueCodec<V>) codec, offHeap)).orElse(null);
+
+        this.writeAheadLog = durability.getDirectory()
+                .map(directory -> WriteAheadLog.<K, V>create(directoryOf(directory, domainCacheId, dataCacheId), durability))
+                .orElse(null);
+
+        List<ObjectCacheStripe<K, V>> list = new ArrayList<>(concurrency.getStripes());
+        for (int i = 0; i < concurrency.getStripes(); i++) {
+            list.add(new ObjectCacheStripe<>(
+                    createRootTable(keyType),
+                    size,
+                    weight,
+                    weigher,
+                    sketch != null ? new ObjectCacheSegments<>(admission.getWindowPercent(), sketch) : null,
+                    isFinite(rootLifetime) ? new ExpiryWheel<>(rootLifetime.inMillis(), RxDefault.getTicker().millis()) : null,
+                    writeAheadLog,
+                    indexes,
+                    concurrency.isSnapshotIteration()));
+        }
+        this.stripes = Collections.unmodifiableList(list);
+        this.stripeMask = concurrency.getStripes() - 1;
+    }
+
+    public ObjectCacheStripe<K, V> getStripe(K key) {
+        if (stripeMask == 0) {
+            return stripes.get(0);
+        }
+        return stripeOf(key.hashCode());
+    }
+
+    /**
+     * @return same stripe as getStripe(Long.valueOf(key)), without boxing
+     */
+    public ObjectCacheStripe<K, V> getStripe(long key) {
+        if (stripeMask == 0) {
+            return stripes.get(0);
+        }
+        return stripeOf(Long.hashCode(key));
+    }
+
+    /**
+     * @return true if roots expire by Lifetime deadline through the stripe expiry wheels, false if expiry requires a scan
+     */
+    public boolean isExpiryScheduled() {
+        return stripes.get(0).isExpiryScheduled();
+    }
+
+    /**
+     * @return all stripes in fixed order. Locks on multiple stripes must be acquired in this order.
+     */
+    public List<ObjectCacheStripe<K, V>> getStripes() {
+        return stripes;
+    }
+
+    /**
+     * @return total number of roots over all stripes, maintained without locking
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Reserve the size slot of a new root. The limit check and the increment are one CAS on the size shared by all
+     * stripes, so concurrent writers to different stripes cannot exceed a hard sample limit. The slot is taken by
+     * ObjectCacheStripe.putReserved.
+     *
+     * @throws IllegalStateException if the hard sample limit is reached
+     */
+    public void reserveSlot(ResourceLimits resourceLimits) {
+        int current;
+        do {
+            current = size.get();
+            CachePolicyChecker.assertWritingPossible(current, 1, resourceLimits);
+        } while (!size.compareAndSet(current, current + 1));
+    }
+
+    /**
+     * @return false if the hard sample limit is reached, otherwise the slot is reserved as by reserveSlot
+     */
+    public boolean tryReserveSlot(ResourceLimits resourceLimits) {
+        int current;
+        do {
+            current = size.get();
+            if (!CachePolicyChecker.isWritingPossible(current, 1, resourceLimits)) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Record an access (hit or miss) of key in the frequency sketch, if admission is enabled. Lock-free.
+     */
+    public void recordAccess(K key) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+    }
+
+    public void recordAccess(long key) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
     }
 
-    public Map<K, ObjectRoot<K, V>> getObjects() {
-        return objects;
+    /**
+     * @return total weight over all stripes, equals 0 when the cache has no weigher
+     */
+    public long weight() {
+        return weight.get();
+    }
+
+    /**
+     * @return store of the encoded values if values are kept off heap
+     */
+    public Optional<OffHeapValueStore<V>> getValueStore() {
+        return Optional.ofNullable(valueStore);
+    }
+
+    /**
+     * @return log of the changes if the cache is durable, see {@link Durability}
+     */
+    public Optional<WriteAheadLog<K, V>> getWriteAheadLog() {
+        return Optional.ofNullable(writeAheadLog);
+    }
+
+    /**
+     * @return secondary indexes, maintained by the stripes
+     */
+    public CacheIndexes<K, V> getIndexes() {
+        return indexes;
+    }
+
+    /**
+     * @return per-key locks serializing the compute operations of a key
+     */
+    public KeyLocks getKeyLocks() {
+        return keyLocks;
     }
 
     public Memento<ObjectRoot<K, V>> getMemento() {
         return mementoReference;
     }
 
+    /**
+     * @return true if the stripes keep lock-free snapshots of their contents
+     */
+    public boolean isSnapshotIteration() {
+        return stripes.get(0).isSnapshotIteration();
+    }
+
+    /**
+     * @return index in getStripes() of the stripe holding a key with the given hash code
+     */
+    public static int stripeIndexOf(int hashCode, int numStripes) {
+        return (hashCode ^ (hashCode >>> 16)) & (numStripes - 1);
+    }
+
+    private ObjectCacheStripe<K, V> stripeOf(int h) {
+        return stripes.get(stripeIndexOf(h, stripeMask + 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> RootTable<K, V> createRootTable(KeyType keyType) {
+        return keyType == KeyType.LONG ? (RootTable<K, V>) new LongRootTable<V>() : new LinkedRootTable<>();
+    }
+
+    /**
+     * @return directory/domain/master/data cache, one level per id so caches of the same type in different masters or
+     * domains never share a log
+     */
+    private static Path directoryOf(Path directory, DomainCacheId domainCacheId, DataCacheId dataCacheId) {
+        return directory
+                .resolve(fileNameOf(String.valueOf(domainCacheId.getId())))
+                .resolve(fileNameOf(String.valueOf(dataCacheId.getOwner().getId())))
+                .resolve(fileNameOf(dataCacheId.getId().getName()));
+    }
+
+    /**
+     * Percent-encode all but [A-Za-z0-9_-] as UTF-8 bytes, i.e., distinct ids get distinct names and no name is "." or
+     * "..". The empty id is "%", which no other id encodes to.
+     */
+    private static String fileNameOf(String id) {
+        if (id.isEmpty()) {
+            return "%";
+        }
+        StringBuilder name = new StringBuilder();
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-') {
+                name.append(c);
+            } else {
+                name.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return name.toString();
+    }
+
+    private static boolean isFinite(Lifetime lifetime) {
+        return lifetime.inMillis() < Lifetime.forever().inMillis();
+    }
+
     public DataCacheId getDataCacheId() {
         return dataCacheId;
     }
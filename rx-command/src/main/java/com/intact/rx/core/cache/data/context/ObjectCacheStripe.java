@@ -0,0 +1,331 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.requireNonNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.intact.rx.api.cache.Weigher;
+import com.intact.rx.core.cache.data.ObjectRoot;
+import com.intact.rx.templates.Validate;
+
+/**
+ * One independently locked partition of the ObjectCache (key, root) mapping. All access to the map must be guarded by the stripe lock.
+ * <p>
+ * The {@link RootTable} doubles as the CLOCK ring used for eviction: roots that were accessed since the hand last passed
+ * get a second chance. Caches of long keys use a {@link LongRootTable}. With Window TinyLFU admission the
+ * eviction order is instead kept by {@link ObjectCacheSegments}. Roots with a finite Lifetime are tracked by an
+ * {@link ExpiryWheel}. With a {@link WriteAheadLog} every change is appended to the log. Every change updates the
+ * {@link CacheIndexes} of the cache and, with snapshot iteration, the stripe {@link PersistentRootMap}.
+ */
+public class ObjectCacheStripe<K, V> {
+    private static final long ACQUIRE_LOCK_TIMEOUT_IN_MS = 10000L;
+    private static final Logger log = LoggerFactory.getLogger(ObjectCacheStripe.class);
+
+    private final RootTable<K, V> objects;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock(true);
+    private final AtomicInteger totalSize;
+    private final AtomicLong totalWeight;
+    private final Weigher<K, V> weigher;
+    private final ObjectCacheSegments<K> segments;
+    private final ExpiryWheel<K> expiryWheel;
+    private final WriteAheadLog<K, V> writeAheadLog;
+    private final CacheIndexes<K, V> indexes;
+    private final boolean isSnapshotIteration;
+
+    private volatile PersistentRootMap<K, V> snapshot = PersistentRootMap.empty();
+
+    ObjectCacheStripe(RootTable<K, V> objects, AtomicInteger totalSize, AtomicLong totalWeight, Weigher<K, V> weigher, ObjectCacheSegments<K> segments, ExpiryWheel<K> expiryWheel, WriteAheadLog<K, V> writeAheadLog, CacheIndexes<K, V> indexes, boolean isSnapshotIteration) {
+        this.objects = requireNonNull(objects);
+        this.totalSize = requireNonNull(totalSize);
+        this.totalWeight = requireNonNull(totalWeight);
+        this.weigher = weigher;
+        this.segments = segments;
+        this.expiryWheel = expiryWheel;
+        this.writeAheadLog = writeAheadLog;
+        this.indexes = requireNonNull(indexes);
+        this.isSnapshotIteration = isSnapshotIteration;
+    }
+
+    // ----------------------------------------------
+    // Map access, requires lock
+    // ----------------------------------------------
+
+    public ObjectRoot<K, V> get(K key) {
+        return objects.get(key);
+    }
+
+    /**
+     * @return root of primitive key, without boxing the key if the cache has long keys
+     */
+    public ObjectRoot<K, V> getLong(long key) {
+        return objects.getLong(key);
+    }
+
+    public boolean containsKey(K key) {
+        return objects.containsKey(key);
+    }
+
+    public ObjectRoot<K, V> put(K key, ObjectRoot<K, V> root) {
+        ObjectRoot<K, V> previous = putRoot(key, root);
+        if (previous == null) {
+            int size = totalSize.incrementAndGet();
+            if (segments != null) {
+                segments.onAdded(key, size);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Put the root of an absent key whose slot in the total size is reserved, see ObjectCacheState.reserveSlot.
+     */
+    public void putReserved(K key, ObjectRoot<K, V> root) {
+        ObjectRoot<K, V> previous = putRoot(key, root);
+        Validate.assertTrue(previous == null);
+        if (segments != null) {
+            segments.onAdded(key, totalSize.get());
+        }
+    }
+
+    public ObjectRoot<K, V> remove(K key) {
+        ObjectRoot<K, V> removed = objects.remove(key);
+        if (removed != null) {
+            if (segments != null) {
+                segments.onRemoved(key);
+            }
+            onRemoved(key, removed);
+        }
+        return removed;
+    }
+
+    public void clear() {
+        totalSize.addAndGet(-objects.size());
+        if (weigher != null) {
+            objects.values().forEach(root -> totalWeight.addAndGet(-root.getWeight()));
+        }
+        objects.values().forEach(ObjectRoot::releaseValue);
+        if (writeAheadLog != null) {
+            objects.entrySet().forEach(entry -> writeAheadLog.appendRemove(entry.getKey()));
+        }
+        if (!indexes.isEmpty()) {
+            objects.entrySet().forEach(entry -> indexes.onRemoved(entry.getKey()));
+        }
+        snapshot = PersistentRootMap.empty();
+        objects.clear();
+        if (segments != null) {
+            segments.onCleared();
+        }
+        if (expiryWheel != null) {
+            expiryWheel.clear();
+        }
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    public boolean isEmpty() {
+        return objects.isEmpty();
+    }
+
+    public Collection<ObjectRoot<K, V>> values() {
+        return objects.values();
+    }
+
+    public Collection<Map.Entry<K, ObjectRoot<K, V>>> entrySet() {
+        return objects.entrySet();
+    }
+
+    /**
+     * Remove up to numToEvict roots using CLOCK (second chance), requires write lock. Loaned roots are skipped. The hand
+     * passes each root at most twice, so the cost is O(1) amortized per evicted root. With segments the victims are
+     * selected by Window TinyLFU.
+     *
+     * @return evicted (key, root) pairs
+     */
+    public Map<K, ObjectRoot<K, V>> evict(long numToEvict) {
+        if (numToEvict <= 0 || objects.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<K, ObjectRoot<K, V>> evicted = new HashMap<>();
+
+        if (segments != null) {
+            for (K key : segments.selectVictims(numToEvict, objects.size(), objects::get)) {
+                ObjectRoot<K, V> root = objects.remove(key);
+                evicted.put(key, root);
+                onRemoved(key, root);
+            }
+            return evicted;
+        }
+
+        long maxSteps = 2L * objects.size();
+
+        for (long step = 0; step < maxSteps && evicted.size() < numToEvict && !objects.isEmpty(); step++) {
+            Map.Entry<K, ObjectRoot<K, V>> entry = objects.advanceHand();
+            K key = entry.getKey();
+            ObjectRoot<K, V> root = entry.getValue();
+
+            if (root.isExpired() || (!root.clearReferenced() && !root.isLoaned())) {
+                objects.remove(key);
+                evicted.put(key, root);
+                onRemoved(key, root);
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Account for an in-place change of the root value, requires write lock.
+     */
+    public void reweigh(ObjectRoot<K, V> root) {
+        if (weigher != null) {
+            totalWeight.addAndGet(root.reweigh(weigher));
+        }
+        if (writeAheadLog != null) {
+            V value = root.getValueNoStatusUpdate();
+            if (value != null) {
+                writeAheadLog.appendPut(root.getKey(), value);
+            }
+        }
+        if (!indexes.isEmpty()) {
+            indexes.onPut(root.getKey(), root.getValueNoStatusUpdate());
+        }
+        if (isSnapshotIteration) {
+            snapshot = snapshot.put(root.getKey(), root.getValueSnapshot(), root);
+        }
+    }
+
+    public boolean isSnapshotIteration() {
+        return isSnapshotIteration;
+    }
+
+    /**
+     * @return immutable contents of the stripe as of the last change, lock-free. Empty without snapshot iteration.
+     */
+    public PersistentRootMap<K, V> getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isExpiryScheduled() {
+        return expiryWheel != null;
+    }
+
+    /**
+     * Root of key was expired explicitly, remove it by the next expire rather than at its Lifetime deadline. Requires
+     * write lock.
+     */
+    public void expireNow(K key) {
+        if (expiryWheel != null) {
+            expiryWheel.expireNow(key);
+        }
+    }
+
+    /**
+     * Remove roots whose Lifetime deadline passed, requires write lock. Only visits the due buckets of the expiry wheel.
+     *
+     * @return expired (key, root) pairs
+     */
+    public Map<K, ObjectRoot<K, V>> expire(long nowMs) {
+        if (expiryWheel == null || objects.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<K, ObjectRoot<K, V>> expired = new HashMap<>();
+        for (K key : expiryWheel.advance(nowMs, objects::get)) {
+            ObjectRoot<K, V> root = remove(key);
+            if (root != null) {
+                expired.put(key, root);
+            }
+        }
+        return expired;
+    }
+
+    private ObjectRoot<K, V> putRoot(K key, ObjectRoot<K, V> root) {
+        ObjectRoot<K, V> previous = objects.put(key, root);
+        if (weigher != null) {
+            if (previous == root) {
+                totalWeight.addAndGet(root.reweigh(weigher));
+            } else {
+                root.reweigh(weigher);
+                totalWeight.addAndGet(root.getWeight() - (previous != null ? previous.getWeight() : 0L));
+            }
+        }
+        if (expiryWheel != null && previous != root) {
+            expiryWheel.schedule(key, root);
+        }
+        if (previous != null && previous != root) {
+            previous.releaseValue();
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.appendPut(key, root.getValueNoStatusUpdate());
+        }
+        if (!indexes.isEmpty()) {
+            indexes.onPut(key, root.getValueNoStatusUpdate());
+        }
+        if (isSnapshotIteration) {
+            snapshot = snapshot.put(key, root.getValueSnapshot(), root);
+        }
+        return previous;
+    }
+
+    private void onRemoved(K key, ObjectRoot<K, V> root) {
+        totalSize.decrementAndGet();
+        root.releaseValue();
+        if (weigher != null) {
+            totalWeight.addAndGet(-root.getWeight());
+        }
+        if (expiryWheel != null) {
+            expiryWheel.cancel(key);
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.appendRemove(key);
+        }
+        if (!indexes.isEmpty()) {
+            indexes.onRemoved(key);
+        }
+        if (isSnapshotIteration) {
+            snapshot = snapshot.remove(key);
+        }
+    }
+
+    // ----------------------------------------------
+    // Locking
+    // ----------------------------------------------
+
+    public boolean acquireWriteLock() {
+        try {
+            return lock.writeLock().tryLock() || lock.writeLock().tryLock(ACQUIRE_LOCK_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            log.warn("{} interrupted with acquiring write lock", this, e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void releaseWriteLock() {
+        lock.writeLock().unlock();
+    }
+
+    public boolean acquireReadLock() {
+        try {
+            return lock.readLock().tryLock() || lock.readLock().tryLock(ACQUIRE_LOCK_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            log.warn("{} interrupted with acquiring read lock", this, e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void releaseReadLock() {
+        lock.readLock().unlock();
+    }
+}
@@ -9,23 +9,43 @@ import static java.util.Objects.requireNonNull;
 import com.intact.rx.core.cache.status.AccessStatus;
 import com.intact.rx.policy.LoanPolicy;
 import com.intact.rx.policy.Reservation;
-import com.intact.rx.templates.AtomicSupplier;
 import com.intact.rx.templates.Validate;
 import com.intact.rx.templates.api.Memento;
 
+/**
+ * Per entry state of an ObjectRoot. Loan status is allocated on the first loan and released when the last loan is
+ * returned, so roots that are never loaned carry only a null reference.
+ */
 public class ObjectRootState<K, V> {
     private final Memento<V> memento;
     private final K key;
     private final AccessStatus status;
-    private final AtomicSupplier<LoanStatus> loanStatus;
+
+    /**
+     * Null when not loaned, guarded by the owning ObjectRoot monitor for updates.
+     */
+    private volatile LoanStatus loanStatus;
+
+    /**
+     * CLOCK reference bit, set on access and cleared by the eviction hand.
+     */
+    private volatile boolean referenced;
+
+    /**
+     * Weight of current value, maintained by the owning ObjectCache when it is configured with a Weigher.
+     */
+    private int weight;
 
     public ObjectRootState(K key, V value, Memento<V> memento) {
+        this(key, value, memento, new AccessStatus());
+    }
+
+    public ObjectRootState(K key, V value, Memento<V> memento, AccessStatus status) {
         this.key = requireNonNull(key);
         this.memento = requireNonNull(memento);
         this.memento.set(value);
 
-        this.status = new AccessStatus();
-        this.loanStatus = new AtomicSupplier<>(LoanStatus::new);
+        this.status = requireNonNull(status);
     }
 
     private ObjectRootState(ObjectRootState<K, V> state) {
@@ -33,16 +53,10 @@ public class ObjectRootState<K, V> {
         this.memento = requireNonNull(state.memento.copy());
 
         this.status = state.status.copy();
+        this.weight = state.weight;
 
-        // ----------------------------------
-        // Copy loan status if initialized
-        // ----------------------------------
-        Supplier<LoanStatus> supplyLoanStatus = LoanStatus::new;
-        if (state.loanStatus.isSet()) {
-            LoanStatus copy = state.loanStatus.get().copy();
-            supplyLoanStatus = () -> copy;
-        }
-        this.loanStatus = new AtomicSupplier<>(supplyLoanStatus);
+        LoanStatus current = state.loanStatus;
+        this.loanStatus = current != null ? current.copy() : null;
     }
 
     public ObjectRootState<K, V> copy() {
@@ -61,6 +75,21 @@ public class ObjectRootState<K, V> {
         return memento.get();
     }
 
+    /**
+     * @return the current value, for values stored off heap a reader of the current bytes that decodes on get
+     */
+    public Supplier<V> getValueSnapshot() {
+        if (memento instanceof OffHeapValueReference) {
+            return ((OffHeapValueReference<V>) memento).snapshot();
+        }
+        V value = memento.get();
+        return () -> value;
+    }
+
+    public boolean hasValue() {
+        return memento instanceof OffHeapValueReference ? !memento.isAllEmpty() : memento.get() != null;
+    }
+
     public K getKey() {
         return key;
     }
@@ -69,24 +98,80 @@ public class ObjectRootState<K, V> {
         memento.set(value);
     }
 
+    /**
+     * Free storage held outside the Java heap by the current value, if any.
+     */
+    public void releaseValue() {
+        if (memento instanceof OffHeapValueReference) {
+            ((OffHeapValueReference<V>) memento).release();
+        }
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    // ----------------------------------------------
+    // Eviction reference bit
+    // ----------------------------------------------
+
+    public void markReferenced() {
+        if (!referenced) {
+            referenced = true;
+        }
+    }
+
+    /**
+     * @return true if the reference bit was set, i.e., the root was accessed since the previous call
+     */
+    public boolean clearReferenced() {
+        if (referenced) {
+            referenced = false;
+            return true;
+        }
+        return false;
+    }
+
     // ----------------------------------------------
     // Loan status management
     // ----------------------------------------------
 
     public void resetLoan() {
-        loanStatus.clear();
+        loanStatus = null;
     }
 
     public boolean isLoaned() {
-        return loanStatus.isSet() && loanStatus.get().count.get() > 0;
+        LoanStatus current = loanStatus;
+        return current != null && current.count.get() > 0;
     }
 
     public boolean isImmutable() {
-        return loanStatus.isSet() && loanStatus.get().isImmutable();
+        LoanStatus current = loanStatus;
+        return current != null && current.isImmutable();
     }
 
+    /**
+     * @return loan status, or a shared status without loans if the root is not loaned. Must not be modified.
+     */
     public LoanStatus getLoanStatus() {
-        return loanStatus.get();
+        LoanStatus current = loanStatus;
+        return current != null ? current : LoanStatus.none;
+    }
+
+    /**
+     * @return loan status, allocated if the root is not loaned. Requires the owning ObjectRoot monitor.
+     */
+    public LoanStatus acquireLoanStatus() {
+        LoanStatus current = loanStatus;
+        if (current == null) {
+            current = new LoanStatus();
+            loanStatus = current;
+        }
+        return current;
     }
 
     // ----------------------------------------------
@@ -95,6 +180,8 @@ public class ObjectRootState<K, V> {
 
     @SuppressWarnings("PackageVisibleField")
     public static class LoanStatus {
+        static final LoanStatus none = new LoanStatus();
+
         // Note: loan status
         final AtomicLong count;
 
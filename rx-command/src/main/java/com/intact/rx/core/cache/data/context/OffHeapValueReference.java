@@ -0,0 +1,162 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.templates.MementoReference;
+import com.intact.rx.templates.api.Memento;
+
+/**
+ * Memento of a value encoded in an OffHeapValueStore. Keeps no undo/redo history, reads decode the current value.
+ * <p>
+ * A copy decodes the value into an on-heap MementoReference, so copies handed out by the cache stay valid when the
+ * original is overwritten or released. The store may move the value to another slab, see OffHeapValueStore.compact, so
+ * the pointer is only replaced atomically.
+ */
+public final class OffHeapValueReference<T> implements Memento<T> {
+    private final OffHeapValueStore<T> store;
+
+    private final AtomicReference<OffHeapValueStore.Pointer> pointer = new AtomicReference<>(null);
+    private volatile boolean released;
+
+    OffHeapValueReference(OffHeapValueStore<T> store) {
+        this.store = requireNonNull(store);
+    }
+
+    /**
+     * Free the off-heap bytes of the current value, called when the owning root leaves the cache. The value remains
+     * readable by holders of the root.
+     */
+    public synchronized void release() {
+        if (!released) {
+            released = true;
+            OffHeapValueStore.Pointer current = pointer.get();
+            if (current != null) {
+                store.free(current);
+            }
+        }
+    }
+
+    @Override
+    public Memento<T> copy() {
+        return new MementoReference<T>(0, 0).set(get());
+    }
+
+    @Override
+    public T get() {
+        OffHeapValueStore.Pointer current = pointer.get();
+        return current == null ? null : store.read(current);
+    }
+
+    /**
+     * @return reader of the current value that decodes on get. Bytes are never reused, so the reader returns this value
+     * after the reference is overwritten, released or relocated.
+     */
+    public Supplier<T> snapshot() {
+        OffHeapValueStore.Pointer current = pointer.get();
+        return current == null ? () -> null : () -> store.read(current);
+    }
+
+    @Override
+    public Optional<T> read() {
+        return Optional.ofNullable(get());
+    }
+
+    @Override
+    public synchronized Memento<T> set(T newValue) {
+        OffHeapValueStore.Pointer previous = pointer.getAndSet(newValue == null ? null : store.write(newValue, this));
+        // Note: freeing is idempotent, the pointer of a released reference is already freed
+        if (previous != null) {
+            store.free(previous);
+        }
+        released = false;
+        return this;
+    }
+
+    @Override
+    public synchronized boolean compareAndSet(T expect, T update) {
+        if (!Objects.equals(get(), expect)) {
+            return false;
+        }
+        set(update);
+        return true;
+    }
+
+    @Override
+    public synchronized T getAndSet(T newValue) {
+        T previous = get();
+        set(newValue);
+        return previous;
+    }
+
+    @Override
+    public List<T> undoStack() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<T> redoStack() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Optional<T> undo() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<T> redo() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Memento<T> clearRedo() {
+        return this;
+    }
+
+    @Override
+    public Memento<T> clearUndo() {
+        return this;
+    }
+
+    @Override
+    public Memento<T> clearAll() {
+        return set(null);
+    }
+
+    @Override
+    public boolean isUndoStackEmpty() {
+        return true;
+    }
+
+    @Override
+    public boolean isRedoStackEmpty() {
+        return true;
+    }
+
+    @Override
+    public boolean isAllEmpty() {
+        return pointer.get() == null;
+    }
+
+    // ----------------------------------------------
+    // Used by OffHeapValueStore
+    // ----------------------------------------------
+
+    /**
+     * @return true if the value was still at from and now refers to to. Lock-free, called under the store lock.
+     */
+    boolean relocate(OffHeapValueStore.Pointer from, OffHeapValueStore.Pointer to) {
+        return pointer.compareAndSet(from, to);
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+}
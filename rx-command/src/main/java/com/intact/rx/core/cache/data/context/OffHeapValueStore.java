@@ -0,0 +1,275 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.api.cache.ValueCodec;
+import com.intact.rx.policy.OffHeap;
+
+/**
+ * Encoded values of one ObjectCache in direct ByteBuffer slabs, see {@link OffHeap}.
+ * <p>
+ * Allocation bumps a position in the current slab and never reuses bytes, so a reader holding a Pointer always sees the
+ * bytes it was given even if the value is overwritten concurrently. A slab is dropped when all its values are freed, and
+ * its memory is reclaimed by the garbage collector once no Pointer references it. Values larger than the slab size get a
+ * slab of their own.
+ * <p>
+ * Allocation is capped relative to the live bytes: when a new slab would take the allocated bytes above twice the live
+ * bytes plus one slab, the live values of sparse slabs (less than half live) are first copied to the current slab and
+ * their references moved to the copies, so the sparse slabs are dropped.
+ */
+public final class OffHeapValueStore<V> {
+    private final ValueCodec<V> codec;
+    private final int slabSizeBytes;
+    private final AtomicReferenceArray<HotEntry<V>> hotTier;
+    private final int hotTierMask;
+
+    private final AtomicLong allocatedBytes = new AtomicLong(0);
+    private final AtomicLong liveBytes = new AtomicLong(0);
+
+    private final List<Slab> slabs = new ArrayList<>();
+    private Slab current;
+    private boolean isCompacting;
+
+    public OffHeapValueStore(ValueCodec<V> codec, OffHeap offHeap) {
+        this.codec = requireNonNull(codec);
+        this.slabSizeBytes = offHeap.getSlabSizeBytes();
+
+        int hotTierSize = offHeap.getHotTierSize();
+        int powerOfTwo = hotTierSize <= 1 ? hotTierSize : Integer.highestOneBit(hotTierSize - 1) << 1;
+        this.hotTier = powerOfTwo > 0 ? new AtomicReferenceArray<>(powerOfTwo) : null;
+        this.hotTierMask = powerOfTwo - 1;
+    }
+
+    /**
+     * @return new empty value reference allocating from this store
+     */
+    public OffHeapValueReference<V> newReference() {
+        return new OffHeapValueReference<>(this);
+    }
+
+    /**
+     * @return bytes reserved by live slabs
+     */
+    public long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return bytes of values not yet freed
+     */
+    public long liveBytes() {
+        return liveBytes.get();
+    }
+
+    // ----------------------------------------------
+    // Used by OffHeapValueReference
+    // ----------------------------------------------
+
+    Pointer write(V value, OffHeapValueReference<V> owner) {
+        byte[] bytes = codec.encode(value);
+        Pointer pointer = allocate(bytes.length, owner);
+
+        ByteBuffer target = pointer.slab.buffer.duplicate();
+        target.position(pointer.offset);
+        target.put(bytes);
+        return pointer;
+    }
+
+    V read(Pointer pointer) {
+        if (hotTier == null) {
+            return decode(pointer);
+        }
+
+        int index = hotIndex(pointer);
+        HotEntry<V> entry = hotTier.get(index);
+        if (entry != null && entry.pointer == pointer) {
+            return entry.value;
+        }
+
+        V value = decode(pointer);
+        hotTier.set(index, new HotEntry<>(pointer, value));
+        return value;
+    }
+
+    /**
+     * Free the bytes of pointer, at most once. Both the owning reference and compaction may free a pointer.
+     */
+    void free(Pointer pointer) {
+        if (!pointer.freed.compareAndSet(false, true)) {
+            return;
+        }
+
+        pointer.slab.pointers.remove(pointer);
+        liveBytes.addAndGet(-pointer.length);
+        if (pointer.slab.live.addAndGet(-pointer.length) == 0) {
+            retireIfUnused(pointer.slab);
+        }
+        if (hotTier != null) {
+            int index = hotIndex(pointer);
+            HotEntry<V> entry = hotTier.get(index);
+            if (entry != null && entry.pointer == pointer) {
+                hotTier.compareAndSet(index, entry, null);
+            }
+        }
+    }
+
+    // ----------------------------------------------
+    // Private functions
+    // ----------------------------------------------
+
+    private synchronized Pointer allocate(int length, OffHeapValueReference<V> owner) {
+        if (!hasRoom(current, length) && !isCompacting && allocatedBytes.get() > 2 * liveBytes.get() + slabSizeBytes) {
+            compact();
+        }
+
+        Slab slab = current;
+        if (!hasRoom(slab, length)) {
+            slab = new Slab(Math.max(slabSizeBytes, length));
+            allocatedBytes.addAndGet(slab.buffer.capacity());
+            slabs.add(slab);
+
+            Slab previous = current;
+            current = slab;
+            if (previous != null) {
+                retireIfUnused(previous);
+            }
+        }
+
+        Pointer pointer = new Pointer(slab, slab.position, length, owner);
+        slab.position += length;
+        slab.live.addAndGet(length);
+        slab.pointers.add(pointer);
+        liveBytes.addAndGet(length);
+        return pointer;
+    }
+
+    /**
+     * Copy the live values of sparse slabs and move their references to the copies. A reader holding an old Pointer
+     * still sees its bytes, the old slab is only dropped.
+     */
+    private synchronized void compact() {
+        isCompacting = true;
+        try {
+            for (Slab slab : new ArrayList<>(slabs)) {
+                if (slab == current || slab.live.get() * 2 >= slab.buffer.capacity()) {
+                    continue;
+                }
+                for (Pointer pointer : new ArrayList<>(slab.pointers)) {
+                    relocate(pointer);
+                }
+            }
+        } finally {
+            isCompacting = false;
+        }
+    }
+
+    private void relocate(Pointer pointer) {
+        if (pointer.freed.get()) {
+            return;
+        }
+
+        //noinspection unchecked
+        OffHeapValueReference<V> owner = (OffHeapValueReference<V>) pointer.owner;
+        Pointer copy = allocate(pointer.length, owner);
+
+        ByteBuffer source = pointer.slab.buffer.asReadOnlyBuffer();
+        source.position(pointer.offset);
+        source.limit(pointer.offset + pointer.length);
+        ByteBuffer target = copy.slab.buffer.duplicate();
+        target.position(copy.offset);
+        target.put(source);
+
+        if (!owner.relocate(pointer, copy)) {
+            free(copy);
+            return;
+        }
+        free(pointer);
+        // Note: a reference released concurrently may have freed the old pointer only, see OffHeapValueReference.release
+        if (owner.isReleased()) {
+            free(copy);
+        }
+    }
+
+    private static boolean hasRoom(Slab slab, int length) {
+        return slab != null && slab.buffer.capacity() - slab.position >= length;
+    }
+
+    private synchronized void retireIfUnused(Slab slab) {
+        if (slab != current && slab.live.get() == 0 && !slab.retired) {
+            slab.retired = true;
+            slabs.remove(slab);
+            allocatedBytes.addAndGet(-slab.buffer.capacity());
+        }
+    }
+
+    private V decode(Pointer pointer) {
+        ByteBuffer view = pointer.slab.buffer.asReadOnlyBuffer();
+        view.position(pointer.offset);
+        view.limit(pointer.offset + pointer.length);
+        return codec.decode(view.slice());
+    }
+
+    private int hotIndex(Pointer pointer) {
+        int h = System.identityHashCode(pointer);
+        return (h ^ (h >>> 16)) & hotTierMask;
+    }
+
+    // ----------------------------------------------
+    // Slab and value location
+    // ----------------------------------------------
+
+    private static final class Slab {
+        private final ByteBuffer buffer;
+        private final AtomicLong live = new AtomicLong(0);
+        private final Set<Pointer> pointers = ConcurrentHashMap.newKeySet();
+        private int position;
+        private boolean retired;
+
+        private Slab(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+    }
+
+    static final class Pointer {
+        private final Slab slab;
+        private final int offset;
+        private final int length;
+        private final OffHeapValueReference<?> owner;
+        private final AtomicBoolean freed = new AtomicBoolean(false);
+
+        private Pointer(Slab slab, int offset, int length, OffHeapValueReference<?> owner) {
+            this.slab = slab;
+            this.offset = offset;
+            this.length = length;
+            this.owner = owner;
+        }
+    }
+
+    private static final class HotEntry<V> {
+        private final Pointer pointer;
+        private final V value;
+
+        private HotEntry(Pointer pointer, V value) {
+            this.pointer = pointer;
+            this.value = value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapValueStore{" +
+                "slabSizeBytes=" + slabSizeBytes +
+                ", allocatedBytes=" + allocatedBytes +
+                ", liveBytes=" + liveBytes +
+                '}';
+    }
+}
@@ -0,0 +1,460 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.intact.rx.core.cache.data.ObjectRoot;
+
+/**
+ * Immutable hash array mapped trie of (key, value, root), the snapshot of one ObjectCacheStripe.
+ * <p>
+ * Put and remove copy the path from the trie root to the changed leaf, O(log32 n), and share all other nodes with the
+ * previous version. A reader holding a version therefore sees a consistent, unchanging map without locking while
+ * writers create new versions. Nodes are a bitmap node with an array of the present children, a leaf, or a collision
+ * node of leaves with equal hash.
+ * <p>
+ * Values stored off heap are kept as a reader of the bytes current at the time of the snapshot and decoded on
+ * getValue, see ObjectRoot.getValueSnapshot, so writes never decode onto the heap.
+ */
+public final class PersistentRootMap<K, V> implements Iterable<PersistentRootMap.Leaf<K, V>> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentRootMap EMPTY = new PersistentRootMap<>(null, 0);
+
+    private final Object root;
+    private final int size;
+
+    private PersistentRootMap(Object root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentRootMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Leaf<K, V> get(Object key) {
+        final int hash = hash(key);
+        Object node = root;
+        int shift = 0;
+        while (node instanceof BitmapNode) {
+            BitmapNode bitmapNode = (BitmapNode) node;
+            int bit = bitOf(hash, shift);
+            if ((bitmapNode.bitmap & bit) == 0) {
+                return null;
+            }
+            node = bitmapNode.slots[indexOf(bitmapNode.bitmap, bit)];
+            shift += BITS;
+        }
+        if (node instanceof Leaf) {
+            Leaf<K, V> leaf = (Leaf<K, V>) node;
+            return leaf.hash == hash && leaf.key.equals(key) ? leaf : null;
+        }
+        if (node instanceof CollisionNode) {
+            for (Leaf<?, ?> leaf : ((CollisionNode) node).leaves) {
+                if (leaf.key.equals(key)) {
+                    return (Leaf<K, V>) leaf;
+                }
+            }
+        }
+        return null;
+    }
+
+    public PersistentRootMap<K, V> put(K key, Supplier<V> value, ObjectRoot<K, V> objectRoot) {
+        Leaf<K, V> leaf = new Leaf<>(key, hash(key), value, objectRoot);
+        int newSize = get(key) == null ? size + 1 : size;
+        return new PersistentRootMap<>(insert(root, leaf, 0), newSize);
+    }
+
+    public PersistentRootMap<K, V> remove(Object key) {
+        if (get(key) == null) {
+            return this;
+        }
+        Object newRoot = delete(root, key, hash(key), 0);
+        return newRoot == null ? empty() : new PersistentRootMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * @return leaves in trie order, without locking
+     */
+    @Override
+    public Iterator<Leaf<K, V>> iterator() {
+        return new LeafIterator<>(root);
+    }
+
+    /**
+     * @return leaves, split on the children of the trie nodes
+     */
+    @Override
+    public Spliterator<Leaf<K, V>> spliterator() {
+        if (root == null) {
+            return new LeafSpliterator<>(new Object[0], 0, 0, 0);
+        }
+        Object[] slots = root instanceof BitmapNode ? ((BitmapNode) root).slots : new Object[]{root};
+        return new LeafSpliterator<>(slots, 0, slots.length, size);
+    }
+
+    // ----------------------------------------------
+    // Trie operations
+    // ----------------------------------------------
+
+    private static Object insert(Object node, Leaf<?, ?> leaf, int shift) {
+        if (node == null) {
+            return leaf;
+        }
+        if (node instanceof Leaf) {
+            Leaf<?, ?> existing = (Leaf<?, ?>) node;
+            if (existing.hash != leaf.hash) {
+                return merge(existing, existing.hash, leaf, leaf.hash, shift);
+            }
+            return existing.key.equals(leaf.key) ? leaf : new CollisionNode(leaf.hash, new Leaf<?, ?>[]{existing, leaf});
+        }
+        if (node instanceof CollisionNode) {
+            CollisionNode collision = (CollisionNode) node;
+            return collision.hash == leaf.hash
+                    ? collision.with(leaf)
+                    : merge(collision, collision.hash, leaf, leaf.hash, shift);
+        }
+
+        BitmapNode bitmapNode = (BitmapNode) node;
+        int bit = bitOf(leaf.hash, shift);
+        int index = indexOf(bitmapNode.bitmap, bit);
+        if ((bitmapNode.bitmap & bit) != 0) {
+            return bitmapNode.withSlot(index, insert(bitmapNode.slots[index], leaf, shift + BITS));
+        }
+        return bitmapNode.withInserted(bit, index, leaf);
+    }
+
+    /**
+     * @return node holding a and b, which have different hashes
+     */
+    private static Object merge(Object a, int aHash, Object b, int bHash, int shift) {
+        int aFragment = (aHash >>> shift) & MASK;
+        int bFragment = (bHash >>> shift) & MASK;
+        if (aFragment == bFragment) {
+            return new BitmapNode(1 << aFragment, new Object[]{merge(a, aHash, b, bHash, shift + BITS)});
+        }
+        return aFragment < bFragment
+                ? new BitmapNode((1 << aFragment) | (1 << bFragment), new Object[]{a, b})
+                : new BitmapNode((1 << aFragment) | (1 << bFragment), new Object[]{b, a});
+    }
+
+    /**
+     * @return node without key, null if empty. A node left with a single leaf is replaced by the leaf.
+     */
+    private static Object delete(Object node, Object key, int hash, int shift) {
+        if (node instanceof Leaf) {
+            return ((Leaf<?, ?>) node).key.equals(key) ? null : node;
+        }
+        if (node instanceof CollisionNode) {
+            return ((CollisionNode) node).without(key);
+        }
+
+        BitmapNode bitmapNode = (BitmapNode) node;
+        int bit = bitOf(hash, shift);
+        if ((bitmapNode.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = indexOf(bitmapNode.bitmap, bit);
+        Object child = bitmapNode.slots[index];
+        Object newChild = delete(child, key, hash, shift + BITS);
+        if (newChild == child) {
+            return node;
+        }
+        if (newChild == null) {
+            if (bitmapNode.slots.length == 1) {
+                return null;
+            }
+            BitmapNode removed = bitmapNode.withRemoved(bit, index);
+            return removed.slots.length == 1 && !(removed.slots[0] instanceof BitmapNode) ? removed.slots[0] : removed;
+        }
+        if (bitmapNode.slots.length == 1 && !(newChild instanceof BitmapNode)) {
+            return newChild;
+        }
+        return bitmapNode.withSlot(index, newChild);
+    }
+
+    private static int hash(Object key) {
+        // Note: stripes select on the low bits of the key hash, mix so all bits vary within a stripe
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int bitOf(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int indexOf(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    // ----------------------------------------------
+    // Nodes
+    // ----------------------------------------------
+
+    /**
+     * Entry of the map, holds the value at the time of the snapshot and the live root
+     */
+    public static final class Leaf<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private final int hash;
+        private final Supplier<V> value;
+        private final ObjectRoot<K, V> root;
+
+        private Leaf(K key, int hash, Supplier<V> value, ObjectRoot<K, V> root) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.root = root;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value.get();
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException("Snapshot entries are immutable");
+        }
+
+        public ObjectRoot<K, V> getRoot() {
+            return root;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private static final class BitmapNode {
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private BitmapNode withSlot(int index, Object slot) {
+            Object[] copy = slots.clone();
+            copy[index] = slot;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private BitmapNode withInserted(int bit, int index, Object slot) {
+            Object[] copy = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, copy, 0, index);
+            copy[index] = slot;
+            System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+            return new BitmapNode(bitmap | bit, copy);
+        }
+
+        private BitmapNode withRemoved(int bit, int index) {
+            Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, index);
+            System.arraycopy(slots, index + 1, copy, index, slots.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+    }
+
+    private static final class CollisionNode {
+        private final int hash;
+        private final Leaf<?, ?>[] leaves;
+
+        private CollisionNode(int hash, Leaf<?, ?>[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        private CollisionNode with(Leaf<?, ?> leaf) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(leaf.key)) {
+                    Leaf<?, ?>[] copy = leaves.clone();
+                    copy[i] = leaf;
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            Leaf<?, ?>[] copy = new Leaf<?, ?>[leaves.length + 1];
+            System.arraycopy(leaves, 0, copy, 0, leaves.length);
+            copy[leaves.length] = leaf;
+            return new CollisionNode(hash, copy);
+        }
+
+        /**
+         * @return node without key, the remaining leaf if only one is left
+         */
+        private Object without(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf<?, ?>[] copy = new Leaf<?, ?>[leaves.length - 1];
+                    System.arraycopy(leaves, 0, copy, 0, i);
+                    System.arraycopy(leaves, i + 1, copy, i, leaves.length - i - 1);
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Depth first walk with an explicit stack of (slots, next index)
+     */
+    private static final class LeafIterator<K, V> implements Iterator<Leaf<K, V>> {
+        private final Object[][] stack = new Object[MAX_DEPTH][];
+        private final int[] next = new int[MAX_DEPTH];
+        private int depth = -1;
+        private Leaf<K, V> pending;
+
+        private LeafIterator(Object root) {
+            if (root != null) {
+                push(root);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public Leaf<K, V> next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf<K, V> leaf = pending;
+            advance();
+            return leaf;
+        }
+
+        private void push(Object node) {
+            ++depth;
+            if (node instanceof BitmapNode) {
+                stack[depth] = ((BitmapNode) node).slots;
+            } else if (node instanceof CollisionNode) {
+                stack[depth] = ((CollisionNode) node).leaves;
+            } else {
+                stack[depth] = new Object[]{node};
+            }
+            next[depth] = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            pending = null;
+            while (depth >= 0) {
+                if (next[depth] >= stack[depth].length) {
+                    stack[depth] = null;
+                    --depth;
+                    continue;
+                }
+                Object node = stack[depth][next[depth]++];
+                if (node instanceof Leaf) {
+                    pending = (Leaf<K, V>) node;
+                    return;
+                }
+                push(node);
+            }
+        }
+    }
+
+    /**
+     * Traverses the subtries of slots [index, fence). A split hands over half of the slots, a single remaining bitmap
+     * node is first replaced by its children. The size estimate is halved on every split.
+     */
+    private static final class LeafSpliterator<K, V> implements Spliterator<Leaf<K, V>> {
+        private Object[] slots;
+        private int index;
+        private int fence;
+        private long estimate;
+        private Iterator<Leaf<K, V>> current;
+
+        private LeafSpliterator(Object[] slots, int index, int fence, long estimate) {
+            this.slots = slots;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Leaf<K, V>> action) {
+            while (current == null || !current.hasNext()) {
+                if (index >= fence) {
+                    return false;
+                }
+                current = new LeafIterator<>(slots[index++]);
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<Leaf<K, V>> trySplit() {
+            if (current != null) {
+                return null;
+            }
+            if (fence - index == 1 && slots[index] instanceof BitmapNode) {
+                slots = ((BitmapNode) slots[index]).slots;
+                index = 0;
+                fence = slots.length;
+            }
+            if (fence - index < 2) {
+                return null;
+            }
+            int mid = (index + fence) >>> 1;
+            LeafSpliterator<K, V> prefix = new LeafSpliterator<>(slots, index, mid, estimate >>> 1);
+            index = mid;
+            estimate -= prefix.estimate;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL | IMMUTABLE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentRootMap{" +
+                "size=" + size +
+                '}';
+    }
+}
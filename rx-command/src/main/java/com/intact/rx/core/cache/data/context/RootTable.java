@@ -0,0 +1,46 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.intact.rx.core.cache.data.ObjectRoot;
+
+/**
+ * (key, root) table of one ObjectCacheStripe, including the CLOCK hand used for eviction. Not thread-safe, guarded by
+ * the stripe lock.
+ */
+interface RootTable<K, V> {
+
+    ObjectRoot<K, V> get(K key);
+
+    /**
+     * Lookup by primitive key, boxes the key unless the table stores long keys.
+     */
+    @SuppressWarnings("unchecked")
+    default ObjectRoot<K, V> getLong(long key) {
+        return get((K) Long.valueOf(key));
+    }
+
+    ObjectRoot<K, V> put(K key, ObjectRoot<K, V> root);
+
+    ObjectRoot<K, V> remove(K key);
+
+    boolean containsKey(K key);
+
+    void clear();
+
+    int size();
+
+    boolean isEmpty();
+
+    Collection<ObjectRoot<K, V>> values();
+
+    Collection<Map.Entry<K, ObjectRoot<K, V>>> entrySet();
+
+    /**
+     * Move the CLOCK hand past the next (key, root), which is kept at the back of the ring.
+     *
+     * @return (key, root) the hand passed, null if the table is empty
+     */
+    Map.Entry<K, ObjectRoot<K, V>> advanceHand();
+}
@@ -0,0 +1,181 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.intact.rx.api.cache.AttributeFilter;
+import com.intact.rx.api.cache.RxFilter;
+import com.intact.rx.api.cache.RxIndex;
+import com.intact.rx.core.cache.CacheSelection;
+
+/**
+ * Routes cache updates to the selections of a DataCache.
+ * <p>
+ * Selections with an {@link AttributeFilter} are bucketed per index: on equal attribute in a hash map, on range start
+ * in a sorted map. A write computes the attribute once per index and evaluates only the selections of the matching
+ * buckets. Other selections are evaluated on every write. Removals are sent to all selections, since a member may have
+ * changed attribute after it was selected.
+ * <p>
+ * The routes are an immutable snapshot, rebuilt when selections are added or removed.
+ */
+public final class SelectionRouter<K, V> {
+    private volatile Routes<K, V> routes = Routes.empty();
+
+    private final LongAdder numUpdates = new LongAdder();
+    private final LongAdder numEvaluated = new LongAdder();
+
+    /**
+     * Rebuild routes from the current selections
+     */
+    public synchronized void rebuild(Map<Object, RxFilter<K, V>> selections) {
+        routes = Routes.create(selections.values());
+    }
+
+    public void clear() {
+        routes = Routes.empty();
+    }
+
+    public boolean isEmpty() {
+        return routes.all.isEmpty();
+    }
+
+    public void filter(K key, V value, boolean expired) {
+        final Routes<K, V> current = routes;
+        if (current.all.isEmpty()) {
+            return;
+        }
+
+        int evaluated = 0;
+        if (expired) {
+            for (RxFilter<K, V> selection : current.all) {
+                selection.filter(key, value, true);
+            }
+            evaluated = current.all.size();
+        } else {
+            for (RxFilter<K, V> selection : current.unrouted) {
+                selection.filter(key, value, false);
+            }
+            evaluated += current.unrouted.size();
+
+            for (AttributeRoute<K, V> route : current.attributeRoutes) {
+                evaluated += route.filter(key, value);
+            }
+        }
+
+        numUpdates.increment();
+        numEvaluated.add(evaluated);
+    }
+
+    /**
+     * @return number of updates routed while there were selections
+     */
+    public long getNumUpdates() {
+        return numUpdates.sum();
+    }
+
+    /**
+     * @return number of selections evaluated over all routed updates
+     */
+    public long getNumEvaluated() {
+        return numEvaluated.sum();
+    }
+
+    // ----------------------------------------------
+    // Routes
+    // ----------------------------------------------
+
+    private static final class Routes<K, V> {
+        private static final Routes<?, ?> empty = new Routes<>(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        private final List<RxFilter<K, V>> all;
+        private final List<RxFilter<K, V>> unrouted;
+        private final List<AttributeRoute<K, V>> attributeRoutes;
+
+        private Routes(List<RxFilter<K, V>> all, List<RxFilter<K, V>> unrouted, List<AttributeRoute<K, V>> attributeRoutes) {
+            this.all = all;
+            this.unrouted = unrouted;
+            this.attributeRoutes = attributeRoutes;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <K, V> Routes<K, V> empty() {
+            return (Routes<K, V>) empty;
+        }
+
+        static <K, V> Routes<K, V> create(Collection<RxFilter<K, V>> selections) {
+            List<RxFilter<K, V>> unrouted = new ArrayList<>();
+            Map<Object, AttributeRoute<K, V>> routesByIndex = new LinkedHashMap<>();
+
+            for (RxFilter<K, V> selection : selections) {
+                AttributeFilter<V, ?> attributeFilter = attributeFilterOf(selection);
+                if (attributeFilter == null) {
+                    unrouted.add(selection);
+                } else {
+                    routesByIndex.computeIfAbsent(attributeFilter.getIndex().getId(), id -> new AttributeRoute<>(attributeFilter.getIndex()))
+                            .add(attributeFilter, selection);
+                }
+            }
+            return new Routes<>(new ArrayList<>(selections), unrouted, new ArrayList<>(routesByIndex.values()));
+        }
+
+        private static <K, V> AttributeFilter<V, ?> attributeFilterOf(RxFilter<K, V> selection) {
+            if (selection instanceof CacheSelection && ((CacheSelection<K, V>) selection).getFilter() instanceof AttributeFilter) {
+                return (AttributeFilter<V, ?>) ((CacheSelection<K, V>) selection).getFilter();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Selections filtering on the attribute of one index
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class AttributeRoute<K, V> {
+        private final RxIndex<?, V, ?> index;
+        private final Map<Object, List<RxFilter<K, V>>> byValue = new HashMap<>();
+        private final NavigableMap<Object, List<Map.Entry<AttributeFilter, RxFilter<K, V>>>> byRangeStart = new TreeMap<>();
+
+        private AttributeRoute(RxIndex<?, V, ?> index) {
+            this.index = index;
+        }
+
+        private void add(AttributeFilter<V, ?> filter, RxFilter<K, V> selection) {
+            if (filter.isRange()) {
+                byRangeStart.computeIfAbsent(filter.getFrom(), from -> new ArrayList<>()).add(new AbstractMap.SimpleImmutableEntry<>(filter, selection));
+            } else {
+                byValue.computeIfAbsent(filter.getValue(), value -> new ArrayList<>()).add(selection);
+            }
+        }
+
+        /**
+         * @return number of selections evaluated
+         */
+        private int filter(K key, V value) {
+            Object attribute = index.attributeOf(value);
+            if (attribute == null) {
+                return 0;
+            }
+
+            int evaluated = 0;
+            List<RxFilter<K, V>> equal = byValue.get(attribute);
+            if (equal != null) {
+                for (RxFilter<K, V> selection : equal) {
+                    selection.filter(key, value, false);
+                }
+                evaluated += equal.size();
+            }
+
+            if (!byRangeStart.isEmpty()) {
+                for (List<Map.Entry<AttributeFilter, RxFilter<K, V>>> ranges : byRangeStart.headMap(attribute, true).values()) {
+                    for (Map.Entry<AttributeFilter, RxFilter<K, V>> range : ranges) {
+                        if (range.getKey().matches(attribute)) {
+                            range.getValue().filter(key, value, false);
+                            ++evaluated;
+                        }
+                    }
+                }
+            }
+            return evaluated;
+        }
+    }
+}
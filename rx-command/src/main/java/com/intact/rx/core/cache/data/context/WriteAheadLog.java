@@ -0,0 +1,403 @@
+package com.intact.rx.core.cache.data.context;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.intact.rx.api.cache.ValueCodec;
+import com.intact.rx.core.machine.factory.RxThreadFactory;
+import com.intact.rx.policy.Durability;
+
+/**
+ * Append-only log of the changes of one ObjectCache, see {@link Durability}.
+ * <p>
+ * Appending queues the change, the caller neither encodes nor touches the file. One daemon thread shared by all logs
+ * encodes and drains the queue of each log once per group commit interval with one gathering write followed by one
+ * fsync. Segments are rolled at the segment size, and after compactAfterSegments segments the current cache contents are
+ * written to a single segment that replaces all older ones. One shutdown hook commits and closes all open logs.
+ * <p>
+ * Record: length, CRC32 of the payload, then the payload of type, key length, key bytes and value bytes. Replay stops
+ * at the first torn or corrupt record of a segment.
+ */
+public final class WriteAheadLog<K, V> {
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int RECORD_HEADER_BYTES = 4 + 4;
+    private static final int MAX_GATHERED_RECORDS = 1024;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final Set<WriteAheadLog<?, ?>> OPEN_LOGS = ConcurrentHashMap.newKeySet();
+
+    private final Path directory;
+    private final Durability durability;
+    private final ValueCodec<Object> codec;
+    private final Queue<Change<K, V>> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean isReplaying;
+    private volatile boolean isClosed;
+
+    private Supplier<Map<K, V>> contents;
+    private FileChannel segment;
+    private long segmentSeq;
+    private long segmentBytes;
+    private int segmentsSinceCompaction;
+    // Note: seq of the compacted segment reserved by commit, written by the committer outside the monitor
+    private long compactionSeq;
+    private ScheduledFuture<?> groupCommit;
+
+    private WriteAheadLog(Path directory, Durability durability) {
+        this.directory = requireNonNull(directory);
+        this.durability = requireNonNull(durability);
+        this.codec = durability.getCodec().orElseThrow(() -> new IllegalArgumentException("Write-ahead log requires a codec"));
+    }
+
+    public static <K, V> WriteAheadLog<K, V> create(Path directory, Durability durability) {
+        return new WriteAheadLog<>(directory, durability);
+    }
+
+    // ----------------------------------------------
+    // Recovery and lifecycle
+    // ----------------------------------------------
+
+    /**
+     * Replay the log into the cache through restore, compact it and start group commit.
+     *
+     * @param contents current (key, value) pairs of the cache, used for compaction
+     */
+    public void recover(BiConsumer<K, V> restore, Supplier<Map<K, V>> contents) {
+        try {
+            long seq;
+            synchronized (this) {
+                this.contents = requireNonNull(contents);
+                Files.createDirectories(directory);
+
+                List<Path> segments = listSegments();
+                Map<K, V> replayed = new LinkedHashMap<>();
+                for (Path path : segments) {
+                    replaySegment(path, replayed);
+                }
+
+                isReplaying = true;
+                try {
+                    replayed.forEach(restore);
+                } finally {
+                    isReplaying = false;
+                }
+
+                long lastSeq = segments.isEmpty() ? 0 : seqOf(segments.get(segments.size() - 1));
+                openSegment(lastSeq + 1);
+                seq = reserveCompaction();
+
+                log.info("Replayed {} entries from write-ahead log {}", replayed.size(), directory);
+            }
+            compact(seq);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover write-ahead log " + directory, e);
+        }
+
+        long intervalNs = durability.getGroupCommitInterval().toNanos();
+        OPEN_LOGS.add(this);
+        groupCommit = Committer.EXECUTOR.scheduleWithFixedDelay(this::runGroupCommit, intervalNs, intervalNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Commit pending records and close the log. Further appends are ignored.
+     */
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+
+        if (groupCommit != null) {
+            groupCommit.cancel(false);
+        }
+        OPEN_LOGS.remove(this);
+        synchronized (this) {
+            try {
+                commit();
+                if (segment != null) {
+                    segment.close();
+                }
+            } catch (IOException e) {
+                log.warn("Failed to close write-ahead log {}", directory, e);
+            }
+        }
+    }
+
+    // ----------------------------------------------
+    // Append, called with the stripe write lock held
+    // ----------------------------------------------
+
+    public void appendPut(K key, V value) {
+        if (isReplaying || isClosed) {
+            return;
+        }
+        pending.add(new Change<>(PUT, key, value));
+    }
+
+    public void appendRemove(K key) {
+        if (isReplaying || isClosed) {
+            return;
+        }
+        pending.add(new Change<>(REMOVE, key, null));
+    }
+
+    // ----------------------------------------------
+    // Group commit
+    // ----------------------------------------------
+
+    /**
+     * Encode, write and sync all pending changes. When the segments since the last compaction reach
+     * compactAfterSegments, a compaction is reserved for the committer, see runGroupCommit.
+     */
+    public synchronized void commit() throws IOException {
+        if (segment == null || !segment.isOpen()) {
+            return;
+        }
+
+        boolean isWritten = false;
+        ByteBuffer[] batch = new ByteBuffer[MAX_GATHERED_RECORDS];
+        while (!pending.isEmpty()) {
+            int n = 0;
+            long bytes = 0;
+            Change<K, V> change;
+            while (n < batch.length && (change = pending.poll()) != null) {
+                ByteBuffer record = encode(change.type, change.key, change.value);
+                bytes += record.remaining();
+                batch[n++] = record;
+            }
+            writeFully(segment, batch, n, bytes);
+            segmentBytes += bytes;
+            isWritten = true;
+        }
+
+        if (isWritten && durability.isSync()) {
+            segment.force(false);
+        }
+
+        if (segmentBytes >= durability.getSegmentSizeBytes()) {
+            openSegment(segmentSeq + 1);
+            if (++segmentsSinceCompaction >= durability.getCompactAfterSegments() && compactionSeq == 0) {
+                compactionSeq = reserveCompaction();
+            }
+        }
+    }
+
+    private void runGroupCommit() {
+        if (isClosed) {
+            return;
+        }
+        try {
+            commit();
+
+            long seq;
+            synchronized (this) {
+                seq = compactionSeq;
+                compactionSeq = 0;
+            }
+            if (seq != 0) {
+                compact(seq);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Group commit of write-ahead log {} failed", directory, e);
+        }
+    }
+
+    /**
+     * Reserve the seq of the compacted segment and continue appending to the segment after it.
+     */
+    private long reserveCompaction() throws IOException {
+        long seq = segmentSeq + 1;
+        openSegment(segmentSeq + 2);
+        segmentsSinceCompaction = 0;
+        return seq;
+    }
+
+    /**
+     * Replace all segments before the reserved one with a single segment holding the cache contents. Called without the
+     * monitor, so commits continue while the contents are read and written. Records appended concurrently go to later
+     * segments and are replayed on top of the compacted contents, records are absolute so replaying a change twice gives
+     * the same result.
+     */
+    private void compact(long compactedSeq) throws IOException {
+        Path tmp = directory.resolve(String.format("%020d%s.tmp", compactedSeq, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<K, V> entry : contents.get().entrySet()) {
+                ByteBuffer record = encode(PUT, entry.getKey(), entry.getValue());
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, segmentPath(compactedSeq), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (Path path : listSegments()) {
+            if (seqOf(path) < compactedSeq) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // ----------------------------------------------
+    // Private functions
+    // ----------------------------------------------
+
+    private void openSegment(long seq) throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        segment = FileChannel.open(segmentPath(seq), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSeq = seq;
+        segmentBytes = segment.size();
+    }
+
+    private ByteBuffer encode(byte type, K key, V value) {
+        byte[] keyBytes = codec.encode(key);
+        byte[] valueBytes = value != null ? codec.encode(value) : new byte[0];
+
+        int payloadBytes = 1 + 4 + keyBytes.length + valueBytes.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payloadBytes);
+        record.putInt(payloadBytes).putInt(0)
+                .put(type)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .put(valueBytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_BYTES, payloadBytes);
+        record.putInt(4, (int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private void replaySegment(Path path, Map<K, V> replayed) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32 crc = new CRC32();
+
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int payloadBytes = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (payloadBytes < 5 || payloadBytes > buffer.remaining()) {
+                log.warn("Truncated record in write-ahead log segment {}, ignoring the rest of the segment", path);
+                return;
+            }
+
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), payloadBytes);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Corrupt record in write-ahead log segment {}, ignoring the rest of the segment", path);
+                return;
+            }
+
+            int end = buffer.position() + payloadBytes;
+            byte type = buffer.get();
+            int keyBytes = buffer.getInt();
+
+            @SuppressWarnings("unchecked")
+            K key = (K) codec.decode(ByteBuffer.wrap(buffer.array(), buffer.position(), keyBytes).slice().asReadOnlyBuffer());
+            buffer.position(buffer.position() + keyBytes);
+
+            if (type == PUT) {
+                @SuppressWarnings("unchecked")
+                V value = (V) codec.decode(ByteBuffer.wrap(buffer.array(), buffer.position(), end - buffer.position()).slice().asReadOnlyBuffer());
+                replayed.remove(key);
+                replayed.put(key, value);
+            } else {
+                replayed.remove(key);
+            }
+            buffer.position(end);
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(WriteAheadLog::seqOf))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long seq) {
+        return directory.resolve(String.format("%020d%s", seq, SEGMENT_SUFFIX));
+    }
+
+    private static long seqOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer[] batch, int n, long bytes) throws IOException {
+        long written = 0;
+        while (written < bytes) {
+            written += channel.write(batch, 0, n);
+        }
+    }
+
+    private static void closeAll() {
+        OPEN_LOGS.forEach(WriteAheadLog::close);
+    }
+
+    /**
+     * A change queued by append, encoded by the committer.
+     */
+    private static final class Change<K, V> {
+        private final byte type;
+        private final K key;
+        private final V value;
+
+        private Change(byte type, K key, V value) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Committer thread and shutdown hook shared by all logs, created on first recover.
+     */
+    private static final class Committer {
+        private static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, RxThreadFactory.daemonWithName("rx-wal "));
+
+        static {
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+            Runtime.getRuntime().addShutdownHook(new Thread(WriteAheadLog::closeAll, "rx-wal-shutdown"));
+        }
+
+        private Committer() {
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WriteAheadLog{" +
+                "directory=" + directory +
+                ", durability=" + durability +
+                ", segmentSeq=" + segmentSeq +
+                '}';
+    }
+}
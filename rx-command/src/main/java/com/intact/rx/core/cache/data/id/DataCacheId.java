@@ -31,6 +31,10 @@ public class DataCacheId {
         return new DataCacheId(Typename.create(aClass), masterCacheId);
     }
 
+    public static DataCacheId create(final Typename typename, final MasterCacheId masterCacheId) {
+        return new DataCacheId(typename, masterCacheId);
+    }
+
     public static DataCacheId uuid(final MasterCacheId masterCacheId) {
         return new DataCacheId(Typename.create(UUID.randomUUID().toString()), masterCacheId);
     }
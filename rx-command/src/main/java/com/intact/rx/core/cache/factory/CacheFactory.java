@@ -1,5 +1,6 @@
 package com.intact.rx.core.cache.factory;
 
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -12,15 +13,19 @@ import org.slf4j.LoggerFactory;
 import com.intact.rx.api.cache.CacheHandle;
 import com.intact.rx.api.cache.CachePolicy;
 import com.intact.rx.api.cache.RxCache;
+import com.intact.rx.api.cache.RxLongCache;
 import com.intact.rx.api.cache.RxSet;
+import com.intact.rx.api.cache.ValueCodec;
 import com.intact.rx.api.cache.observer.CacheMasterObserver;
 import com.intact.rx.api.cache.observer.DataCacheObserver;
 import com.intact.rx.api.command.Strategy0;
 import com.intact.rx.core.cache.CacheReaderWriter;
+import com.intact.rx.core.cache.LongCacheReaderWriter;
 import com.intact.rx.core.cache.SetReaderWriter;
 import com.intact.rx.core.cache.data.CacheMaster;
 import com.intact.rx.core.cache.data.DataCache;
 import com.intact.rx.core.cache.data.context.CacheMasterPolicy;
+import com.intact.rx.core.cache.data.context.DataCachePolicy;
 import com.intact.rx.core.cache.data.id.DataCacheId;
 import com.intact.rx.core.cache.data.id.DomainCacheId;
 import com.intact.rx.core.cache.data.id.MasterCacheId;
@@ -96,6 +101,14 @@ public class CacheFactory {
         return new CacheReaderWriter<>(() -> getOrCreateDataCachePrivate(masterCacheId, dataCacheId, cachePolicy));
     }
 
+    /**
+     * @return cache of primitive long keys, created with the data cache policy of cachePolicy and KeyType.LONG
+     */
+    public <V> RxLongCache<V> computeLongCacheIfAbsent(MasterCacheId masterCacheId, DataCacheId dataCacheId, CachePolicy cachePolicy) {
+        CachePolicy longKeyPolicy = CachePolicy.create(cachePolicy.getCacheMasterPolicy(), DataCachePolicy.withLongKeys(cachePolicy.getDataCachePolicy()));
+        return new LongCacheReaderWriter<>(() -> getOrCreateDataCachePrivate(masterCacheId, dataCacheId, longKeyPolicy));
+    }
+
     public <T> RxSet<T> computeSetIfAbsent(MasterCacheId masterCacheId, DataCacheId dataCacheId, CachePolicy cachePolicy) {
         return new SetReaderWriter<>(() -> getOrCreateDataCachePrivate(masterCacheId, dataCacheId, cachePolicy));
     }
@@ -159,6 +172,40 @@ public class CacheFactory {
         }
     }
 
+    /**
+     * Write a snapshot of the master cache to file, keys and values encoded by Java serialization.
+     *
+     * @return number of entries written, 0 if the master cache does not exist
+     */
+    public long snapshot(MasterCacheId masterCacheId, Path file) {
+        return snapshot(masterCacheId, file, ValueCodec.javaSerialization());
+    }
+
+    public long snapshot(MasterCacheId masterCacheId, Path file, ValueCodec<Object> codec) {
+        requireNonNull(file);
+        requireNonNull(codec);
+
+        CacheMaster cacheMaster = findCacheMaster(masterCacheId);
+        return cacheMaster != null ? cacheMaster.snapshot(file, codec) : 0;
+    }
+
+    /**
+     * Restore a master cache from a snapshot file, creating the master and data caches with cachePolicy when absent.
+     *
+     * @return number of entries restored
+     */
+    public long restore(MasterCacheId masterCacheId, Path file, CachePolicy cachePolicy) {
+        return restore(masterCacheId, file, cachePolicy, ValueCodec.javaSerialization());
+    }
+
+    public long restore(MasterCacheId masterCacheId, Path file, CachePolicy cachePolicy, ValueCodec<Object> codec) {
+        requireNonNull(file);
+        requireNonNull(codec);
+
+        return getOrCreateCacheMasterPrivate(masterCacheId, cachePolicy.getCacheMasterPolicy())
+                .restore(file, codec, cachePolicy.getDataCachePolicy());
+    }
+
     public CacheMaster removeCacheMaster(MasterCacheId cacheMasterId) {
         return removeCacheMasterPrivate(cacheMasterId);
     }
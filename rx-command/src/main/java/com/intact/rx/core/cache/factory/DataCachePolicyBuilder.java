@@ -2,17 +2,31 @@ package com.intact.rx.core.cache.factory;
 
 import static java.util.Objects.requireNonNull;
 
+import com.intact.rx.api.cache.Weigher;
 import com.intact.rx.core.cache.data.context.DataCachePolicy;
 import com.intact.rx.core.cache.data.context.ObjectRootPolicy;
+import com.intact.rx.policy.Admission;
+import com.intact.rx.policy.Concurrency;
+import com.intact.rx.policy.Dispatch;
+import com.intact.rx.policy.Durability;
 import com.intact.rx.policy.Extension;
+import com.intact.rx.policy.KeyType;
 import com.intact.rx.policy.Lifetime;
 import com.intact.rx.policy.MementoPolicy;
+import com.intact.rx.policy.OffHeap;
 import com.intact.rx.policy.ResourceLimits;
 
 public class DataCachePolicyBuilder {
     private ResourceLimits resourceLimits;
     private MementoPolicy dataCacheMementoPolicy;
     private ObjectRootPolicy objectRootPolicy;
+    private Concurrency concurrency;
+    private Admission admission;
+    private Weigher<?, ?> weigher;
+    private OffHeap offHeap;
+    private Durability durability;
+    private KeyType keyType;
+    private Dispatch dispatch;
 
     private DataCachePolicyBuilder(DataCachePolicy policy) {
         requireNonNull(policy);
@@ -20,6 +34,13 @@ public class DataCachePolicyBuilder {
         this.resourceLimits = policy.getResourceLimits();
         this.dataCacheMementoPolicy = policy.getMementoPolicy();
         this.objectRootPolicy = policy.getObjectRootPolicy();
+        this.concurrency = policy.getConcurrency();
+        this.admission = policy.getAdmission();
+        this.weigher = policy.getWeigher().orElse(null);
+        this.offHeap = policy.getOffHeap();
+        this.durability = policy.getDurability();
+        this.keyType = policy.getKeyType();
+        this.dispatch = policy.getDispatch();
     }
 
     public static DataCachePolicyBuilder from(DataCachePolicy cachePolicy) {
@@ -51,7 +72,55 @@ public class DataCachePolicyBuilder {
         return this;
     }
 
+    public DataCachePolicyBuilder withConcurrency(Concurrency concurrency) {
+        this.concurrency = requireNonNull(concurrency);
+        return this;
+    }
+
+    public DataCachePolicyBuilder withAdmission(Admission admission) {
+        this.admission = requireNonNull(admission);
+        return this;
+    }
+
+    public DataCachePolicyBuilder withWeigher(Weigher<?, ?> weigher) {
+        this.weigher = requireNonNull(weigher);
+        return this;
+    }
+
+    public DataCachePolicyBuilder withOffHeap(OffHeap offHeap) {
+        this.offHeap = requireNonNull(offHeap);
+        return this;
+    }
+
+    public DataCachePolicyBuilder withDurability(Durability durability) {
+        this.durability = requireNonNull(durability);
+        return this;
+    }
+
+    public DataCachePolicyBuilder withKeyType(KeyType keyType) {
+        this.keyType = requireNonNull(keyType);
+        return this;
+    }
+
+    public DataCachePolicyBuilder withDispatch(Dispatch dispatch) {
+        this.dispatch = requireNonNull(dispatch);
+        return this;
+    }
+
     public DataCachePolicy build() {
-        return DataCachePolicy.leastRecentlyUsedAnd(resourceLimits, Lifetime.forever(), dataCacheMementoPolicy, objectRootPolicy);
+        return new DataCachePolicy(
+                Lifetime.forever(),
+                resourceLimits,
+                Extension.noRenew(),
+                dataCacheMementoPolicy,
+                objectRootPolicy,
+                admission.isWindowTinyLfu() ? DataCachePolicy.REMOVE_N_BY_FREQUENCY_ADMISSION : DataCachePolicy.REMOVE_N_LEAST_RECENTLY_USED,
+                concurrency,
+                admission,
+                weigher,
+                offHeap,
+                durability,
+                keyType,
+                dispatch);
     }
 }
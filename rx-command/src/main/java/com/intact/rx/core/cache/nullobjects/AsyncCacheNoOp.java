@@ -0,0 +1,54 @@
+package com.intact.rx.core.cache.nullobjects;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import com.intact.rx.api.cache.CacheHandle;
+import com.intact.rx.api.cache.RxAsyncCache;
+import com.intact.rx.api.cache.RxCache;
+import com.intact.rx.api.command.Strategy1;
+
+public class AsyncCacheNoOp<K, V> implements RxAsyncCache<K, V> {
+    @SuppressWarnings("rawtypes")
+    public static final RxAsyncCache instance = new AsyncCacheNoOp();
+
+    @Override
+    public CacheHandle getCacheHandle() {
+        return CacheHandle.voidHandle();
+    }
+
+    @Override
+    public RxCache<K, V> synchronous() {
+        //noinspection unchecked
+        return RxCacheNoOp.instance;
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> get(K key) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Map<K, V>> getAll(Iterable<? extends K> keys) {
+        return CompletableFuture.completedFuture(Collections.emptyMap());
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> computeIfAbsent(K key, Strategy1<V, K> loader) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> computeIfAbsentAsync(K key, Function<? super K, ? extends CompletionStage<? extends V>> loader) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> put(K key, V value) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+}
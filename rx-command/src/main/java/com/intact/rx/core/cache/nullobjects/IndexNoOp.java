@@ -0,0 +1,64 @@
+package com.intact.rx.core.cache.nullobjects;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.intact.rx.api.cache.CacheHandle;
+import com.intact.rx.api.cache.RxIndex;
+
+public class IndexNoOp<K, V, A> implements RxIndex<K, V, A> {
+
+    @SuppressWarnings("rawtypes")
+    public static final RxIndex instance = new IndexNoOp<>();
+
+    @Override
+    public Object getId() {
+        return this;
+    }
+
+    @Override
+    public CacheHandle getCacheId() {
+        return CacheHandle.uuid();
+    }
+
+    @Override
+    public boolean isSorted() {
+        return false;
+    }
+
+    @Override
+    public A attributeOf(V value) {
+        return null;
+    }
+
+    @Override
+    public Set<K> findKeys(A attribute) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<V> findBy(A attribute) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Set<K> findKeysInRange(A from, A to) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<V> findInRange(A from, A to) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+
+    @Override
+    public boolean isAttached() {
+        return false;
+    }
+}
@@ -1,9 +1,11 @@
 package com.intact.rx.core.cache.nullobjects;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.intact.rx.api.cache.*;
 import com.intact.rx.api.cache.observer.DataCacheObserver;
@@ -12,6 +14,7 @@ import com.intact.rx.api.cache.observer.ObjectObserver;
 import com.intact.rx.api.cache.observer.ObjectTypeObserver;
 import com.intact.rx.api.command.VoidStrategy1;
 import com.intact.rx.api.command.VoidStrategy2;
+import com.intact.rx.core.cache.data.CacheSnapshot;
 import com.intact.rx.policy.LoanPolicy;
 
 public class RxCacheNoOp<K, V> implements RxCache<K, V> {
@@ -81,6 +84,39 @@ public class RxCacheNoOp<K, V> implements RxCache<K, V> {
         return Optional.empty();
     }
 
+    @Override
+    public RxSnapshot<K, V> snapshot() {
+        return CacheSnapshot.empty();
+    }
+
+    @Override
+    public RxAsyncCache<K, V> async() {
+        //noinspection unchecked
+        return AsyncCacheNoOp.instance;
+    }
+
+    @Override
+    public <A> RxIndex<K, V, A> computeIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf) {
+        //noinspection unchecked
+        return IndexNoOp.instance;
+    }
+
+    @Override
+    public <A extends Comparable<? super A>> RxIndex<K, V, A> computeSortedIndexIfAbsent(Object indexId, Function<? super V, ? extends A> attributeOf) {
+        //noinspection unchecked
+        return IndexNoOp.instance;
+    }
+
+    @Override
+    public <A> Optional<RxIndex<K, V, A>> readIndex(Object indexId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean detachIndex(Object indexId) {
+        return false;
+    }
+
     @Override
     public Loaned<V> computeIfAbsentAndLoan(K key, Function<? super K, ? extends V> factory, LoanPolicy loanPolicy) {
         //noinspection unchecked
@@ -102,6 +138,11 @@ public class RxCacheNoOp<K, V> implements RxCache<K, V> {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<Duration> readAge(K key) {
+        return Optional.empty();
+    }
+
     @Override
     public Map<K, V> read(Iterable<? extends K> keys) {
         return Collections.emptyMap();
@@ -132,6 +173,16 @@ public class RxCacheNoOp<K, V> implements RxCache<K, V> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Stream<Map.Entry<K, V>> stream() {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return Stream.empty();
+    }
+
     @Override
     public Loaned<V> loan(K key, LoanPolicy loanPolicy) {
         //noinspection unchecked
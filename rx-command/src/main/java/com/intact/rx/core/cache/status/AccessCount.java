@@ -1,51 +1,77 @@
 package com.intact.rx.core.cache.status;
 
-@SuppressWarnings({"SynchronizedMethod", "unused"})
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Lock-free access counters, packed in one long updated with CAS so a root holds no counter objects. The read count
+ * is kept in the high and the modified count in the low 32 bits, each saturating at 2^32 - 1.
+ */
+@SuppressWarnings("unused")
 public class AccessCount {
-    private long readCount;
-    private long modifiedCount;
+    private static final AtomicLongFieldUpdater<AccessCount> COUNTS = AtomicLongFieldUpdater.newUpdater(AccessCount.class, "counts");
+    private static final int READ_SHIFT = 32;
+    private static final int MODIFIED_SHIFT = 0;
+    private static final long MAX_COUNT = 0xffffffffL;
+
+    private volatile long counts;
 
     public AccessCount() {
+        this.counts = 0L;
     }
 
     public AccessCount(AccessCount accessCount) {
-        this.readCount = accessCount.readCount;
-        this.modifiedCount = accessCount.modifiedCount;
+        this.counts = accessCount.counts;
     }
 
     public AccessCount copy() {
         return new AccessCount(this);
     }
 
-    public synchronized void modified() {
-        ++modifiedCount;
+    public void modified() {
+        increment(MODIFIED_SHIFT);
     }
 
     public void notModified() {
         // Currently no access count for not modified
     }
 
-    public synchronized void read() {
-        ++readCount;
+    public void read() {
+        increment(READ_SHIFT);
+    }
+
+    public long getReadCount() {
+        return countOf(counts, READ_SHIFT);
+    }
+
+    public long getModifiedCount() {
+        return countOf(counts, MODIFIED_SHIFT);
     }
 
-    public synchronized long getReadCount() {
-        return readCount;
+    public long getTotalCount() {
+        long current = counts;
+        return countOf(current, READ_SHIFT) + countOf(current, MODIFIED_SHIFT);
     }
 
-    public synchronized long getModifiedCount() {
-        return modifiedCount;
+    private void increment(int shift) {
+        long current;
+        do {
+            current = counts;
+            if (countOf(current, shift) == MAX_COUNT) {
+                return;
+            }
+        } while (!COUNTS.compareAndSet(this, current, current + (1L << shift)));
     }
 
-    public synchronized long getTotalCount() {
-        return readCount + modifiedCount;
+    private static long countOf(long counts, int shift) {
+        return (counts >>> shift) & MAX_COUNT;
     }
 
     @Override
-    public synchronized String toString() {
+    public String toString() {
+        long current = counts;
         return "AccessCount{" +
-                "readCount=" + readCount +
-                ", modifiedCount=" + modifiedCount +
+                "readCount=" + countOf(current, READ_SHIFT) +
+                ", modifiedCount=" + countOf(current, MODIFIED_SHIFT) +
                 '}';
     }
 }
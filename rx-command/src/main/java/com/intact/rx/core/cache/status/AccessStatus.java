@@ -1,10 +1,15 @@
 package com.intact.rx.core.cache.status;
 
-@SuppressWarnings("SynchronizedMethod")
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lock-free access status. Counters, timestamps and state are updated independently without a common monitor, i.e.,
+ * a reader may observe a count and a time that belong to two different concurrent accesses.
+ */
 public class AccessStatus {
     private final AccessCount count;
     private final AccessTime time;
-    private AccessState state;
+    private volatile AccessState state;
 
     public enum AccessState {
         READ,
@@ -21,6 +26,12 @@ public class AccessStatus {
         this.state = AccessState.WRITE;
     }
 
+    public AccessStatus(AccessTime time) {
+        this.count = new AccessCount();
+        this.time = requireNonNull(time);
+        this.state = AccessState.WRITE;
+    }
+
     public AccessStatus(AccessStatus status) {
         this.count = status.count.copy();
         this.time = status.time.copy();
@@ -31,66 +42,69 @@ public class AccessStatus {
         return new AccessStatus(this);
     }
 
-    public synchronized void modified() {
+    public void modified() {
         count.modified();
         time.modified();
         state = AccessState.MODIFIED;
     }
 
-    public synchronized void read() {
+    public void read() {
         count.read();
         time.read();
-        state = AccessState.READ;
+        // Note: Avoid a store on the common path of repeated reads
+        if (state != AccessState.READ) {
+            state = AccessState.READ;
+        }
     }
 
-    public synchronized void notModified() {
+    public void notModified() {
         count.notModified();
         time.notModified();
         state = AccessState.NOT_MODIFIED;
     }
 
-    public synchronized void expired() {
+    public void expired() {
         state = AccessState.EXPIRED;
     }
 
-    public synchronized void removed() {
+    public void removed() {
         state = AccessState.REMOVED;
     }
 
-    public synchronized void renewLoan() {
+    public void renewLoan() {
         time.start();
     }
 
-    public synchronized AccessTime getTime() {
+    public AccessTime getTime() {
         return time;
     }
 
-    public synchronized AccessCount getCount() {
+    public AccessCount getCount() {
         return count;
     }
 
-    public synchronized boolean isRead() {
+    public boolean isRead() {
         return state == AccessState.READ;
     }
 
-    public synchronized boolean isModified() {
+    public boolean isModified() {
         return state == AccessState.MODIFIED;
     }
 
-    public synchronized boolean isCreated() {
+    public boolean isCreated() {
         return state == AccessState.WRITE;
     }
 
-    public synchronized boolean isExpired() {
+    public boolean isExpired() {
         return state == AccessState.EXPIRED;
     }
 
-    public synchronized AccessState getAccessState() {
+    public AccessState getAccessState() {
         return state;
     }
 
     @Override
-    public synchronized String toString() {
+    public String toString() {
         return "AccessStatus{" +
                 "count=" + count +
                 ", time=" + time +
@@ -1,19 +1,38 @@
 package com.intact.rx.core.cache.status;
 
-@SuppressWarnings({"SynchronizedMethod", "unused", "WeakerAccess"})
+import com.intact.rx.api.RxDefault;
+
+/**
+ * Lock-free access timestamps taken from the RxDefault ticker. Each timestamp is a single volatile long, so readers see
+ * the latest write without locking.
+ * <p>
+ * The read time is relaxed: it is only stored when it differs from the current value, i.e., at most once per clock tick,
+ * which avoids writing to a shared cache line on every read of a hot entry.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
 public class AccessTime {
     private final long createdTime;
-    private long startTime;
-    private long modifiedTime;
-    private long readTime;
+    private volatile long startTime;
+    private volatile long modifiedTime;
+    private volatile long readTime;
 
     public AccessTime() {
-        this.createdTime = System.currentTimeMillis();
+        this.createdTime = RxDefault.getTicker().millis();
         this.startTime = createdTime;
         this.modifiedTime = createdTime;
         this.readTime = createdTime;
     }
 
+    /**
+     * Access time with given timestamps in ticker milliseconds, e.g., restored from a snapshot.
+     */
+    public AccessTime(long createdTime, long startTime, long modifiedTime, long readTime) {
+        this.createdTime = createdTime;
+        this.startTime = startTime;
+        this.modifiedTime = modifiedTime;
+        this.readTime = readTime;
+    }
+
     public AccessTime(AccessTime accessTime) {
         this.createdTime = accessTime.createdTime;
         this.startTime = accessTime.startTime;
@@ -25,69 +44,72 @@ public class AccessTime {
         return new AccessTime(this);
     }
 
-    public synchronized void modified() {
-        modifiedTime = System.currentTimeMillis();
+    public void modified() {
+        modifiedTime = RxDefault.getTicker().millis();
     }
 
-    public synchronized void notModified() {
+    public void notModified() {
         // Currently no access time for not modified
     }
 
-    public synchronized void read() {
-        readTime = System.currentTimeMillis();
+    public void read() {
+        long currMs = RxDefault.getTicker().millis();
+        if (currMs != readTime) {
+            readTime = currMs;
+        }
     }
 
-    public synchronized void start() {
-        startTime = System.currentTimeMillis();
+    public void start() {
+        startTime = RxDefault.getTicker().millis();
     }
-    
-    public synchronized long getCreatedTime() {
+
+    public long getCreatedTime() {
         return createdTime;
     }
 
-    public synchronized long getStartTime() {
+    public long getStartTime() {
         return startTime;
     }
 
-    public synchronized long getModifiedTime() {
+    public long getModifiedTime() {
         return modifiedTime;
     }
 
-    public synchronized long getReadTime() {
+    public long getReadTime() {
         return readTime;
     }
 
-    public synchronized long getWriteTime() {
+    public long getWriteTime() {
         return Math.max(createdTime, modifiedTime);
     }
 
-    public synchronized long getLatestAccessTime() {
+    public long getLatestAccessTime() {
         return Math.max(modifiedTime, readTime);
     }
 
-    public synchronized long getTimeSinceCreated() {
-        return System.currentTimeMillis() - createdTime;
+    public long getTimeSinceCreated() {
+        return RxDefault.getTicker().millis() - createdTime;
     }
 
-    public synchronized long getTimeSinceStarted() {
-        return System.currentTimeMillis() - startTime;
+    public long getTimeSinceStarted() {
+        return RxDefault.getTicker().millis() - startTime;
     }
 
-    public synchronized long getTimeSinceModified() {
-        return System.currentTimeMillis() - modifiedTime;
+    public long getTimeSinceModified() {
+        return RxDefault.getTicker().millis() - modifiedTime;
     }
 
-    public synchronized long getTimeSinceRead() {
-        return System.currentTimeMillis() - readTime;
+    public long getTimeSinceRead() {
+        return RxDefault.getTicker().millis() - readTime;
     }
 
-    public synchronized long getTimeSinceAccessed() {
-        long currMs = System.currentTimeMillis();
+    public long getTimeSinceAccessed() {
+        long currMs = RxDefault.getTicker().millis();
         return Math.max(currMs - modifiedTime, currMs - readTime);
     }
 
     @Override
-    public synchronized String toString() {
+    public String toString() {
         return "AccessTime{" +
                 "createdTime=" + createdTime +
                 ", modifiedTime=" + modifiedTime +
@@ -17,6 +17,7 @@ import com.intact.rx.core.cache.data.context.DataCachePolicy;
 
 public final class CacheCleanupAlgorithms {
     private static final Logger log = LoggerFactory.getLogger(CacheCleanupAlgorithms.class);
+    private static final int MAX_WEIGHT_EVICTION_ROUNDS = 8;
 
     public static boolean cleanupCacheMaster(CacheMaster cacheMaster) {
         boolean removed = RxCacheAccess
@@ -61,7 +62,28 @@ public final class CacheCleanupAlgorithms {
             //log.info(dataCache.getCacheHandle() + ": Removed n = " + numSamplesToRemove + ", keys = " + perform + ", cache = " + dataCache);
         }
 
-        return !removed.isEmpty() || numSamplesToRemove > 0;
+        // -----------------------------------------------------------
+        // Weight bound: evict by estimated count until within max weight
+        // -----------------------------------------------------------
+        boolean isWeightEvicted = false;
+        if (policy.getResourceLimits().isWeightLimited()) {
+            for (int round = 0; round < MAX_WEIGHT_EVICTION_ROUNDS; round++) {
+                long excessWeight = dataCache.weight() - policy.getResourceLimits().getMaxWeight();
+                int size = dataCache.size();
+                if (excessWeight <= 0 || size <= 0) {
+                    break;
+                }
+
+                long averageWeight = Math.max(1, dataCache.weight() / size);
+                long numToRemove = Math.max(1, (excessWeight + averageWeight - 1) / averageWeight);
+                if (policy.getEvictionStrategy().perform(dataCache, numToRemove).isEmpty()) {
+                    break;
+                }
+                isWeightEvicted = true;
+            }
+        }
+
+        return !removed.isEmpty() || numSamplesToRemove > 0 || isWeightEvicted;
     }
 
     // ----------------------------------
@@ -170,62 +192,24 @@ public final class CacheCleanupAlgorithms {
     // ----------------------------------
 
     /**
-     * Removes n oldest entries from data cache based on last access time.
+     * Removes n least recently used entries from data cache. Uses the CLOCK ring maintained by the cache on read/write,
+     * i.e., no scan or sort of all entries, and one write lock acquisition per stripe.
      */
     public static <K> Set<K> removeNLeastRecentlyUsed(DataCache<K, ?> dataCache, long numSamplesToRemove) {
         if (numSamplesToRemove <= 0) {
             return Collections.emptySet();
         }
 
-        // ----------------------------------------------
-        // Get the n oldest entries
-        // ----------------------------------------------
-        Set<K> setOfLRUs = getNLeastRecentlyUsedKeys(dataCache, numSamplesToRemove);
-
-        // ----------------------------------------------
-        // Remove the n oldest entries
-        // ----------------------------------------------
-        setOfLRUs.forEach(dataCache::take);
-
-        return setOfLRUs;
+        return dataCache.evict(numSamplesToRemove).keySet();
     }
 
-
     /**
-     * N Least Recently Used (LRU) items are returned.
+     * Removes n entries selected by the cache's Window TinyLFU admission, see {@link com.intact.rx.policy.Admission}.
+     * The victims are selected by the cache itself on evict, so this is removeNLeastRecentlyUsed; caches without
+     * admission fall back to CLOCK.
      */
-    private static <K> Set<K> getNLeastRecentlyUsedKeys(DataCache<K, ?> dataCache, long numSamplesToRemove) {
-        // ----------------------------------------------
-        // Order entries according to age
-        // ----------------------------------------------
-        NavigableMap<Long, K> LRUEntries = new TreeMap<>();
-
-        long currentTimeMs = System.currentTimeMillis();
-
-        // ----------------------------------------------
-        // Iterate through all objects and insert to LRU map
-        // ----------------------------------------------
-        for (ObjectRoot<K, ?> obj : dataCache.getRoots()) {
-            long timeSinceAccessedMs = currentTimeMs - obj.getStatus().getTime().getReadTime();
-            LRUEntries.put(timeSinceAccessedMs, obj.getKey());
-        }
-
-        // ----------------------------------------------
-        // Identify n oldest (LeastRecentlyUsed) entries
-        // ----------------------------------------------
-        Set<K> setKeys = new HashSet<>();
-
-        for (Map.Entry<Long, K> e : LRUEntries.descendingMap().entrySet()) {
-            setKeys.add(e.getValue());
-
-            //noinspection AssignmentToMethodParameter
-            --numSamplesToRemove;
-            if (numSamplesToRemove <= 0) {
-                break;
-            }
-        }
-
-        return setKeys;
+    public static <K> Set<K> removeNByFrequencyAdmission(DataCache<K, ?> dataCache, long numSamplesToRemove) {
+        return removeNLeastRecentlyUsed(dataCache, numSamplesToRemove);
     }
 
     private CacheCleanupAlgorithms() {
@@ -23,16 +23,38 @@ public final class CachePolicyChecker {
         return !(resourceLimits.isHard() && totalNumOfObjects >= resourceLimits.getMaxSamples());
     }
 
+    private static boolean isWeightPossible(long totalWeight, ResourceLimits resourceLimits) {
+        return !(resourceLimits.isHard() && totalWeight > resourceLimits.getMaxWeight());
+    }
+
     public static boolean isInactive(AccessStatus status, Timeout timeout) {
         return status.getTime().getTimeSinceModified() > timeout.toMillis();
     }
 
+    public static boolean isWritingPossible(int currentSize, int toBeAdded, ResourceLimits resourceLimits) {
+        return isWritingPossible(currentSize + toBeAdded, resourceLimits);
+    }
+
+    public static boolean isWeightWritingPossible(long currentWeight, long weightToBeAdded, ResourceLimits resourceLimits) {
+        return weightToBeAdded <= 0 || isWeightPossible(currentWeight + weightToBeAdded, resourceLimits);
+    }
+
     public static void assertWritingPossible(int currentSize, int toBeAdded, ResourceLimits resourceLimits) {
         if (!isWritingPossible(currentSize + toBeAdded, resourceLimits)) {
             throw new IllegalStateException("Cache configured with " + resourceLimits + " resource limit. Cannot add " + toBeAdded + " new values. Current cache size " + currentSize);
         }
     }
 
+    public static void assertWritingPossible(int currentSize, int toBeAdded, long currentWeight, long weightToBeAdded, ResourceLimits resourceLimits) {
+        if (toBeAdded > 0) {
+            assertWritingPossible(currentSize, toBeAdded, resourceLimits);
+        }
+
+        if (weightToBeAdded > 0 && !isWeightPossible(currentWeight + weightToBeAdded, resourceLimits)) {
+            throw new IllegalStateException("Cache configured with " + resourceLimits + " resource limit. Cannot add weight " + weightToBeAdded + ". Current cache weight " + currentWeight);
+        }
+    }
+
     public static <K, V> void assertLoanReservationPossible(ObjectRoot<K, V> root, Reservation reservation) {
         if (root == null || root.isExpired()) {
             return;
@@ -0,0 +1,190 @@
+package com.intact.rx.core.cache.strategy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch with four rows of 4-bit counters, used to estimate access frequency of keys for TinyLFU admission.
+ * <p>
+ * Sixteen counters are packed in each long and updated with CAS, so recording an access never blocks. After a sample
+ * period of 10 x capacity increments all counters are halved (aging), i.e., the estimate favors recent popularity.
+ * Estimates are approximate under concurrent aging and growth.
+ */
+public final class FrequencySketch {
+    private static final int MIN_TABLE_SIZE = 16;
+    private static final int MAX_TABLE_SIZE = 1 << 24;
+    private static final long MAX_COUNTER = 15L;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    // Note: a single counter so the sample period is checked without summing cells on every access
+    private final AtomicLong additions = new AtomicLong(0);
+    private final AtomicBoolean isAging = new AtomicBoolean(false);
+
+    private final long maximumCapacity;
+    private volatile Table table;
+
+    private FrequencySketch(long initialCapacity, long maximumCapacity) {
+        this.maximumCapacity = Math.min(MAX_TABLE_SIZE, maximumCapacity);
+        this.table = new Table(Math.min(initialCapacity, this.maximumCapacity));
+    }
+
+    /**
+     * @param capacity expected maximum number of entries in the cache, used to size the sketch
+     */
+    public static FrequencySketch withCapacity(long capacity) {
+        return new FrequencySketch(capacity, capacity);
+    }
+
+    /**
+     * @param initialCapacity initial number of entries the sketch is sized for
+     * @param maximumCapacity maximum number of entries the sketch grows to, see ensureCapacity
+     */
+    public static FrequencySketch withCapacity(long initialCapacity, long maximumCapacity) {
+        return new FrequencySketch(initialCapacity, maximumCapacity);
+    }
+
+    /**
+     * Grow the sketch, up to its maximum capacity, if the cache holds more entries than the sketch was sized for.
+     * Growing discards the recorded frequencies, i.e., the sketch is sized by the cache and not by its (possibly
+     * unlimited) sample bound.
+     */
+    public void ensureCapacity(long capacity) {
+        long required = Math.min(capacity, maximumCapacity);
+        if (required <= table.capacity()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (required > table.capacity()) {
+                table = new Table(Math.min(maximumCapacity, Math.max(required, 2L * table.capacity())));
+                additions.set(0);
+            }
+        }
+    }
+
+    public void increment(Object key) {
+        incrementHash(key.hashCode());
+    }
+
+    /**
+     * Same as increment(Long.valueOf(key)), without boxing.
+     */
+    public void increment(long key) {
+        incrementHash(Long.hashCode(key));
+    }
+
+    private void incrementHash(int keyHash) {
+        Table current = table;
+        int hash = spread(keyHash);
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            added |= incrementAt(current.counters, current.indexOf(hash, row), counterOf(hash, row));
+        }
+
+        if (added) {
+            if (additions.incrementAndGet() >= current.samplePeriod) {
+                age(current);
+            }
+        }
+    }
+
+    /**
+     * @return estimated number of recent accesses, 0 to 15
+     */
+    public int frequency(Object key) {
+        Table current = table;
+        int hash = spread(key.hashCode());
+        long frequency = MAX_COUNTER;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int offset = counterOf(hash, row) << 2;
+            frequency = Math.min(frequency, (current.counters.get(current.indexOf(hash, row)) >>> offset) & MAX_COUNTER);
+        }
+        return (int) frequency;
+    }
+
+    // ---------------------------------------
+    // Private functions
+    // ---------------------------------------
+
+    private static boolean incrementAt(AtomicLongArray counters, int index, int counter) {
+        int offset = counter << 2;
+        long mask = MAX_COUNTER << offset;
+        while (true) {
+            long current = counters.get(index);
+            if ((current & mask) == mask) {
+                return false;
+            }
+            if (counters.compareAndSet(index, current, current + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    private void age(Table aged) {
+        if (!isAging.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (aged != table) {
+                return;
+            }
+            AtomicLongArray counters = aged.counters;
+            for (int i = 0; i < counters.length(); i++) {
+                long current;
+                do {
+                    current = counters.get(i);
+                } while (!counters.compareAndSet(i, current, (current >>> 1) & RESET_MASK));
+            }
+            additions.addAndGet(-(aged.samplePeriod / 2));
+        } finally {
+            isAging.set(false);
+        }
+    }
+
+    private static int counterOf(int hash, int row) {
+        return (hash >>> (row << 3)) & 15;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    @Override
+    public String toString() {
+        Table current = table;
+        return "FrequencySketch{" +
+                "tableSize=" + current.counters.length() +
+                ", samplePeriod=" + current.samplePeriod +
+                '}';
+    }
+
+    private static final class Table {
+        private final AtomicLongArray counters;
+        private final int tableMask;
+        private final long samplePeriod;
+
+        private Table(long capacity) {
+            int size = (int) Math.min(MAX_TABLE_SIZE, Math.max(MIN_TABLE_SIZE, capacity));
+            size = Integer.highestOneBit(size - 1) << 1;
+
+            this.counters = new AtomicLongArray(size);
+            this.tableMask = size - 1;
+            this.samplePeriod = 10L * size;
+        }
+
+        private int capacity() {
+            return counters.length();
+        }
+
+        private int indexOf(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & tableMask;
+        }
+    }
+}
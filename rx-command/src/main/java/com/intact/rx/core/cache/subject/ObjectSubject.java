@@ -51,6 +51,17 @@ public class ObjectSubject<K, V> implements
         }
     }
 
+    @Override
+    public void onObjectsChanged(Map<K, V> created, Map<K, V> modified, Map<K, V> removed) {
+        for (ObjectObserver<K, V> observer : observers.values()) {
+            try {
+                observer.onObjectsChanged(created, modified, removed);
+            } catch (RuntimeException e) {
+                log.warn("Exception caught when performing bulk callback on {}", observer, e);
+            }
+        }
+    }
+
     @Override
     public boolean connect(ObjectObserver<K, V> observer) {
         requireNonNull(observer);
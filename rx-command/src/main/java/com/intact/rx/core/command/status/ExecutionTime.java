@@ -1,5 +1,6 @@
 package com.intact.rx.core.command.status;
 
+import com.intact.rx.api.RxDefault;
 import com.intact.rx.templates.Utility;
 
 @SuppressWarnings({"SynchronizedMethod", "unused", "WeakerAccess"})
@@ -32,7 +33,7 @@ public class ExecutionTime {
     public ExecutionTime() {
         lastExecutionTime = 0;
         lastFailedExecutionTime = 0;
-        currentExecutionTime = System.currentTimeMillis();
+        currentExecutionTime = RxDefault.getTicker().millis();
         lastFalseStart = 0;
         lastFallbackTime = 0;
     }
@@ -58,7 +59,7 @@ public class ExecutionTime {
     }
 
     public synchronized long getTimeSinceLastFailedExecutionTimeMs() {
-        return System.currentTimeMillis() - lastFailedExecutionTime;
+        return RxDefault.getTicker().millis() - lastFailedExecutionTime;
     }
 
     public synchronized boolean didLastExecutionFail() {
@@ -70,27 +71,27 @@ public class ExecutionTime {
     }
 
     public synchronized long getTimeSinceLastExecutionTimeMs() {
-        return System.currentTimeMillis() - currentExecutionTime;
+        return RxDefault.getTicker().millis() - currentExecutionTime;
     }
 
     public synchronized long getTimeSinceLastFalseStart() {
-        return System.currentTimeMillis() - lastFalseStart;
+        return RxDefault.getTicker().millis() - lastFalseStart;
     }
 
     public synchronized long getTimeSinceFallback() {
-        return System.currentTimeMillis() - lastFallbackTime;
+        return RxDefault.getTicker().millis() - lastFallbackTime;
     }
 
     public synchronized void reset() {
         lastExecutionTime = 0;
         lastFailedExecutionTime = 0;
-        currentExecutionTime = System.currentTimeMillis();
+        currentExecutionTime = RxDefault.getTicker().millis();
         lastFalseStart = 0;
         lastFallbackTime = 0;
     }
 
     public synchronized void start() {
-        currentExecutionTime = System.currentTimeMillis();
+        currentExecutionTime = RxDefault.getTicker().millis();
     }
 
     public synchronized void success() {
@@ -102,11 +103,11 @@ public class ExecutionTime {
     }
 
     public synchronized void falseStart() {
-        lastFalseStart = System.currentTimeMillis();
+        lastFalseStart = RxDefault.getTicker().millis();
     }
 
     public synchronized void fallback() {
-        lastFallbackTime = System.currentTimeMillis();
+        lastFallbackTime = RxDefault.getTicker().millis();
     }
 
     @Override
@@ -48,6 +48,10 @@ public final class RxThreadPoolFactory {
         return computeIfAbsent(RxDefault.getMonitorPoolPolicy());
     }
 
+    public static RxThreadPool cacheDispatchPool() {
+        return computeIfAbsent(RxDefault.getCacheDispatchPoolPolicy());
+    }
+
     private RxThreadPoolFactory() {
     }
 }
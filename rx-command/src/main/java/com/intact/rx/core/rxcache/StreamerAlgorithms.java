@@ -1,5 +1,6 @@
 package com.intact.rx.core.rxcache;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Supplier;
 
@@ -12,12 +13,22 @@ import com.intact.rx.api.rxcache.RxStreamer;
 import com.intact.rx.core.rxcache.acts.ActGroup;
 import com.intact.rx.exception.ExceptionMessageFactory;
 import com.intact.rx.policy.FaultPolicy;
+import com.intact.rx.policy.Lifetime;
+import com.intact.rx.policy.RefreshAhead;
 import com.intact.rx.templates.Tuple2;
 
 @SuppressWarnings("WeakerAccess")
 public final class StreamerAlgorithms {
 
     public static <K, V> Optional<V> computeIfAbsentAlgorithm(Supplier<RxStreamer> streamer, RxCache<K, V> reader, FaultPolicy faultPolicy, VoidStrategy1<Optional<V>> postComputer, K key, Strategy1<Boolean, V> cacheAcceptor, long msecs) {
+        return computeIfAbsentAlgorithm(streamer, reader, faultPolicy, RefreshAhead.no(), Lifetime.forever(), postComputer, key, cacheAcceptor, msecs);
+    }
+
+    /**
+     * @param refreshAhead policy applied to an accepted cached value, see {@link RefreshAhead}
+     * @param lifetime     of cached values
+     */
+    public static <K, V> Optional<V> computeIfAbsentAlgorithm(Supplier<RxStreamer> streamer, RxCache<K, V> reader, FaultPolicy faultPolicy, RefreshAhead refreshAhead, Lifetime lifetime, VoidStrategy1<Optional<V>> postComputer, K key, Strategy1<Boolean, V> cacheAcceptor, long msecs) {
         Optional<V> value = reader.read(key);
 
         FutureStatus status = FutureStatus.NotStarted;
@@ -27,6 +38,8 @@ public final class StreamerAlgorithms {
             value = tuple.second;
 
             postComputer.perform(value);
+        } else {
+            value = refreshAheadAlgorithm(streamer, reader, refreshAhead, lifetime, key, value);
         }
 
         return value.isPresent() || Objects.equals(status, FutureStatus.Success) || faultPolicy.isIgnored(status)
@@ -52,6 +65,14 @@ public final class StreamerAlgorithms {
     }
 
     public static <K, V> V computeValueIfAbsentAlgorithm(Supplier<RxStreamer> streamer, RxCache<K, V> reader, VoidStrategy1<Optional<V>> postComputer, K key, Strategy1<Boolean, V> cacheAcceptor, long msecs) {
+        return computeValueIfAbsentAlgorithm(streamer, reader, RefreshAhead.no(), Lifetime.forever(), postComputer, key, cacheAcceptor, msecs);
+    }
+
+    /**
+     * @param refreshAhead policy applied to an accepted cached value, see {@link RefreshAhead}
+     * @param lifetime     of cached values
+     */
+    public static <K, V> V computeValueIfAbsentAlgorithm(Supplier<RxStreamer> streamer, RxCache<K, V> reader, RefreshAhead refreshAhead, Lifetime lifetime, VoidStrategy1<Optional<V>> postComputer, K key, Strategy1<Boolean, V> cacheAcceptor, long msecs) {
         Optional<V> value = reader.read(key);
 
         FutureStatus status = FutureStatus.NotStarted;
@@ -61,6 +82,8 @@ public final class StreamerAlgorithms {
             value = tuple.second;
 
             postComputer.perform(value);
+        } else {
+            value = refreshAheadAlgorithm(streamer, reader, refreshAhead, lifetime, key, value);
         }
 
         V raw = value.orElse(null);
@@ -229,6 +252,26 @@ public final class StreamerAlgorithms {
         return group;
     }
 
+    /**
+     * A cached value past its refresh point, including a stale value, is returned at once and reloaded in the
+     * background. The value is returned until the reload writes a new one, i.e., also while reloading fails.
+     *
+     * @param value cached value of key
+     * @return value to return to the reader
+     */
+    public static <K, V> Optional<V> refreshAheadAlgorithm(Supplier<RxStreamer> streamer, RxCache<K, V> reader, RefreshAhead refreshAhead, Lifetime lifetime, K key, Optional<V> value) {
+        if (!refreshAhead.isRefreshAhead()) {
+            return value;
+        }
+
+        Optional<Duration> age = reader.readAge(key);
+        if (age.isPresent() && age.get().toMillis() >= refreshAhead.refreshAfterMillis(lifetime)) {
+            // Note: no-op while a reload is executing
+            streamer.get().subscribe();
+        }
+        return value;
+    }
+
     private StreamerAlgorithms() {
     }
 }
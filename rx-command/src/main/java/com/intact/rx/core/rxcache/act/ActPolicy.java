@@ -19,6 +19,7 @@ public final class ActPolicy {
     private final Attempt attempt;
     private final Lifetime lifetime;
     private final Extension extension;
+    private final RefreshAhead refreshAhead;
 
     public ActPolicy(
             CommandControllerPolicy commandControllerPolicy,
@@ -27,12 +28,24 @@ public final class ActPolicy {
             Attempt attempt,
             Lifetime lifetime,
             Extension extension) {
+        this(commandControllerPolicy, cachePolicy, reload, attempt, lifetime, extension, RefreshAhead.no());
+    }
+
+    public ActPolicy(
+            CommandControllerPolicy commandControllerPolicy,
+            CachePolicy cachePolicy,
+            Reload reload,
+            Attempt attempt,
+            Lifetime lifetime,
+            Extension extension,
+            RefreshAhead refreshAhead) {
         this.commandControllerPolicy = requireNonNull(commandControllerPolicy);
         this.cachePolicy = requireNonNull(cachePolicy);
         this.reload = requireNonNull(reload);
         this.attempt = requireNonNull(attempt);
         this.lifetime = requireNonNull(lifetime);
         this.extension = requireNonNull(extension);
+        this.refreshAhead = requireNonNull(refreshAhead);
     }
 
     public Reload getReload() {
@@ -51,6 +64,10 @@ public final class ActPolicy {
         return extension;
     }
 
+    public RefreshAhead getRefreshAhead() {
+        return refreshAhead;
+    }
+
     public CommandControllerPolicy getCommandControllerPolicy() {
         return commandControllerPolicy;
     }
@@ -70,7 +87,8 @@ public final class ActPolicy {
                 actPolicy.reload,
                 actPolicy.attempt,
                 actPolicy.lifetime,
-                actPolicy.extension
+                actPolicy.extension,
+                actPolicy.refreshAhead
         );
     }
 
@@ -86,6 +104,20 @@ public final class ActPolicy {
         return new ActPolicy(CommandControllerPolicy.parallel(), cachePolicy, Reload.onModify(), Attempt.forever(), cachePolicy.getDataCachePolicy().getLifetime(), Extension.noRenew());
     }
 
+    /**
+     * Reload cached values ahead of expiry and serve stale values while reloading fails, see {@link RefreshAhead}.
+     *
+     * @param cachePolicy  with lifetime of cached values renewed on write, e.g., ObjectRootPolicy.create(lifetime, Extension.renewOnWrite())
+     * @param refreshAhead refresh fraction and stale grace period
+     */
+    public static ActPolicy refreshAhead(CachePolicy cachePolicy, RefreshAhead refreshAhead) {
+        Extension valueExtension = cachePolicy.getDataCachePolicy().getObjectRootPolicy().getExtension();
+        if (refreshAhead.isRefreshAhead() && !valueExtension.isRenewOnWrite() && !valueExtension.isRenewOnAccess()) {
+            throw new IllegalArgumentException("Refresh-ahead requires cached values with lifetime renewed on write, was " + valueExtension);
+        }
+        return new ActPolicy(CommandControllerPolicy.parallel(), cachePolicy, Reload.no(), Attempt.once(), cachePolicy.getDataCachePolicy().getLifetime(), Extension.noRenew(), refreshAhead);
+    }
+
     public static ActPolicy noReloadAndTwentyThousandSamples() {
         return noReloadAndTwentyThousandSamples;
     }
@@ -94,6 +126,7 @@ public final class ActPolicy {
     public String toString() {
         return "ActPolicy{" +
                 "reload=" + reload +
+                ", refreshAhead=" + refreshAhead +
                 ", commandControllerPolicy=" + commandControllerPolicy +
                 ", cachePolicy=" + cachePolicy +
                 '}';
@@ -1,7 +1,10 @@
 package com.intact.rx.core.rxcache.controller;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +34,7 @@ import com.intact.rx.exception.CircuitBreakerOpenException;
 import com.intact.rx.exception.ExecutionEndedOnErrorException;
 import com.intact.rx.exception.RateLimitViolatedException;
 import com.intact.rx.templates.ContextObject;
+import com.intact.rx.templates.Pair;
 import com.intact.rx.templates.Tuple2;
 import com.intact.rx.templates.Validate;
 import com.intact.rx.templates.api.Context;
@@ -126,28 +130,33 @@ public class ActsCommandsController implements
     // Interface ActsController
     // -----------------------------------------------------------
 
+    /**
+     * Single-flight per (cache, key): concurrent misses of a key share one computation in flight and wait for its
+     * status, a hit returns without touching the controller monitor.
+     */
     @Override
     public <K, V> Tuple2<FutureStatus, Optional<V>> computeIfAbsent(CacheHandle cacheHandle, K key, long msecs) {
-        //noinspection SynchronizeOnThis
-        synchronized (this) {
-            if (!lockSchedulingMutex(ACQUIRE_LOCK_TIMEOUT_IN_MS)) {
-                //noinspection AccessToStaticFieldLockedOnInstance
-                log.warn("Could not acquire subscribe lock within " + ACQUIRE_LOCK_TIMEOUT_IN_MS + " ms");
-                return new Tuple2<>(FutureStatus.NotStarted, Optional.empty());
-            }
+        Optional<V> value = RxCacheAccess.<K, V>find(cacheHandle).flatMap(cache -> cache.read(key));
+        if (value.isPresent()) {
+            return new Tuple2<>(FutureStatus.NotStarted, value);
+        }
 
+        final Pair<CacheHandle, Object> flightKey = Pair.create(cacheHandle, key);
+        final CompletableFuture<FutureStatus> flight = new CompletableFuture<>();
+        final CompletableFuture<FutureStatus> inFlight = state().inFlight().putIfAbsent(flightKey, flight);
+
+        FutureStatus futureStatus = FutureStatus.Failed;
+        if (inFlight != null) {
+            futureStatus = awaitFlight(inFlight, msecs);
+        } else {
             try {
-                Optional<V> value = RxCacheAccess.<K, V>find(cacheHandle).flatMap(cache -> cache.read(key));
-                if (value.isPresent()) {
-                    return new Tuple2<>(FutureStatus.NotStarted, value);
-                }
-                subscribe();
+                futureStatus = computeKeyIfAbsent(cacheHandle, key, msecs);
             } finally {
-                state().schedulingMutex().unlock();
+                state().inFlight().remove(flightKey, flight);
+                flight.complete(futureStatus);
             }
         }
 
-        FutureStatus futureStatus = waitFor(msecs);
         return new Tuple2<>(futureStatus, RxCacheAccess.<K, V>find(cacheHandle).flatMap(cache -> cache.read(key)));
     }
 
@@ -372,6 +381,43 @@ public class ActsCommandsController implements
     // private functions
     // -----------------------------------------------------------
 
+    /**
+     * Compute key on behalf of all concurrent misses of it. A run already executing, e.g., started for another key, is
+     * joined first and the chain is only run again if the joined run did not load key.
+     */
+    private <K, V> FutureStatus computeKeyIfAbsent(CacheHandle cacheHandle, K key, long msecs) {
+        // Note: a flight of key may have completed between the read and the registration of this flight
+        if (RxCacheAccess.<K, V>find(cacheHandle).flatMap(cache -> cache.read(key)).isPresent()) {
+            return FutureStatus.NotStarted;
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final boolean isStartedByThis = subscribe();
+        FutureStatus futureStatus = waitFor(msecs);
+
+        if (!isStartedByThis && Objects.equals(futureStatus, FutureStatus.Success) && !RxCacheAccess.<K, V>find(cacheHandle).flatMap(cache -> cache.read(key)).isPresent()) {
+            long remaining = msecs - (System.currentTimeMillis() - startTime);
+            if (remaining > 0 && subscribe()) {
+                futureStatus = waitFor(remaining);
+            }
+        }
+        return futureStatus;
+    }
+
+    private static FutureStatus awaitFlight(CompletableFuture<FutureStatus> flight, long msecs) {
+        try {
+            return flight.get(msecs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return FutureStatus.Timedout;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for computation in flight", e);
+            return FutureStatus.Timedout;
+        } catch (ExecutionException e) {
+            return FutureStatus.Failed;
+        }
+    }
+
     private boolean executeGroup(ActGroupIterator groupIterator, ActGroupPolicy policy) {
         Validate.assertTrue(!state().getExecutionStatus().isStarting());
         Validate.assertTrue(groupIterator != null);
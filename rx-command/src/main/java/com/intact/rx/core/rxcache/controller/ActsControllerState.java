@@ -1,10 +1,15 @@
 package com.intact.rx.core.rxcache.controller;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static java.util.Objects.requireNonNull;
 
+import com.intact.rx.api.FutureStatus;
+import com.intact.rx.api.cache.CacheHandle;
 import com.intact.rx.api.subject.RxSubject;
 import com.intact.rx.core.command.result.CommandFutureResult;
 import com.intact.rx.core.command.status.ExecutionStatus;
@@ -14,6 +19,7 @@ import com.intact.rx.core.rxcache.acts.ActGroupChain;
 import com.intact.rx.core.rxcache.acts.ActGroupChainIterator;
 import com.intact.rx.core.rxcircuit.breaker.CircuitId;
 import com.intact.rx.core.rxcircuit.rate.RateLimiterId;
+import com.intact.rx.templates.Pair;
 
 class ActsControllerState {
     private final Lock schedulingMutex = new ReentrantLock();
@@ -25,6 +31,7 @@ class ActsControllerState {
     private final CircuitId circuitBreakerId;
     private final RateLimiterId rateLimiterId;
     private final RxSubject<ActGroup> rxSubject = new RxSubject<>();
+    private final Map<Pair<CacheHandle, Object>, CompletableFuture<FutureStatus>> inFlight = new ConcurrentHashMap<>();
 
     ActsControllerState(RxThreadPoolSchedulerStripped scheduler, ActGroupChain chain, CircuitId circuitBreakerId, RateLimiterId rateLimiterId) {
         this.scheduler = requireNonNull(scheduler);
@@ -70,4 +77,12 @@ class ActsControllerState {
     RxSubject<ActGroup> getRxSubject() {
         return rxSubject;
     }
+
+    /**
+     * @return computation in flight per (cache, key) miss, see ActsCommandsController.computeIfAbsent
+     */
+    Map<Pair<CacheHandle, Object>, CompletableFuture<FutureStatus>> inFlight() {
+        //noinspection ReturnOfCollectionOrArrayField
+        return inFlight;
+    }
 }
@@ -5,6 +5,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Objects.requireNonNull;
 
+import com.intact.rx.api.RxDefault;
 import com.intact.rx.api.cache.observer.RemovedFromCacheObserver;
 import com.intact.rx.api.command.VoidStrategy1;
 import com.intact.rx.templates.StatusTrackerTimestamped;
@@ -58,7 +59,7 @@ public class RxCircuitBreaker implements CircuitBreaker, RemovedFromCacheObserve
             if (previous != State.OPEN) {
                 // this thread set new state, perform callback
                 circuitBreakerSubject.onOpen(circuitId);
-                timeStampOpen.set(System.currentTimeMillis());
+                timeStampOpen.set(RxDefault.getTicker().millis());
             }
         }
     }
@@ -66,7 +67,7 @@ public class RxCircuitBreaker implements CircuitBreaker, RemovedFromCacheObserve
     @Override
     public boolean allowRequest() {
         if (currentStatus.get() == State.OPEN) {
-            long timeSinceOpened = Math.max(0, System.currentTimeMillis() - timeStampOpen.get());
+            long timeSinceOpened = Math.max(0, RxDefault.getTicker().millis() - timeStampOpen.get());
             if (timeSinceOpened > circuitBreakerPolicy.getResetTimeout().toMillis()) {
                 State previous = currentStatus.getAndSet(State.HALF_OPEN);
                 if (previous == State.OPEN) {
@@ -0,0 +1,138 @@
+package com.intact.rx.core.rxrepo;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.api.command.Strategy1;
+import com.intact.rx.policy.Batching;
+
+/**
+ * Collects the keys of concurrent misses of one cache into batches loaded by a single bulk call, see {@link Batching}.
+ * <p>
+ * The request opening a batch waits out the window and invokes the bulk loader on its own thread, so batching needs no
+ * thread of its own. Requests queued for a Streamer thread join a later batch, i.e., a pool with fewer threads than
+ * concurrent misses gives smaller batches.
+ */
+public final class BatchLoader<K, V> {
+    private final Batching batching;
+
+    // Note: guarded by this
+    private Batch<K, V> open;
+
+    public BatchLoader(Batching batching) {
+        this.batching = requireNonNull(batching);
+    }
+
+    /**
+     * Add key to the open batch and wait for the batch to be loaded.
+     *
+     * @param key        to load
+     * @param bulkLoader used if this request opens a batch, a batch is loaded by the bulk loader of the request opening it
+     * @param msecs      max time to wait for the batch, a timeout fails the batch for all its requests
+     * @return loaded value, or null if absent from the bulk result
+     */
+    public V load(K key, Strategy1<Map<K, V>, Set<K>> bulkLoader, long msecs) {
+        requireNonNull(key);
+        requireNonNull(bulkLoader);
+
+        final Batch<K, V> batch;
+        final boolean isOpenedByThis;
+        synchronized (this) {
+            isOpenedByThis = open == null;
+            if (isOpenedByThis) {
+                open = new Batch<>(bulkLoader);
+            }
+            batch = open;
+            batch.keys.add(key);
+            if (batch.keys.size() >= batching.getMaxBatchSize()) {
+                open = null;
+                notifyAll();
+            }
+        }
+
+        if (isOpenedByThis) {
+            awaitWindow(batch);
+            batch.load();
+        }
+        return batch.await(key, msecs);
+    }
+
+    // -----------------------------------------------------------
+    // Private functions
+    // -----------------------------------------------------------
+
+    /**
+     * Wait until the window has passed or the batch is full, then close the batch.
+     */
+    private synchronized void awaitWindow(Batch<K, V> batch) {
+        final long deadline = System.nanoTime() + batching.getWindow().toNanos();
+        try {
+            long remaining;
+            while (open == batch && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        } catch (InterruptedException e) {
+            // Note: load anyway, other requests of the batch are waiting
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open == batch) {
+                open = null;
+            }
+        }
+    }
+
+    private static final class Batch<K, V> {
+        private final Set<K> keys = new LinkedHashSet<>();
+        private final Strategy1<Map<K, V>, Set<K>> bulkLoader;
+        private final CompletableFuture<Map<K, V>> loaded = new CompletableFuture<>();
+
+        private Batch(Strategy1<Map<K, V>, Set<K>> bulkLoader) {
+            this.bulkLoader = bulkLoader;
+        }
+
+        private void load() {
+            try {
+                Map<K, V> values = bulkLoader.perform(Collections.unmodifiableSet(keys));
+                loaded.complete(values != null ? values : Collections.emptyMap());
+            } catch (RuntimeException | Error e) {
+                loaded.completeExceptionally(e);
+            }
+        }
+
+        private V await(K key, long msecs) {
+            try {
+                return loaded.get(msecs, TimeUnit.MILLISECONDS).get(key);
+            } catch (TimeoutException e) {
+                loaded.completeExceptionally(e);
+                throw new IllegalStateException("Batch loading key " + key + " timed out after " + msecs + " ms", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                loaded.completeExceptionally(e);
+                throw new IllegalStateException("Interrupted while waiting for batch loading key " + key, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException("Batch loading key " + key + " failed", e.getCause());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchLoader{" +
+                "batching=" + batching +
+                '}';
+    }
+}
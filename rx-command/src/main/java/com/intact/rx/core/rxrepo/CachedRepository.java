@@ -2,6 +2,7 @@ package com.intact.rx.core.rxrepo;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static java.util.Objects.requireNonNull;
@@ -448,6 +449,11 @@ public class CachedRepository<K, V> implements RxRepository<K, V> {
         return requestAllFor(keys, getter).computeIfEmpty(rxConfig.clientTimeout.toMillis());
     }
 
+    @Override
+    public Map<K, V> computeIfAbsentBatched(Iterable<K> keys, Strategy1<Map<K, V>, Set<K>> bulkGetter) {
+        return requestAllBatchedFor(keys, bulkGetter).computeIfEmpty(rxConfig.clientTimeout.toMillis());
+    }
+
     @Override
     public Optional<V> compute(K key, Strategy1<V, K> getter) {
         return requestValueFor(key, getter).compute(rxConfig.clientTimeout.toMillis());
@@ -524,6 +530,13 @@ public class CachedRepository<K, V> implements RxRepository<K, V> {
         return new RepositoryStreamReaderCollection<>(factory.computeIfAbsent(masterCacheId, cachedType, rxConfig.actPolicy, rxConfig.commandConfig.getCommandPolicy(), keys, computer));
     }
 
+    @Override
+    public RxRepositoryReaderCollection<K, V> requestAllBatchedFor(Iterable<K> keys, Strategy1<Map<K, V>, Set<K>> bulkLoader) {
+        RepositoryStreamReaderCollection<K, V> readers = new RepositoryStreamReaderCollection<>(factory.computeIfAbsentBatched(masterCacheId, cachedType, rxConfig.actPolicy, rxConfig.commandConfig.getCommandPolicy(), keys, bulkLoader));
+        readers.subscribeAbsent();
+        return readers;
+    }
+
     @Override
     public <RequestKey> RxRepositoryReader<K, V> reusableRequestFor(RequestKey requestKey, Strategy0<RxStreamer> creator) {
         return factory.createReusableRequestFor(masterCacheId, requestKey, creator, cachedType);
@@ -625,6 +638,11 @@ public class CachedRepository<K, V> implements RxRepository<K, V> {
         return factory.createLazyValueReader(key, masterCacheId, cachedType, RxContexts.create().withRxContext(rxConfig.rxContext).withRxContext(rxContext).build(), key, actor);
     }
 
+    @Override
+    public RxValueReader<V> requestBatchedValueFor(K key, Strategy1<Map<K, V>, Set<K>> bulkLoader) {
+        return factory.createLazyBatchedValueReader(key, masterCacheId, cachedType, rxConfig.rxContext, key, bulkLoader);
+    }
+
     @Override
     public RxValueReader<V> uuidRequestValueFor(K key, Strategy1<V, K> actor) {
         return factory.createLazyValueReader(UUID.randomUUID(), masterCacheId, cachedType, rxConfig.rxContext, key, actor);
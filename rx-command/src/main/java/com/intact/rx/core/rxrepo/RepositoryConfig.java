@@ -12,6 +12,7 @@ import com.intact.rx.core.rxcircuit.breaker.CircuitId;
 import com.intact.rx.core.rxcircuit.rate.RateLimiterId;
 import com.intact.rx.core.rxcircuit.rate.RateLimiterPolicy;
 import com.intact.rx.policy.Access;
+import com.intact.rx.policy.Batching;
 
 @SuppressWarnings("WeakerAccess")
 public final class RepositoryConfig {
@@ -23,14 +24,16 @@ public final class RepositoryConfig {
     private final RateLimiterPolicy rateLimiterPolicy;
     private final CircuitId circuitBreakerId;
     private final RateLimiterId rateLimiterId;
+    private final Batching batching;
 
-    private RepositoryConfig(Strategy0<Access> readAccess, Strategy0<Access> writeAccess, CircuitId circuitBreakerId, CircuitBreakerPolicy circuitBreakerPolicy, RateLimiterId rateLimiterId, RateLimiterPolicy rateLimiterPolicy) {
+    private RepositoryConfig(Strategy0<Access> readAccess, Strategy0<Access> writeAccess, CircuitId circuitBreakerId, CircuitBreakerPolicy circuitBreakerPolicy, RateLimiterId rateLimiterId, RateLimiterPolicy rateLimiterPolicy, Batching batching) {
         this.readAccess = requireNonNull(readAccess);
         this.writeAccess = requireNonNull(writeAccess);
         this.circuitBreakerPolicy = requireNonNull(circuitBreakerPolicy);
         this.circuitBreakerId = requireNonNull(circuitBreakerId);
         this.rateLimiterId = requireNonNull(rateLimiterId);
         this.rateLimiterPolicy = requireNonNull(rateLimiterPolicy);
+        this.batching = requireNonNull(batching);
     }
 
     public Strategy0<Access> getReadAccess() {
@@ -57,6 +60,13 @@ public final class RepositoryConfig {
         return circuitBreakerId;
     }
 
+    /**
+     * @return window of batched requests, see RxRepository.requestBatchedValueFor
+     */
+    public Batching getBatching() {
+        return batching;
+    }
+
     public boolean isAllowAll() {
         return Objects.equals(readAccess, allAccess) && Objects.equals(writeAccess, allAccess);
     }
@@ -74,7 +84,8 @@ public final class RepositoryConfig {
                         .withRateLimiterId(RxDefault.getDefaultRateLimiterId().getHandle().getKey())
                         .withRateLimiterScope(RxDefault.getRepositoryCircuitCacheHandle())
                         .build(),
-                RxDefault.getDefaultActsControllerPolicy().getRateLimiterPolicy()
+                RxDefault.getDefaultActsControllerPolicy().getRateLimiterPolicy(),
+                Batching.defaultBatching()
         );
     }
 
@@ -92,6 +103,7 @@ public final class RepositoryConfig {
         private Strategy0<Access> writeAccess;
         private CircuitBreakerPolicy circuitBreakerPolicy;
         private RateLimiterPolicy rateLimiterPolicy;
+        private Batching batching;
         private final CircuitId.Builder circuitBreakerIdBuilder;
         private final RateLimiterId.Builder rateLimiterIdBuilder;
 
@@ -100,6 +112,7 @@ public final class RepositoryConfig {
             this.writeAccess = allAccess;
             this.circuitBreakerPolicy = RxDefault.getDefaultCommandPolicy().getCircuitBreakerPolicy();
             this.rateLimiterPolicy = RxDefault.getDefaultCommandPolicy().getRateLimiterPolicy();
+            this.batching = Batching.defaultBatching();
             this.circuitBreakerIdBuilder = CircuitId.buildFrom(RxDefault.getDefaultCircuitBreakerId()).withCircuitScope(RxDefault.getRepositoryCircuitCacheHandle());
             this.rateLimiterIdBuilder = RateLimiterId.buildFrom(RxDefault.getDefaultRateLimiterId()).withRateLimiterScope(RxDefault.getRepositoryCircuitCacheHandle());
         }
@@ -109,6 +122,7 @@ public final class RepositoryConfig {
             this.writeAccess = requireNonNull(repositoryConfig.writeAccess);
             this.circuitBreakerPolicy = requireNonNull(repositoryConfig.circuitBreakerPolicy);
             this.rateLimiterPolicy = requireNonNull(repositoryConfig.rateLimiterPolicy);
+            this.batching = requireNonNull(repositoryConfig.batching);
             this.circuitBreakerIdBuilder = CircuitId.buildFrom(repositoryConfig.circuitBreakerId);
             this.rateLimiterIdBuilder = RateLimiterId.buildFrom(repositoryConfig.rateLimiterId);
         }
@@ -157,6 +171,11 @@ public final class RepositoryConfig {
             return this;
         }
 
+        public Builder withBatching(Batching batching) {
+            this.batching = requireNonNull(batching);
+            return this;
+        }
+
         public RepositoryConfig build() {
             return new RepositoryConfig(
                     readAccess,
@@ -164,7 +183,8 @@ public final class RepositoryConfig {
                     circuitBreakerIdBuilder.build(),
                     circuitBreakerPolicy,
                     rateLimiterIdBuilder.build(),
-                    rateLimiterPolicy
+                    rateLimiterPolicy,
+                    batching
             );
         }
     }
@@ -177,6 +197,7 @@ public final class RepositoryConfig {
                 ", circuitBreakerPolicy=" + circuitBreakerPolicy +
                 ", circuitBreakerId=" + circuitBreakerId +
                 ", rateLimiterId=" + rateLimiterId +
+                ", batching=" + batching +
                 '}';
     }
 }
@@ -3,6 +3,8 @@ package com.intact.rx.core.rxrepo.factory;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
@@ -31,6 +33,7 @@ import com.intact.rx.core.rxcache.act.ActPolicy;
 import com.intact.rx.core.rxcache.controller.ActsControllerConfig;
 import com.intact.rx.core.rxcache.controller.ActsControllerPolicy;
 import com.intact.rx.core.rxcache.noop.StreamerNoOp;
+import com.intact.rx.core.rxrepo.BatchLoader;
 import com.intact.rx.core.rxrepo.RepositoryConfig;
 import com.intact.rx.core.rxrepo.RequestCache;
 import com.intact.rx.core.rxrepo.reader.*;
@@ -45,6 +48,7 @@ public class RxRepositoryFactory<K, V> {
 
     private final RequestCache<RxStreamer> requestCache;
     private final RxSubjectCombi<Map<K, V>> subject;
+    private final Map<CacheHandle, BatchLoader<K, V>> batchLoaders = new ConcurrentHashMap<>();
 
     public RxRepositoryFactory(RxConfig rxConfig, RepositoryConfig repositoryConfig, RequestCache<RxStreamer> requestCache, RxSubjectCombi<Map<K, V>> subject) {
         this.rxConfig = rxConfig;
@@ -210,6 +214,7 @@ public class RxRepositoryFactory<K, V> {
                 CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType),
                 rxConfig.actPolicy.getCachePolicy(),
                 rxConfig.faultPolicy,
+                rxConfig.actPolicy.getRefreshAhead(),
                 () -> requestCache
                         .computeScopedIfAbsent(
                                 requestKey,
@@ -233,6 +238,7 @@ public class RxRepositoryFactory<K, V> {
                 CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType),
                 rxConfig.actPolicy.getCachePolicy(),
                 rxConfig.faultPolicy,
+                rxConfig.actPolicy.getRefreshAhead(),
                 () -> requestCache
                         .computeScopedIfAbsent(
                                 requestKey,
@@ -274,6 +280,7 @@ public class RxRepositoryFactory<K, V> {
                 CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType),
                 rxConfig.actPolicy.getCachePolicy(),
                 rxConfig.faultPolicy,
+                rxConfig.actPolicy.getRefreshAhead(),
                 () -> requestCache
                         .computeScopedIfAbsent(
                                 requestKey,
@@ -359,6 +366,7 @@ public class RxRepositoryFactory<K, V> {
                 CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType),
                 rxConfig.actPolicy.getCachePolicy(),
                 rxConfig.faultPolicy,
+                rxConfig.actPolicy.getRefreshAhead(),
                 () -> requestCache
                         .computeSingletonIfAbsent(
                                 () -> {
@@ -380,6 +388,7 @@ public class RxRepositoryFactory<K, V> {
                 CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType),
                 rxConfig.actPolicy.getCachePolicy(),
                 rxConfig.faultPolicy,
+                rxConfig.actPolicy.getRefreshAhead(),
                 () -> requestCache
                         .computeSingletonIfAbsent(
                                 () -> {
@@ -422,6 +431,7 @@ public class RxRepositoryFactory<K, V> {
                                 CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType),
                                 rxConfig.actPolicy.getCachePolicy(),
                                 rxConfig.faultPolicy,
+                                rxConfig.actPolicy.getRefreshAhead(),
                                 () -> requestCache
                                         .computeScopedIfAbsent(
                                                 key,
@@ -456,4 +466,26 @@ public class RxRepositoryFactory<K, V> {
         );
         return readers;
     }
+
+    // --------------------------------------------------------------
+    // Batched readers, concurrent misses of a cache are loaded by one bulk call
+    // --------------------------------------------------------------
+
+    public <RequestKey> RxValueReader<V> createLazyBatchedValueReader(RequestKey requestKey, MasterCacheId masterCacheId, Class<V> cachedType, RxContext rxContext, K key, Strategy1<Map<K, V>, Set<K>> bulkLoader) {
+        requireNonNull(bulkLoader);
+
+        BatchLoader<K, V> batchLoader = batchLoaderFor(CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType));
+        return createLazyValueReader(requestKey, masterCacheId, cachedType, rxContext, key, k -> batchLoader.load(k, bulkLoader, rxConfig.commandConfig.getCommandPolicy().getTimeout().toMillis()));
+    }
+
+    public Map<K, RxRepositoryReader<K, V>> computeIfAbsentBatched(MasterCacheId masterCacheId, Class<V> cachedType, ActPolicy actPolicy, CommandPolicy commandPolicy, Iterable<K> keys, Strategy1<Map<K, V>, Set<K>> bulkLoader) {
+        requireNonNull(bulkLoader);
+
+        BatchLoader<K, V> batchLoader = batchLoaderFor(CacheHandle.create(rxConfig.domainCacheId, masterCacheId, cachedType));
+        return computeIfAbsent(masterCacheId, cachedType, actPolicy, commandPolicy, keys, k -> batchLoader.load(k, bulkLoader, commandPolicy.getTimeout().toMillis()));
+    }
+
+    private BatchLoader<K, V> batchLoaderFor(CacheHandle cacheHandle) {
+        return batchLoaders.computeIfAbsent(cacheHandle, handle -> new BatchLoader<>(repositoryConfig.getBatching()));
+    }
 }
@@ -28,6 +28,8 @@ import com.intact.rx.core.rxrepo.RepositoryRequestResult;
 import com.intact.rx.core.rxrepo.RepositoryRequestStatus;
 import com.intact.rx.policy.Access;
 import com.intact.rx.policy.FaultPolicy;
+import com.intact.rx.policy.Lifetime;
+import com.intact.rx.policy.RefreshAhead;
 import com.intact.rx.templates.AtomicSupplier;
 
 import static com.intact.rx.core.rxcache.StreamerAlgorithms.*;
@@ -39,6 +41,7 @@ public class LazyRepositoryStreamReader<K, V> implements RxRepositoryReader<K, V
     private final CacheHandle cacheHandle;
     private final CachePolicy dataCachePolicy;
     private final FaultPolicy faultPolicy;
+    private final RefreshAhead refreshAhead;
     private final AtomicSupplier<RxStreamer> streamerFactory;
     private final Strategy0<Access> accessControl;
     private final RxSubjectCombi<Map<K, V>> subject;
@@ -47,11 +50,13 @@ public class LazyRepositoryStreamReader<K, V> implements RxRepositoryReader<K, V
             CacheHandle cacheHandle,
             CachePolicy dataCachePolicy,
             FaultPolicy faultPolicy,
+            RefreshAhead refreshAhead,
             Strategy0<RxStreamer> getOrCreateStreamer,
             Strategy0<Access> accessControl) {
         this.cacheHandle = requireNonNull(cacheHandle);
         this.dataCachePolicy = requireNonNull(dataCachePolicy);
         this.faultPolicy = requireNonNull(faultPolicy);
+        this.refreshAhead = requireNonNull(refreshAhead);
         this.streamerFactory = new AtomicSupplier<>(
                 () -> getOrCreateStreamer.perform()
                         .onSubscribeDo(this::onSubscribe)
@@ -70,7 +75,7 @@ public class LazyRepositoryStreamReader<K, V> implements RxRepositoryReader<K, V
 
     @Override
     public Optional<V> computeIfAbsent(K key, long msecs) {
-        return computeIfAbsentAlgorithm(this::getStreamer, cache(), faultPolicy, v -> {}, key, Objects::nonNull, msecs);
+        return computeIfAbsentAlgorithm(this::getStreamer, cache(), faultPolicy, refreshAhead, lifetime(), v -> {}, key, Objects::nonNull, msecs);
     }
 
     @Override
@@ -80,7 +85,7 @@ public class LazyRepositoryStreamReader<K, V> implements RxRepositoryReader<K, V
 
     @Override
     public V computeValueIfAbsent(K key, long msecs) {
-        return computeValueIfAbsentAlgorithm(this::getStreamer, cache(), v -> {}, key, Objects::nonNull, msecs);
+        return computeValueIfAbsentAlgorithm(this::getStreamer, cache(), refreshAhead, lifetime(), v -> {}, key, Objects::nonNull, msecs);
     }
 
     @Override
@@ -102,7 +107,7 @@ public class LazyRepositoryStreamReader<K, V> implements RxRepositoryReader<K, V
     public RxRequestResult<K, V> computeResultIfAbsent(K key, long msecs) {
         return RepositoryRequestResult.create(
                 key,
-                computeIfAbsentAlgorithm(this::getStreamer, cache(), faultPolicy, v -> {}, key, Objects::nonNull, msecs).orElse(null),
+                computeIfAbsentAlgorithm(this::getStreamer, cache(), faultPolicy, refreshAhead, lifetime(), v -> {}, key, Objects::nonNull, msecs).orElse(null),
                 RepositoryRequestStatus.create(getStreamer().getStatus())
         );
     }
@@ -251,6 +256,10 @@ public class LazyRepositoryStreamReader<K, V> implements RxRepositoryReader<K, V
     // private implementation
     // -----------------------------------------------------------
 
+    private Lifetime lifetime() {
+        return dataCachePolicy.getDataCachePolicy().getObjectRootPolicy().getLifetime();
+    }
+
     private RxStreamer getStreamer() {
         switch (accessControl.perform()) {
             case NONE:
@@ -22,6 +22,8 @@ import com.intact.rx.core.rxcache.noop.StreamerNoOp;
 import com.intact.rx.core.rxrepo.RepositoryRequestStatus;
 import com.intact.rx.policy.Access;
 import com.intact.rx.policy.FaultPolicy;
+import com.intact.rx.policy.Lifetime;
+import com.intact.rx.policy.RefreshAhead;
 import com.intact.rx.templates.AtomicSupplier;
 
 import static com.intact.rx.core.rxcache.StreamerAlgorithms.*;
@@ -30,6 +32,7 @@ public class LazyValueStreamReader<K, V> implements RxValueReader<V>, RxObserver
     private final CacheHandle cacheHandle;
     private final CachePolicy cachePolicy;
     private final FaultPolicy faultPolicy;
+    private final RefreshAhead refreshAhead;
     private final AtomicSupplier<RxStreamer> streamerFactory;
     private final K key;
     private final Strategy0<Access> accessControl;
@@ -39,12 +42,14 @@ public class LazyValueStreamReader<K, V> implements RxValueReader<V>, RxObserver
             CacheHandle cacheHandle,
             CachePolicy cachePolicy,
             FaultPolicy faultPolicy,
+            RefreshAhead refreshAhead,
             Strategy0<RxStreamer> streamerFactory,
             K key,
             Strategy0<Access> accessControl) {
         this.cacheHandle = requireNonNull(cacheHandle);
         this.cachePolicy = requireNonNull(cachePolicy);
         this.faultPolicy = requireNonNull(faultPolicy);
+        this.refreshAhead = requireNonNull(refreshAhead);
         this.streamerFactory = new AtomicSupplier<>(
                 () -> streamerFactory.perform()
                         .onSubscribeDo(this::onSubscribe)
@@ -69,7 +74,7 @@ public class LazyValueStreamReader<K, V> implements RxValueReader<V>, RxObserver
 
     @Override
     public Optional<V> computeIfAbsent(long msecs) {
-        return computeIfAbsentAlgorithm(this::getStreamer, cache(), faultPolicy, v -> {}, key, Objects::nonNull, msecs);
+        return computeIfAbsentAlgorithm(this::getStreamer, cache(), faultPolicy, refreshAhead, lifetime(), v -> {}, key, Objects::nonNull, msecs);
     }
 
     @Override
@@ -79,7 +84,7 @@ public class LazyValueStreamReader<K, V> implements RxValueReader<V>, RxObserver
 
     @Override
     public V computeValueIfAbsent(long msecs) {
-        return computeValueIfAbsentAlgorithm(this::getStreamer, cache(), v -> {}, key, Objects::nonNull, msecs);
+        return computeValueIfAbsentAlgorithm(this::getStreamer, cache(), refreshAhead, lifetime(), v -> {}, key, Objects::nonNull, msecs);
     }
 
     @Override
@@ -187,6 +192,10 @@ public class LazyValueStreamReader<K, V> implements RxValueReader<V>, RxObserver
         return RxCacheAccess.cache(cacheHandle, cachePolicy);
     }
 
+    private Lifetime lifetime() {
+        return cachePolicy.getDataCachePolicy().getObjectRootPolicy().getLifetime();
+    }
+
     private RxStreamer getStreamer() {
         switch (accessControl.perform()) {
             case NONE:
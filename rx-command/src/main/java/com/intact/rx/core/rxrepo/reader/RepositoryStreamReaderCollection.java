@@ -3,6 +3,7 @@ package com.intact.rx.core.rxrepo.reader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.intact.rx.api.cache.RxCache;
@@ -11,6 +12,7 @@ import com.intact.rx.api.rxrepo.RxRepositoryReaderCollection;
 
 public class RepositoryStreamReaderCollection<K, V> implements RxRepositoryReaderCollection<K, V> {
     private final Map<K, RxRepositoryReader<K, V>> readers = new ConcurrentHashMap<>();
+    private final Set<K> subscribed = ConcurrentHashMap.newKeySet();
 
     public RepositoryStreamReaderCollection(Map<K, RxRepositoryReader<K, V>> readers) {
         this.readers.putAll(readers);
@@ -31,7 +33,7 @@ public class RepositoryStreamReaderCollection<K, V> implements RxRepositoryReade
     @Override
     public Map<K, V> computeIfEmpty(long msecs) {
         Map<K, V> result = new HashMap<>();
-        readers.forEach((key, reader) -> reader.computeIfAbsent(key, msecs).ifPresent(v -> result.put(key, v)));
+        readers.forEach((key, reader) -> computeOnceIfAbsent(key, reader, msecs).ifPresent(v -> result.put(key, v)));
         return result;
     }
 
@@ -60,4 +62,27 @@ public class RepositoryStreamReaderCollection<K, V> implements RxRepositoryReade
     public void subscribe() {
         readers.values().forEach(RxRepositoryReader::subscribe);
     }
+
+    /**
+     * Start the requests of keys without cached value, e.g., to run them concurrently
+     */
+    public void subscribeAbsent() {
+        readers.forEach((key, reader) -> {
+            if (!reader.cache().containsKey(key)) {
+                subscribed.add(key);
+                reader.subscribe();
+            }
+        });
+    }
+
+    /**
+     * A request started by subscribeAbsent is awaited rather than computed anew. Otherwise a key left out of a bulk load,
+     * whose request fails on the null value, would be loaded again in a batch of its own.
+     */
+    private Optional<V> computeOnceIfAbsent(K key, RxRepositoryReader<K, V> reader, long msecs) {
+        if (subscribed.remove(key)) {
+            return reader.waitFor(msecs).cache().read(key);
+        }
+        return reader.computeIfAbsent(key, msecs);
+    }
 }
@@ -5,6 +5,7 @@ import java.lang.ref.WeakReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.intact.rx.core.cache.data.DataCache;
 import com.intact.rx.core.cache.data.ObjectRoot;
 import com.intact.rx.core.command.api.Command;
 import com.intact.rx.core.command.api.CommandController;
@@ -15,17 +16,19 @@ final class CommandMonitorAlgorithms {
     private static final Logger log = LoggerFactory.getLogger(CommandMonitorAlgorithms.class);
 
     static void monitorControllers() {
+        DataCache<Object, WeakReference<CommandController<Object>>> monitorCache = CommandFactory.monitorCache();
+
         int recentlyGarbageCollected = 0;
-        for (ObjectRoot<Object, WeakReference<CommandController<Object>>> objectRoot : CommandFactory.monitorCache().getRoots()) {
+        for (ObjectRoot<Object, WeakReference<CommandController<Object>>> objectRoot : monitorCache.getRoots()) {
             WeakReference<CommandController<Object>> reference = objectRoot.getValueNoStatusUpdate();
 
             if (reference == null) {
                 log.warn("Weak reference to CommandController was null!");
-                objectRoot.setExpired();
+                monitorCache.setExpired(objectRoot);
             } else {
                 CommandController<Object> commandController = reference.get();
                 if (commandController == null) {
-                    objectRoot.setExpired();
+                    monitorCache.setExpired(objectRoot);
                     ++recentlyGarbageCollected;
                 } else if (commandController.isExecuting()) {
                     commandController
@@ -37,8 +40,8 @@ final class CommandMonitorAlgorithms {
             }
         }
 
-        if (CommandFactory.monitorCache().size() > 1000 || recentlyGarbageCollected > 50) {
-            log.info("# of CommandControllers {}", CommandFactory.monitorCache().size());
+        if (monitorCache.size() > 1000 || recentlyGarbageCollected > 50) {
+            log.info("# of CommandControllers {}", monitorCache.size());
             log.info("# of CommandControllers recently garbage collected {}", recentlyGarbageCollected);
         }
     }
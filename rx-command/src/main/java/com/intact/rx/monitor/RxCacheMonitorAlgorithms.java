@@ -24,11 +24,11 @@ final class RxCacheMonitorAlgorithms {
             WeakReference<Act<Object, Object>> reference = objectRoot.getValueNoStatusUpdate();
             if (reference == null) {
                 log.warn("Weak reference to Act was null!");
-                objectRoot.setExpired();
+                monitorCache.setExpired(objectRoot);
             } else {
                 Act<Object, Object> act = reference.get();
                 if (act == null) {
-                    objectRoot.setExpired();
+                    monitorCache.setExpired(objectRoot);
                     ++recentlyGarbageCollected;
                 }
             }
@@ -48,11 +48,11 @@ final class RxCacheMonitorAlgorithms {
             WeakReference<ActsController> reference = objectRoot.getValueNoStatusUpdate();
             if (reference == null) {
                 log.warn("Weak reference to ActsController was null!");
-                objectRoot.setExpired();
+                monitorCache.setExpired(objectRoot);
             } else {
                 ActsController controller = reference.get();
                 if (controller == null) {
-                    objectRoot.setExpired();
+                    monitorCache.setExpired(objectRoot);
                     ++recentlyGarbageCollected;
                 }
             }
@@ -0,0 +1,78 @@
+package com.intact.rx.policy;
+
+import java.util.Objects;
+
+import com.intact.rx.templates.Validate;
+
+/**
+ * Admission policy deciding which entries are kept when a cache exceeds its resource limits.
+ * <p>
+ * None gives plain CLOCK (LRU approximation). Window TinyLFU puts a small window in front of a segmented
+ * (probation, protected) main region. Entries leaving the window are only admitted to the main region if a frequency
+ * sketch estimates them to be more popular than the main region's victim, which keeps the hot set under scans.
+ */
+public final class Admission {
+    private static final Admission none = new Admission(false, 0);
+    private static final Admission windowTinyLfu = new Admission(true, 1);
+
+    private final boolean isWindowTinyLfu;
+    private final int windowPercent;
+
+    private Admission(boolean isWindowTinyLfu, int windowPercent) {
+        Validate.assertTrue(windowPercent >= 0 && windowPercent < 100);
+
+        this.isWindowTinyLfu = isWindowTinyLfu;
+        this.windowPercent = windowPercent;
+    }
+
+    public boolean isWindowTinyLfu() {
+        return isWindowTinyLfu;
+    }
+
+    /**
+     * @return window size in percent of the cache capacity
+     */
+    public int getWindowPercent() {
+        return windowPercent;
+    }
+
+    // --------------------------------------------
+    // Convenience factories
+    // --------------------------------------------
+
+    public static Admission none() {
+        return none;
+    }
+
+    public static Admission windowTinyLfu() {
+        return windowTinyLfu;
+    }
+
+    public static Admission windowTinyLfu(int windowPercent) {
+        Validate.assertTrue(windowPercent > 0);
+        return new Admission(true, windowPercent);
+    }
+
+    @Override
+    public String toString() {
+        return "Admission{" +
+                "isWindowTinyLfu=" + isWindowTinyLfu +
+                ", windowPercent=" + windowPercent +
+                '}';
+    }
+
+    @SuppressWarnings("ControlFlowStatementWithoutBraces")
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Admission)) return false;
+        Admission that = (Admission) o;
+        return isWindowTinyLfu == that.isWindowTinyLfu &&
+                windowPercent == that.windowPercent;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isWindowTinyLfu, windowPercent);
+    }
+}
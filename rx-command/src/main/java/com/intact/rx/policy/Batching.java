@@ -0,0 +1,77 @@
+package com.intact.rx.policy;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.templates.Validate;
+
+/**
+ * Window in which concurrent misses of a repository cache are collected into one bulk load, see
+ * RxRepository.requestBatchedValueFor.
+ * <p>
+ * The first miss opens a batch, its request waits for the window to pass or the batch to fill up and then invokes the
+ * bulk loader once with all keys collected. Every request of the batch completes from the result, keys absent from the
+ * result complete without value.
+ */
+public final class Batching {
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private static final Batching defaultBatching = new Batching(DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+
+    private final Duration window;
+    private final int maxBatchSize;
+
+    private Batching(Duration window, int maxBatchSize) {
+        Validate.assertTrue(!window.isNegative());
+        Validate.assertTrue(maxBatchSize > 0);
+
+        this.window = requireNonNull(window);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    // --------------------------------------------
+    // Convenience factories
+    // --------------------------------------------
+
+    public static Batching defaultBatching() {
+        return defaultBatching;
+    }
+
+    public static Batching create(Duration window, int maxBatchSize) {
+        return new Batching(window, maxBatchSize);
+    }
+
+    @Override
+    public String toString() {
+        return "Batching{" +
+                "window=" + window +
+                ", maxBatchSize=" + maxBatchSize +
+                '}';
+    }
+
+    @SuppressWarnings("ControlFlowStatementWithoutBraces")
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Batching)) return false;
+        Batching that = (Batching) o;
+        return maxBatchSize == that.maxBatchSize &&
+                Objects.equals(window, that.window);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(window, maxBatchSize);
+    }
+}
@@ -0,0 +1,92 @@
+package com.intact.rx.policy;
+
+import java.util.Objects;
+
+import com.intact.rx.templates.Validate;
+
+/**
+ * Number of independently locked stripes used to store the (key, value) pairs of a cache.
+ * <p>
+ * One stripe gives a single cache wide read-write lock. N stripes partitions the keys by hash so writers of different
+ * keys proceed in parallel. Whole-cache operations (clear, takeAll, cache wide undo/redo) lock all stripes.
+ * <p>
+ * With snapshot iteration each stripe also keeps an immutable persistent map of its contents, updated by writers under
+ * the stripe lock. Readers of the whole cache (snapshot, readAll, keySet, entrySet) then take a consistent view in
+ * O(stripes) and iterate it without holding any lock, at the cost of O(log n) extra allocation per write.
+ */
+public final class Concurrency {
+    private static final Concurrency single = new Concurrency(1, false);
+
+    private final int stripes;
+    private final boolean isSnapshotIteration;
+
+    private Concurrency(int stripes, boolean isSnapshotIteration) {
+        Validate.assertTrue(stripes > 0);
+
+        this.stripes = stripes;
+        this.isSnapshotIteration = isSnapshotIteration;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public boolean isStriped() {
+        return stripes > 1;
+    }
+
+    public boolean isSnapshotIteration() {
+        return isSnapshotIteration;
+    }
+
+    /**
+     * @return same striping, with whole-cache reads served from lock-free snapshots
+     */
+    public Concurrency withSnapshotIteration() {
+        return new Concurrency(stripes, true);
+    }
+
+    // --------------------------------------------
+    // Convenience factories
+    // --------------------------------------------
+
+    public static Concurrency single() {
+        return single;
+    }
+
+    /**
+     * @param stripes requested number of stripes, rounded up to nearest power of two
+     */
+    public static Concurrency striped(int stripes) {
+        Validate.assertTrue(stripes > 0);
+        int powerOfTwo = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        return powerOfTwo == 1 ? single : new Concurrency(powerOfTwo, false);
+    }
+
+    public static Concurrency stripedByAvailableProcessors() {
+        return striped(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @Override
+    public String toString() {
+        return "Concurrency{" +
+                "stripes=" + stripes +
+                ", isSnapshotIteration=" + isSnapshotIteration +
+                '}';
+    }
+
+    @SuppressWarnings("ControlFlowStatementWithoutBraces")
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Concurrency)) return false;
+        Concurrency that = (Concurrency) o;
+        return stripes == that.stripes &&
+                isSnapshotIteration == that.isSnapshotIteration;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stripes, isSnapshotIteration);
+    }
+}
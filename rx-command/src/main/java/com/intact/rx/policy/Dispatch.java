@@ -0,0 +1,116 @@
+package com.intact.rx.policy;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.templates.Validate;
+
+/**
+ * Delivery of cache changes to selections, transformations and observers.
+ * <p>
+ * Synchronous delivery runs on the writing thread. Asynchronous delivery appends each change to a bounded ring buffer
+ * per cache, drained in order by the cache dispatch thread pool as batches of at most maxBatchSize changes. A pending
+ * change of a key that is modified again is updated to the latest value (last write wins), so observers may not see
+ * every intermediate value. The overflow policy decides what a writer does when the ring buffer is full.
+ */
+public final class Dispatch {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    public enum Overflow {
+        /**
+         * Writer waits until the dispatcher frees space. Writes from observer callbacks coalesce instead.
+         */
+        BLOCK,
+        /**
+         * Oldest pending change is discarded.
+         */
+        DROP_OLDEST,
+        /**
+         * Changes are folded into the latest change per key until the ring buffer has space, memory is bounded by the
+         * number of keys.
+         */
+        COALESCE,
+    }
+
+    private static final Dispatch synchronous = new Dispatch(false, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, Overflow.BLOCK);
+
+    private final boolean isAsynchronous;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final Overflow overflow;
+
+    private Dispatch(boolean isAsynchronous, int capacity, int maxBatchSize, Overflow overflow) {
+        Validate.assertTrue(capacity > 0);
+        Validate.assertTrue(maxBatchSize > 0);
+
+        this.isAsynchronous = isAsynchronous;
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.overflow = requireNonNull(overflow);
+    }
+
+    public boolean isAsynchronous() {
+        return isAsynchronous;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    // --------------------------------------------
+    // Convenience factories
+    // --------------------------------------------
+
+    public static Dispatch synchronous() {
+        return synchronous;
+    }
+
+    public static Dispatch asynchronous() {
+        return asynchronous(Overflow.COALESCE);
+    }
+
+    public static Dispatch asynchronous(Overflow overflow) {
+        return create(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, overflow);
+    }
+
+    public static Dispatch create(int capacity, int maxBatchSize, Overflow overflow) {
+        return new Dispatch(true, capacity, maxBatchSize, overflow);
+    }
+
+    @Override
+    public String toString() {
+        return "Dispatch{" +
+                "isAsynchronous=" + isAsynchronous +
+                ", capacity=" + capacity +
+                ", maxBatchSize=" + maxBatchSize +
+                ", overflow=" + overflow +
+                '}';
+    }
+
+    @SuppressWarnings("ControlFlowStatementWithoutBraces")
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Dispatch)) return false;
+        Dispatch dispatch = (Dispatch) o;
+        return isAsynchronous == dispatch.isAsynchronous &&
+                capacity == dispatch.capacity &&
+                maxBatchSize == dispatch.maxBatchSize &&
+                overflow == dispatch.overflow;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isAsynchronous, capacity, maxBatchSize, overflow);
+    }
+}
@@ -0,0 +1,132 @@
+package com.intact.rx.policy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.api.cache.ValueCodec;
+import com.intact.rx.templates.Validate;
+
+/**
+ * Durability of cached (key, value) pairs across restarts.
+ * <p>
+ * With a write-ahead log every change of the cache appends a record to a segmented log in the directory, one
+ * subdirectory level per domain, master and data cache id. Records are written and synced by a background thread once
+ * per group commit interval, so writers never wait for the disk and a crash loses at most the last interval. On
+ * creation the cache replays the log, and the log is periodically compacted into a single segment holding the current
+ * contents. Replayed entries start a new Lifetime.
+ */
+public final class Durability {
+    public static final Duration DEFAULT_GROUP_COMMIT_INTERVAL = Duration.ofMillis(10);
+    public static final long DEFAULT_SEGMENT_SIZE_BYTES = 64L << 20;
+    public static final int DEFAULT_COMPACT_AFTER_SEGMENTS = 4;
+
+    private static final Durability none = new Durability(null, DEFAULT_GROUP_COMMIT_INTERVAL, false, DEFAULT_SEGMENT_SIZE_BYTES, DEFAULT_COMPACT_AFTER_SEGMENTS, null);
+
+    private final Path directory;
+    private final Duration groupCommitInterval;
+    private final boolean isSync;
+    private final long segmentSizeBytes;
+    private final int compactAfterSegments;
+    private final ValueCodec<Object> codec;
+
+    private Durability(Path directory, Duration groupCommitInterval, boolean isSync, long segmentSizeBytes, int compactAfterSegments, ValueCodec<Object> codec) {
+        Validate.assertTrue(!groupCommitInterval.isNegative() && !groupCommitInterval.isZero());
+        Validate.assertTrue(segmentSizeBytes > 0);
+        Validate.assertTrue(compactAfterSegments > 0);
+
+        this.directory = directory;
+        this.groupCommitInterval = requireNonNull(groupCommitInterval);
+        this.isSync = isSync;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.compactAfterSegments = compactAfterSegments;
+        this.codec = codec;
+    }
+
+    public boolean isWriteAheadLog() {
+        return directory != null;
+    }
+
+    public Optional<Path> getDirectory() {
+        return Optional.ofNullable(directory);
+    }
+
+    public Duration getGroupCommitInterval() {
+        return groupCommitInterval;
+    }
+
+    /**
+     * @return true if each group commit is forced to disk (fsync), false to leave it to the operating system
+     */
+    public boolean isSync() {
+        return isSync;
+    }
+
+    public long getSegmentSizeBytes() {
+        return segmentSizeBytes;
+    }
+
+    /**
+     * @return number of full segments after which the log is compacted
+     */
+    public int getCompactAfterSegments() {
+        return compactAfterSegments;
+    }
+
+    public Optional<ValueCodec<Object>> getCodec() {
+        return Optional.ofNullable(codec);
+    }
+
+    // --------------------------------------------
+    // Convenience factories
+    // --------------------------------------------
+
+    public static Durability none() {
+        return none;
+    }
+
+    public static Durability writeAheadLog(Path directory) {
+        return writeAheadLog(directory, DEFAULT_GROUP_COMMIT_INTERVAL, true);
+    }
+
+    public static Durability writeAheadLog(Path directory, Duration groupCommitInterval, boolean isSync) {
+        return create(directory, groupCommitInterval, isSync, DEFAULT_SEGMENT_SIZE_BYTES, DEFAULT_COMPACT_AFTER_SEGMENTS, ValueCodec.javaSerialization());
+    }
+
+    public static Durability create(Path directory, Duration groupCommitInterval, boolean isSync, long segmentSizeBytes, int compactAfterSegments, ValueCodec<Object> codec) {
+        return new Durability(requireNonNull(directory), groupCommitInterval, isSync, segmentSizeBytes, compactAfterSegments, requireNonNull(codec));
+    }
+
+    @Override
+    public String toString() {
+        return "Durability{" +
+                "directory=" + directory +
+                ", groupCommitInterval=" + groupCommitInterval +
+                ", isSync=" + isSync +
+                ", segmentSizeBytes=" + segmentSizeBytes +
+                ", compactAfterSegments=" + compactAfterSegments +
+                '}';
+    }
+
+    @SuppressWarnings("ControlFlowStatementWithoutBraces")
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Durability)) return false;
+        Durability that = (Durability) o;
+        return isSync == that.isSync &&
+                segmentSizeBytes == that.segmentSizeBytes &&
+                compactAfterSegments == that.compactAfterSegments &&
+                Objects.equals(directory, that.directory) &&
+                Objects.equals(groupCommitInterval, that.groupCommitInterval) &&
+                Objects.equals(codec, that.codec);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(directory, groupCommitInterval, isSync, segmentSizeBytes, compactAfterSegments, codec);
+    }
+}
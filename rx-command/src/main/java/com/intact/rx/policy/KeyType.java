@@ -0,0 +1,10 @@
+package com.intact.rx.policy;
+
+/**
+ * Key representation of a cache. LONG keeps primitive long keys in an open addressing table, without boxed keys and
+ * hash map entries, and requires all keys to be of type Long.
+ */
+public enum KeyType {
+    OBJECT,
+    LONG,
+}
@@ -1,7 +1,9 @@
 package com.intact.rx.policy;
 
 import java.util.Objects;
+import java.util.Optional;
 
+import com.intact.rx.api.cache.ValueDelta;
 import com.intact.rx.templates.Validate;
 
 public final class MementoPolicy {
@@ -9,13 +11,22 @@ public final class MementoPolicy {
 
     private final int undoDepth;
     private final int redoDepth;
+    private final ValueDelta<?, ?> delta;
 
     public MementoPolicy(int undoDepth, int redoDepth) {
+        this(undoDepth, redoDepth, null);
+    }
+
+    /**
+     * @param delta to keep the history of values as deltas, e.g., for large values with small changes
+     */
+    public MementoPolicy(int undoDepth, int redoDepth, ValueDelta<?, ?> delta) {
         Validate.assertTrue(undoDepth >= 0);
         Validate.assertTrue(redoDepth >= 0);
 
         this.undoDepth = undoDepth;
         this.redoDepth = redoDepth;
+        this.delta = delta;
     }
 
     public boolean isAnyDepth() {
@@ -30,11 +41,16 @@ public final class MementoPolicy {
         return redoDepth;
     }
 
+    public Optional<ValueDelta<?, ?>> getDelta() {
+        return Optional.ofNullable(delta);
+    }
+
     @Override
     public String toString() {
         return "MementoPolicy{" +
                 "undoDepth=" + undoDepth +
                 ", redoDepth=" + redoDepth +
+                ", delta=" + delta +
                 '}';
     }
 
@@ -45,11 +61,12 @@ public final class MementoPolicy {
         if (!(o instanceof MementoPolicy)) return false;
         MementoPolicy that = (MementoPolicy) o;
         return undoDepth == that.undoDepth &&
-                redoDepth == that.redoDepth;
+                redoDepth == that.redoDepth &&
+                Objects.equals(delta, that.delta);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(undoDepth, redoDepth);
+        return Objects.hash(undoDepth, redoDepth, delta);
     }
 }
@@ -0,0 +1,99 @@
+package com.intact.rx.policy;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.api.cache.ValueCodec;
+import com.intact.rx.templates.Validate;
+
+/**
+ * Storage of cached values outside the Java heap.
+ * <p>
+ * When enabled the values are encoded by the codec into direct ByteBuffer slabs and only the keys and the slab offsets
+ * stay on heap. A read decodes the value, the hot tier keeps a small direct-mapped table of recently decoded values on
+ * heap to avoid decoding hot entries on every read. Object level undo/redo history is not kept off heap.
+ */
+public final class OffHeap {
+    public static final int DEFAULT_SLAB_SIZE_BYTES = 1 << 20;
+
+    private static final OffHeap none = new OffHeap(null, DEFAULT_SLAB_SIZE_BYTES, 0);
+
+    private final ValueCodec<?> codec;
+    private final int slabSizeBytes;
+    private final int hotTierSize;
+
+    private OffHeap(ValueCodec<?> codec, int slabSizeBytes, int hotTierSize) {
+        Validate.assertTrue(slabSizeBytes > 0);
+        Validate.assertTrue(hotTierSize >= 0);
+
+        this.codec = codec;
+        this.slabSizeBytes = slabSizeBytes;
+        this.hotTierSize = hotTierSize;
+    }
+
+    public boolean isEnabled() {
+        return codec != null;
+    }
+
+    public Optional<ValueCodec<?>> getCodec() {
+        return Optional.ofNullable(codec);
+    }
+
+    public int getSlabSizeBytes() {
+        return slabSizeBytes;
+    }
+
+    /**
+     * @return maximum number of decoded values kept on heap, 0 to decode on every read
+     */
+    public int getHotTierSize() {
+        return hotTierSize;
+    }
+
+    // --------------------------------------------
+    // Convenience factories
+    // --------------------------------------------
+
+    public static OffHeap none() {
+        return none;
+    }
+
+    public static OffHeap withCodec(ValueCodec<?> codec) {
+        return new OffHeap(requireNonNull(codec), DEFAULT_SLAB_SIZE_BYTES, 0);
+    }
+
+    public static OffHeap withCodecAndHotTier(ValueCodec<?> codec, int hotTierSize) {
+        return new OffHeap(requireNonNull(codec), DEFAULT_SLAB_SIZE_BYTES, hotTierSize);
+    }
+
+    public static OffHeap create(ValueCodec<?> codec, int slabSizeBytes, int hotTierSize) {
+        return new OffHeap(requireNonNull(codec), slabSizeBytes, hotTierSize);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeap{" +
+                "codec=" + codec +
+                ", slabSizeBytes=" + slabSizeBytes +
+                ", hotTierSize=" + hotTierSize +
+                '}';
+    }
+
+    @SuppressWarnings("ControlFlowStatementWithoutBraces")
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OffHeap)) return false;
+        OffHeap that = (OffHeap) o;
+        return slabSizeBytes == that.slabSizeBytes &&
+                hotTierSize == that.hotTierSize &&
+                Objects.equals(codec, that.codec);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(codec, slabSizeBytes, hotTierSize);
+    }
+}
@@ -0,0 +1,101 @@
+package com.intact.rx.policy;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.templates.Validate;
+
+/**
+ * Reload of cached values ahead of expiry, see ActPolicy.refreshAhead.
+ * <p>
+ * The lifetime of a cached value ends with the stale grace period, the part before it is the fresh lifetime. A read of a
+ * value past the refresh fraction of its fresh lifetime starts a reload in the background and returns the current value
+ * until the reload writes a new one. A stale value is served the same way, without waiting for the reload, and remains
+ * served while reloading fails, e.g., while the backend is down, until its lifetime ends.
+ */
+public final class RefreshAhead {
+    private static final RefreshAhead no = new RefreshAhead(false, 1.0, Duration.ZERO);
+
+    private final boolean isRefreshAhead;
+    private final double refreshFraction;
+    private final Duration staleGracePeriod;
+
+    private RefreshAhead(boolean isRefreshAhead, double refreshFraction, Duration staleGracePeriod) {
+        Validate.assertTrue(refreshFraction > 0.0 && refreshFraction <= 1.0);
+        Validate.assertTrue(!staleGracePeriod.isNegative());
+
+        this.isRefreshAhead = isRefreshAhead;
+        this.refreshFraction = refreshFraction;
+        this.staleGracePeriod = requireNonNull(staleGracePeriod);
+    }
+
+    public boolean isRefreshAhead() {
+        return isRefreshAhead;
+    }
+
+    /**
+     * @return fraction of the fresh lifetime after which a read starts a reload
+     */
+    public double getRefreshFraction() {
+        return refreshFraction;
+    }
+
+    public Duration getStaleGracePeriod() {
+        return staleGracePeriod;
+    }
+
+    /**
+     * @param lifetime of cached values
+     * @return lifetime before the stale grace period
+     */
+    public long freshMillis(Lifetime lifetime) {
+        return Math.max(0, lifetime.inMillis() - staleGracePeriod.toMillis());
+    }
+
+    /**
+     * @param lifetime of cached values
+     * @return age after which a read starts a reload
+     */
+    public long refreshAfterMillis(Lifetime lifetime) {
+        return (long) (freshMillis(lifetime) * refreshFraction);
+    }
+
+    // --------------------------------------------
+    // Convenience factories
+    // --------------------------------------------
+
+    public static RefreshAhead no() {
+        return no;
+    }
+
+    public static RefreshAhead create(double refreshFraction, Duration staleGracePeriod) {
+        return new RefreshAhead(true, refreshFraction, staleGracePeriod);
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshAhead{" +
+                "isRefreshAhead=" + isRefreshAhead +
+                ", refreshFraction=" + refreshFraction +
+                ", staleGracePeriod=" + staleGracePeriod +
+                '}';
+    }
+
+    @SuppressWarnings("ControlFlowStatementWithoutBraces")
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RefreshAhead)) return false;
+        RefreshAhead that = (RefreshAhead) o;
+        return isRefreshAhead == that.isRefreshAhead &&
+                Double.compare(refreshFraction, that.refreshFraction) == 0 &&
+                Objects.equals(staleGracePeriod, that.staleGracePeriod);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isRefreshAhead, refreshFraction, staleGracePeriod);
+    }
+}
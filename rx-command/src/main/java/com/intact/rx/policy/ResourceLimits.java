@@ -6,6 +6,7 @@ import com.intact.rx.templates.Validate;
 
 public final class ResourceLimits {
     private static final ResourceLimits unlimited = new ResourceLimits(Long.MAX_VALUE, Type.Soft);
+    private static final long UNLIMITED_WEIGHT = Long.MAX_VALUE;
 
     public enum Type {
         Hard,
@@ -13,12 +14,22 @@ public final class ResourceLimits {
     }
 
     private final long maxSamples;
+    private final long maxWeight;
     private final Type type;
 
     public ResourceLimits(long maxSamples, Type type) {
+        this(maxSamples, UNLIMITED_WEIGHT, type);
+    }
+
+    /**
+     * @param maxWeight maximum total weight of the cached values as computed by the cache's Weigher
+     */
+    public ResourceLimits(long maxSamples, long maxWeight, Type type) {
         Validate.assertTrue(maxSamples > 0);
+        Validate.assertTrue(maxWeight > 0);
 
         this.maxSamples = maxSamples;
+        this.maxWeight = maxWeight;
         this.type = type;
     }
 
@@ -30,6 +41,14 @@ public final class ResourceLimits {
         return new ResourceLimits(maxSamples, Type.Hard);
     }
 
+    public static ResourceLimits maxWeightSoft(long maxWeight) {
+        return new ResourceLimits(Long.MAX_VALUE, maxWeight, Type.Soft);
+    }
+
+    public static ResourceLimits maxWeightHard(long maxWeight) {
+        return new ResourceLimits(Long.MAX_VALUE, maxWeight, Type.Hard);
+    }
+
     public static ResourceLimits unlimited() {
         return unlimited;
     }
@@ -38,6 +57,14 @@ public final class ResourceLimits {
         return maxSamples;
     }
 
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public boolean isWeightLimited() {
+        return maxWeight != UNLIMITED_WEIGHT;
+    }
+
     public boolean isHard() {
         return Objects.equals(type, Type.Hard);
     }
@@ -46,6 +73,7 @@ public final class ResourceLimits {
     public String toString() {
         return "ResourceLimits{" +
                 "maxSamples=" + maxSamples +
+                ", maxWeight=" + maxWeight +
                 ", type=" + type +
                 '}';
     }
@@ -57,11 +85,12 @@ public final class ResourceLimits {
         if (!(o instanceof ResourceLimits)) return false;
         ResourceLimits that = (ResourceLimits) o;
         return maxSamples == that.maxSamples &&
+                maxWeight == that.maxWeight &&
                 type == that.type;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(maxSamples, type);
+        return Objects.hash(maxSamples, maxWeight, type);
     }
 }
@@ -0,0 +1,72 @@
+package com.intact.rx.templates;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.templates.api.Ticker;
+
+import static com.intact.rx.templates.Validate.assertTrue;
+
+/**
+ * Coarse ticker where a background daemon thread refreshes a volatile timestamp at a fixed resolution. Reading the time
+ * is a single volatile load, at the cost of being up to one resolution behind the wall clock.
+ */
+public final class CachedTicker implements Ticker {
+    private final long resolutionNanos;
+    private final Thread updater;
+    private volatile long currentMs;
+    private volatile boolean running;
+
+    private CachedTicker(Duration resolution) {
+        requireNonNull(resolution);
+        assertTrue(!resolution.isNegative() && !resolution.isZero());
+
+        this.resolutionNanos = resolution.toNanos();
+        this.currentMs = System.currentTimeMillis();
+        this.running = true;
+        this.updater = new Thread(this::run, "rx-ticker");
+        this.updater.setDaemon(true);
+    }
+
+    public static CachedTicker withResolution(Duration resolution) {
+        CachedTicker ticker = new CachedTicker(resolution);
+        ticker.updater.start();
+        return ticker;
+    }
+
+    public static CachedTicker withMillisResolution() {
+        return withResolution(Duration.ofMillis(1));
+    }
+
+    @Override
+    public long millis() {
+        return currentMs;
+    }
+
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(updater);
+    }
+
+    public boolean isRunning() {
+        return running && updater.isAlive();
+    }
+
+    private void run() {
+        while (running) {
+            currentMs = System.currentTimeMillis();
+            LockSupport.parkNanos(this, resolutionNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachedTicker{" +
+                "resolutionMs=" + TimeUnit.NANOSECONDS.toMillis(resolutionNanos) +
+                ", running=" + running +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.intact.rx.templates;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+import com.intact.rx.templates.api.Ticker;
+
+import static com.intact.rx.templates.Validate.assertTrue;
+
+/**
+ * Ticker that only moves when told to. Used to run expiry, interval and rate limit scenarios deterministically.
+ */
+public final class ManualTicker implements Ticker {
+    private final AtomicLong currentMs;
+
+    private ManualTicker(long startMs) {
+        this.currentMs = new AtomicLong(startMs);
+    }
+
+    public static ManualTicker startingNow() {
+        return new ManualTicker(System.currentTimeMillis());
+    }
+
+    public static ManualTicker startingAt(long startMs) {
+        return new ManualTicker(startMs);
+    }
+
+    @Override
+    public long millis() {
+        return currentMs.get();
+    }
+
+    public ManualTicker advance(Duration duration) {
+        requireNonNull(duration);
+        assertTrue(!duration.isNegative());
+
+        currentMs.addAndGet(duration.toMillis());
+        return this;
+    }
+
+    public ManualTicker set(long millis) {
+        currentMs.set(millis);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ManualTicker{" +
+                "currentMs=" + currentMs +
+                '}';
+    }
+}
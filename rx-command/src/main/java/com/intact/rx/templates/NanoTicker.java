@@ -0,0 +1,35 @@
+package com.intact.rx.templates;
+
+import com.intact.rx.templates.api.Ticker;
+
+/**
+ * Monotonic ticker based on System.nanoTime() anchored to the wall clock at creation. Never moves backwards on wall
+ * clock adjustments.
+ */
+public final class NanoTicker implements Ticker {
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private final long originMs;
+    private final long originNanos;
+
+    private NanoTicker() {
+        this.originMs = System.currentTimeMillis();
+        this.originNanos = System.nanoTime();
+    }
+
+    public static NanoTicker create() {
+        return new NanoTicker();
+    }
+
+    @Override
+    public long millis() {
+        return originMs + (System.nanoTime() - originNanos) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String toString() {
+        return "NanoTicker{" +
+                "originMs=" + originMs +
+                '}';
+    }
+}
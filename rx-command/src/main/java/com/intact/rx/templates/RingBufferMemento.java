@@ -0,0 +1,278 @@
+package com.intact.rx.templates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import com.intact.rx.api.cache.ValueDelta;
+import com.intact.rx.templates.api.Memento;
+
+/**
+ * Memento with undo and redo history in fixed size array ring buffers. A write stores the previous value in the undo
+ * ring, overwriting the oldest entry when full, so steady state writes do not allocate. Updates are serialized on this
+ * monitor, reads of the current value are lock-free.
+ * <p>
+ * With a {@link ValueDelta} each history entry is the delta from the value above it, the current value for the top
+ * entry. History is then reconstructed by applying the deltas from the current value down.
+ */
+public final class RingBufferMemento<T> implements Memento<T> {
+    private final Ring undos;
+    private final Ring redos;
+    private final ValueDelta<T, Object> delta;
+
+    private volatile T current;
+
+    public RingBufferMemento(int undoDepth, int redoDepth) {
+        this(undoDepth, redoDepth, null);
+    }
+
+    /**
+     * @param delta to store history as deltas, or null to store values
+     */
+    @SuppressWarnings("unchecked")
+    public RingBufferMemento(int undoDepth, int redoDepth, ValueDelta<T, ?> delta) {
+        Validate.assertTrue(undoDepth >= 0);
+        Validate.assertTrue(redoDepth >= 0);
+
+        this.undos = new Ring(undoDepth);
+        this.redos = new Ring(redoDepth);
+        this.delta = (ValueDelta<T, Object>) delta;
+    }
+
+    private RingBufferMemento(RingBufferMemento<T> memento) {
+        this.undos = new Ring(memento.undos);
+        this.redos = new Ring(memento.redos);
+        this.delta = memento.delta;
+        this.current = memento.current;
+    }
+
+    @Override
+    public synchronized Memento<T> copy() {
+        return new RingBufferMemento<>(this);
+    }
+
+    @Override
+    public T get() {
+        return current;
+    }
+
+    @Override
+    public Optional<T> read() {
+        return Optional.ofNullable(current);
+    }
+
+    @Override
+    public synchronized Memento<T> set(T newValue) {
+        T previousCurrent = current;
+        current = newValue;
+        if (previousCurrent != null && undos.hasCapacity()) {
+            undos.push(encode(newValue, previousCurrent));
+        }
+        redos.clear();
+        return this;
+    }
+
+    @Override
+    public synchronized boolean compareAndSet(T expect, T update) {
+        if (current != expect) {
+            return false;
+        }
+        current = update;
+        if (expect != null) {
+            if (undos.hasCapacity()) {
+                undos.push(encode(update, expect));
+            }
+            redos.clear();
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized T getAndSet(T newValue) {
+        T previousCurrent = current;
+        set(newValue);
+        return previousCurrent;
+    }
+
+    @Override
+    public synchronized List<T> undoStack() {
+        return history(undos);
+    }
+
+    @Override
+    public synchronized List<T> redoStack() {
+        return history(redos);
+    }
+
+    /**
+     * Make the top of the undo stack current, or null if the undo stack is empty.
+     */
+    @Override
+    public synchronized Optional<T> undo() {
+        return Optional.ofNullable(move(undos, redos));
+    }
+
+    /**
+     * Make the top of the redo stack current, or null if the redo stack is empty.
+     */
+    @Override
+    public synchronized Optional<T> redo() {
+        return Optional.ofNullable(move(redos, undos));
+    }
+
+    @Override
+    public synchronized Memento<T> clearRedo() {
+        redos.clear();
+        return this;
+    }
+
+    @Override
+    public synchronized Memento<T> clearUndo() {
+        undos.clear();
+        return this;
+    }
+
+    @Override
+    public synchronized Memento<T> clearAll() {
+        undos.clear();
+        redos.clear();
+        current = null;
+        return this;
+    }
+
+    @Override
+    public synchronized boolean isUndoStackEmpty() {
+        return undos.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean isRedoStackEmpty() {
+        return redos.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean isAllEmpty() {
+        return current == null && undos.isEmpty() && redos.isEmpty();
+    }
+
+    // ----------------------------------------------
+    // Private functions
+    // ----------------------------------------------
+
+    private T move(Ring from, Ring to) {
+        T previousCurrent = current;
+        T newCurrent = from.isEmpty() ? null : decode(previousCurrent, from.pop());
+        current = newCurrent;
+        if (previousCurrent != null && to.hasCapacity()) {
+            to.push(encode(newCurrent, previousCurrent));
+        }
+        return newCurrent;
+    }
+
+    private List<T> history(Ring ring) {
+        List<T> values = new ArrayList<>(ring.size);
+        T base = current;
+        for (int i = 0; i < ring.size; i++) {
+            base = decode(base, ring.get(i));
+            values.add(base);
+        }
+        return values;
+    }
+
+    /**
+     * @return entry to reconstruct value from base
+     */
+    private Object encode(T base, T value) {
+        if (delta == null) {
+            return value;
+        }
+        return base != null ? delta.diff(base, value) : new Full(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T decode(T base, Object entry) {
+        if (delta == null) {
+            return (T) entry;
+        }
+        return entry instanceof Full ? (T) ((Full) entry).value : delta.apply(base, entry);
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferMemento{" +
+                "current=" + current +
+                ", undos=" + undos.size +
+                ", redos=" + redos.size +
+                '}';
+    }
+
+    /**
+     * Entry holding a full value, where there is no base value to compute a delta from
+     */
+    private static final class Full {
+        private final Object value;
+
+        private Full(Object value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bounded stack, pushing on a full stack overwrites the bottom entry
+     */
+    private static final class Ring {
+        private final Object[] entries;
+        private int top = -1;
+        private int size;
+
+        private Ring(int capacity) {
+            this.entries = new Object[capacity];
+        }
+
+        private Ring(Ring ring) {
+            this.entries = ring.entries.clone();
+            this.top = ring.top;
+            this.size = ring.size;
+        }
+
+        private boolean hasCapacity() {
+            return entries.length > 0;
+        }
+
+        private void push(Object entry) {
+            top = (top + 1) % entries.length;
+            entries[top] = entry;
+            if (size < entries.length) {
+                ++size;
+            }
+        }
+
+        private Object pop() {
+            Object entry = entries[top];
+            entries[top] = null;
+            top = (top - 1 + entries.length) % entries.length;
+            --size;
+            return entry;
+        }
+
+        /**
+         * @param i 0 for top of stack
+         */
+        private Object get(int i) {
+            return entries[(top - i + entries.length) % entries.length];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void clear() {
+            if (size > 0) {
+                Arrays.fill(entries, null);
+                size = 0;
+                top = -1;
+            }
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.intact.rx.templates;
 import java.time.Duration;
 import java.time.Instant;
 
+import com.intact.rx.api.RxDefault;
+
 @SuppressWarnings({"WeakerAccess", "SynchronizedMethod"})
 public class StatusTracker {
-    private long firstAccess = System.currentTimeMillis();
-    private long mostRecentAccess = System.currentTimeMillis();
+    private long firstAccess = RxDefault.getTicker().millis();
+    private long mostRecentAccess = RxDefault.getTicker().millis();
     private boolean isFirst = true;
     private long totalInstances;
     private long totalSum;
@@ -81,7 +83,7 @@ public class StatusTracker {
         ++totalInstances;
 
         totalSum += num;
-        firstAccess = System.currentTimeMillis();
+        firstAccess = RxDefault.getTicker().millis();
         isFirst = false;
     }
 
@@ -89,14 +91,14 @@ public class StatusTracker {
         ++totalInstances;
 
         totalSum += num;
-        mostRecentAccess = System.currentTimeMillis();
+        mostRecentAccess = RxDefault.getTicker().millis();
     }
 
     private void resetInternal() {
         totalInstances = 0;
         totalSum = 0;
-        firstAccess = System.currentTimeMillis();
-        mostRecentAccess = System.currentTimeMillis();
+        firstAccess = RxDefault.getTicker().millis();
+        mostRecentAccess = RxDefault.getTicker().millis();
         isFirst = true;
     }
 }
@@ -8,6 +8,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
+import com.intact.rx.api.RxDefault;
+
 import static com.intact.rx.templates.Validate.assertTrue;
 
 @SuppressWarnings({"WeakerAccess", "SynchronizedMethod"})
@@ -72,9 +74,10 @@ public class StatusTrackerTimestamped extends StatusTracker {
 
     private long getSumInWindow(long duration) {
         long sum = 0;
+        long currentTimeMs = RxDefault.getTicker().millis();
         for (Map.Entry<Long, Long> entry : timestampedCount.entrySet()) {
             long timestamp = entry.getKey();
-            long sinceStamped = System.currentTimeMillis() - timestamp;
+            long sinceStamped = currentTimeMs - timestamp;
             if (sinceStamped < duration) {
                 sum += entry.getValue();
             } else {
@@ -86,8 +89,9 @@ public class StatusTrackerTimestamped extends StatusTracker {
 
     private long getNumberOfInstancesInWindow(long duration) {
         long counter = 0;
+        long currentTimeMs = RxDefault.getTicker().millis();
         for (long timestamp : timestampedCount.keySet()) {
-            long sinceStamped = System.currentTimeMillis() - timestamp;
+            long sinceStamped = currentTimeMs - timestamp;
             if (sinceStamped < duration) {
                 ++counter;
             } else {
@@ -102,18 +106,19 @@ public class StatusTrackerTimestamped extends StatusTracker {
     // ------------------------------------------------------
 
     private void updateWindow(long windowDuration, long num) {
-        timestampedCount.put(System.currentTimeMillis(), num);
+        long currentTimeMs = RxDefault.getTicker().millis();
+        timestampedCount.put(currentTimeMs, num);
 
-        pruneWindow(windowDuration);
+        pruneWindow(currentTimeMs, windowDuration);
     }
 
-    private void pruneWindow(long windowDuration) {
+    private void pruneWindow(long currentTimeMs, long windowDuration) {
         Collection<Long> keys = new ArrayList<>();
 
         for (Map.Entry<Long, Long> entry : timestampedCount.entrySet()) {
             long timestamp = entry.getKey();
 
-            long sinceStamped = System.currentTimeMillis() - timestamp;
+            long sinceStamped = currentTimeMs - timestamp;
             if (sinceStamped >= windowDuration) {
                 keys.add(timestamp);
             } else {
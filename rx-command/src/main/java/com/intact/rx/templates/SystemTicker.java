@@ -0,0 +1,27 @@
+package com.intact.rx.templates;
+
+import com.intact.rx.templates.api.Ticker;
+
+/**
+ * Ticker reading System.currentTimeMillis() on every call.
+ */
+public final class SystemTicker implements Ticker {
+    private static final SystemTicker instance = new SystemTicker();
+
+    public static SystemTicker instance() {
+        return instance;
+    }
+
+    @Override
+    public long millis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "SystemTicker{}";
+    }
+
+    private SystemTicker() {
+    }
+}
@@ -0,0 +1,116 @@
+package com.intact.rx.templates;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.intact.rx.templates.api.Memento;
+
+/**
+ * Memento without undo/redo history, a single volatile reference. Used in place of MementoReference when the undo depth
+ * is zero, which saves the undo and redo deques and their locks.
+ */
+public final class ValueReference<T> implements Memento<T> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ValueReference, Object> VALUE = AtomicReferenceFieldUpdater.newUpdater(ValueReference.class, Object.class, "value");
+
+    private volatile T value;
+
+    public ValueReference() {
+    }
+
+    private ValueReference(T value) {
+        this.value = value;
+    }
+
+    @Override
+    public Memento<T> copy() {
+        return new ValueReference<>(value);
+    }
+
+    @Override
+    public T get() {
+        return value;
+    }
+
+    @Override
+    public Optional<T> read() {
+        return Optional.ofNullable(value);
+    }
+
+    @Override
+    public boolean compareAndSet(T expect, T update) {
+        return VALUE.compareAndSet(this, expect, update);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T getAndSet(T newValue) {
+        return (T) VALUE.getAndSet(this, newValue);
+    }
+
+    @Override
+    public List<T> undoStack() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<T> redoStack() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Optional<T> undo() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<T> redo() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Memento<T> clearRedo() {
+        return this;
+    }
+
+    @Override
+    public Memento<T> clearUndo() {
+        return this;
+    }
+
+    @Override
+    public Memento<T> clearAll() {
+        value = null;
+        return this;
+    }
+
+    @Override
+    public Memento<T> set(T newValue) {
+        value = newValue;
+        return this;
+    }
+
+    @Override
+    public boolean isUndoStackEmpty() {
+        return true;
+    }
+
+    @Override
+    public boolean isRedoStackEmpty() {
+        return true;
+    }
+
+    @Override
+    public boolean isAllEmpty() {
+        return value == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ValueReference{" +
+                "value=" + value +
+                '}';
+    }
+}
@@ -0,0 +1,11 @@
+package com.intact.rx.templates.api;
+
+/**
+ * Source of wall clock time in milliseconds used by rx for access, execution and circuit timing.
+ * <p>
+ * Implementations must return milliseconds since epoch so timestamps can be compared and formatted across components.
+ */
+@FunctionalInterface
+public interface Ticker {
+    long millis();
+}
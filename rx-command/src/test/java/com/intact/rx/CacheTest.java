@@ -1,14 +1,61 @@
 package com.intact.rx;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import com.intact.rx.api.RxDefault;
 import com.intact.rx.api.cache.*;
+import com.intact.rx.api.cache.observer.ObjectObserver;
+import com.intact.rx.core.cache.data.CacheMaster;
+import com.intact.rx.core.cache.data.DataCache;
+import com.intact.rx.core.cache.data.ObjectRoot;
+import com.intact.rx.core.cache.data.context.CacheMasterPolicy;
+import com.intact.rx.core.cache.data.context.DataCachePolicy;
+import com.intact.rx.core.cache.data.context.ObjectRootPolicy;
+import com.intact.rx.core.cache.data.context.OffHeapValueReference;
+import com.intact.rx.core.cache.data.context.OffHeapValueStore;
 import com.intact.rx.core.cache.data.id.DataCacheId;
 import com.intact.rx.core.cache.data.id.MasterCacheId;
+import com.intact.rx.core.cache.factory.DataCachePolicyBuilder;
+import com.intact.rx.core.cache.status.AccessCount;
+import com.intact.rx.core.cache.strategy.CacheCleanupAlgorithms;
+import com.intact.rx.policy.Concurrency;
+import com.intact.rx.policy.Dispatch;
+import com.intact.rx.policy.Durability;
+import com.intact.rx.policy.Lifetime;
+import com.intact.rx.policy.OffHeap;
+import com.intact.rx.policy.ResourceLimits;
 import com.intact.rx.testdata.cache.SimpleCacheObserver;
 import com.intact.rx.testdata.cache.StringObjectObserver;
+import com.intact.rx.templates.ManualTicker;
+import com.intact.rx.templates.api.Ticker;
 import com.intact.rx.testdata.command.Result;
 
 import static com.intact.rx.api.RxDefault.getDefaultCachePolicy;
@@ -122,4 +169,1082 @@ class CacheTest {
         assertTrue(!cache2.isExpired());
     }
 
+    @Test
+    void testDataCacheRebindsWhenObjectCachesChange() {
+        final MasterCacheId masterCacheId = MasterCacheId.uuid();
+        final CacheHandle strings = CacheHandle.create(getDefaultDomainCacheId(), masterCacheId, String.class);
+        final CacheHandle integers = CacheHandle.create(getDefaultDomainCacheId(), masterCacheId, Integer.class);
+        final DataCache<Integer, String> stringCache = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(strings, getDefaultCachePolicy());
+        final DataCache<Integer, Integer> integerCache = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(integers, getDefaultCachePolicy());
+        final CacheMaster master = RxCacheAccess.defaultCacheFactory().findCacheMaster(masterCacheId);
+        stringCache.write(1, "first");
+        integerCache.write(1, 1);
+
+        // Removing an object cache advances the master epoch, the other DataCache rebinds to its unchanged ObjectCache
+        assertTrue(master.removeDataCache(strings.getDataCacheId()));
+        assertEquals(Optional.of(1), integerCache.read(1));
+        integerCache.write(2, 2);
+        assertEquals(2, integerCache.size());
+
+        // The removed DataCache falls back to no access without creating an object cache in the master
+        assertTrue(stringCache.isExpired());
+        assertEquals(Optional.empty(), stringCache.read(1));
+        stringCache.write(2, "second");
+        assertTrue(stringCache.isEmpty());
+        assertFalse(master.state().getObjectCaches().containsKey(strings.getDataCacheId()));
+
+        // A DataCache created anew binds to a new ObjectCache
+        final DataCache<Integer, String> recreated = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(strings, getDefaultCachePolicy());
+        assertNotSame(stringCache, recreated);
+        assertTrue(recreated.isEmpty());
+        recreated.write(1, "again");
+        assertEquals(Optional.of("again"), recreated.read(1));
+        assertEquals(Optional.empty(), stringCache.read(1));
+
+        // An expired master leaves every DataCache without access, also to values written before
+        assertTrue(master.setExpired());
+        assertTrue(integerCache.isExpired());
+        assertEquals(Optional.empty(), integerCache.read(1));
+        integerCache.write(3, 3);
+        assertTrue(integerCache.isEmpty());
+        assertTrue(integerCache.getRoots().isEmpty());
+        assertEquals(Optional.empty(), recreated.read(1));
+    }
+
+    @Test
+    void testStripedCacheConcurrentWriters() throws InterruptedException {
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withConcurrency(Concurrency.striped(8)).build());
+        final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), cachePolicy);
+
+        final int numThreads = 4;
+        final int numKeysPerThread = 1000;
+
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            final int offset = t * numKeysPerThread;
+            writers.add(new Thread(() -> {
+                for (int i = offset; i < offset + numKeysPerThread; i++) {
+                    cache.write(i, i);
+                    cache.computeIfAbsent(i, key -> -1);
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(numThreads * numKeysPerThread, cache.size());
+        assertEquals(numThreads * numKeysPerThread, cache.keySet().size());
+        assertEquals(Integer.valueOf(42), cache.read(42).orElse(null));
+
+        cache.take(42);
+        assertEquals(numThreads * numKeysPerThread - 1, cache.size());
+        assertFalse(cache.containsKey(42));
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testAccessCountsUnderConcurrentReadersAndWriters() throws InterruptedException {
+        final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.unlimitedForever()));
+        dataCache.write(1, -1);
+        final AccessCount before = dataCache.getRoots().get(0).getStatus().getCount().copy();
+
+        final int numThreads = 4;
+        final int numAccessesPerThread = 20_000;
+        final AtomicInteger numDecreasing = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            final int offset = t * numAccessesPerThread;
+            threads.add(new Thread(() -> {
+                long previous = 0;
+                for (int i = 0; i < numAccessesPerThread; i++) {
+                    dataCache.read(1);
+                    long readCount = dataCache.getRoots().get(0).getStatus().getCount().getReadCount();
+                    if (readCount < previous) {
+                        numDecreasing.incrementAndGet();
+                    }
+                    previous = readCount;
+                }
+            }));
+            // Note: values never repeat, so every write modifies the value
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < offset + numAccessesPerThread; i++) {
+                    dataCache.write(1, i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final AccessCount after = dataCache.getRoots().get(0).getStatus().getCount();
+        assertEquals(0, numDecreasing.get());
+        assertEquals((long) numThreads * numAccessesPerThread, after.getReadCount() - before.getReadCount());
+        assertEquals((long) numThreads * numAccessesPerThread, after.getModifiedCount() - before.getModifiedCount());
+        assertEquals(after.getReadCount() + after.getModifiedCount(), after.getTotalCount());
+    }
+
+    @Test
+    void testHardSampleLimitHoldsAcrossStripes() throws InterruptedException {
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.maxSamplesHard(100), Lifetime.forever())).withConcurrency(Concurrency.striped(8)).build());
+        final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), cachePolicy);
+
+        final AtomicInteger numRejected = new AtomicInteger();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int offset = t * 1000;
+            writers.add(new Thread(() -> {
+                for (int i = offset; i < offset + 1000; i++) {
+                    try {
+                        cache.write(i, i);
+                    } catch (IllegalStateException e) {
+                        numRejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(99, cache.size());
+        assertEquals(99, cache.keySet().size());
+        assertEquals(8000 - 99, numRejected.get());
+    }
+
+    @Test
+    void testObjectLifetimeWithManualTicker() {
+        final Ticker previous = RxDefault.getTicker();
+        final ManualTicker ticker = ManualTicker.startingNow();
+        RxDefault.setTicker(ticker);
+        try {
+            final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.ofSeconds(10)));
+            final RxCache<Integer, String> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class), cachePolicy);
+            cache.write(1, "first");
+
+            ticker.advance(Duration.ofSeconds(9));
+            assertEquals("first", cache.read(1).orElse(null));
+
+            ticker.advance(Duration.ofSeconds(2));
+            assertFalse(cache.read(1).isPresent());
+        } finally {
+            RxDefault.setTicker(previous);
+        }
+    }
+
+    @Test
+    void testEntrySetAndKeySetSkipExpiredRoots() {
+        final Ticker previous = RxDefault.getTicker();
+        final ManualTicker ticker = ManualTicker.startingNow();
+        RxDefault.setTicker(ticker);
+        try {
+            for (Concurrency concurrency : Arrays.asList(Concurrency.striped(4), Concurrency.striped(4).withSnapshotIteration())) {
+                final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.ofSeconds(10))).withConcurrency(concurrency).build();
+                final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                        .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+                IntStream.range(0, 50).forEach(i -> dataCache.write(i, i));
+                ticker.advance(Duration.ofSeconds(6));
+                IntStream.range(50, 100).forEach(i -> dataCache.write(i, i));
+                ticker.advance(Duration.ofSeconds(6));
+
+                final Set<Integer> live = IntStream.range(50, 100).boxed().collect(Collectors.toSet());
+                assertEquals(live, dataCache.keySet());
+                assertEquals(live, dataCache.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+                dataCache.entrySet().forEach(entry -> assertEquals(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            RxDefault.setTicker(previous);
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvictionKeepsReferenced() {
+        final DataCachePolicy dataCachePolicy = DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.maxSamplesSoft(4), Lifetime.forever());
+        final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+        for (int i = 0; i < 10; i++) {
+            dataCache.write(i, i);
+        }
+        dataCache.read(0);
+        dataCache.read(1);
+
+        assertTrue(CacheCleanupAlgorithms.defaultCacheCleanup(dataCachePolicy, dataCache));
+        assertEquals(4, dataCache.size());
+        assertTrue(dataCache.containsKey(0));
+        assertTrue(dataCache.containsKey(1));
+        assertTrue(dataCache.containsKey(9));
+        assertFalse(dataCache.containsKey(2));
+    }
+
+    @Test
+    void testWindowTinyLfuKeepsHotSetUnderScan() {
+        final DataCachePolicy dataCachePolicy = DataCachePolicy.windowTinyLfuAnd(ResourceLimits.maxSamplesSoft(100), Lifetime.forever());
+        final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+        for (int i = 0; i < 50; i++) {
+            dataCache.write(i, i);
+        }
+        for (int n = 0; n < 5; n++) {
+            for (int i = 0; i < 50; i++) {
+                dataCache.read(i);
+            }
+        }
+
+        // Note: one-time scan of keys never read again
+        for (int i = 1000; i < 2000; i++) {
+            dataCache.write(i, i);
+        }
+
+        assertTrue(CacheCleanupAlgorithms.defaultCacheCleanup(dataCachePolicy, dataCache));
+        assertEquals(100, dataCache.size());
+        for (int i = 0; i < 50; i++) {
+            assertTrue(dataCache.containsKey(i), "Hot key evicted " + i);
+        }
+    }
+
+    @Test
+    void testExpiryWheelTakesOnlyDueEntries() {
+        final Ticker previous = RxDefault.getTicker();
+        final ManualTicker ticker = ManualTicker.startingNow();
+        RxDefault.setTicker(ticker);
+        try {
+            final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.ofSeconds(10))).withConcurrency(Concurrency.striped(4)).build();
+            final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                    .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+            for (int i = 0; i < 100; i++) {
+                dataCache.write(i, i);
+            }
+            ticker.advance(Duration.ofSeconds(5));
+            for (int i = 100; i < 200; i++) {
+                dataCache.write(i, i);
+            }
+
+            ticker.advance(Duration.ofSeconds(6));
+            assertEquals(100, dataCache.takeExpired().size());
+            assertEquals(100, dataCache.size());
+            assertTrue(dataCache.containsKey(150));
+
+            ticker.advance(Duration.ofSeconds(6));
+            assertEquals(100, dataCache.takeExpired().size());
+            assertTrue(dataCache.isEmpty());
+        } finally {
+            RxDefault.setTicker(previous);
+        }
+    }
+
+    @Test
+    void testExpiryWheelTakesExplicitlyExpiredRootsImmediately() {
+        final Ticker previous = RxDefault.getTicker();
+        final ManualTicker ticker = ManualTicker.startingNow();
+        RxDefault.setTicker(ticker);
+        try {
+            final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.ofSeconds(10))).withConcurrency(Concurrency.striped(4)).build();
+            final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                    .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+            for (int i = 0; i < 10; i++) {
+                dataCache.write(i, i);
+            }
+            final ObjectRoot<Integer, Integer> root = dataCache.getRoots().stream().filter(r -> r.getKey() == 3).findFirst().orElseThrow();
+            assertTrue(dataCache.setExpired(root));
+            assertFalse(dataCache.setExpired(root));
+
+            // Note: no time passed, the root is reclaimed long before its deadline
+            assertEquals(Map.of(3, 3), dataCache.takeExpired());
+            assertEquals(9, dataCache.size());
+            assertTrue(dataCache.takeExpired().isEmpty());
+
+            // A key written anew after expiry is scheduled by its new deadline
+            dataCache.write(3, 30);
+            ticker.advance(Duration.ofSeconds(11));
+            assertEquals(10, dataCache.takeExpired().size());
+            assertTrue(dataCache.isEmpty());
+        } finally {
+            RxDefault.setTicker(previous);
+        }
+    }
+
+    @Test
+    void testWeightBoundedCache() {
+        final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.maxWeightSoft(100), Lifetime.forever())).withWeigher((Integer key, String value) -> value.length()).build();
+        final DataCache<Integer, String> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+        for (int i = 0; i < 20; i++) {
+            dataCache.write(i, "0123456789");
+        }
+        assertEquals(200, dataCache.weight());
+
+        dataCache.write(0, "01234");
+        dataCache.take(1);
+        assertEquals(185, dataCache.weight());
+
+        assertTrue(CacheCleanupAlgorithms.defaultCacheCleanup(dataCachePolicy, dataCache));
+        assertTrue(dataCache.weight() <= 100);
+        assertTrue(dataCache.size() >= 9);
+    }
+
+    @Test
+    void testWeightHardLimitRejectsWrite() {
+        final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.maxWeightHard(10), Lifetime.forever())).withWeigher((Integer key, String value) -> value.length()).build();
+        final DataCache<Integer, String> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+        dataCache.write(1, "01234");
+        dataCache.write(2, "01234");
+        assertThrows(IllegalStateException.class, () -> dataCache.write(3, "0"));
+        assertEquals(10, dataCache.weight());
+    }
+
+    @Test
+    void testOffHeapValuesAreEncoded() {
+        final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withOffHeap(OffHeap.create(ValueCodec.javaSerialization(), 1024, 16)).build();
+        final DataCache<Integer, ArrayList<String>> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), ArrayList.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+        final ArrayList<String> value = new ArrayList<>(List.of("a", "b"));
+        dataCache.write(1, value);
+        value.add("c");
+
+        assertEquals(List.of("a", "b"), dataCache.read(1).orElseThrow());
+        assertTrue(dataCache.offHeapBytes() > 0);
+
+        for (int i = 0; i < 100; i++) {
+            dataCache.write(2, new ArrayList<>(List.of(String.valueOf(i))));
+        }
+        assertEquals(List.of("99"), dataCache.read(2).orElseThrow());
+
+        dataCache.take(1);
+        dataCache.take(2);
+        assertEquals(0, dataCache.offHeapBytes());
+    }
+
+    @Test
+    void testOffHeapSnapshotIterationDecodesOnRead() {
+        final AtomicInteger decoded = new AtomicInteger();
+        final ValueCodec<Object> serialization = ValueCodec.javaSerialization();
+        final ValueCodec<Object> codec = new ValueCodec<Object>() {
+            @Override
+            public byte[] encode(Object value) {
+                return serialization.encode(value);
+            }
+
+            @Override
+            public Object decode(ByteBuffer bytes) {
+                decoded.incrementAndGet();
+                return serialization.decode(bytes);
+            }
+        };
+
+        // Writes decode as many values with snapshot iteration as without
+        final int[] decodedOnWrite = new int[2];
+        final List<Concurrency> concurrencies = Arrays.asList(Concurrency.striped(4), Concurrency.striped(4).withSnapshotIteration());
+        final List<RxCache<Integer, String>> caches = new ArrayList<>();
+        for (int c = 0; c < concurrencies.size(); c++) {
+            final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever()))
+                    .withConcurrency(concurrencies.get(c))
+                    .withOffHeap(OffHeap.create(codec, 1024, 16))
+                    .build();
+            final RxCache<Integer, String> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+            caches.add(cache);
+
+            decoded.set(0);
+            IntStream.range(0, 100).forEach(i -> cache.write(i, String.valueOf(i)));
+            decodedOnWrite[c] = decoded.get();
+        }
+        assertEquals(decodedOnWrite[0], decodedOnWrite[1]);
+
+        final RxCache<Integer, String> cache = caches.get(1);
+        final RxSnapshot<Integer, String> snapshot = cache.snapshot();
+        IntStream.range(0, 100).forEach(i -> cache.write(i, "overwritten"));
+        cache.take(42);
+
+        decoded.set(0);
+        for (Map.Entry<Integer, String> entry : snapshot) {
+            assertEquals(String.valueOf(entry.getKey()), entry.getValue());
+        }
+        assertEquals(100, decoded.get());
+        assertEquals("overwritten", cache.read(1).orElse(null));
+    }
+
+    @Test
+    void testOffHeapCompactsSparseSlabs() {
+        final OffHeapValueStore<String> store = new OffHeapValueStore<>(ValueCodec.javaSerialization(), OffHeap.create(ValueCodec.javaSerialization(), 1024, 0));
+        final String payload = "x".repeat(100);
+
+        final List<OffHeapValueReference<String>> kept = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            OffHeapValueReference<String> reference = store.newReference();
+            reference.set(payload + i);
+            if (i % 50 == 0) {
+                kept.add(reference);
+            } else {
+                reference.release();
+            }
+        }
+
+        // Note: one live value per sparse slab no longer pins the slab once a new slab is needed
+        for (int i = 0; i < 20; i++) {
+            OffHeapValueReference<String> reference = store.newReference();
+            reference.set(payload);
+            reference.release();
+        }
+
+        assertTrue(store.allocatedBytes() <= 2 * store.liveBytes() + 2 * 1024, store.toString());
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(payload + i * 50, kept.get(i).get());
+        }
+    }
+
+    @Test
+    void testSnapshotRestoreKeepsLifetime(@TempDir Path dir) {
+        final Ticker previous = RxDefault.getTicker();
+        final ManualTicker ticker = ManualTicker.startingNow();
+        RxDefault.setTicker(ticker);
+        try {
+            final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.ofSeconds(10)));
+            final MasterCacheId masterCacheId = MasterCacheId.uuid();
+            final RxCache<Integer, String> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), masterCacheId, String.class), cachePolicy);
+            cache.write(1, "first");
+            ticker.advance(Duration.ofSeconds(4));
+            cache.write(2, "second");
+
+            final Path file = dir.resolve("cache.snapshot");
+            assertEquals(2, RxCacheAccess.snapshot(getDefaultDomainCacheId(), masterCacheId, file));
+
+            final MasterCacheId restoredId = MasterCacheId.uuid();
+            assertEquals(2, RxCacheAccess.restore(getDefaultDomainCacheId(), restoredId, file, cachePolicy));
+
+            final RxCache<Integer, String> restored = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), restoredId, String.class), cachePolicy);
+            assertEquals("first", restored.read(1).orElse(null));
+            assertEquals("second", restored.read(2).orElse(null));
+
+            ticker.advance(Duration.ofSeconds(7));
+            assertFalse(restored.read(1).isPresent());
+            assertEquals("second", restored.read(2).orElse(null));
+        } finally {
+            RxDefault.setTicker(previous);
+        }
+    }
+
+    @Test
+    void testSnapshotRestoresSectionsWithinWeightLimit(@TempDir Path dir) {
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever()));
+        final MasterCacheId masterCacheId = MasterCacheId.uuid();
+        final RxCache<Integer, String> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), masterCacheId, String.class), cachePolicy);
+        for (int i = 0; i < 10000; i++) {
+            cache.write(i, "value" + i);
+        }
+
+        final Path file = dir.resolve("cache.snapshot");
+        assertEquals(10000, RxCacheAccess.snapshot(getDefaultDomainCacheId(), masterCacheId, file));
+
+        // Note: the cache spans several sections, restored in parallel
+        final MasterCacheId restoredId = MasterCacheId.uuid();
+        assertEquals(10000, RxCacheAccess.restore(getDefaultDomainCacheId(), restoredId, file, cachePolicy));
+        final RxCache<Integer, String> restored = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), restoredId, String.class), cachePolicy);
+        assertEquals(10000, restored.size());
+        assertEquals("value9999", restored.read(9999).orElse(null));
+
+        final CachePolicy weightedPolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.maxWeightHard(5000), Lifetime.forever())).withWeigher((Integer key, String value) -> 1).build());
+        final MasterCacheId weightedId = MasterCacheId.uuid();
+        assertEquals(5000, RxCacheAccess.restore(getDefaultDomainCacheId(), weightedId, file, weightedPolicy));
+        assertEquals(5000, RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), weightedId, String.class), weightedPolicy).size());
+    }
+
+    @Test
+    void testWriteAheadLogReplaysAfterRestart(@TempDir Path dir) {
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withDurability(Durability.writeAheadLog(dir, Duration.ofMillis(1), false)).build());
+        final CacheHandle handle = CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class);
+        final DataCache<Integer, String> dataCache = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(handle, cachePolicy);
+
+        for (int i = 0; i < 100; i++) {
+            dataCache.write(i, "value" + i);
+        }
+        dataCache.write(1, "modified");
+        dataCache.take(2);
+        dataCache.compute(3, (key, value) -> null);
+
+        RxCacheAccess.defaultCacheFactory().findCacheMaster(handle.getMasterCacheId()).removeDataCache(handle.getDataCacheId());
+
+        // Note: a cache of the same type under another master has its own log
+        final DataCache<Integer, String> other = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class), cachePolicy);
+        assertEquals(0, other.size());
+
+        final DataCache<Integer, String> restarted = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(handle, cachePolicy);
+        assertNotSame(dataCache, restarted);
+        assertEquals(98, restarted.size());
+        assertEquals("modified", restarted.read(1).orElse(null));
+        assertEquals("value99", restarted.read(99).orElse(null));
+        assertFalse(restarted.read(2).isPresent());
+        assertFalse(restarted.read(3).isPresent());
+    }
+
+    @Test
+    void testWriteAheadLogsShareOneCommitterAndCompactWhileCommitting(@TempDir Path dir) throws Exception {
+        final Durability durability = Durability.create(dir, Duration.ofMillis(1), false, 512, 2, ValueCodec.javaSerialization());
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withDurability(durability).build());
+        final List<CacheHandle> handles = List.of(
+                CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class),
+                CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class)
+        );
+
+        for (CacheHandle handle : handles) {
+            final DataCache<Integer, String> dataCache = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(handle, cachePolicy);
+            for (int i = 0; i < 1000; i++) {
+                dataCache.write(i % 100, "value" + i);
+                if (i % 100 == 0) {
+                    Thread.sleep(2);
+                }
+            }
+            dataCache.take(0);
+        }
+
+        // Note: one committer thread for all logs
+        assertEquals(1, Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("rx-wal ")).count());
+
+        for (CacheHandle handle : handles) {
+            RxCacheAccess.defaultCacheFactory().findCacheMaster(handle.getMasterCacheId()).removeDataCache(handle.getDataCacheId());
+        }
+
+        try (Stream<Path> files = Files.walk(dir)) {
+            // Note: compaction replaced older segments while writers kept appending
+            assertTrue(files.filter(path -> path.toString().endsWith(".wal")).count() < 40);
+        }
+
+        for (CacheHandle handle : handles) {
+            final DataCache<Integer, String> restarted = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(handle, cachePolicy);
+            assertEquals(99, restarted.size());
+            assertFalse(restarted.read(0).isPresent());
+            assertEquals("value901", restarted.read(1).orElse(null));
+            assertEquals("value999", restarted.read(99).orElse(null));
+        }
+    }
+
+    @Test
+    void testLongKeyCache() {
+        final CacheHandle cacheHandle = CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class);
+        final DataCachePolicy dataCachePolicy = DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.maxSamplesSoft(100), Lifetime.forever());
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy);
+        final RxLongCache<String> cache = RxCacheAccess.longCache(cacheHandle, cachePolicy);
+
+        final AtomicInteger removed = new AtomicInteger();
+        cache.onObjectRemovedDo((key, value) -> removed.incrementAndGet());
+        final RxSelection<Long, String> tens = cache.computeSelection((value, alreadyMember) -> value.endsWith("0"));
+
+        for (long i = 0; i < 1000; i++) {
+            cache.write(i, Long.toString(i));
+        }
+        for (long i = 0; i < 1000; i += 2) {
+            cache.take(i);
+        }
+
+        assertEquals(500, cache.size());
+        assertEquals(500, removed.get());
+        assertTrue(tens.isEmpty());
+        assertNull(cache.readOrNull(0));
+        assertEquals("1", cache.readOrNull(1));
+        assertEquals("999", cache.read(999L).orElseThrow());
+        assertTrue(cache.containsKey(777));
+
+        final DataCache<Long, String> dataCache = RxCacheAccess.defaultCacheFactory().computeDataCacheIfAbsent(cacheHandle, cachePolicy);
+        final List<Long> notifiedKeys = new CopyOnWriteArrayList<>();
+        cache.onObjectCreatedDo((key, value) -> notifiedKeys.add(key));
+        cache.onObjectModifiedDo((key, value) -> notifiedKeys.add(key));
+        cache.write(1000L, "1000");
+        cache.write(1000L, "one thousand");
+        assertEquals(2, notifiedKeys.size());
+        assertSame(notifiedKeys.get(0), notifiedKeys.get(1));
+        assertEquals("one thousand", cache.readOrNull(1000L));
+        assertEquals("one thousand", cache.take(1000L).orElseThrow());
+        assertEquals(501, removed.get());
+
+        assertTrue(CacheCleanupAlgorithms.defaultCacheCleanup(dataCachePolicy, dataCache));
+        assertEquals(100, cache.size());
+        assertTrue(cache.containsKey(1));
+    }
+
+    @Test
+    void testBulkOperationsNotifyOneBatch() {
+        final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withConcurrency(Concurrency.striped(4)).build();
+        final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger modified = new AtomicInteger();
+        final AtomicInteger removed = new AtomicInteger();
+        cache.addObjectObserver(new ObjectObserver<>() {
+            @Override
+            public void onObjectCreated(Integer key, Integer value) {
+                created.incrementAndGet();
+            }
+
+            @Override
+            public void onObjectRemoved(Integer key, Integer value) {
+                removed.incrementAndGet();
+            }
+
+            @Override
+            public void onObjectModified(Integer key, Integer value) {
+                modified.incrementAndGet();
+            }
+
+            @Override
+            public void onObjectsChanged(Map<Integer, Integer> createdObjects, Map<Integer, Integer> modifiedObjects, Map<Integer, Integer> removedObjects) {
+                batches.incrementAndGet();
+                ObjectObserver.super.onObjectsChanged(createdObjects, modifiedObjects, removedObjects);
+            }
+        });
+
+        cache.writeAll(IntStream.range(0, 1000).boxed().collect(Collectors.toMap(i -> i, i -> i)));
+        assertEquals(1000, cache.size());
+        assertEquals(1, batches.get());
+        assertEquals(1000, created.get());
+
+        final Map<? extends Integer, ? extends Integer> previous = cache.writeAll(Map.of(1, -1, 2000, 2000));
+        assertEquals(Map.of(1, 1), previous);
+        assertEquals(1, modified.get());
+
+        final Map<Integer, Integer> computed = cache.computeIfAbsent(List.of(2, 3000), key -> key * 2);
+        assertEquals(Map.of(2, 2, 3000, 6000), computed);
+        assertEquals(1002, created.get());
+
+        assertEquals(Map.of(1, -1, 3, 3), cache.read(List.of(1, 3, 4000)));
+        assertEquals(2, cache.take(List.of(1, 3, 4000)).size());
+        assertEquals(2, removed.get());
+        assertEquals(4, batches.get());
+        assertFalse(cache.containsKey(3));
+    }
+
+    @Test
+    void testAsynchronousDispatchCoalescesPerKey() throws InterruptedException {
+        final DataCachePolicy dataCachePolicy = DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withDispatch(Dispatch.create(16, 8, Dispatch.Overflow.COALESCE)).build();
+        final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), dataCachePolicy));
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger created = new AtomicInteger();
+        final Map<Integer, Integer> observed = new ConcurrentHashMap<>();
+        dataCache.onObjectCreatedDo((key, value) -> {
+            awaitQuietly(release);
+            created.incrementAndGet();
+            observed.put(key, value);
+        });
+        dataCache.onObjectModifiedDo(observed::put);
+        final RxSelection<Integer, Integer> selection = dataCache.computeSelectionIfAbsent("all", (value, alreadyMember) -> true);
+
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 100; key++) {
+                dataCache.write(key, round);
+            }
+        }
+
+        // Note: the writer finished while the first observer callback is blocked
+        assertEquals(0, created.get());
+        release.countDown();
+
+        assertTrue(dataCache.awaitDispatched(Duration.ofSeconds(10)));
+        assertEquals(100, created.get());
+        assertEquals(100, selection.size());
+        observed.values().forEach(value -> assertEquals(9, value));
+    }
+
+    @Test
+    void testSecondaryIndexes() {
+        final CacheHandle cacheHandle = CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), String.class);
+        final RxCache<Integer, String> cache = RxCacheAccess.cache(cacheHandle, CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.unlimitedForever()));
+
+        for (int i = 0; i < 50; i++) {
+            cache.write(i, Integer.toString(i));
+        }
+
+        final RxIndex<Integer, String, Character> lastDigit = cache.computeIndexIfAbsent("lastDigit", value -> value.charAt(value.length() - 1));
+        final RxIndex<Integer, String, Integer> number = cache.computeSortedIndexIfAbsent("number", Integer::valueOf);
+
+        for (int i = 50; i < 100; i++) {
+            cache.write(i, Integer.toString(i));
+        }
+
+        assertEquals(10, lastDigit.findKeys('0').size());
+        assertTrue(lastDigit.findBy('7').contains("47"));
+
+        cache.write(10, "11");
+        cache.take(20);
+
+        assertEquals(Set.of(0, 30, 40, 50, 60, 70, 80, 90), lastDigit.findKeys('0'));
+        assertEquals(11, lastDigit.findKeys('1').size());
+        assertEquals(Set.of(10, 11), number.findKeys(11));
+        assertEquals(10, number.findInRange(50, 60).size());
+        assertEquals(9, number.findKeysInRange(15, 25).size());
+        assertThrows(IllegalStateException.class, () -> lastDigit.findKeysInRange('0', '5'));
+
+        assertTrue(cache.detachIndex("lastDigit"));
+        assertFalse(lastDigit.isAttached());
+        assertTrue(number.isAttached());
+    }
+
+    @Test
+    void testSelectionsRoutedOnIndexedAttribute() {
+        final DataCache<Integer, Integer> dataCache = RxCacheAccess.defaultCacheFactory()
+                .computeDataCacheIfAbsent(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.unlimitedForever()));
+
+        final RxIndex<Integer, Integer, Integer> bucket = dataCache.computeIndexIfAbsent("bucket", value -> value % 100, true);
+        for (int i = 0; i < 100; i++) {
+            dataCache.computeSelectionIfAbsent("bucket" + i, AttributeFilter.equalTo(bucket, i));
+        }
+        final RxSelection<Integer, Integer> low = dataCache.computeSelectionIfAbsent("low", AttributeFilter.inRange(bucket, 0, 10));
+        final RxSelection<Integer, Integer> all = dataCache.computeSelectionIfAbsent("all", (value, alreadyMember) -> true);
+
+        for (int i = 0; i < 1000; i++) {
+            dataCache.write(i, i);
+        }
+
+        assertEquals(10, dataCache.readSelection("bucket42").map(RxSelection::size).orElse(0));
+        assertEquals(100, low.size());
+        assertEquals(1000, all.size());
+
+        // Note: one equal route and the unrouted selection per write, plus the range route for 10% of writes
+        assertEquals(1000, dataCache.getNumSelectionUpdates());
+        assertEquals(2100, dataCache.getNumSelectionsEvaluated());
+
+        final RxSelection<Integer, Integer> late = dataCache.computeSelectionIfAbsent("late", AttributeFilter.equalTo(bucket, 7));
+        assertEquals(10, late.size());
+    }
+
+    @Test
+    void testSnapshotIsolatedFromConcurrentWriters() throws InterruptedException {
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withConcurrency(Concurrency.striped(8).withSnapshotIteration()).build());
+        final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), cachePolicy);
+
+        final int numKeys = 10000;
+        IntStream.range(0, numKeys).forEach(i -> cache.write(i, i));
+        final RxSnapshot<Integer, Integer> snapshot = cache.snapshot();
+
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < numKeys; i++) {
+                if (i % 2 == 0) {
+                    cache.take(i);
+                } else {
+                    cache.write(i, -i);
+                }
+                cache.write(numKeys + i, i);
+            }
+        });
+        writer.start();
+
+        long sum = 0;
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : snapshot) {
+            assertEquals(entry.getKey(), entry.getValue());
+            sum += entry.getValue();
+            ++count;
+        }
+        writer.join();
+
+        assertEquals(numKeys, snapshot.size());
+        assertEquals(numKeys, count);
+        assertEquals((long) numKeys * (numKeys - 1) / 2, sum);
+        assertEquals(Integer.valueOf(42), snapshot.read(42).orElse(null));
+
+        final RxSnapshot<Integer, Integer> after = cache.snapshot();
+        assertEquals(numKeys + numKeys / 2, after.size());
+        assertFalse(after.containsKey(42));
+        assertEquals(Integer.valueOf(-43), after.read(43).orElse(null));
+        assertEquals(cache.keySet(), cache.readAll().keySet());
+        assertEquals(numKeys + numKeys / 2, cache.keySet().size());
+    }
+
+    @Test
+    void testParallelStreamOverCacheStorage() {
+        for (Concurrency concurrency : Arrays.asList(Concurrency.striped(8), Concurrency.striped(8).withSnapshotIteration())) {
+            final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicyBuilder.from(DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever())).withConcurrency(concurrency).build());
+            final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), cachePolicy);
+
+            final int numKeys = 100000;
+            IntStream.range(0, numKeys).forEach(i -> cache.write(i, i));
+
+            assertEquals((long) numKeys * (numKeys - 1) / 2, cache.parallelStream().mapToLong(Map.Entry::getValue).sum());
+            assertEquals(numKeys, cache.parallelStream().filter(entry -> entry.getKey().equals(entry.getValue())).count());
+            assertEquals(cache.readAll(), cache.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+
+            final Spliterator<Map.Entry<Integer, Integer>> spliterator = cache.stream().spliterator();
+            if (concurrency.isSnapshotIteration()) {
+                assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.IMMUTABLE));
+                assertEquals(numKeys, spliterator.getExactSizeIfKnown());
+            } else {
+                assertTrue(spliterator.hasCharacteristics(Spliterator.CONCURRENT));
+                assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+            }
+        }
+    }
+
+    @Test
+    void testSlowFactoryDoesNotBlockStripeAndIsDeduplicated() throws InterruptedException {
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever()));
+        final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), cachePolicy);
+
+        final CountDownLatch factoryStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFactory = new CountDownLatch(1);
+        final AtomicInteger numFactoryCalls = new AtomicInteger();
+
+        final int numThreads = 8;
+        final List<Thread> computers = new ArrayList<>();
+        final Map<Integer, Integer> computed = new ConcurrentHashMap<>();
+        for (int t = 0; t < numThreads; t++) {
+            final int id = t;
+            computers.add(new Thread(() -> computed.put(id, cache.computeIfAbsent(1, key -> {
+                numFactoryCalls.incrementAndGet();
+                factoryStarted.countDown();
+                awaitQuietly(releaseFactory);
+                return 42;
+            }))));
+        }
+        computers.forEach(Thread::start);
+        awaitQuietly(factoryStarted);
+
+        // Note: the single stripe is free while the factory runs
+        cache.write(2, 2);
+        assertEquals(Integer.valueOf(2), cache.read(2).orElse(null));
+        cache.merge(2, 3, Integer::sum);
+        assertEquals(Integer.valueOf(5), cache.read(2).orElse(null));
+        assertFalse(cache.containsKey(1));
+
+        releaseFactory.countDown();
+        for (Thread computer : computers) {
+            computer.join();
+        }
+
+        assertEquals(1, numFactoryCalls.get());
+        assertEquals(numThreads, computed.size());
+        assertTrue(computed.values().stream().allMatch(value -> value == 42));
+
+        final List<Thread> mergers = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            mergers.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    cache.merge(3, 1, Integer::sum);
+                }
+            }));
+        }
+        mergers.forEach(Thread::start);
+        for (Thread merger : mergers) {
+            merger.join();
+        }
+        assertEquals(Integer.valueOf(numThreads * 1000), cache.read(3).orElse(null));
+    }
+
+    @Test
+    void testComputeFunctionsRunOnceWhileWritersRace() throws InterruptedException {
+        final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.forever()));
+        final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), cachePolicy);
+
+        // A write of a key waits for its computation in flight, and the function is not repeated
+        final CountDownLatch functionStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFunction = new CountDownLatch(1);
+        final AtomicInteger numFunctionCalls = new AtomicInteger();
+        cache.write(1, 10);
+        final Thread computer = new Thread(() -> cache.computeIfPresent(1, (key, value) -> {
+            numFunctionCalls.incrementAndGet();
+            functionStarted.countDown();
+            awaitQuietly(releaseFunction);
+            return value + 1;
+        }));
+        computer.start();
+        awaitQuietly(functionStarted);
+
+        final Thread writer = new Thread(() -> cache.write(1, 100));
+        writer.start();
+        writer.join(100);
+        assertTrue(writer.isAlive());
+        assertEquals(Integer.valueOf(10), cache.read(1).orElse(null));
+
+        releaseFunction.countDown();
+        computer.join();
+        writer.join();
+        assertEquals(1, numFunctionCalls.get());
+        assertEquals(Integer.valueOf(100), cache.read(1).orElse(null));
+
+        // Bulk computeIfAbsent runs its factory outside the stripe lock
+        final CountDownLatch factoryStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFactory = new CountDownLatch(1);
+        final Thread bulkComputer = new Thread(() -> cache.computeIfAbsent(Arrays.asList(1, 2), key -> {
+            factoryStarted.countDown();
+            awaitQuietly(releaseFactory);
+            return key;
+        }));
+        bulkComputer.start();
+        awaitQuietly(factoryStarted);
+        cache.write(3, 3);
+        assertEquals(Integer.valueOf(3), cache.read(3).orElse(null));
+        releaseFactory.countDown();
+        bulkComputer.join();
+        assertEquals(Integer.valueOf(100), cache.read(1).orElse(null));
+        assertEquals(Integer.valueOf(2), cache.read(2).orElse(null));
+
+        // Each compute calls its function exactly once while writers and takes race on the key
+        final int numThreads = 4;
+        final int numOperations = 1000;
+        final AtomicInteger numComputeCalls = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < numOperations; i++) {
+                    cache.compute(4, (key, previous) -> {
+                        numComputeCalls.incrementAndGet();
+                        return key;
+                    });
+                }
+            }));
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < numOperations; i++) {
+                    if (i % 2 == 0) {
+                        cache.write(4, 0);
+                    }
+                    else {
+                        cache.take(4);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(numThreads * numOperations, numComputeCalls.get());
+    }
+
+    @Test
+    void testAsyncCacheSharesLoadsInFlight() throws Exception {
+        final RxCache<Integer, Integer> cache = RxCacheAccess.cache(CacheHandle.create(getDefaultDomainCacheId(), MasterCacheId.uuid(), Integer.class), getDefaultCachePolicy());
+        final RxAsyncCache<Integer, Integer> async = cache.async();
+
+        final CountDownLatch releaseLoader = new CountDownLatch(1);
+        final AtomicInteger numLoads = new AtomicInteger();
+        final Thread caller = Thread.currentThread();
+        final Set<Thread> completedOn = ConcurrentHashMap.newKeySet();
+
+        final List<CompletableFuture<Optional<Integer>>> loads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            loads.add(async.computeIfAbsent(1, key -> {
+                numLoads.incrementAndGet();
+                awaitQuietly(releaseLoader);
+                return 42;
+            }).whenComplete((value, throwable) -> completedOn.add(Thread.currentThread())));
+        }
+        final CompletableFuture<Optional<Integer>> shared = async.get(1);
+        final CompletableFuture<Map<Integer, Integer>> all = async.getAll(Arrays.asList(1, 2));
+        assertFalse(shared.isDone());
+
+        releaseLoader.countDown();
+        for (CompletableFuture<Optional<Integer>> load : loads) {
+            assertEquals(Optional.of(42), load.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(Optional.of(42), shared.get(10, TimeUnit.SECONDS));
+        assertEquals(Map.of(1, 42), all.get(10, TimeUnit.SECONDS));
+        assertEquals(1, numLoads.get());
+        assertFalse(completedOn.contains(caller));
+
+        // Note: a value written while loading is kept by an asynchronous loader
+        final CompletableFuture<Integer> slowValue = new CompletableFuture<>();
+        final CompletableFuture<Optional<Integer>> loaded = async.computeIfAbsentAsync(3, key -> slowValue);
+        assertEquals(Optional.empty(), async.put(3, 7).join());
+        slowValue.complete(8);
+        assertEquals(Optional.of(7), loaded.get(10, TimeUnit.SECONDS));
+        assertEquals(Optional.of(7), async.get(3).join());
+
+        // Note: a put does not block the caller while a computation of the key holds it up
+        final CountDownLatch computing = new CountDownLatch(1);
+        final CountDownLatch releaseCompute = new CountDownLatch(1);
+        final Thread computer = new Thread(() -> cache.computeIfPresent(3, (key, value) -> {
+            computing.countDown();
+            awaitQuietly(releaseCompute);
+            return value + 1;
+        }));
+        computer.start();
+        awaitQuietly(computing);
+
+        final CompletableFuture<Optional<Integer>> put = async.put(3, 9);
+        assertFalse(put.isDone());
+        releaseCompute.countDown();
+        assertEquals(Optional.of(8), put.get(10, TimeUnit.SECONDS));
+        computer.join();
+        assertEquals(Optional.of(9), cache.read(3));
+    }
+
+    /**
+     * Layout of the per entry metadata documented on ObjectRoot, i.e., excluding key and value, counted from the fields
+     * of the objects a root refers to.
+     */
+    @Test
+    void testObjectRootFootprint() throws IllegalAccessException {
+        final Integer key = 1;
+        final String value = "value";
+        final ObjectRootPolicy policy = ObjectRootPolicy.foreverNoRenew();
+        final ObjectRoot<Integer, String> root = ObjectRoot.create(value, key, policy);
+
+        // Note: key, value and the shared policy are not part of the root's footprint
+        final Set<Object> excluded = Collections.newSetFromMap(new IdentityHashMap<>());
+        excluded.addAll(Arrays.asList(key, value, policy));
+
+        final long[] objectsAndBytes = new long[2];
+        layoutOf(root, excluded, Collections.newSetFromMap(new IdentityHashMap<>()), objectsAndBytes);
+
+        assertEquals(6, objectsAndBytes[0]);
+        assertEquals(176, objectsAndBytes[1]);
+    }
+
+    /**
+     * Add the objects reachable from object and their shallow sizes with compressed oops: 12 byte header, 4 byte
+     * references, 8 byte alignment. Enum constants are shared and not counted.
+     */
+    private static void layoutOf(Object object, Set<Object> excluded, Set<Object> visited, long[] objectsAndBytes) throws IllegalAccessException {
+        if (object == null || object instanceof Enum || excluded.contains(object) || !visited.add(object)) {
+            return;
+        }
+        assertFalse(object.getClass().getName().startsWith("java."), "Unexpected object in root layout: " + object.getClass());
+
+        long bytes = 12;
+        for (Class<?> clazz = object.getClass(); clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                final Class<?> type = field.getType();
+                if (!type.isPrimitive()) {
+                    bytes += 4;
+                    field.setAccessible(true);
+                    layoutOf(field.get(object), excluded, visited, objectsAndBytes);
+                } else if (type == long.class || type == double.class) {
+                    bytes += 8;
+                } else if (type == int.class || type == float.class) {
+                    bytes += 4;
+                } else if (type == short.class || type == char.class) {
+                    bytes += 2;
+                } else {
+                    bytes += 1;
+                }
+            }
+        }
+        objectsAndBytes[0] += 1;
+        objectsAndBytes[1] += (bytes + 7) & ~7L;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
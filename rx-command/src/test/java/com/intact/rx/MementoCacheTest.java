@@ -1,6 +1,7 @@
 package com.intact.rx;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -208,6 +209,47 @@ class MementoCacheTest {
         assertEquals("49", cache.read(key).get());
     }
 
+    @Test
+    void testUndoRedoOnKeyWithDelta() {
+        final String key = "1";
+        final AtomicInteger numApplied = new AtomicInteger();
+        final ValueDelta<String, Map.Entry<Integer, String>> suffixDelta = new ValueDelta<String, Map.Entry<Integer, String>>() {
+            @Override
+            public Map.Entry<Integer, String> diff(String base, String target) {
+                int prefix = 0;
+                while (prefix < Math.min(base.length(), target.length()) && base.charAt(prefix) == target.charAt(prefix)) {
+                    ++prefix;
+                }
+                return new AbstractMap.SimpleImmutableEntry<>(prefix, target.substring(prefix));
+            }
+
+            @Override
+            public String apply(String base, Map.Entry<Integer, String> delta) {
+                numApplied.incrementAndGet();
+                return base.substring(0, delta.getKey()) + delta.getValue();
+            }
+        };
+        RxCache<String, String> cache = RxCacheData.uuid().withDefaultRxConfig(RxConfig.builder().withCachedObjectMementoPolicy(new MementoPolicy(3, 3, suffixDelta)).build()).cache(String.class);
+
+        for (int i = 0; i < 10; ++i) {
+            cache.write(key, "large-value-" + i);
+        }
+
+        // Note: depth 3 keeps the three latest previous values
+        assertEquals(Arrays.asList("large-value-8", "large-value-7", "large-value-6"), cache.undoStack(key));
+
+        assertEquals("large-value-9", cache.undo(key).get());
+        assertEquals("large-value-8", cache.read(key).get());
+        assertEquals("large-value-8", cache.undo(key).get());
+        assertEquals("large-value-7", cache.read(key).get());
+
+        assertEquals(Arrays.asList("large-value-8", "large-value-9"), cache.redoStack(key));
+        assertEquals("large-value-7", cache.redo(key).get());
+        assertEquals("large-value-8", cache.read(key).get());
+
+        assertTrue(numApplied.get() > 0);
+    }
+
     @Test
     void testCachedValue() {
         RxCache<String, String> cache = RxCacheAccess.cacheUUID(RxDefault.getDefaultCachePolicy());
@@ -2,7 +2,13 @@ package com.intact.rx;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -11,25 +17,33 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.intact.rx.api.RxDefault;
+import com.intact.rx.api.cache.CacheHandle;
 import com.intact.rx.api.cache.CachePolicy;
 import com.intact.rx.api.cache.RxSelection;
+import com.intact.rx.api.command.Strategy1;
 import com.intact.rx.api.rxrepo.RxRepository;
 import com.intact.rx.api.rxrepo.RxRepositoryReader;
 import com.intact.rx.api.rxrepo.RxRepositoryWriter;
 import com.intact.rx.api.rxrepo.RxValueReader;
 import com.intact.rx.core.cache.data.context.CacheMasterPolicy;
 import com.intact.rx.core.cache.data.context.DataCachePolicy;
+import com.intact.rx.core.cache.data.context.ObjectRootPolicy;
 import com.intact.rx.core.cache.data.id.MasterCacheId;
 import com.intact.rx.core.rxcache.Streamer;
 import com.intact.rx.core.rxcache.StreamerBuilder;
 import com.intact.rx.core.rxcache.StreamerGroup;
+import com.intact.rx.core.rxcache.act.ActPolicy;
 import com.intact.rx.core.rxcircuit.breaker.CircuitBreakerPolicy;
 import com.intact.rx.core.rxcircuit.breaker.CircuitId;
+import com.intact.rx.core.rxrepo.BatchLoader;
 import com.intact.rx.core.rxrepo.CachedRepository;
 import com.intact.rx.core.rxrepo.RepositoryConfig;
 import com.intact.rx.testdata.command.Result;
 import com.intact.rx.testdata.command.ResultSelectionObserver;
 import com.intact.rx.policy.*;
+import com.intact.rx.templates.ManualTicker;
+import com.intact.rx.templates.api.Ticker;
 
 class RxCacheTest {
 
@@ -444,6 +458,14 @@ class RxCacheTest {
         }
     }
 
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(defaultTimeoutMsecs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Test
     @Disabled
     void testParallelCircuit() {
@@ -569,6 +591,161 @@ class RxCacheTest {
         assertEquals(4, callbackCount[0]);
     }
 
+    @Test
+    void testBatchedRequestsShareOneBulkLoad() {
+        final List<Set<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        // Note: the fifth key closes the batch, the window only bounds a batch that never fills
+        RxRepository<Long, Long> repository = CachedRepository.<Long, Long>forType(Long.class)
+                .withThreadPoolConfig("test-batch", 16)
+                .withRepositoryConfig(RepositoryConfig.builder().withBatching(Batching.create(Duration.ofSeconds(10), 5)).build())
+                .build();
+
+        Map<Long, Long> values = repository.computeIfAbsentBatched(Arrays.asList(1L, 2L, 3L, 4L, 5L), keys -> {
+            batches.add(new HashSet<>(keys));
+            Map<Long, Long> loaded = new HashMap<>();
+            keys.stream().filter(key -> key != 5L).forEach(key -> loaded.put(key, key * 10));
+            return loaded;
+        });
+
+        assertEquals(Map.of(1L, 10L, 2L, 20L, 3L, 30L, 4L, 40L), values);
+        assertEquals(List.of(Set.of(1L, 2L, 3L, 4L, 5L)), batches);
+
+        Optional<Long> cached = repository.requestBatchedValueFor(1L, keys -> {
+            throw new IllegalStateException("Cached value should not be loaded");
+        }).computeIfAbsent(defaultTimeoutMsecs);
+        assertEquals(Optional.of(10L), cached);
+    }
+
+    @Test
+    void testBatchFailsForAllRequestsOnLoaderFailureAndTimeout() throws InterruptedException {
+        // Note: the second key fills the batch, the window never passes
+        final BatchLoader<Long, Long> batchLoader = new BatchLoader<>(Batching.create(Duration.ofSeconds(10), 2));
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        final Strategy1<Map<Long, Long>, Set<Long>> failingLoader = keys -> {
+            throw new IllegalArgumentException("Backend down on purpose");
+        };
+        final Thread other = new Thread(() -> {
+            try {
+                batchLoader.load(1L, failingLoader, defaultTimeoutMsecs);
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
+        });
+        other.start();
+        final IllegalArgumentException failed = assertThrows(IllegalArgumentException.class, () -> batchLoader.load(2L, failingLoader, defaultTimeoutMsecs));
+        other.join();
+        assertEquals(List.of(failed), failures);
+
+        // A request timing out fails the batch, also for the request opening it
+        failures.clear();
+        final CountDownLatch releaseLoader = new CountDownLatch(1);
+        final Thread opener = new Thread(() -> {
+            try {
+                batchLoader.load(1L, keys -> {
+                    awaitQuietly(releaseLoader);
+                    return Map.of(1L, 10L, 2L, 20L);
+                }, defaultTimeoutMsecs);
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
+        });
+        opener.start();
+        while (opener.getState() != Thread.State.TIMED_WAITING) {
+            // Note: wait until the opener waits out the window of its batch
+            Thread.onSpinWait();
+        }
+        final IllegalStateException timedOut = assertThrows(IllegalStateException.class, () -> batchLoader.load(2L, failingLoader, 50));
+        assertTrue(timedOut.getCause() instanceof TimeoutException);
+
+        releaseLoader.countDown();
+        opener.join();
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0).getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void testRefreshAheadServesCurrentAndStaleValues() throws InterruptedException {
+        final Ticker previous = RxDefault.getTicker();
+        final ManualTicker ticker = ManualTicker.startingNow();
+        RxDefault.setTicker(ticker);
+
+        final AtomicLong numLoads = new AtomicLong();
+        final AtomicBoolean isBackendDown = new AtomicBoolean(false);
+        final CountDownLatch releaseBackend = new CountDownLatch(1);
+        final Semaphore failedLoads = new Semaphore(0);
+        final Strategy1<Long, Long> loader = key -> {
+            if (isBackendDown.get()) {
+                awaitQuietly(releaseBackend);
+                failedLoads.release();
+                throw new IllegalStateException("Backend down on purpose");
+            }
+            return numLoads.incrementAndGet();
+        };
+
+        try {
+            // Note: fresh for 1200 ms, reloaded ahead after 600 ms, stale the last 800 ms of its lifetime
+            final CachePolicy cachePolicy = CachePolicy.create(CacheMasterPolicy.validForever(), DataCachePolicy.leastRecentlyUsedAnd(ResourceLimits.unlimited(), Lifetime.ofHours(2), ObjectRootPolicy.create(Lifetime.ofSeconds(2), Extension.renewOnWrite())));
+            final RxRepository<Long, Long> repository = CachedRepository.<Long, Long>forType(Long.class)
+                    .withActPolicy(ActPolicy.refreshAhead(cachePolicy, RefreshAhead.create(0.5, Duration.ofMillis(800))))
+                    .withCachedObjectLifetime(Lifetime.ofSeconds(2))
+                    .withCachedObjectExtension(Extension.renewOnWrite())
+                    .build();
+
+            assertEquals(Optional.of(1L), repository.requestValueFor(1L, loader).computeIfAbsent(defaultTimeoutMsecs));
+
+            ticker.advance(Duration.ofMillis(800));
+            assertEquals(Optional.of(1L), repository.requestValueFor(1L, loader).computeIfAbsent(defaultTimeoutMsecs));
+            repository.requestValueFor(1L, loader).waitFor(defaultTimeoutMsecs);
+            assertEquals(Optional.of(2L), repository.cache().read(1L));
+
+            assertEquals(Optional.of(2L), repository.requestValueFor(1L, loader).computeIfAbsent(defaultTimeoutMsecs));
+            assertEquals(2L, numLoads.get());
+
+            // Note: the stale value is returned while its reload is blocked in the backend
+            isBackendDown.set(true);
+            ticker.advance(Duration.ofMillis(1400));
+            assertEquals(Optional.of(2L), repository.requestValueFor(1L, loader).computeIfAbsent(defaultTimeoutMsecs));
+            assertEquals(0, failedLoads.availablePermits());
+
+            releaseBackend.countDown();
+            assertTrue(failedLoads.tryAcquire(defaultTimeoutMsecs, TimeUnit.MILLISECONDS));
+            assertEquals(Optional.of(2L), repository.requestValueFor(1L, loader).computeIfAbsent(defaultTimeoutMsecs));
+            assertEquals(2L, numLoads.get());
+        } finally {
+            releaseBackend.countDown();
+            RxDefault.setTicker(previous);
+        }
+    }
+
+    @Test
+    void testConcurrentMissesOfKeyShareOneComputation() throws InterruptedException {
+        final AtomicLong numLoads = new AtomicLong();
+        StreamerBuilder builder = Streamer.forUUIDCache().build();
+        builder.parallel().get(Result.class, () -> {
+            numLoads.incrementAndGet();
+            sleep(200);
+            return Map.of(1, new Result(1, "Success"));
+        });
+        Streamer streamer = builder.streamer();
+        CacheHandle cacheHandle = streamer.<Integer, Result>cache(Result.class).getCacheHandle();
+
+        final List<Optional<Result>> values = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> values.add(streamer.controller().<Integer, Result>computeIfAbsent(cacheHandle, 1, defaultTimeoutMsecs).second)));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1L, numLoads.get());
+        assertEquals(8, values.size());
+        values.forEach(value -> assertEquals(Optional.of(1), value.map(Result::getId)));
+    }
+
     private static Long getFail(Long key) {
         throw new IllegalStateException("I fail on purpose. Key=" + key);
     }